@@ -89,6 +89,30 @@ public interface Client extends Closeable {
    */
   BatchedQueryResult executeQuery(String sql, Map<String, Object> properties);
 
+  /**
+   * Executes a query (push or pull) with the supplied parameters, and returns all result rows in a
+   * single batch, once the query has completed.
+   *
+   * <p>Parameters are referenced in the same way as session variables, by wrapping their names
+   * with {@code ${}}, and take precedence over any session variables with the same names. Unlike
+   * session variables, they only apply to this query. Values are substituted as is, so string
+   * values must include their quotes.
+   *
+   * <p>The server caches prepared pull queries by their text, with the values of any literals
+   * left out, so issuing the same statement with different parameters avoids the cost of
+   * preparing it again each time.
+   *
+   * @param sql statement of query to execute
+   * @param properties query properties
+   * @param parameters values of the parameters referenced by the query
+   * @return query result
+   */
+  BatchedQueryResult executeQuery(
+      String sql,
+      Map<String, Object> properties,
+      Map<String, Object> parameters
+  );
+
   /**
    * Inserts a row into a ksqlDB stream.
    *
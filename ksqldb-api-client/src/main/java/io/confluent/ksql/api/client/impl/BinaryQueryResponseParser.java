@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.client.impl;
+
+import io.confluent.ksql.rest.BinaryQueryStreamFormat;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.parsetools.RecordParser;
+import java.util.Objects;
+
+/**
+ * Splits a query response in the binary format into frames, passing each to a
+ * {@link QueryResponseHandler}.
+ *
+ * <p>The record parser must be in fixed size mode, reading a frame header.
+ */
+final class BinaryQueryResponseParser implements Handler<Buffer> {
+
+  private final RecordParser recordParser;
+  private final QueryResponseHandler<?> responseHandler;
+  private boolean readingHeader = true;
+  private byte frameType;
+
+  BinaryQueryResponseParser(
+      final RecordParser recordParser,
+      final QueryResponseHandler<?> responseHandler
+  ) {
+    this.recordParser = Objects.requireNonNull(recordParser);
+    this.responseHandler = Objects.requireNonNull(responseHandler);
+  }
+
+  @Override
+  public void handle(final Buffer buff) {
+    if (readingHeader) {
+      frameType = buff.getByte(0);
+      final int length = buff.getInt(1);
+      if (length == 0) {
+        responseHandler.handleBinaryFrame(frameType, Buffer.buffer());
+        return;
+      }
+      readingHeader = false;
+      recordParser.fixedSizeMode(length);
+    } else {
+      readingHeader = true;
+      recordParser.fixedSizeMode(BinaryQueryStreamFormat.FRAME_HEADER_SIZE);
+      responseHandler.handleBinaryFrame(frameType, buff);
+    }
+  }
+}
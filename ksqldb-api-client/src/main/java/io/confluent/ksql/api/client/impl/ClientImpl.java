@@ -16,7 +16,9 @@
 package io.confluent.ksql.api.client.impl;
 
 import static io.confluent.ksql.api.client.impl.DdlDmlRequestValidators.validateExecuteStatementRequest;
+import static io.netty.handler.codec.http.HttpHeaderNames.ACCEPT;
 import static io.netty.handler.codec.http.HttpHeaderNames.AUTHORIZATION;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -36,6 +38,7 @@ import io.confluent.ksql.api.client.StreamedQueryResult;
 import io.confluent.ksql.api.client.TableInfo;
 import io.confluent.ksql.api.client.TopicInfo;
 import io.confluent.ksql.api.client.exception.KsqlClientException;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat;
 import io.confluent.ksql.util.ConsistencyOffsetVector;
 import io.confluent.ksql.util.KsqlRequestConfig;
 import io.confluent.ksql.util.VertxSslOptionsFactory;
@@ -73,6 +76,9 @@ public class ClientImpl implements Client {
   // CHECKSTYLE_RULES.ON: ClassDataAbstractionCoupling
 
   private static final String QUERY_STREAM_ENDPOINT = "/query-stream";
+  // Prefer the binary format, falling back to the delimited format for older servers:
+  private static final String QUERY_STREAM_ACCEPT = BinaryQueryStreamFormat.CONTENT_TYPE
+      + ", application/vnd.ksqlapi.delimited.v1;q=0.9";
   private static final String INSERTS_ENDPOINT = "/inserts-stream";
   private static final String CLOSE_QUERY_ENDPOINT = "/close-query";
   private static final String KSQL_ENDPOINT = "/ksql";
@@ -134,7 +140,7 @@ public class ClientImpl implements Client {
           serializedConsistencyVector.get());
     }
     final CompletableFuture<StreamedQueryResult> cf = new CompletableFuture<>();
-    makeQueryRequest(sql, properties, cf,
+    makeQueryRequest(sql, properties, Collections.emptyMap(), cf,
         (ctx, rp, fut, req) -> new StreamQueryResponseHandler(
             ctx, rp, fut, serializedConsistencyVector));
     return cf;
@@ -149,6 +155,15 @@ public class ClientImpl implements Client {
   public BatchedQueryResult executeQuery(
       final String sql,
       final Map<String, Object> properties
+  ) {
+    return executeQuery(sql, properties, Collections.emptyMap());
+  }
+
+  @Override
+  public BatchedQueryResult executeQuery(
+      final String sql,
+      final Map<String, Object> properties,
+      final Map<String, Object> parameters
   ) {
     if (ConsistencyOffsetVector.isConsistencyVectorEnabled(properties)) {
       requestProperties.put(
@@ -159,6 +174,7 @@ public class ClientImpl implements Client {
     makeQueryRequest(
         sql,
         properties,
+        parameters,
         result,
         (context, recordParser, cf, request) -> new ExecuteQueryResponseHandler(
             context, recordParser, cf, clientOptions.getExecuteQueryMaxResultRows(),
@@ -456,6 +472,12 @@ public class ClientImpl implements Client {
     ResponseHandler<T> get(Context ctx, RecordParser recordParser, T cf, HttpClientRequest request);
   }
 
+  @FunctionalInterface
+  private interface QueryResponseHandlerSupplier<T extends CompletableFuture<?>> {
+    QueryResponseHandler<T> get(
+        Context ctx, RecordParser recordParser, T cf, HttpClientRequest request);
+  }
+
   @FunctionalInterface
   private interface SingleEntityResponseHandler<T> {
     void accept(JsonObject entity, CompletableFuture<T> cf);
@@ -464,20 +486,32 @@ public class ClientImpl implements Client {
   private <T extends CompletableFuture<?>> void makeQueryRequest(
       final String sql,
       final Map<String, Object> properties,
+      final Map<String, Object> parameters,
       final T cf,
-      final StreamedResponseHandlerSupplier<T> responseHandlerSupplier
+      final QueryResponseHandlerSupplier<T> responseHandlerSupplier
   ) {
+    final Map<String, Object> variables;
+    if (parameters.isEmpty()) {
+      variables = sessionVariables;
+    } else {
+      variables = new HashMap<>(sessionVariables);
+      variables.putAll(parameters);
+    }
+
     final JsonObject requestBody = new JsonObject()
         .put("sql", sql)
         .put("properties", properties)
-        .put("sessionVariables", sessionVariables)
+        .put("sessionVariables", variables)
         .put("requestProperties", requestProperties);
 
-    makePostRequest(
+    makeRequest(
         QUERY_STREAM_ENDPOINT,
-        requestBody,
+        requestBody.toBuffer(),
         cf,
-        response -> handleStreamedResponse(response, cf, responseHandlerSupplier)
+        response -> handleQueryResponse(response, cf, responseHandlerSupplier),
+        true,
+        HttpMethod.POST,
+        Optional.of(QUERY_STREAM_ACCEPT)
     );
   }
 
@@ -548,6 +582,17 @@ public class ClientImpl implements Client {
       final Handler<HttpClientResponse> responseHandler,
       final boolean endRequest,
       final HttpMethod method) {
+    makeRequest(path, requestBody, cf, responseHandler, endRequest, method, Optional.empty());
+  }
+
+  private <T extends CompletableFuture<?>> void makeRequest(
+      final String path,
+      final Buffer requestBody,
+      final T cf,
+      final Handler<HttpClientResponse> responseHandler,
+      final boolean endRequest,
+      final HttpMethod method,
+      final Optional<String> accept) {
     HttpClientRequest request = httpClient.request(method,
         serverSocketAddress, clientOptions.getPort(), clientOptions.getHost(),
         path,
@@ -556,6 +601,9 @@ public class ClientImpl implements Client {
     if (clientOptions.isUseBasicAuth()) {
       request = configureBasicAuth(request);
     }
+    if (accept.isPresent()) {
+      request = request.putHeader(ACCEPT.toString(), accept.get());
+    }
     if (endRequest) {
       request.end(requestBody);
     } else {
@@ -584,6 +632,25 @@ public class ClientImpl implements Client {
     }
   }
 
+  private <T extends CompletableFuture<?>> void handleQueryResponse(
+      final HttpClientResponse response,
+      final T cf,
+      final QueryResponseHandlerSupplier<T> responseHandlerSupplier) {
+    final boolean binary = BinaryQueryStreamFormat.CONTENT_TYPE
+        .equals(response.getHeader(CONTENT_TYPE.toString()));
+    if (response.statusCode() == OK.code() && binary) {
+      final RecordParser recordParser =
+          RecordParser.newFixed(BinaryQueryStreamFormat.FRAME_HEADER_SIZE, response);
+      final QueryResponseHandler<T> responseHandler =
+          responseHandlerSupplier.get(Vertx.currentContext(), recordParser, cf, response.request());
+      recordParser.handler(new BinaryQueryResponseParser(recordParser, responseHandler));
+      recordParser.endHandler(responseHandler::handleBodyEnd);
+      recordParser.exceptionHandler(responseHandler::handleException);
+    } else {
+      handleStreamedResponse(response, cf, responseHandlerSupplier::get);
+    }
+  }
+
   private static void handleCloseQueryResponse(
       final HttpClientResponse response,
       final CompletableFuture<Void> cf
@@ -22,7 +22,6 @@ import io.confluent.ksql.api.client.exception.KsqlClientException;
 import io.confluent.ksql.api.client.util.RowUtil;
 import io.confluent.ksql.rest.entity.QueryResponseMetadata;
 import io.vertx.core.Context;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.parsetools.RecordParser;
@@ -66,9 +65,7 @@ public class ExecuteQueryResponseHandler extends QueryResponseHandler<BatchedQue
   }
 
   @Override
-  protected void handleRow(final Buffer buff) {
-    final Row row;
-    final Object json = buff.toJson();
+  protected void handleRow(final Object json) {
 
     if (json instanceof JsonObject) {
       final JsonObject jsonObject = (JsonObject) json;
@@ -81,7 +78,7 @@ public class ExecuteQueryResponseHandler extends QueryResponseHandler<BatchedQue
         throw new RuntimeException("Could not decode JSON, expected consistency toke: " + json);
       }
     } else  if (json instanceof JsonArray) {
-      final JsonArray values = new JsonArray(buff);
+      final JsonArray values = (JsonArray) json;
       if (rows.size() < maxRows) {
         rows.add(new RowImpl(columnNames, columnTypes, values, columnNameToIndex));
       } else {
@@ -17,10 +17,17 @@ package io.confluent.ksql.api.client.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.confluent.ksql.api.client.util.JsonMapper;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat.ValueEncoding;
 import io.confluent.ksql.rest.entity.QueryResponseMetadata;
 import io.vertx.core.Context;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.parsetools.RecordParser;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 abstract class QueryResponseHandler<T extends CompletableFuture<?>> extends ResponseHandler<T> {
@@ -28,6 +35,7 @@ abstract class QueryResponseHandler<T extends CompletableFuture<?>> extends Resp
   private static final ObjectMapper JSON_MAPPER = JsonMapper.get();
 
   protected boolean hasReadArguments;
+  private List<ValueEncoding> valueEncodings;
 
   QueryResponseHandler(final Context context, final RecordParser recordParser, final T cf) {
     super(context, recordParser, cf);
@@ -38,7 +46,29 @@ abstract class QueryResponseHandler<T extends CompletableFuture<?>> extends Resp
     if (!hasReadArguments) {
       handleArgs(buff);
     } else {
-      handleRow(buff);
+      handleRow(buff.toJson());
+    }
+  }
+
+  /**
+   * Handles a frame of a response in the binary format.
+   *
+   * @param frameType the type of the frame.
+   * @param payload the payload of the frame.
+   * @see BinaryQueryStreamFormat
+   */
+  void handleBinaryFrame(final byte frameType, final Buffer payload) {
+    checkContext();
+    switch (frameType) {
+      case BinaryQueryStreamFormat.METADATA_FRAME:
+        handleArgs(payload);
+        break;
+      case BinaryQueryStreamFormat.ROW_FRAME:
+        handleRow(decodeRow(payload));
+        break;
+      default:
+        handleRow(payload.toJson());
+        break;
     }
   }
 
@@ -53,7 +83,13 @@ abstract class QueryResponseHandler<T extends CompletableFuture<?>> extends Resp
 
   protected abstract void handleMetadata(QueryResponseMetadata queryResponseMetadata);
 
-  protected abstract void handleRow(Buffer buff);
+  /**
+   * Handles an entry following the metadata.
+   *
+   * @param json the entry, a {@link JsonArray} of column values for a row, or a
+   *             {@link JsonObject} for an error or token.
+   */
+  protected abstract void handleRow(Object json);
 
   protected abstract void handleExceptionAfterFutureCompleted(Throwable t);
 
@@ -68,6 +104,70 @@ abstract class QueryResponseHandler<T extends CompletableFuture<?>> extends Resp
       return;
     }
 
+    valueEncodings = ValueEncoding.forColumnTypes(queryResponseMetadata.columnTypes);
     handleMetadata(queryResponseMetadata);
   }
+
+  private JsonArray decodeRow(final Buffer payload) {
+    if (valueEncodings == null) {
+      throw new IllegalStateException("handleRow called before metadata processed");
+    }
+
+    final int numColumns = valueEncodings.size();
+    final List<Object> values = new ArrayList<>(numColumns);
+    int pos = (numColumns + Byte.SIZE - 1) / Byte.SIZE;
+
+    for (int i = 0; i < numColumns; i++) {
+      if ((payload.getByte(i / Byte.SIZE) & (1 << (i % Byte.SIZE))) != 0) {
+        values.add(null);
+        continue;
+      }
+
+      switch (valueEncodings.get(i)) {
+        case BOOLEAN:
+          values.add(payload.getByte(pos) != 0);
+          pos += 1;
+          break;
+        case INTEGER:
+          values.add(payload.getInt(pos));
+          pos += Integer.BYTES;
+          break;
+        case BIGINT:
+          // Narrowed to an Integer where possible, as decoding the JSON format would:
+          final long longValue = payload.getLong(pos);
+          values.add(longValue == (int) longValue ? (Object) (int) longValue : longValue);
+          pos += Long.BYTES;
+          break;
+        case DOUBLE:
+          values.add(payload.getDouble(pos));
+          pos += Double.BYTES;
+          break;
+        case STRING:
+          final int stringLength = payload.getInt(pos);
+          pos += Integer.BYTES;
+          values.add(payload.getString(pos, pos + stringLength, StandardCharsets.UTF_8.name()));
+          pos += stringLength;
+          break;
+        default:
+          final int jsonLength = payload.getInt(pos);
+          pos += Integer.BYTES;
+          values.add(unwrap(payload.getBuffer(pos, pos + jsonLength).toJson()));
+          pos += jsonLength;
+          break;
+      }
+    }
+
+    return new JsonArray(values);
+  }
+
+  private static Object unwrap(final Object json) {
+    // Nested values in a JsonArray decoded from JSON are held as maps and lists:
+    if (json instanceof JsonObject) {
+      return ((JsonObject) json).getMap();
+    }
+    if (json instanceof JsonArray) {
+      return ((JsonArray) json).getList();
+    }
+    return json;
+  }
 }
\ No newline at end of file
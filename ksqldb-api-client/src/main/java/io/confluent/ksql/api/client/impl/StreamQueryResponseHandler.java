@@ -21,7 +21,6 @@ import io.confluent.ksql.api.client.exception.KsqlException;
 import io.confluent.ksql.api.client.util.RowUtil;
 import io.confluent.ksql.rest.entity.QueryResponseMetadata;
 import io.vertx.core.Context;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.parsetools.RecordParser;
@@ -58,11 +57,10 @@ public class StreamQueryResponseHandler
   }
 
   @Override
-  protected void handleRow(final Buffer buff) {
+  protected void handleRow(final Object json) {
     if (queryResult == null) {
       throw new IllegalStateException("handleRow called before metadata processed");
     }
-    final Object json = buff.toJson();
     final Row row;
     if (json instanceof JsonArray) {
       row = new RowImpl(
@@ -1631,6 +1631,21 @@ public class ClientTest extends BaseApiTest {
     assertThat(testEndpoints.getLastSessionVariables(), is(new JsonObject().put("a", "a")));
   }
 
+  @Test
+  public void shouldSendParametersWithExecuteQuery() throws Exception {
+    // Given
+    javaClient.define("a", "a");
+    javaClient.define("b", "b");
+
+    // When
+    javaClient.executeQuery("query;", Collections.emptyMap(), ImmutableMap.of("b", 5)).get();
+
+    // Then
+    assertThat(testEndpoints.getLastSessionVariables(),
+        is(new JsonObject().put("a", "a").put("b", 5)));
+    assertThat(javaClient.getVariables(), is(ImmutableMap.of("a", "a", "b", "b")));
+  }
+
   @Test
   public void shouldSendSessionVariablesWithStreamQuery() throws Exception {
     // Given
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.confluent.ksql.api.client.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyByte;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.confluent.ksql.rest.BinaryQueryStreamFormat;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.parsetools.RecordParser;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BinaryQueryResponseParserTest {
+
+  @Mock
+  private RecordParser recordParser;
+  @Mock
+  private QueryResponseHandler<?> responseHandler;
+  @Captor
+  private ArgumentCaptor<Buffer> payload;
+
+  private BinaryQueryResponseParser parser;
+
+  @Before
+  public void setUp() {
+    parser = new BinaryQueryResponseParser(recordParser, responseHandler);
+  }
+
+  @Test
+  public void shouldReadPayloadOfLengthGivenInHeader() {
+    // When:
+    parser.handle(header(BinaryQueryStreamFormat.ROW_FRAME, 12));
+
+    // Then:
+    verify(recordParser).fixedSizeMode(12);
+    verify(responseHandler, never()).handleBinaryFrame(anyByte(), any());
+  }
+
+  @Test
+  public void shouldPassPayloadToHandlerAndReadNextHeader() {
+    // Given:
+    final Buffer frame = Buffer.buffer("[1]");
+    parser.handle(header(BinaryQueryStreamFormat.ERROR_FRAME, frame.length()));
+
+    // When:
+    parser.handle(frame);
+
+    // Then:
+    verify(responseHandler).handleBinaryFrame(BinaryQueryStreamFormat.ERROR_FRAME, frame);
+    verify(recordParser).fixedSizeMode(BinaryQueryStreamFormat.FRAME_HEADER_SIZE);
+  }
+
+  @Test
+  public void shouldPassEmptyPayloadWithoutReadingIt() {
+    // When:
+    parser.handle(header(BinaryQueryStreamFormat.ROW_FRAME, 0));
+
+    // Then:
+    verify(responseHandler)
+        .handleBinaryFrame(eq(BinaryQueryStreamFormat.ROW_FRAME), payload.capture());
+    assertThat(payload.getValue().length(), is(0));
+    verify(recordParser, never()).fixedSizeMode(anyInt());
+  }
+
+  @Test
+  public void shouldReadConsecutiveFrames() {
+    // Given:
+    final Buffer first = Buffer.buffer("{}");
+    final Buffer second = Buffer.buffer("[2, 3]");
+
+    // When:
+    parser.handle(header(BinaryQueryStreamFormat.METADATA_FRAME, first.length()));
+    parser.handle(first);
+    parser.handle(header(BinaryQueryStreamFormat.CONSISTENCY_TOKEN_FRAME, second.length()));
+    parser.handle(second);
+
+    // Then:
+    verify(responseHandler).handleBinaryFrame(BinaryQueryStreamFormat.METADATA_FRAME, first);
+    verify(responseHandler)
+        .handleBinaryFrame(BinaryQueryStreamFormat.CONSISTENCY_TOKEN_FRAME, second);
+  }
+
+  private static Buffer header(final byte frameType, final int length) {
+    return Buffer.buffer().appendByte(frameType).appendInt(length);
+  }
+}
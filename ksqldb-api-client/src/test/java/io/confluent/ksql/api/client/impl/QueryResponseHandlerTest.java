@@ -0,0 +1,212 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.confluent.ksql.api.client.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat;
+import io.confluent.ksql.rest.entity.QueryResponseMetadata;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.parsetools.RecordParser;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class QueryResponseHandlerTest {
+
+  @Mock
+  private RecordParser recordParser;
+
+  private Vertx vertx;
+  private Context context;
+  private TestHandler handler;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+    context = vertx.getOrCreateContext();
+    handler = new TestHandler(context, recordParser);
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void shouldDecodeRowOfEachEncoding() throws Exception {
+    // Given:
+    givenMetadata("BOOLEAN", "INTEGER", "BIGINT", "BIGINT", "DOUBLE", "STRING", "ARRAY<INTEGER>",
+        "STRUCT<`A` INTEGER>");
+    final byte[] string = "h\u00e9llo".getBytes(StandardCharsets.UTF_8);
+    final byte[] array = "[1,2]".getBytes(StandardCharsets.UTF_8);
+    final byte[] struct = "{\"A\":3}".getBytes(StandardCharsets.UTF_8);
+    final Buffer payload = Buffer.buffer()
+        .appendByte((byte) 0)
+        .appendByte((byte) 1)
+        .appendInt(10)
+        .appendLong(20L)
+        .appendLong(Long.MAX_VALUE)
+        .appendDouble(1.5)
+        .appendInt(string.length).appendBytes(string)
+        .appendInt(array.length).appendBytes(array)
+        .appendInt(struct.length).appendBytes(struct);
+
+    // When:
+    final JsonArray row = handleRow(payload);
+
+    // Then:
+    assertThat(row.getList(), is(Arrays.asList(true, 10, 20, Long.MAX_VALUE, 1.5, "h\u00e9llo",
+        ImmutableList.of(1, 2), ImmutableMap.of("A", 3))));
+  }
+
+  @Test
+  public void shouldDecodeRowAsDelimitedFormatWould() throws Exception {
+    // Given:
+    givenMetadata("BIGINT", "ARRAY<INTEGER>", "MAP<STRING, INTEGER>");
+    final byte[] array = "[1,2]".getBytes(StandardCharsets.UTF_8);
+    final byte[] map = "{\"a\":1}".getBytes(StandardCharsets.UTF_8);
+    final Buffer payload = Buffer.buffer()
+        .appendByte((byte) 0)
+        .appendLong(5L)
+        .appendInt(array.length).appendBytes(array)
+        .appendInt(map.length).appendBytes(map);
+
+    // When:
+    final JsonArray row = handleRow(payload);
+
+    // Then:
+    assertThat(row, is(Buffer.buffer("[5,[1,2],{\"a\":1}]").toJsonArray()));
+  }
+
+  @Test
+  public void shouldDecodeNullBitmapForMoreThanEightColumns() throws Exception {
+    // Given:
+    givenMetadata(Collections.nCopies(10, "INTEGER").toArray(new String[0]));
+    final Buffer payload = Buffer.buffer()
+        .appendByte((byte) 0x01)
+        .appendByte((byte) 0x03);
+    for (int i = 1; i <= 7; i++) {
+      payload.appendInt(i);
+    }
+
+    // When:
+    final JsonArray row = handleRow(payload);
+
+    // Then:
+    assertThat(row.getList(), is(Arrays.asList(null, 1, 2, 3, 4, 5, 6, 7, null, null)));
+  }
+
+  @Test
+  public void shouldDecodeAllNullRow() throws Exception {
+    // Given:
+    givenMetadata("STRING", "DOUBLE");
+
+    // When:
+    final JsonArray row = handleRow(Buffer.buffer().appendByte((byte) 0x03));
+
+    // Then:
+    assertThat(row.getList(), is(Arrays.asList(null, null)));
+  }
+
+  @Test
+  public void shouldPassNonRowFramesAsJson() throws Exception {
+    // Given:
+    givenMetadata("STRING");
+
+    // When:
+    onContext(() -> handler.handleBinaryFrame(
+        BinaryQueryStreamFormat.ERROR_FRAME, Buffer.buffer("{\"message\":\"Boom\"}")));
+
+    // Then:
+    assertThat(handler.rows.get(0), is(new JsonObject().put("message", "Boom")));
+  }
+
+  private void givenMetadata(final String... columnTypes) throws Exception {
+    final List<String> names = new ArrayList<>();
+    for (int i = 0; i < columnTypes.length; i++) {
+      names.add("COL" + i);
+    }
+    final Buffer metadata = new JsonObject()
+        .put("queryId", "queryId")
+        .put("columnNames", new JsonArray(names))
+        .put("columnTypes", new JsonArray(Arrays.asList(columnTypes)))
+        .toBuffer();
+    onContext(() -> handler.handleBinaryFrame(BinaryQueryStreamFormat.METADATA_FRAME, metadata));
+  }
+
+  private JsonArray handleRow(final Buffer payload) throws Exception {
+    onContext(() -> handler.handleBinaryFrame(BinaryQueryStreamFormat.ROW_FRAME, payload));
+    return (JsonArray) handler.rows.get(handler.rows.size() - 1);
+  }
+
+  private void onContext(final Runnable action) throws Exception {
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+    context.runOnContext(v -> {
+      try {
+        action.run();
+        done.complete(null);
+      } catch (final Exception e) {
+        done.completeExceptionally(e);
+      }
+    });
+    done.get(10, TimeUnit.SECONDS);
+  }
+
+  private static final class TestHandler
+      extends QueryResponseHandler<CompletableFuture<Void>> {
+
+    private final List<Object> rows = new ArrayList<>();
+
+    TestHandler(final Context context, final RecordParser recordParser) {
+      super(context, recordParser, new CompletableFuture<>());
+    }
+
+    @Override
+    protected void handleMetadata(final QueryResponseMetadata queryResponseMetadata) {
+    }
+
+    @Override
+    protected void handleRow(final Object json) {
+      rows.add(json);
+    }
+
+    @Override
+    protected void handleExceptionAfterFutureCompleted(final Throwable t) {
+    }
+
+    @Override
+    protected void doHandleBodyEnd() {
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.benchmark;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.codegen.CodeGenRunner;
+import io.confluent.ksql.execution.codegen.CompiledExpression;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
+import io.confluent.ksql.function.InternalFunctionRegistry;
+import io.confluent.ksql.logging.processing.NoopProcessingLogContext;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the per-row cost of evaluating compiled expressions.
+ *
+ * <p>Run with the GC profiler, which {@link #main} enables, and check {@code gc.alloc.rate.norm}:
+ * evaluating an expression whose result does not need allocating, e.g. a comparison or a
+ * column reference, should allocate zero bytes per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+@Fork(3)
+public class ExpressionEvaluatorBenchmark {
+
+  private static final ColumnName COL_A = ColumnName.of("A");
+  private static final ColumnName COL_B = ColumnName.of("B");
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .valueColumn(COL_A, SqlTypes.BIGINT)
+      .valueColumn(COL_B, SqlTypes.BIGINT)
+      .build();
+
+  private static final Supplier<String> ERROR_MSG = () -> "evaluation failed";
+
+  @State(Scope.Thread)
+  public static class ExpressionState {
+
+    private CompiledExpression columnReference;
+    private CompiledExpression comparison;
+    private GenericRow row;
+    private ProcessingLogger logger;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+      final KsqlConfig ksqlConfig = new KsqlConfig(Collections.emptyMap());
+      final InternalFunctionRegistry functionRegistry = new InternalFunctionRegistry();
+
+      columnReference = compile(
+          new UnqualifiedColumnReferenceExp(COL_A),
+          ksqlConfig,
+          functionRegistry
+      );
+
+      comparison = compile(
+          new ComparisonExpression(
+              ComparisonExpression.Type.GREATER_THAN,
+              new UnqualifiedColumnReferenceExp(COL_A),
+              new UnqualifiedColumnReferenceExp(COL_B)
+          ),
+          ksqlConfig,
+          functionRegistry
+      );
+
+      row = new GenericRow(2).append(1_000_000L).append(10L);
+      logger = NoopProcessingLogContext.NOOP_LOGGER;
+    }
+
+    private static CompiledExpression compile(
+        final Expression expression,
+        final KsqlConfig ksqlConfig,
+        final InternalFunctionRegistry functionRegistry
+    ) {
+      return CodeGenRunner.compileExpression(
+          expression,
+          "Benchmark",
+          SCHEMA,
+          ksqlConfig,
+          functionRegistry
+      );
+    }
+  }
+
+  @Benchmark
+  public Object evaluateColumnReference(final ExpressionState state) {
+    return state.columnReference.evaluate(state.row, null, state.logger, ERROR_MSG);
+  }
+
+  @Benchmark
+  public Object evaluateComparison(final ExpressionState state) {
+    return state.comparison.evaluate(state.row, null, state.logger, ERROR_MSG);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder()
+        .include(ExpressionEvaluatorBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -91,6 +91,7 @@ public class SerdeBenchmark {
 
   private static final String JSON_FORMAT = "JSON";
   private static final String AVRO_FORMAT = "Avro";
+  private static final String AVRO_DIRECT_FORMAT = "Avro_Direct";
   private static final String PROTOBUF_FORMAT = "Protobuf";
   private static final String DELIMITED_FORMAT = "Delimited";
   private static final String KAFKA_FORMAT = "Kafka";
@@ -130,18 +131,21 @@ public class SerdeBenchmark {
         // SINGLE_KEY + PROTOBUF excluded as PB isn't yet supported for single key schemas
         SINGLE_KEY_SCHEMA + SEPARATOR + JSON_FORMAT,
         SINGLE_KEY_SCHEMA + SEPARATOR + AVRO_FORMAT,
+        SINGLE_KEY_SCHEMA + SEPARATOR + AVRO_DIRECT_FORMAT,
 
         IMPRESSIONS_SCHEMA + SEPARATOR + DELIMITED_FORMAT,
         // IMPRESSIONS + KAFKA excluded as KAFKA does not support multiple columns
         IMPRESSIONS_SCHEMA + SEPARATOR + PROTOBUF_FORMAT,
         IMPRESSIONS_SCHEMA + SEPARATOR + JSON_FORMAT,
         IMPRESSIONS_SCHEMA + SEPARATOR + AVRO_FORMAT,
+        IMPRESSIONS_SCHEMA + SEPARATOR + AVRO_DIRECT_FORMAT,
 
         // METRICS + DELIMITED_FORMAT excluded as DELIMITED does not support complex types
         // METRICS + KAFKA excluded as KAFKA does not support multiple columns
         METRICS_SCHEMA + SEPARATOR + PROTOBUF_FORMAT,
         METRICS_SCHEMA + SEPARATOR + JSON_FORMAT,
-        METRICS_SCHEMA + SEPARATOR + AVRO_FORMAT
+        METRICS_SCHEMA + SEPARATOR + AVRO_FORMAT,
+        METRICS_SCHEMA + SEPARATOR + AVRO_DIRECT_FORMAT
     })
     public String params;
 
@@ -200,7 +204,7 @@ public class SerdeBenchmark {
     }
 
     private static FormatInfo getFormatInfo(final String formatName) {
-      if (AvroFormat.NAME.equals(formatName)) {
+      if (AvroFormat.NAME.equals(formatName) || isAvroDirect(formatName)) {
         return FormatInfo.of(
             FormatFactory.AVRO.name(),
             ImmutableMap.of(AvroFormat.FULL_SCHEMA_NAME, "benchmarkSchema")
@@ -210,6 +214,18 @@ public class SerdeBenchmark {
       return FormatInfo.of(formatName);
     }
 
+    private static boolean isAvroDirect(final String formatName) {
+      return AVRO_DIRECT_FORMAT.toUpperCase().equals(formatName);
+    }
+
+    private static KsqlConfig getKsqlConfig(final String formatName) {
+      // Avro_Direct is Avro with values decoded directly, rather than via Connect:
+      return new KsqlConfig(Collections.singletonMap(
+          KsqlConfig.KSQL_AVRO_DIRECT_DECODING_ENABLED,
+          isAvroDirect(formatName)
+      ));
+    }
+
     private static Serde<GenericKey> getGenericKeySerde(
         final LogicalSchema schema,
         final String formatName
@@ -224,7 +240,7 @@ public class SerdeBenchmark {
       return new GenericKeySerDe().create(
           formatInfo,
           persistenceSchema,
-          new KsqlConfig(Collections.emptyMap()),
+          getKsqlConfig(formatName),
           () -> srClient,
           "benchmark",
           ProcessingLogContext.create(),
@@ -243,7 +259,7 @@ public class SerdeBenchmark {
       return GenericRowSerDe.from(
           format,
           PersistenceSchema.from(schema.value(), SerdeFeatures.of()),
-          new KsqlConfig(Collections.emptyMap()),
+          getKsqlConfig(formatName),
           () -> srClient,
           "benchmark",
           ProcessingLogContext.create()
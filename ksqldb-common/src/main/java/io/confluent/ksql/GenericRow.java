@@ -17,7 +17,6 @@ package io.confluent.ksql;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.annotations.VisibleForTesting;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -25,25 +24,55 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+/**
+ * A row of column values.
+ *
+ * <p>Values are held in a plain array rather than a list, so that reading, writing and copying
+ * rows is as cheap as possible on the hot path.
+ */
 public class GenericRow {
 
-  private final ArrayList<Object> values;
+  private static final Object[] EMPTY = new Object[0];
+
+  private Object[] values;
+  private int size;
 
   public GenericRow() {
     this(0);
   }
 
   public GenericRow(final int initialCapacity) {
-    this.values = new ArrayList<>(initialCapacity);
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+    }
+    this.values = initialCapacity == 0 ? EMPTY : new Object[initialCapacity];
+  }
+
+  private GenericRow(final Object[] values, final int size) {
+    this.values = values;
+    this.size = size;
   }
 
   @VisibleForTesting // Only use from tests
   public static GenericRow genericRow(final Object... columns) {
-    return new GenericRow().appendAll(Arrays.asList(columns));
+    return new GenericRow(Arrays.copyOf(columns, columns.length, Object[].class), columns.length);
   }
 
   public static GenericRow fromList(final List<?> columns) {
-    return new GenericRow().appendAll(columns);
+    final Object[] values = columns.toArray();
+    return new GenericRow(values, values.length);
+  }
+
+  /**
+   * Create a shallow copy of this row.
+   *
+   * <p>The copy shares its values with this row, but changes made to the structure of one, i.e.
+   * setting or appending values, are not visible in the other.
+   *
+   * @return the copy.
+   */
+  public GenericRow copy() {
+    return new GenericRow(Arrays.copyOf(values, size), size);
   }
 
   /**
@@ -55,39 +84,62 @@ public class GenericRow {
    * @param additionalCapacity the number of additional elements
    */
   public void ensureAdditionalCapacity(final int additionalCapacity) {
-    values.ensureCapacity(additionalCapacity + values.size());
+    ensureCapacity(size + additionalCapacity);
   }
 
   public int size() {
-    return values.size();
+    return size;
   }
 
   public Object get(final int index) {
-    return values.get(index);
+    checkIndex(index);
+    return values[index];
   }
 
   public void set(final int index, final Object value) {
-    values.set(index, value);
+    checkIndex(index);
+    values[index] = value;
   }
 
   public GenericRow append(final Object value) {
-    values.add(value);
+    if (size == values.length) {
+      ensureCapacity(size + 1);
+    }
+    values[size++] = value;
     return this;
   }
 
   public GenericRow appendAll(final Collection<?> values) {
-    this.values.addAll(values);
+    final Object[] toAdd = values.toArray();
+    ensureCapacity(size + toAdd.length);
+    System.arraycopy(toAdd, 0, this.values, size, toAdd.length);
+    size += toAdd.length;
     return this;
   }
 
   @JsonProperty("columns")
   public List<Object> values() {
-    return Collections.unmodifiableList(values);
+    return Collections.unmodifiableList(Arrays.asList(values).subList(0, size));
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  private void ensureCapacity(final int required) {
+    if (required <= values.length) {
+      return;
+    }
+
+    final int grown = values.length + (values.length >> 1);
+    values = Arrays.copyOf(values, Math.max(required, Math.max(grown, 10)));
   }
 
   @Override
   public String toString() {
-    return values.stream()
+    return Arrays.stream(values, 0, size)
         .map(GenericRow::formatValue)
         .collect(Collectors.joining(" | ", "[ ", " ]"));
   }
@@ -103,12 +155,25 @@ public class GenericRow {
     }
 
     final GenericRow that = (GenericRow) o;
-    return Objects.equals(this.values, that.values);
+    if (this.size != that.size) {
+      return false;
+    }
+
+    for (int i = 0; i < size; i++) {
+      if (!Objects.equals(this.values[i], that.values[i])) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(values);
+    int result = 1;
+    for (int i = 0; i < size; i++) {
+      result = 31 * result + Objects.hashCode(values[i]);
+    }
+    return result;
   }
 
   static String formatValue(final Object value) {
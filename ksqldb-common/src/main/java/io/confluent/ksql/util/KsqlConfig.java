@@ -186,6 +186,14 @@ public class KsqlConfig extends AbstractConfig {
 
   public static final String KSQL_INSERT_INTO_VALUES_ENABLED = "ksql.insert.into.values.enabled";
 
+  public static final String KSQL_INSERT_INTO_VALUES_ASYNC_ACKS =
+      "ksql.insert.into.values.async.acks";
+  public static final boolean KSQL_INSERT_INTO_VALUES_ASYNC_ACKS_DEFAULT = false;
+  public static final String KSQL_INSERT_INTO_VALUES_ASYNC_ACKS_DOC = "If true, INSERT INTO ... "
+      + "VALUES statements return as soon as their rows are handed to the server's producer, "
+      + "rather than waiting for Kafka to acknowledge them. This pipelines bulk inserts, but "
+      + "failures to write the rows are only logged by the server and not returned to the client.";
+
   public static final String DEFAULT_EXT_DIR = "ext";
 
   public static final String KSQL_SECURITY_EXTENSION_CLASS = "ksql.security.extension.class";
@@ -225,6 +233,46 @@ public class KsqlConfig extends AbstractConfig {
           + "to ksql.streams.num.standby.replicas >= 1";
   public static final boolean KSQL_QUERY_PULL_ENABLE_STANDBY_READS_DEFAULT = false;
 
+  public static final String KSQL_QUERY_PULL_TABLE_CACHE_MAX_ENTRIES =
+      "ksql.query.pull.table.cache.max.entries";
+  public static final int KSQL_QUERY_PULL_TABLE_CACHE_MAX_ENTRIES_DEFAULT = 0;
+  private static final String KSQL_QUERY_PULL_TABLE_CACHE_MAX_ENTRIES_DOC =
+      "The maximum number of rows of a table materialized by a persistent query that are "
+          + "cached in memory to serve key lookups by pull queries. Cached rows are invalidated "
+          + "as the query flushes writes to the table's state store, so a cached row may be up "
+          + "to one commit interval older than the row in the store. Applies to queries started "
+          + "after it is set. "
+          + "Not used for windowed tables, queries on shared runtimes, or when "
+          + KSQL_QUERY_PULL_ENABLE_STANDBY_READS + " is true. Default is 0, i.e. disabled.";
+
+  public static final String KSQL_QUERY_PULL_TABLE_INDEX_COLUMNS =
+      "ksql.query.pull.table.index.columns";
+  public static final String KSQL_QUERY_PULL_TABLE_INDEX_COLUMNS_DEFAULT = "";
+  private static final String KSQL_QUERY_PULL_TABLE_INDEX_COLUMNS_DOC =
+      "Experimental. A list of value columns to maintain in-memory secondary indexes on, for "
+          + "the tables materialized by the persistent queries this is set for. Set it in the "
+          + "properties of a CREATE TABLE statement to index only that table. Pull queries use "
+          + "an index to look up the rows of a table by equality on a non-key column, e.g. "
+          + "`SELECT * FROM T WHERE STATUS = 'OPEN';`, rather than scanning the whole table. "
+          + "Limitations: indexes are held on the heap, partition by partition, and are dropped "
+          + "for partitions with more rows than ksql.query.pull.table.index.max.entries; "
+          + "they are built in the background the first time they are used, and the "
+          + "partition is scanned until then; they are updated as the query flushes writes to "
+          + "the table's state store, so rows written since the last commit may be missing "
+          + "from results. Only used for tables whose rows are stored as they are queried, e.g. "
+          + "source tables, and so not for aggregations or projections; nor for windowed "
+          + "tables, queries on shared runtimes, or when " + KSQL_QUERY_PULL_ENABLE_STANDBY_READS
+          + " is true. Applies to queries started after it is set. "
+          + "Default is empty, i.e. disabled.";
+
+  public static final String KSQL_QUERY_PULL_TABLE_INDEX_MAX_ENTRIES =
+      "ksql.query.pull.table.index.max.entries";
+  public static final int KSQL_QUERY_PULL_TABLE_INDEX_MAX_ENTRIES_DEFAULT = 1_000_000;
+  private static final String KSQL_QUERY_PULL_TABLE_INDEX_MAX_ENTRIES_DOC =
+      "The maximum number of rows of a partition of a table that a secondary index, configured "
+          + "with " + KSQL_QUERY_PULL_TABLE_INDEX_COLUMNS + ", holds in memory. If a partition "
+          + "has more rows, its index is dropped and pull queries scan the partition instead.";
+
   public static final String KSQL_QUERY_PULL_MAX_ALLOWED_OFFSET_LAG_CONFIG =
       "ksql.query.pull.max.allowed.offset.lag";
   public static final Long KSQL_QUERY_PULL_MAX_ALLOWED_OFFSET_LAG_DEFAULT = Long.MAX_VALUE;
@@ -312,6 +360,14 @@ public class KsqlConfig extends AbstractConfig {
           + "queries.";
   public static final boolean KSQL_QUERY_PULL_CONSISTENCY_OFFSET_VECTOR_ENABLED_DEFAULT = false;
 
+  public static final String KSQL_QUERY_PULL_STATEMENT_CACHE_SIZE
+      = "ksql.query.pull.statement.cache.size";
+  public static final String KSQL_QUERY_PULL_STATEMENT_CACHE_SIZE_DOC =
+      "The maximum number of prepared pull query statements to cache. Pull queries which differ "
+          + "only in the values of their literals share a cache entry, so repeated queries skip "
+          + "parsing. Set to 0 to disable the cache.";
+  public static final int KSQL_QUERY_PULL_STATEMENT_CACHE_SIZE_DEFAULT = 1000;
+
   public static final String KSQL_QUERY_PUSH_V2_ENABLED
       = "ksql.query.push.v2.enabled";
   public static final String KSQL_QUERY_PUSH_V2_ENABLED_DOC =
@@ -344,6 +400,22 @@ public class KsqlConfig extends AbstractConfig {
           + "different performance characteristics.";
   public static final boolean KSQL_QUERY_PUSH_V2_INTERPRETER_ENABLED_DEFAULT = true;
 
+  public static final String KSQL_QUERY_TIERED_COMPILATION_THRESHOLD
+      = "ksql.query.tiered.compilation.threshold";
+  public static final String KSQL_QUERY_TIERED_COMPILATION_THRESHOLD_DOC =
+      "The number of times an expression is interpreted before it is compiled, when tiered "
+          + "compilation is enabled.";
+  public static final int KSQL_QUERY_TIERED_COMPILATION_THRESHOLD_DEFAULT = 10000;
+
+  public static final String KSQL_QUERY_TIERED_COMPILATION_ENABLED
+      = "ksql.query.tiered.compilation.enabled";
+  public static final String KSQL_QUERY_TIERED_COMPILATION_ENABLED_DOC =
+      "Enables tiered expression evaluation for persistent queries. Filter and select expressions "
+          + "start out in the interpreter and are swapped for generated code in the background "
+          + "once they have been evaluated " + KSQL_QUERY_TIERED_COMPILATION_THRESHOLD
+          + " times. This reduces the cost of creating and restarting queries.";
+  public static final boolean KSQL_QUERY_TIERED_COMPILATION_ENABLED_DEFAULT = false;
+
   public static final String KSQL_QUERY_PUSH_V2_NEW_LATEST_DELAY_MS
       = "ksql.query.push.v2.new.latest.delay.ms";
   public static final String KSQL_QUERY_PUSH_V2_NEW_LATEST_DELAY_DOC =
@@ -359,6 +431,29 @@ public class KsqlConfig extends AbstractConfig {
           + " adopt those offsets rather than seek to the end.";
   public static final long KSQL_QUERY_PUSH_V2_LATEST_RESET_AGE_MS_DEFAULT = 30000;
 
+  public static final String KSQL_QUERY_PUSH_V2_BUFFER_CAPACITY
+      = "ksql.query.push.v2.buffer.capacity";
+  public static final String KSQL_QUERY_PUSH_V2_BUFFER_CAPACITY_DOC =
+      "The number of rows buffered by each scalable push query consumer, shared by all requests"
+          + " reading from it. A request which falls this many rows behind is handled according"
+          + " to ksql.query.push.v2.slow.consumer.policy. Rounded up to a power of two.";
+  public static final int KSQL_QUERY_PUSH_V2_BUFFER_CAPACITY_DEFAULT = 1024;
+
+  public static final String KSQL_QUERY_PUSH_V2_SLOW_CONSUMER_POLICY
+      = "ksql.query.push.v2.slow.consumer.policy";
+  public static final String KSQL_QUERY_PUSH_V2_SLOW_CONSUMER_POLICY_DOC =
+      "What to do with a scalable push query request which has fallen behind by the full buffer"
+          + " capacity. DROP fails the request, while BLOCK pauses the consumer, and so all other"
+          + " requests, for up to a second waiting for it to catch up before failing it.";
+  public static final String KSQL_QUERY_PUSH_V2_SLOW_CONSUMER_POLICY_DEFAULT = "DROP";
+
+  public static final String KSQL_QUERY_PUSH_V2_COMMIT_INTERVAL_MS
+      = "ksql.query.push.v2.commit.interval.ms";
+  public static final String KSQL_QUERY_PUSH_V2_COMMIT_INTERVAL_MS_DOC =
+      "The minimum interval in ms between asynchronous offset commits made by scalable push query"
+          + " consumers. A value of 0 commits after every batch of records.";
+  public static final long KSQL_QUERY_PUSH_V2_COMMIT_INTERVAL_MS_DEFAULT = 1000;
+
   public static final String KSQL_STRING_CASE_CONFIG_TOGGLE = "ksql.cast.strings.preserve.nulls";
   public static final String KSQL_STRING_CASE_CONFIG_TOGGLE_DOC =
       "When casting a SQLType to string, if false, use String.valueof(), else if true use"
@@ -452,6 +547,23 @@ public class KsqlConfig extends AbstractConfig {
   public static final String KSQL_SUPPRESS_ENABLED_DOC =
       "Feature flag for suppression, specifically EMIT FINAL";
 
+  public static final String KSQL_AGGREGATE_IN_PLACE_ENABLED =
+      "ksql.aggregate.in.place.enabled";
+  public static final Boolean KSQL_AGGREGATE_IN_PLACE_ENABLED_DEFAULT = false;
+  public static final String KSQL_AGGREGATE_IN_PLACE_ENABLED_DOC =
+      "Feature flag for in-place aggregation. If true, aggregations update the aggregate row "
+          + "read from the state store in place, rather than copying it for every input record. "
+          + "Not used by queries that need the previous value of the aggregate, e.g. those that "
+          + "EMIT FINAL.";
+
+  public static final String KSQL_AVRO_DIRECT_DECODING_ENABLED =
+      "ksql.avro.direct.decoding.enabled";
+  public static final Boolean KSQL_AVRO_DIRECT_DECODING_ENABLED_DEFAULT = false;
+  public static final String KSQL_AVRO_DIRECT_DECODING_ENABLED_DOC =
+      "Feature flag for direct Avro decoding. If true, Avro values are decoded straight into "
+          + "ksqlDB's internal types, rather than via Connect's data model, whenever the writer "
+          + "schema allows it.";
+
   public static final String KSQL_LAMBDAS_ENABLED = "ksql.lambdas.enabled";
   public static final Boolean KSQL_LAMBDAS_ENABLED_DEFAULT = true;
   public static final String KSQL_LAMBDAS_ENABLED_DOC =
@@ -787,6 +899,12 @@ public class KsqlConfig extends AbstractConfig {
             true,
             ConfigDef.Importance.LOW,
             "Enable the INSERT INTO ... VALUES functionality."
+        ).define(
+            KSQL_INSERT_INTO_VALUES_ASYNC_ACKS,
+            Type.BOOLEAN,
+            KSQL_INSERT_INTO_VALUES_ASYNC_ACKS_DEFAULT,
+            ConfigDef.Importance.LOW,
+            KSQL_INSERT_INTO_VALUES_ASYNC_ACKS_DOC
         ).define(
             KSQL_SECURITY_EXTENSION_CLASS,
             Type.CLASS,
@@ -877,6 +995,26 @@ public class KsqlConfig extends AbstractConfig {
             KSQL_QUERY_PULL_ENABLE_STANDBY_READS_DEFAULT,
             Importance.MEDIUM,
             KSQL_QUERY_PULL_ENABLE_STANDBY_READS_DOC
+        ).define(
+            KSQL_QUERY_PULL_TABLE_CACHE_MAX_ENTRIES,
+            Type.INT,
+            KSQL_QUERY_PULL_TABLE_CACHE_MAX_ENTRIES_DEFAULT,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_QUERY_PULL_TABLE_CACHE_MAX_ENTRIES_DOC
+        ).define(
+            KSQL_QUERY_PULL_TABLE_INDEX_COLUMNS,
+            Type.LIST,
+            KSQL_QUERY_PULL_TABLE_INDEX_COLUMNS_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_PULL_TABLE_INDEX_COLUMNS_DOC
+        ).define(
+            KSQL_QUERY_PULL_TABLE_INDEX_MAX_ENTRIES,
+            Type.INT,
+            KSQL_QUERY_PULL_TABLE_INDEX_MAX_ENTRIES_DEFAULT,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_QUERY_PULL_TABLE_INDEX_MAX_ENTRIES_DOC
         ).define(
             KSQL_QUERY_PULL_MAX_ALLOWED_OFFSET_LAG_CONFIG,
             Type.LONG,
@@ -1020,6 +1158,14 @@ public class KsqlConfig extends AbstractConfig {
             Importance.LOW,
             KSQL_QUERY_PULL_CONSISTENCY_OFFSET_VECTOR_ENABLED_DOC
         )
+        .define(
+            KSQL_QUERY_PULL_STATEMENT_CACHE_SIZE,
+            Type.INT,
+            KSQL_QUERY_PULL_STATEMENT_CACHE_SIZE_DEFAULT,
+            ConfigDef.Range.atLeast(0),
+            Importance.LOW,
+            KSQL_QUERY_PULL_STATEMENT_CACHE_SIZE_DOC
+        )
         .define(
             KSQL_QUERY_PUSH_V2_ENABLED,
             Type.BOOLEAN,
@@ -1048,6 +1194,21 @@ public class KsqlConfig extends AbstractConfig {
             Importance.LOW,
             KSQL_QUERY_PUSH_V2_INTERPRETER_ENABLED_DOC
         )
+        .define(
+            KSQL_QUERY_TIERED_COMPILATION_ENABLED,
+            Type.BOOLEAN,
+            KSQL_QUERY_TIERED_COMPILATION_ENABLED_DEFAULT,
+            Importance.LOW,
+            KSQL_QUERY_TIERED_COMPILATION_ENABLED_DOC
+        )
+        .define(
+            KSQL_QUERY_TIERED_COMPILATION_THRESHOLD,
+            Type.INT,
+            KSQL_QUERY_TIERED_COMPILATION_THRESHOLD_DEFAULT,
+            zeroOrPositive(),
+            Importance.LOW,
+            KSQL_QUERY_TIERED_COMPILATION_THRESHOLD_DOC
+        )
         .define(
             KSQL_QUERY_PUSH_V2_NEW_LATEST_DELAY_MS,
             Type.LONG,
@@ -1062,6 +1223,30 @@ public class KsqlConfig extends AbstractConfig {
             Importance.LOW,
             KSQL_QUERY_PUSH_V2_LATEST_RESET_AGE_MS_DOC
         )
+        .define(
+            KSQL_QUERY_PUSH_V2_BUFFER_CAPACITY,
+            Type.INT,
+            KSQL_QUERY_PUSH_V2_BUFFER_CAPACITY_DEFAULT,
+            ConfigDef.Range.between(1, 1 << 20),
+            Importance.LOW,
+            KSQL_QUERY_PUSH_V2_BUFFER_CAPACITY_DOC
+        )
+        .define(
+            KSQL_QUERY_PUSH_V2_SLOW_CONSUMER_POLICY,
+            Type.STRING,
+            KSQL_QUERY_PUSH_V2_SLOW_CONSUMER_POLICY_DEFAULT,
+            ValidString.in("DROP", "BLOCK"),
+            Importance.LOW,
+            KSQL_QUERY_PUSH_V2_SLOW_CONSUMER_POLICY_DOC
+        )
+        .define(
+            KSQL_QUERY_PUSH_V2_COMMIT_INTERVAL_MS,
+            Type.LONG,
+            KSQL_QUERY_PUSH_V2_COMMIT_INTERVAL_MS_DEFAULT,
+            ConfigDef.Range.atLeast(0),
+            Importance.LOW,
+            KSQL_QUERY_PUSH_V2_COMMIT_INTERVAL_MS_DOC
+        )
         .define(
             KSQL_ERROR_CLASSIFIER_REGEX_PREFIX,
             Type.STRING,
@@ -1090,6 +1275,20 @@ public class KsqlConfig extends AbstractConfig {
             Importance.LOW,
             KSQL_SUPPRESS_ENABLED_DOC
         )
+        .define(
+            KSQL_AGGREGATE_IN_PLACE_ENABLED,
+            Type.BOOLEAN,
+            KSQL_AGGREGATE_IN_PLACE_ENABLED_DEFAULT,
+            Importance.LOW,
+            KSQL_AGGREGATE_IN_PLACE_ENABLED_DOC
+        )
+        .define(
+            KSQL_AVRO_DIRECT_DECODING_ENABLED,
+            Type.BOOLEAN,
+            KSQL_AVRO_DIRECT_DECODING_ENABLED_DEFAULT,
+            Importance.LOW,
+            KSQL_AVRO_DIRECT_DECODING_ENABLED_DOC
+        )
         .define(
             KSQL_QUERY_RETRY_BACKOFF_INITIAL_MS,
             Type.LONG,
@@ -0,0 +1,510 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable map, where updates return a new map which shares most of its structure with the
+ * original.
+ *
+ * <p>The map is a hash array mapped trie: adding or removing an entry copies only the nodes on
+ * the path to the entry, i.e. O(log32 n) of them, rather than the whole map. This makes it cheap to
+ * take a snapshot of some state held in a map, e.g. to sandbox it, as the snapshot is just a
+ * reference to the current map, and the cost of diverging from the snapshot is proportional to
+ * the number of changes made.
+ *
+ * <p>Neither keys nor values may be null. Keys must be immutable.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+@SuppressWarnings("unchecked")
+public final class PersistentMap<K, V> {
+
+  private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(BitmapNode.EMPTY, 0);
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final Object NOT_FOUND = new Object();
+
+  private final Node root;
+  private final int size;
+
+  private PersistentMap(final Node root, final int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  public static <K, V> PersistentMap<K, V> empty() {
+    return (PersistentMap<K, V>) EMPTY;
+  }
+
+  public static <K, V> PersistentMap<K, V> copyOf(final Map<? extends K, ? extends V> map) {
+    PersistentMap<K, V> result = empty();
+    for (final Map.Entry<? extends K, ? extends V> e : map.entrySet()) {
+      result = result.plus(e.getKey(), e.getValue());
+    }
+    return result;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public V get(final Object key) {
+    final Object value = root.find(0, hash(key), key);
+    return value == NOT_FOUND ? null : (V) value;
+  }
+
+  public V getOrDefault(final Object key, final V defaultValue) {
+    final V value = get(key);
+    return value == null ? defaultValue : value;
+  }
+
+  public boolean containsKey(final Object key) {
+    return root.find(0, hash(key), key) != NOT_FOUND;
+  }
+
+  /**
+   * @return a map with the supplied entry added, or replacing any existing entry for the key.
+   */
+  public PersistentMap<K, V> plus(final K key, final V value) {
+    Objects.requireNonNull(key, "key");
+    Objects.requireNonNull(value, "value");
+
+    final boolean[] added = new boolean[1];
+    final Node newRoot = root.put(0, hash(key), key, value, added);
+    return newRoot == root
+        ? this
+        : new PersistentMap<>(newRoot, added[0] ? size + 1 : size);
+  }
+
+  /**
+   * @return a map with any entry for the supplied key removed.
+   */
+  public PersistentMap<K, V> minus(final Object key) {
+    final Node newRoot = root.remove(0, hash(key), key);
+    if (newRoot == root) {
+      return this;
+    }
+    return newRoot == null ? empty() : new PersistentMap<>(newRoot, size - 1);
+  }
+
+  public void forEach(final BiConsumer<? super K, ? super V> action) {
+    root.forEach((BiConsumer<Object, Object>) action);
+  }
+
+  /**
+   * @return an unmodifiable {@link Map} view of this map.
+   */
+  public Map<K, V> asMap() {
+    return new MapView();
+  }
+
+  @Override
+  public String toString() {
+    return asMap().toString();
+  }
+
+  private static int hash(final Object key) {
+    final int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  private static int bitPos(final int hash, final int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  private static Node createNode(
+      final int shift,
+      final Object key1,
+      final Object value1,
+      final int hash2,
+      final Object key2,
+      final Object value2
+  ) {
+    final int hash1 = hash(key1);
+    if (hash1 == hash2) {
+      return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+    }
+
+    final boolean[] added = new boolean[1];
+    return BitmapNode.EMPTY
+        .put(shift, hash1, key1, value1, added)
+        .put(shift, hash2, key2, value2, added);
+  }
+
+  private static Object[] removePair(final Object[] array, final int idx) {
+    final Object[] result = new Object[array.length - 2];
+    System.arraycopy(array, 0, result, 0, 2 * idx);
+    System.arraycopy(array, 2 * (idx + 1), result, 2 * idx, result.length - 2 * idx);
+    return result;
+  }
+
+  private interface Node {
+
+    Object find(int shift, int hash, Object key);
+
+    Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+    /**
+     * @return the node without the key, this node if it did not contain it, or null if the node
+     *         is now empty.
+     */
+    Node remove(int shift, int hash, Object key);
+
+    void forEach(BiConsumer<Object, Object> action);
+
+    /**
+     * @return the node's key and value pairs, where a null key marks a sub node in place of the
+     *         value.
+     */
+    Object[] array();
+  }
+
+  /**
+   * A node holding up to 32 children, indexed by 5 bits of the hash. Each child is either an
+   * entry, stored as a key and value pair, or a sub node, stored as a null key and the node.
+   */
+  private static final class BitmapNode implements Node {
+
+    static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+    private final int bitmap;
+    private final Object[] array;
+
+    BitmapNode(final int bitmap, final Object[] array) {
+      this.bitmap = bitmap;
+      this.array = array;
+    }
+
+    @Override
+    public Object find(final int shift, final int hash, final Object key) {
+      final int bit = bitPos(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return NOT_FOUND;
+      }
+
+      final int idx = index(bit);
+      final Object keyOrNull = array[2 * idx];
+      final Object valueOrNode = array[2 * idx + 1];
+      if (keyOrNull == null) {
+        return ((Node) valueOrNode).find(shift + BITS, hash, key);
+      }
+      return key.equals(keyOrNull) ? valueOrNode : NOT_FOUND;
+    }
+
+    @Override
+    public Node put(
+        final int shift,
+        final int hash,
+        final Object key,
+        final Object value,
+        final boolean[] added
+    ) {
+      final int bit = bitPos(hash, shift);
+      final int idx = index(bit);
+
+      if ((bitmap & bit) == 0) {
+        final int count = Integer.bitCount(bitmap);
+        final Object[] newArray = new Object[2 * (count + 1)];
+        System.arraycopy(array, 0, newArray, 0, 2 * idx);
+        newArray[2 * idx] = key;
+        newArray[2 * idx + 1] = value;
+        System.arraycopy(array, 2 * idx, newArray, 2 * (idx + 1), 2 * (count - idx));
+        added[0] = true;
+        return new BitmapNode(bitmap | bit, newArray);
+      }
+
+      final Object keyOrNull = array[2 * idx];
+      final Object valueOrNode = array[2 * idx + 1];
+
+      if (keyOrNull == null) {
+        final Node node = ((Node) valueOrNode).put(shift + BITS, hash, key, value, added);
+        return node == valueOrNode ? this : withValue(idx, node);
+      }
+
+      if (key.equals(keyOrNull)) {
+        return value == valueOrNode ? this : withValue(idx, value);
+      }
+
+      added[0] = true;
+      final Object[] newArray = array.clone();
+      newArray[2 * idx] = null;
+      newArray[2 * idx + 1] = createNode(shift + BITS, keyOrNull, valueOrNode, hash, key, value);
+      return new BitmapNode(bitmap, newArray);
+    }
+
+    @Override
+    public Node remove(final int shift, final int hash, final Object key) {
+      final int bit = bitPos(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+
+      final int idx = index(bit);
+      final Object keyOrNull = array[2 * idx];
+      final Object valueOrNode = array[2 * idx + 1];
+
+      if (keyOrNull == null) {
+        final Node node = ((Node) valueOrNode).remove(shift + BITS, hash, key);
+        if (node == valueOrNode) {
+          return this;
+        }
+        if (node != null) {
+          return withValue(idx, node);
+        }
+      } else if (!key.equals(keyOrNull)) {
+        return this;
+      }
+
+      return bitmap == bit
+          ? null
+          : new BitmapNode(bitmap ^ bit, removePair(array, idx));
+    }
+
+    @Override
+    public void forEach(final BiConsumer<Object, Object> action) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (array[i] == null) {
+          ((Node) array[i + 1]).forEach(action);
+        } else {
+          action.accept(array[i], array[i + 1]);
+        }
+      }
+    }
+
+    @Override
+    public Object[] array() {
+      return array;
+    }
+
+    private int index(final int bit) {
+      return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    private BitmapNode withValue(final int idx, final Object valueOrNode) {
+      final Object[] newArray = array.clone();
+      newArray[2 * idx + 1] = valueOrNode;
+      return new BitmapNode(bitmap, newArray);
+    }
+  }
+
+  /**
+   * A node holding entries whose keys have the same full hash, as key and value pairs.
+   */
+  private static final class CollisionNode implements Node {
+
+    private final int hash;
+    private final Object[] array;
+
+    CollisionNode(final int hash, final Object[] array) {
+      this.hash = hash;
+      this.array = array;
+    }
+
+    @Override
+    public Object find(final int shift, final int hash, final Object key) {
+      if (hash != this.hash) {
+        return NOT_FOUND;
+      }
+      final int idx = indexOf(key);
+      return idx < 0 ? NOT_FOUND : array[idx + 1];
+    }
+
+    @Override
+    public Node put(
+        final int shift,
+        final int hash,
+        final Object key,
+        final Object value,
+        final boolean[] added
+    ) {
+      if (hash != this.hash) {
+        // Nest this node within a bitmap node, which can tell the hashes apart:
+        return new BitmapNode(bitPos(this.hash, shift), new Object[]{null, this})
+            .put(shift, hash, key, value, added);
+      }
+
+      final int idx = indexOf(key);
+      if (idx >= 0) {
+        if (array[idx + 1] == value) {
+          return this;
+        }
+        final Object[] newArray = array.clone();
+        newArray[idx + 1] = value;
+        return new CollisionNode(hash, newArray);
+      }
+
+      final Object[] newArray = new Object[array.length + 2];
+      System.arraycopy(array, 0, newArray, 0, array.length);
+      newArray[array.length] = key;
+      newArray[array.length + 1] = value;
+      added[0] = true;
+      return new CollisionNode(hash, newArray);
+    }
+
+    @Override
+    public Node remove(final int shift, final int hash, final Object key) {
+      final int idx = hash == this.hash ? indexOf(key) : -1;
+      if (idx < 0) {
+        return this;
+      }
+      return array.length == 2
+          ? null
+          : new CollisionNode(this.hash, removePair(array, idx / 2));
+    }
+
+    @Override
+    public void forEach(final BiConsumer<Object, Object> action) {
+      for (int i = 0; i < array.length; i += 2) {
+        action.accept(array[i], array[i + 1]);
+      }
+    }
+
+    @Override
+    public Object[] array() {
+      return array;
+    }
+
+    private int indexOf(final Object key) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (key.equals(array[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+
+  private final class MapView extends AbstractMap<K, V> {
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return PersistentMap.this.containsKey(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+      return PersistentMap.this.get(key);
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+      PersistentMap.this.forEach(action);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+      return new AbstractSet<Entry<K, V>>() {
+        @Override
+        public int size() {
+          return size;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+          return new EntryIterator<>(root);
+        }
+      };
+    }
+  }
+
+  /**
+   * Walks the trie depth first, in the same order as {@link #forEach}, holding only the path to
+   * the current entry.
+   */
+  private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+    // The arrays of the nodes on the path to the next entry, and the position within each:
+    private Object[][] arrays = new Object[8][];
+    private int[] positions = new int[8];
+    private int depth;
+    private Object nextKey;
+    private Object nextValue;
+
+    EntryIterator(final Node root) {
+      arrays[0] = root.array();
+      advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextKey != null;
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+      if (nextKey == null) {
+        throw new NoSuchElementException();
+      }
+
+      final Map.Entry<K, V> entry =
+          new AbstractMap.SimpleImmutableEntry<>((K) nextKey, (V) nextValue);
+      advance();
+      return entry;
+    }
+
+    private void advance() {
+      while (depth >= 0) {
+        final Object[] array = arrays[depth];
+        final int pos = positions[depth];
+        if (pos == array.length) {
+          arrays[depth--] = null;
+          continue;
+        }
+
+        positions[depth] = pos + 2;
+        if (array[pos] != null) {
+          nextKey = array[pos];
+          nextValue = array[pos + 1];
+          return;
+        }
+
+        push(((Node) array[pos + 1]).array());
+      }
+
+      nextKey = null;
+      nextValue = null;
+    }
+
+    private void push(final Object[] array) {
+      if (++depth == arrays.length) {
+        arrays = Arrays.copyOf(arrays, depth * 2);
+        positions = Arrays.copyOf(positions, depth * 2);
+      }
+      arrays[depth] = array;
+      positions[depth] = 0;
+    }
+  }
+}
@@ -20,6 +20,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThrows;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -77,6 +78,64 @@ public class GenericRowTest {
     assertThat(row.values(), contains(1.3, 492, 1.2, "this", BigDecimal.ONE));
   }
 
+  @Test
+  public void shouldGrowWhenAppending() {
+    // Given:
+    final GenericRow row = new GenericRow(1);
+
+    // When:
+    for (int i = 0; i < 100; i++) {
+      row.append(i);
+    }
+
+    // Then:
+    assertThat(row.size(), is(100));
+    assertThat(row.get(99), is(99));
+  }
+
+  @Test
+  public void shouldThrowOnGetPastSize() {
+    // Given:
+    final GenericRow row = new GenericRow(10);
+    row.append(1);
+
+    // When:
+    final Exception e = assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> row.get(1)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), is("Index: 1, Size: 1"));
+  }
+
+  @Test
+  public void shouldThrowOnSetPastSize() {
+    // Given:
+    final GenericRow row = new GenericRow(10);
+
+    // Then:
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> row.set(0, 1)
+    );
+  }
+
+  @Test
+  public void shouldCopy() {
+    // Given:
+    final GenericRow row = genericRow(10, 20, 30);
+
+    // When:
+    final GenericRow copy = row.copy();
+    copy.set(0, 11);
+    copy.append(40);
+
+    // Then:
+    assertThat(row.values(), contains(10, 20, 30));
+    assertThat(copy.values(), contains(11, 20, 30, 40));
+  }
+
   @Test
   public void shouldPrintRowCorrectly() {
     final Struct address = new Struct(addressSchema);
@@ -176,7 +235,8 @@ public class GenericRowTest {
         )
         .addEqualityGroup(
             genericRow("nr"),
-            genericRow("nr")
+            genericRow("nr"),
+            new GenericRow(100).append("nr")
         )
         .addEqualityGroup(
             genericRow(1.0, 94.9238, 1.2550, 0.13242, -1.0285235),
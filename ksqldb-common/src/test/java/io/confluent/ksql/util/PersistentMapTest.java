@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.Test;
+
+public class PersistentMapTest {
+
+  @Test
+  public void shouldAddAndRemoveEntries() {
+    // Given:
+    final PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty()
+        .plus("a", 1)
+        .plus("b", 2);
+
+    // When:
+    final PersistentMap<String, Integer> result = map.plus("c", 3).minus("a");
+
+    // Then:
+    assertThat(result.asMap(), is(ImmutableMap.of("b", 2, "c", 3)));
+    assertThat(result.size(), is(2));
+    assertThat(result.get("a"), is(nullValue()));
+    assertThat(result.containsKey("c"), is(true));
+  }
+
+  @Test
+  public void shouldNotChangeOriginalWhenUpdated() {
+    // Given:
+    final PersistentMap<String, Integer> map = PersistentMap.copyOf(ImmutableMap.of("a", 1));
+
+    // When:
+    map.plus("a", 2).plus("b", 3).minus("a");
+
+    // Then:
+    assertThat(map.asMap(), is(ImmutableMap.of("a", 1)));
+  }
+
+  @Test
+  public void shouldReturnSameMapIfUnchanged() {
+    // Given:
+    final Integer value = 1;
+    final PersistentMap<String, Integer> map = PersistentMap.copyOf(ImmutableMap.of("a", value));
+
+    // Then:
+    assertThat(map.plus("a", value), is(sameInstance(map)));
+    assertThat(map.minus("b"), is(sameInstance(map)));
+  }
+
+  @Test
+  public void shouldHandleKeysWithCollidingHashes() {
+    // Given:
+    final PersistentMap<CollidingKey, String> map = PersistentMap.<CollidingKey, String>empty()
+        .plus(new CollidingKey(1), "1")
+        .plus(new CollidingKey(2), "2")
+        .plus(new CollidingKey(3), "3");
+
+    // When:
+    final PersistentMap<CollidingKey, String> result = map
+        .minus(new CollidingKey(2))
+        .plus(new CollidingKey(3), "three");
+
+    // Then:
+    assertThat(result.asMap(), is(ImmutableMap.of(
+        new CollidingKey(1), "1",
+        new CollidingKey(3), "three"
+    )));
+    assertThat(map.size(), is(3));
+  }
+
+  @Test
+  public void shouldMatchHashMap() {
+    // Given:
+    final Random random = new Random(42);
+    final Map<Integer, Integer> expected = new HashMap<>();
+    PersistentMap<Integer, Integer> map = PersistentMap.empty();
+
+    // When:
+    for (int i = 0; i < 20_000; i++) {
+      // Large keys spread over the whole hash, small ones share prefixes and collide:
+      final int key = random.nextBoolean() ? random.nextInt() : random.nextInt(500) << 27;
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        map = map.minus(key);
+      } else {
+        expected.put(key, i);
+        map = map.plus(key, i);
+      }
+    }
+
+    // Then:
+    assertThat(map.asMap(), is(expected));
+    assertThat(map.size(), is(expected.size()));
+  }
+
+  @Test
+  public void shouldIterateEntriesInSameOrderAsForEach() {
+    // Given:
+    final Random random = new Random(42);
+    PersistentMap<Integer, Integer> map = PersistentMap.<Integer, Integer>empty()
+        .plus(0, 0)
+        .plus(1 << 27, 1);
+    for (int i = 0; i < 5_000; i++) {
+      map = map.plus(random.nextInt(), i);
+    }
+
+    final List<Map.Entry<Integer, Integer>> expected = new ArrayList<>();
+    map.forEach((k, v) -> expected.add(new SimpleImmutableEntry<>(k, v)));
+
+    // When:
+    final List<Map.Entry<Integer, Integer>> entries = new ArrayList<>(map.asMap().entrySet());
+
+    // Then:
+    assertThat(entries, is(expected));
+    assertThat(entries.size(), is(map.size()));
+  }
+
+  @Test
+  public void shouldIterateEntriesWithCollidingHashes() {
+    // Given:
+    final PersistentMap<CollidingKey, String> map = PersistentMap.<CollidingKey, String>empty()
+        .plus(new CollidingKey(1), "1")
+        .plus(new CollidingKey(2), "2");
+
+    // When:
+    final Iterator<Map.Entry<CollidingKey, String>> it = map.asMap().entrySet().iterator();
+
+    // Then:
+    assertThat(it.next(), is(new SimpleImmutableEntry<>(new CollidingKey(1), "1")));
+    assertThat(it.next(), is(new SimpleImmutableEntry<>(new CollidingKey(2), "2")));
+    assertThat(it.hasNext(), is(false));
+    assertThrows(NoSuchElementException.class, it::next);
+  }
+
+  @Test
+  public void shouldIterateEmptyMap() {
+    assertThat(PersistentMap.empty().asMap().entrySet().iterator().hasNext(), is(false));
+  }
+
+  private static final class CollidingKey {
+
+    private final int id;
+
+    CollidingKey(final int id) {
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+      return 7;
+    }
+
+    @Override
+    public String toString() {
+      return "key" + id;
+    }
+  }
+}
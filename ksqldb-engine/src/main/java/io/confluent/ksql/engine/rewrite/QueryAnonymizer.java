@@ -85,6 +85,7 @@ import io.confluent.ksql.parser.SqlBaseParser.UndefineVariableContext;
 import io.confluent.ksql.parser.SqlBaseParser.UnquotedIdentifierContext;
 import io.confluent.ksql.parser.SqlBaseParser.UnsetPropertyContext;
 import io.confluent.ksql.parser.SqlBaseParser.ValueExpressionContext;
+import io.confluent.ksql.parser.SqlBaseParser.ValuesContext;
 import io.confluent.ksql.parser.SqlBaseParser.WithinExpressionContext;
 import io.confluent.ksql.util.ParserUtil;
 import java.util.ArrayList;
@@ -270,11 +271,15 @@ public class QueryAnonymizer {
       }
 
       // visit values
-      final List<String> values = new ArrayList<>();
-      for (ValueExpressionContext value : context.values().valueExpression()) {
-        values.add(visit(value));
+      final List<String> rows = new ArrayList<>();
+      for (ValuesContext row : context.values()) {
+        final List<String> values = new ArrayList<>();
+        for (ValueExpressionContext value : row.valueExpression()) {
+          values.add(visit(value));
+        }
+        rows.add(String.format("(%s)", StringUtils.join(values, " ,")));
       }
-      stringBuilder.append(String.format(" VALUES (%s)", StringUtils.join(values, " ,")));
+      stringBuilder.append(String.format(" VALUES %s", StringUtils.join(rows, ", ")));
 
       return stringBuilder.toString();
     }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.engine.rewrite;
+
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.Literal;
+import io.confluent.ksql.parser.tree.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Helpers for finding and replacing the literals within a statement.
+ */
+public final class StatementLiterals {
+
+  private StatementLiterals() {
+  }
+
+  /**
+   * Find the literals within a statement.
+   *
+   * @param statement the statement to search.
+   * @return the distinct literal instances, in the order they were visited.
+   */
+  public static List<Literal> find(final Statement statement) {
+    final Set<Literal> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    final List<Literal> literals = new ArrayList<>();
+
+    rewrite(statement, literal -> {
+      if (seen.add(literal)) {
+        literals.add(literal);
+      }
+      return Optional.empty();
+    });
+
+    return literals;
+  }
+
+  /**
+   * Replace literals within a statement.
+   *
+   * @param statement the statement to rewrite.
+   * @param replacements the replacements, keyed by the instance of the literal to replace.
+   * @return the rewritten statement.
+   */
+  public static Statement replace(
+      final Statement statement,
+      final IdentityHashMap<Literal, Literal> replacements
+  ) {
+    return rewrite(statement, literal -> Optional.ofNullable(replacements.get(literal)));
+  }
+
+  private static Statement rewrite(
+      final Statement statement,
+      final Function<Literal, Optional<Expression>> plugin
+  ) {
+    final ExpressionTreeRewriter<Void> expressionRewriter = new ExpressionTreeRewriter<>(
+        (e, ctx) -> e instanceof Literal ? plugin.apply((Literal) e) : Optional.empty()
+    );
+
+    return (Statement) new StatementRewriter<Void>(
+        expressionRewriter::rewrite,
+        (node, ctx) -> Optional.empty()
+    ).rewrite(statement, null);
+  }
+}
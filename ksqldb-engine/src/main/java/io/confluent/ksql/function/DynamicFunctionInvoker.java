@@ -15,17 +15,30 @@
 
 package io.confluent.ksql.function;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
 
 /**
- * An implementation of UdfInvoker which invokes the UDF using reflection
+ * An implementation of UdfInvoker which invokes the UDF through a method handle.
+ *
+ * <p>The handle is adapted once, when the invoker is created, to take the UDF instance and an
+ * array of arguments. Each call then only casts and unboxes the arguments, without the access
+ * checks and argument copying of {@link Method#invoke}.
  */
 public class DynamicFunctionInvoker implements FunctionInvoker {
 
+  private static final MethodType INVOKER_TYPE =
+      MethodType.methodType(Object.class, Object.class, Object[].class);
+
   private final Method method;
+  private final MethodHandle handle;
 
   DynamicFunctionInvoker(final Method method) {
     final Class<?>[] types = method.getParameterTypes();
@@ -44,20 +57,43 @@ public class DynamicFunctionInvoker implements FunctionInvoker {
       UdafTypes.checkSupportedType(method, type);
     }
     this.method = method;
+    this.handle = createHandle(method);
   }
 
   @Override
   public Object eval(final Object udf, final Object... args) {
     try {
       final Object[] extractedArgs = extractArgs(args);
-      return method.invoke(udf, extractedArgs);
-    } catch (final Exception e) {
-      throw new KsqlFunctionException("Failed to invoke function " + method, e);
+      return (Object) handle.invokeExact(udf, extractedArgs);
+    } catch (final VirtualMachineError e) {
+      throw e;
+    } catch (final Throwable e) {
+      // Wrap as Method.invoke did, so UDF errors are handled, and logged, like any other failure:
+      throw new KsqlFunctionException(
+          "Failed to invoke function " + method, new InvocationTargetException(e));
+    }
+  }
+
+  private static MethodHandle createHandle(final Method method) {
+    final MethodHandle unreflected;
+    try {
+      unreflected = MethodHandles.lookup().unreflect(method).asFixedArity();
+    } catch (final IllegalAccessException e) {
+      throw new KsqlFunctionException("Function method is not accessible: " + method, e);
     }
+
+    // Static methods ignore the UDF instance:
+    final MethodHandle withInstance = Modifier.isStatic(method.getModifiers())
+        ? MethodHandles.dropArguments(unreflected, 0, Object.class)
+        : unreflected;
+
+    return withInstance
+        .asSpreader(Object[].class, method.getParameterCount())
+        .asType(INVOKER_TYPE);
   }
 
   /*
-  Method.invoke() is a pain and expects any varargs to be packaged up in a further Object[]
+  Any varargs need to be packaged up in a further array of the component type
    */
   private Object[] extractArgs(final Object... source) {
     if (!method.isVarArgs()) {
@@ -168,7 +168,7 @@ public class UdfLoader {
         parameters,
         FunctionName.of(functionName.toUpperCase()),
         udfClass,
-        getUdfFactory(method, udfDescriptionAnnotation, functionName, invoker, sensorName),
+        getUdfFactory(method, udfDescriptionAnnotation, functionName, invoker, sensorName, path),
         udfAnnotation.description(),
         path,
         method.isVarArgs()
@@ -180,8 +180,10 @@ public class UdfLoader {
       final UdfDescription udfDescriptionAnnotation,
       final String functionName,
       final FunctionInvoker invoker,
-      final String sensorName
+      final String sensorName,
+      final String path
   ) {
+    final boolean sandboxed = !KsqlScalarFunction.INTERNAL_PATH.equals(path);
     return ksqlConfig -> {
       final Object actualUdf = FunctionLoaderUtils.instantiateFunctionInstance(
           method.getDeclaringClass(), udfDescriptionAnnotation.name());
@@ -189,7 +191,7 @@ public class UdfLoader {
         ((Configurable) actualUdf)
             .configure(ksqlConfig.getKsqlFunctionsConfigProps(functionName));
       }
-      final PluggableUdf theUdf = new PluggableUdf(invoker, actualUdf);
+      final PluggableUdf theUdf = new PluggableUdf(invoker, actualUdf, sandboxed);
       return metrics.<Kudf>map(m -> new UdfMetricProducer(
           m.getSensor(sensorName),
           theUdf,
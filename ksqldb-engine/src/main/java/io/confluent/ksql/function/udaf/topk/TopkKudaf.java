@@ -21,7 +21,6 @@ import io.confluent.ksql.function.ParameterInfo;
 import io.confluent.ksql.function.types.ParamType;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -77,13 +76,8 @@ public class TopkKudaf<T extends Comparable<? super T>>
       }
     }
 
-    if (currentSize == topKSize) {
-      aggregateValue.set(currentSize - 1, currentValue);
-    } else {
-      aggregateValue.add(currentValue);
-    }
-
-    aggregateValue.sort(Comparator.reverseOrder());
+    final int index = TopkUtils.insertionPoint(aggregateValue, currentValue);
+    TopkUtils.insertBounded(aggregateValue, index, currentValue, topKSize);
     return aggregateValue;
   }
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function.udaf.topk;
+
+import java.util.List;
+
+/**
+ * Helpers for maintaining the descending, bounded lists used as the aggregate of the TOPK
+ * family of functions.
+ */
+public final class TopkUtils {
+
+  private TopkUtils() {
+  }
+
+  /**
+   * Binary search a list sorted in descending order for the index at which {@code value} should
+   * be inserted to keep it sorted.
+   *
+   * <p>The returned index is after any elements equal to {@code value}, matching the position a
+   * stable sort would leave a newly appended element in.
+   *
+   * @param sortedDesc the list, sorted in descending order.
+   * @param value the value to find the insertion point for.
+   * @return the insertion point, in the range {@code [0, sortedDesc.size()]}.
+   */
+  public static <T extends Comparable<? super T>> int insertionPoint(
+      final List<T> sortedDesc,
+      final T value
+  ) {
+    int low = 0;
+    int high = sortedDesc.size();
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (sortedDesc.get(mid).compareTo(value) >= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Insert {@code value} into a descending list, keeping it sorted and no longer than
+   * {@code maxSize}, by dropping the smallest element if required.
+   *
+   * <p>The caller must have already checked that {@code value} belongs in the list, i.e. that the
+   * list is not full or that {@code value} is greater than its last element.
+   *
+   * @param sortedDesc the list, sorted in descending order.
+   * @param index the index to insert at, as returned by {@link #insertionPoint}.
+   * @param value the value to insert.
+   * @param maxSize the maximum size of the list.
+   */
+  public static <T> void insertBounded(
+      final List<T> sortedDesc,
+      final int index,
+      final T value,
+      final int maxSize
+  ) {
+    if (sortedDesc.size() == maxSize) {
+      sortedDesc.remove(maxSize - 1);
+    }
+    sortedDesc.add(index, value);
+  }
+}
@@ -19,11 +19,11 @@ import io.confluent.ksql.GenericKey;
 import io.confluent.ksql.function.BaseAggregateFunction;
 import io.confluent.ksql.function.ParameterInfo;
 import io.confluent.ksql.function.types.ParamType;
+import io.confluent.ksql.function.udaf.topk.TopkUtils;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -71,17 +71,13 @@ public class TopkDistinctKudaf<T extends Comparable<? super T>>
       return aggregateValue;
     }
 
-    if (aggregateValue.contains(currentValue)) {
+    final int index = TopkUtils.insertionPoint(aggregateValue, currentValue);
+    if (index > 0 && aggregateValue.get(index - 1).compareTo(currentValue) == 0) {
+      // Already present:
       return aggregateValue;
     }
 
-    if (currentSize == tkVal) {
-      aggregateValue.set(currentSize - 1, currentValue);
-    } else {
-      aggregateValue.add(currentValue);
-    }
-
-    aggregateValue.sort(Comparator.reverseOrder());
+    TopkUtils.insertBounded(aggregateValue, index, currentValue, tkVal);
     return aggregateValue;
   }
 
@@ -24,22 +24,39 @@ import java.util.Objects;
  * This may change if we ever get rid of Kudf. As it stands we need
  * to do a conversion from custom UDF -> Kudf so we can support strong
  * typing etc.
+ *
+ * <p>Sandboxed UDFs are run under the {@link ExtensionSecurityManager}, if it is installed.
+ * UDFs that ship with ksqlDB are trusted, and are not sandboxed.
  */
 public class PluggableUdf implements Kudf {
 
   private final FunctionInvoker udf;
   private final Object actualUdf;
+  private final boolean sandboxed;
 
   public PluggableUdf(
       final FunctionInvoker udfInvoker,
       final Object actualUdf
+  ) {
+    this(udfInvoker, actualUdf, true);
+  }
+
+  public PluggableUdf(
+      final FunctionInvoker udfInvoker,
+      final Object actualUdf,
+      final boolean sandboxed
   ) {
     this.udf = Objects.requireNonNull(udfInvoker, "udfInvoker");
     this.actualUdf = Objects.requireNonNull(actualUdf, "actualUdf");
+    this.sandboxed = sandboxed;
   }
 
   @Override
   public Object evaluate(final Object... args) {
+    if (!sandboxed || System.getSecurityManager() != ExtensionSecurityManager.INSTANCE) {
+      return udf.eval(actualUdf, args);
+    }
+
     try {
       ExtensionSecurityManager.INSTANCE.pushInUdf();
       return udf.eval(actualUdf, args);
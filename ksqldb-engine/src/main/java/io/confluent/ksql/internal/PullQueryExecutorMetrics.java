@@ -15,9 +15,11 @@
 
 package io.confluent.ksql.internal;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.confluent.ksql.execution.streams.materialization.ks.PullQueryRowCache;
 import io.confluent.ksql.metrics.MetricCollectors;
 import io.confluent.ksql.physical.pull.PullPhysicalPlan.PullPhysicalPlanType;
 import io.confluent.ksql.util.KsqlConstants;
@@ -32,6 +34,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.Measurable;
 import org.apache.kafka.common.metrics.MeasurableStat;
 import org.apache.kafka.common.metrics.Metrics;
 import org.apache.kafka.common.metrics.Sensor;
@@ -55,6 +60,7 @@ public class PullQueryExecutorMetrics implements Closeable {
   private static final int NUM_LATENCY_BUCKETS = 1000;
 
   private final List<Sensor> sensors;
+  private final List<MetricName> tableCacheMetrics;
   private final Sensor localRequestsSensor;
   private final Sensor remoteRequestsSensor;
   private final Sensor partitionFetchSensor;
@@ -115,11 +121,13 @@ public class PullQueryExecutorMetrics implements Closeable {
     this.responseCode5XX = configureStatusCodeSensor("5XX");
     this.rowsReturnedSensorMap = configureRowsReturnedSensorMap();
     this.rowsProcessedSensorMap = configureRowsProcessedSensorMap();
+    this.tableCacheMetrics = configureTableCacheMetrics();
   }
 
   @Override
   public void close() {
     sensors.forEach(sensor -> metrics.removeSensor(sensor.name()));
+    tableCacheMetrics.forEach(metrics::removeMetric);
   }
 
   public void recordLocalRequests(final double value) {
@@ -191,6 +199,38 @@ public class PullQueryExecutorMetrics implements Closeable {
     return sensor;
   }
 
+  private List<MetricName> configureTableCacheMetrics() {
+    return ImmutableList.of(
+        addTableCacheMetric(
+            "table-cache-hit-count",
+            "Count of pull query key lookups served from the table cache",
+            PullQueryRowCache::hits
+        ),
+        addTableCacheMetric(
+            "table-cache-miss-count",
+            "Count of pull query key lookups that missed the table cache",
+            PullQueryRowCache::misses
+        )
+    );
+  }
+
+  private MetricName addTableCacheMetric(
+      final String name,
+      final String description,
+      final LongSupplier count
+  ) {
+    final MetricName metricName = metrics.metricName(
+        PULL_REQUESTS + "-" + name,
+        ksqlServicePrefix + PULL_QUERY_METRIC_GROUP,
+        description,
+        customMetricsTags
+    );
+    // The counts are global, so replace any metric registered by a previous instance:
+    metrics.removeMetric(metricName);
+    metrics.addMetric(metricName, (Measurable) (config, now) -> count.getAsLong());
+    return metricName;
+  }
+
   public void recordLatency(
       final long startTimeNanos,
       final QuerySourceType sourceType,
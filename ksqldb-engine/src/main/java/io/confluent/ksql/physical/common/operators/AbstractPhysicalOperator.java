@@ -16,6 +16,7 @@
 package io.confluent.ksql.physical.common.operators;
 
 import io.confluent.ksql.planner.plan.PlanNode;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -28,6 +29,23 @@ public abstract class AbstractPhysicalOperator {
   // Scan returns QueryRow, Project returns List<List<?>>
   public abstract Object next();
 
+  /**
+   * Returns up to {@code maxRows} of the rows that {@link #next()} would return, or an empty list
+   * once there are none left. The returned list is owned by the caller, which is free to modify
+   * it.
+   *
+   * <p>Operators that can produce rows more cheaply in bulk, e.g. scans, or that can process a
+   * batch of their child's rows at once, should override this.
+   */
+  public List<Object> nextBatch(final int maxRows) {
+    final List<Object> batch = new ArrayList<>();
+    Object row;
+    while (batch.size() < maxRows && (row = next()) != null) {
+      batch.add(row);
+    }
+    return batch;
+  }
+
   public abstract void close();
 
   public abstract PlanNode getLogicalNode();
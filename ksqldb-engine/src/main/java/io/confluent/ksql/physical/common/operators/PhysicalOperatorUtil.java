@@ -26,7 +26,18 @@ final class PhysicalOperatorUtil {
 
   }
 
-  static GenericRow getIntermediateRow(final QueryRow row, final boolean additionalColumnsNeeded) {
+  /**
+   * @param row the row read from the child operator.
+   * @param additionalColumnsNeeded whether the pseudo and key columns must be added to the value.
+   * @param rowsShared whether {@code row} may be shared with other queries, e.g. by the scalable
+   *                   push queries reading from the same consumer, and so must not be modified.
+   * @return the value of {@code row}, with any additional columns appended.
+   */
+  static GenericRow getIntermediateRow(
+      final QueryRow row,
+      final boolean additionalColumnsNeeded,
+      final boolean rowsShared
+  ) {
 
     if (!additionalColumnsNeeded) {
       return row.value();
@@ -37,21 +48,28 @@ final class PhysicalOperatorUtil {
 
     final List<?> keyFields = key.values();
 
-    value.ensureAdditionalCapacity(
-        1 // ROWTIME
-            + keyFields.size()
-            + row.window().map(w -> 2).orElse(0)
-    );
+    final int additionalColumns = 1 // ROWTIME
+        + keyFields.size()
+        + row.window().map(w -> 2).orElse(0);
 
-    value.append(row.rowTime());
-    value.appendAll(keyFields);
+    final GenericRow intermediate;
+    if (rowsShared) {
+      intermediate = new GenericRow(value.size() + additionalColumns);
+      intermediate.appendAll(value.values());
+    } else {
+      intermediate = value;
+      intermediate.ensureAdditionalCapacity(additionalColumns);
+    }
+
+    intermediate.append(row.rowTime());
+    intermediate.appendAll(keyFields);
 
     row.window().ifPresent(window -> {
-      value.append(window.start().toEpochMilli());
-      value.append(window.end().toEpochMilli());
+      intermediate.append(window.start().toEpochMilli());
+      intermediate.append(window.end().toEpochMilli());
     });
 
-    return value;
+    return intermediate;
   }
 
 }
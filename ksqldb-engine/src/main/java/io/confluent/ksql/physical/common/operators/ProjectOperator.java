@@ -42,6 +42,7 @@ public class ProjectOperator extends AbstractPhysicalOperator implements UnaryPh
   private final ProcessingLogger logger;
   private final SelectValueMapperFactorySupplier selectValueMapperFactorySupplier;
   private final QueryProjectNode logicalNode;
+  private final boolean rowsShared;
 
   private AbstractPhysicalOperator child;
   private KsqlTransformer<Object, GenericRow> transformer;
@@ -49,10 +50,23 @@ public class ProjectOperator extends AbstractPhysicalOperator implements UnaryPh
   public ProjectOperator(
       final ProcessingLogger logger,
       final QueryProjectNode logicalNode
+  ) {
+    this(logger, logicalNode, false);
+  }
+
+  /**
+   * @param rowsShared whether the rows read from the child may be shared with other queries, in
+   *                   which case they are copied rather than modified.
+   */
+  public ProjectOperator(
+      final ProcessingLogger logger,
+      final QueryProjectNode logicalNode,
+      final boolean rowsShared
   ) {
     this(
         logger,
         logicalNode,
+        rowsShared,
         SelectValueMapperFactory::create
     );
   }
@@ -62,9 +76,20 @@ public class ProjectOperator extends AbstractPhysicalOperator implements UnaryPh
       final ProcessingLogger logger,
       final QueryProjectNode logicalNode,
       final SelectValueMapperFactorySupplier selectValueMapperFactorySupplier
+  ) {
+    this(logger, logicalNode, false, selectValueMapperFactorySupplier);
+  }
+
+  @VisibleForTesting
+  ProjectOperator(
+      final ProcessingLogger logger,
+      final QueryProjectNode logicalNode,
+      final boolean rowsShared,
+      final SelectValueMapperFactorySupplier selectValueMapperFactorySupplier
   ) {
     this.logger = Objects.requireNonNull(logger, "logger");
     this.logicalNode = Objects.requireNonNull(logicalNode, "logicalNode");
+    this.rowsShared = rowsShared;
     this.selectValueMapperFactorySupplier = selectValueMapperFactorySupplier;
   }
 
@@ -90,12 +115,25 @@ public class ProjectOperator extends AbstractPhysicalOperator implements UnaryPh
     if (row == null) {
       return null;
     }
+    return project(row);
+  }
+
+  @Override
+  public List<Object> nextBatch(final int maxRows) {
+    final List<Object> rows = child.nextBatch(maxRows);
+    for (int i = 0; i < rows.size(); i++) {
+      rows.set(i, project((QueryRow) rows.get(i)));
+    }
+    return rows;
+  }
+
+  private QueryRow project(final QueryRow row) {
     if (row.getOffsetRange().isPresent()) {
       return row;
     }
 
     final GenericRow intermediate = PhysicalOperatorUtil.getIntermediateRow(
-        row, logicalNode.getAddAdditionalColumnsToIntermediateSchema());
+        row, logicalNode.getAddAdditionalColumnsToIntermediateSchema(), rowsShared);
 
     if (logicalNode.getIsSelectStar()) {
       return QueryRowImpl.of(logicalNode.getSchema(),
@@ -36,22 +36,46 @@ public class SelectOperator extends AbstractPhysicalOperator implements UnaryPhy
   private final QueryFilterNode logicalNode;
   private final ProcessingLogger logger;
   private final SqlPredicate predicate;
+  private final boolean rowsShared;
 
   private AbstractPhysicalOperator child;
   private KsqlTransformer<Object, Optional<GenericRow>> transformer;
 
   public SelectOperator(final QueryFilterNode logicalNode, final ProcessingLogger logger) {
-    this(logicalNode, logger, SqlPredicate::new);
+    this(logicalNode, logger, false);
+  }
+
+  /**
+   * @param rowsShared whether the rows read from the child may be shared with other queries, in
+   *                   which case they are copied rather than modified.
+   */
+  public SelectOperator(
+      final QueryFilterNode logicalNode,
+      final ProcessingLogger logger,
+      final boolean rowsShared
+  ) {
+    this(logicalNode, logger, rowsShared, SqlPredicate::new);
+  }
+
+  @VisibleForTesting
+  SelectOperator(
+      final QueryFilterNode logicalNode,
+      final ProcessingLogger logger,
+      final SqlPredicateFactory predicateFactory
+  ) {
+    this(logicalNode, logger, false, predicateFactory);
   }
 
   @VisibleForTesting
   SelectOperator(
       final QueryFilterNode logicalNode,
       final ProcessingLogger logger,
+      final boolean rowsShared,
       final SqlPredicateFactory predicateFactory
   ) {
     this.logicalNode = Objects.requireNonNull(logicalNode, "logicalNode");
     this.logger = Objects.requireNonNull(logger, "logger");
+    this.rowsShared = rowsShared;
     this.predicate = predicateFactory.create(
         logicalNode.getRewrittenPredicate(),
         logicalNode.getCompiledWhereClause()
@@ -81,9 +105,38 @@ public class SelectOperator extends AbstractPhysicalOperator implements UnaryPhy
     return result.get();
   }
 
+  @Override
+  public List<Object> nextBatch(final int maxRows) {
+    while (true) {
+      final List<Object> rows = child.nextBatch(maxRows);
+      if (rows.isEmpty()) {
+        return rows;
+      }
+
+      // Filter the batch in place:
+      int kept = 0;
+      for (final Object next : rows) {
+        final QueryRow row = (QueryRow) next;
+        if (row.getOffsetRange().isPresent()) {
+          rows.set(kept++, row);
+          continue;
+        }
+        final Optional<QueryRow> result = transformRow(row);
+        if (result.isPresent()) {
+          rows.set(kept++, result.get());
+        }
+      }
+      rows.subList(kept, rows.size()).clear();
+
+      if (!rows.isEmpty()) {
+        return rows;
+      }
+    }
+  }
+
   private Optional<QueryRow> transformRow(final QueryRow queryRow) {
     final GenericRow intermediate = PhysicalOperatorUtil.getIntermediateRow(
-        queryRow, logicalNode.getAddAdditionalColumnsToIntermediateSchema());
+        queryRow, logicalNode.getAddAdditionalColumnsToIntermediateSchema(), rowsShared);
     return transformer.transform(
         queryRow.key(),
         intermediate,
@@ -443,7 +443,7 @@ public final class HARouting implements AutoCloseable {
 
           final List<?> r = row.getRow().get().getColumns();
           Preconditions.checkNotNull(header.get());
-          rows.add(rowFactory.apply(r, header.get().getSchema()));
+          rows.add(rowFactory.apply(r, outputSchema));
         }
 
         if (!pullQueryQueue.acceptRows(rows)) {
@@ -460,7 +460,10 @@ public final class HARouting implements AutoCloseable {
       final LogicalSchema forwardedSchema,
       final KsqlNode forwardedNode
   ) {
-    if (!forwardedSchema.equals(expectedSchema)) {
+    // The forwarded schema is built from the response metadata, which only has the names and
+    // types of the columns:
+    if (!forwardedSchema.equals(expectedSchema)
+        && !withoutNamespaces(forwardedSchema).equals(withoutNamespaces(expectedSchema))) {
       throw new KsqlException(String.format(
           "Schemas %s from host %s differs from schema %s",
           forwardedSchema, forwardedNode, expectedSchema));
@@ -469,6 +472,12 @@ public final class HARouting implements AutoCloseable {
 
 
 
+  private static LogicalSchema withoutNamespaces(final LogicalSchema schema) {
+    return LogicalSchema.builder()
+        .valueColumns(schema.columns())
+        .build();
+  }
+
   private enum RoutingResult {
     SUCCESS,
     STANDBY_FALLBACK
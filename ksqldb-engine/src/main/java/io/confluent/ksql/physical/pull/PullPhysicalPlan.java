@@ -48,6 +48,9 @@ import org.slf4j.LoggerFactory;
 public class PullPhysicalPlan {
   private static final Logger LOGGER = LoggerFactory.getLogger(PullPhysicalPlan.class);
 
+  // The number of rows pulled through the operators, and enqueued, at a time
+  private static final int BATCH_SIZE = 50;
+
   private final AbstractPhysicalOperator root;
   private final LogicalSchema schema;
   private final QueryId queryId;
@@ -90,8 +93,8 @@ public class PullPhysicalPlan {
     dataSourceOperator.setPartitionLocations(locations);
 
     open();
-    QueryRow row;
-    while ((row = (QueryRow)next()) != null) {
+    List<Object> batch;
+    while (!(batch = nextBatch()).isEmpty()) {
       if (pullQueryQueue.isClosed()) {
         // If the queue has been closed, we stop adding rows and cleanup. This should be triggered
         // because the client has closed their connection with the server before the results have
@@ -99,8 +102,12 @@ public class PullPhysicalPlan {
         LOGGER.info("Queue closed before results completed. Stopping execution.");
         break;
       }
-      if (!pullQueryQueue.acceptRow(rowFactory.apply(row.value().values(), schema))) {
-        LOGGER.info("Failed to queue row");
+      final List<PullQueryRow> rows = new ArrayList<>(batch.size());
+      for (final Object row : batch) {
+        rows.add(rowFactory.apply(((QueryRow) row).value().values(), schema));
+      }
+      if (!pullQueryQueue.acceptRows(rows)) {
+        LOGGER.info("Failed to queue rows");
       }
     }
     close();
@@ -110,8 +117,8 @@ public class PullPhysicalPlan {
     root.open();
   }
 
-  private Object next() {
-    return root.next();
+  private List<Object> nextBatch() {
+    return root.nextBatch(BATCH_SIZE);
   }
 
   private void close() {
@@ -170,6 +177,8 @@ public class PullPhysicalPlan {
     KEY_LOOKUP,
     RANGE_SCAN,
     TABLE_SCAN,
-    UNKNOWN
+    UNKNOWN,
+    // Table scan of the rows with a value in a column with a secondary index
+    INDEX_LOOKUP
   }
 }
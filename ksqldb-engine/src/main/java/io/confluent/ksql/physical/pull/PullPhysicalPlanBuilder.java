@@ -24,12 +24,14 @@ import io.confluent.ksql.execution.streams.materialization.Materialization;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.metastore.model.DataSource;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.physical.common.operators.AbstractPhysicalOperator;
 import io.confluent.ksql.physical.common.operators.ProjectOperator;
 import io.confluent.ksql.physical.common.operators.SelectOperator;
 import io.confluent.ksql.physical.pull.PullPhysicalPlan.PullPhysicalPlanType;
 import io.confluent.ksql.physical.pull.operators.DataSourceOperator;
+import io.confluent.ksql.physical.pull.operators.IndexLookupOperator;
 import io.confluent.ksql.physical.pull.operators.KeyedTableLookupOperator;
 import io.confluent.ksql.physical.pull.operators.KeyedWindowedTableLookupOperator;
 import io.confluent.ksql.physical.pull.operators.TableScanOperator;
@@ -52,7 +54,11 @@ import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.PersistentQueryMetadata;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -74,6 +80,7 @@ public class PullPhysicalPlanBuilder {
   private final QueryPlannerOptions queryPlannerOptions;
 
   private List<LookupConstraint> lookupConstraints;
+  private Map<ColumnName, Object> valueColumnEqualities = Collections.emptyMap();
   private PullPhysicalPlanType pullPhysicalPlanType;
   private QuerySourceType querySourceType;
   private boolean seenSelectOperator = false;
@@ -181,6 +188,7 @@ public class PullPhysicalPlanBuilder {
 
   private SelectOperator translateFilterNode(final QueryFilterNode logicalNode) {
     lookupConstraints = logicalNode.getLookupConstraints();
+    valueColumnEqualities = logicalNode.getValueColumnEqualities();
 
     final ProcessingLogger logger = processingLogContext
         .getLoggerFactory()
@@ -232,6 +240,12 @@ public class PullPhysicalPlanBuilder {
         ? QuerySourceType.WINDOWED : QuerySourceType.NON_WINDOWED;
     if (pullPhysicalPlanType == PullPhysicalPlanType.TABLE_SCAN) {
       if (!logicalNode.isWindowed()) {
+        final Optional<Entry<ColumnName, Object>> indexed = findIndexedEquality();
+        if (indexed.isPresent()) {
+          pullPhysicalPlanType = PullPhysicalPlanType.INDEX_LOOKUP;
+          return new IndexLookupOperator(mat, logicalNode, indexed.get().getKey(),
+              indexed.get().getValue(), shouldCancelOperations);
+        }
         return new TableScanOperator(mat, logicalNode, shouldCancelOperations);
       } else {
         return new WindowedTableScanOperator(mat, logicalNode, shouldCancelOperations);
@@ -245,6 +259,17 @@ public class PullPhysicalPlanBuilder {
     }
   }
 
+  private Optional<Entry<ColumnName, Object>> findIndexedEquality() {
+    if (valueColumnEqualities.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final Set<ColumnName> indexedColumns = mat.nonWindowed().indexedColumns();
+    return valueColumnEqualities.entrySet().stream()
+        .filter(e -> indexedColumns.contains(e.getKey()))
+        .findFirst();
+  }
+
   private QueryId uniqueQueryId() {
     return new QueryId("query_" + System.currentTimeMillis());
   }
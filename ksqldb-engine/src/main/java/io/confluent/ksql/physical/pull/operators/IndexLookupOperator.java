@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.physical.pull.operators;
+
+import io.confluent.ksql.execution.streams.materialization.Materialization;
+import io.confluent.ksql.execution.streams.materialization.Row;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.planner.plan.DataSourceNode;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Scans the rows of each partition with a value in a column with a secondary index, rather than
+ * all of them. Partitions without an index on this node, or whose index is still being built,
+ * are scanned in full.
+ */
+public class IndexLookupOperator extends TableScanOperator {
+
+  private final Materialization mat;
+  private final ColumnName column;
+  private final Object value;
+
+  public IndexLookupOperator(
+      final Materialization mat,
+      final DataSourceNode logicalNode,
+      final ColumnName column,
+      final Object value,
+      final CompletableFuture<Void> shouldCancelOperations
+  ) {
+    super(mat, logicalNode, shouldCancelOperations);
+    this.mat = Objects.requireNonNull(mat, "mat");
+    this.column = Objects.requireNonNull(column, "column");
+    this.value = Objects.requireNonNull(value, "value");
+  }
+
+  @Override
+  protected Iterator<Row> scan(final int partition) {
+    return mat.nonWindowed()
+        .get(partition, column, value)
+        .orElseGet(() -> super.scan(partition));
+  }
+}
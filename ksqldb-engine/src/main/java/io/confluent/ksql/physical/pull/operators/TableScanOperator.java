@@ -20,11 +20,13 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.execution.streams.materialization.Locator.KsqlPartitionLocation;
 import io.confluent.ksql.execution.streams.materialization.Materialization;
 import io.confluent.ksql.execution.streams.materialization.Row;
+import io.confluent.ksql.physical.common.QueryRow;
 import io.confluent.ksql.physical.common.QueryRowImpl;
 import io.confluent.ksql.physical.common.operators.AbstractPhysicalOperator;
 import io.confluent.ksql.physical.common.operators.UnaryPhysicalOperator;
 import io.confluent.ksql.planner.plan.DataSourceNode;
 import io.confluent.ksql.planner.plan.PlanNode;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
@@ -66,34 +68,65 @@ public class TableScanOperator extends AbstractPhysicalOperator
       if (nextLocation.getKeys().isPresent()) {
         throw new IllegalStateException("Table scans should not be done with keys");
       }
-      resultIterator = mat.nonWindowed()
-          .get(nextLocation.getPartition());
+      resultIterator = scan(nextLocation.getPartition());
     }
   }
 
   @Override
   public Object next() {
-    if (shouldCancelOperations.isDone()) {
+    if (shouldCancelOperations.isDone() || !advanceToNextRow()) {
       return null;
     }
 
+    returnedRows++;
+    return toQueryRow(resultIterator.next());
+  }
+
+  @Override
+  public List<Object> nextBatch(final int maxRows) {
+    final List<Object> batch = new ArrayList<>();
+    // Cancellation is only checked once per batch, rather than once per row:
+    if (shouldCancelOperations.isDone()) {
+      return batch;
+    }
+
+    while (batch.size() < maxRows && advanceToNextRow()) {
+      batch.add(toQueryRow(resultIterator.next()));
+    }
+    returnedRows += batch.size();
+    return batch;
+  }
+
+  /**
+   * Moves on to the next partition, until one with remaining rows is found.
+   * @return whether there are any rows left to return.
+   */
+  private boolean advanceToNextRow() {
     while (!resultIterator.hasNext()) {
       // Exhausted resultIterator
       if (partitionLocationIterator.hasNext()) {
         nextLocation = partitionLocationIterator.next();
       } else {
         // Exhausted all iterators
-        return null;
+        return false;
       }
       if (nextLocation.getKeys().isPresent()) {
         throw new IllegalStateException("Table scans should not be done with keys");
       }
-      resultIterator = mat.nonWindowed()
-          .get(nextLocation.getPartition());
+      resultIterator = scan(nextLocation.getPartition());
     }
+    return true;
+  }
 
-    returnedRows++;
-    final Row row = resultIterator.next();
+  /**
+   * @param partition the partition to scan.
+   * @return the rows of the partition to return.
+   */
+  protected Iterator<Row> scan(final int partition) {
+    return mat.nonWindowed().get(partition);
+  }
+
+  private static QueryRow toQueryRow(final Row row) {
     return QueryRowImpl.of(
         row.schema(),
         row.key(),
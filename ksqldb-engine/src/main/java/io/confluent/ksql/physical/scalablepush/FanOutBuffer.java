@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.physical.scalablepush;
+
+import io.confluent.ksql.physical.common.QueryRow;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A fixed size ring buffer of rows which is written by a single thread, the consumer thread, and
+ * read by any number of {@link ProcessingQueue}s, each of which keeps its own position in the
+ * buffer.
+ *
+ * <p>Each row is published once and shared by all readers, rather than being copied for each of
+ * them, so rows must be treated as immutable once published. Publishing a row costs a single
+ * write, plus a check of each reader's position to make sure it's not about to be overwritten.
+ *
+ * <p>A reader which falls a full buffer behind the writer is handled according to the
+ * {@link SlowConsumerPolicy}.
+ */
+public class FanOutBuffer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FanOutBuffer.class);
+
+  static final int DEFAULT_CAPACITY = 1024;
+  static final long MAX_BLOCK_MS = 1000;
+  private static final long BLOCK_POLL_MS = 1;
+
+  /**
+   * What to do with a reader which has fallen a full buffer behind.
+   */
+  public enum SlowConsumerPolicy {
+    /**
+     * The reader is marked as having dropped rows, which fails its request.
+     */
+    DROP,
+    /**
+     * The writer waits, up to {@link #MAX_BLOCK_MS}, for the reader to catch up, before dropping
+     * it. This holds up all other readers, and the consumer, while waiting.
+     */
+    BLOCK
+  }
+
+  private final AtomicReferenceArray<QueryRow> slots;
+  private final int mask;
+  private final SlowConsumerPolicy policy;
+  // The sequence number of the next row to be published. Only written by the writer thread.
+  private volatile long head = 0;
+
+  public FanOutBuffer() {
+    this(DEFAULT_CAPACITY, SlowConsumerPolicy.DROP);
+  }
+
+  public FanOutBuffer(final int minCapacity, final SlowConsumerPolicy policy) {
+    if (minCapacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive: " + minCapacity);
+    }
+    final int capacity = minCapacity == 1 ? 1 : Integer.highestOneBit(minCapacity - 1) << 1;
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+    this.policy = Objects.requireNonNull(policy, "policy");
+  }
+
+  public static FanOutBuffer create(final KsqlConfig ksqlConfig) {
+    return new FanOutBuffer(
+        ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_PUSH_V2_BUFFER_CAPACITY),
+        SlowConsumerPolicy.valueOf(
+            ksqlConfig.getString(KsqlConfig.KSQL_QUERY_PUSH_V2_SLOW_CONSUMER_POLICY))
+    );
+  }
+
+  public int capacity() {
+    return slots.length();
+  }
+
+  /**
+   * @return the sequence number the next row published will have.
+   */
+  public long head() {
+    return head;
+  }
+
+  /**
+   * Publishes a row to all of the given readers, applying the slow consumer policy to any reader
+   * that the row would otherwise overwrite unread data for. Must only be called from the single
+   * writer thread.
+   *
+   * @param row the row to publish.
+   * @param readers the readers currently registered.
+   */
+  public void publish(final QueryRow row, final Collection<ProcessingQueue> readers) {
+    for (final ProcessingQueue reader : readers) {
+      makeRoom(reader);
+    }
+
+    final long sequence = head;
+    slots.set(index(sequence), row);
+    head = sequence + 1;
+
+    for (final ProcessingQueue reader : readers) {
+      try {
+        reader.onNewRow();
+      } catch (final Throwable t) {
+        LOG.error("Error while offering row", t);
+      }
+    }
+  }
+
+  QueryRow get(final long sequence) {
+    return slots.get(index(sequence));
+  }
+
+  private int index(final long sequence) {
+    return (int) (sequence & mask);
+  }
+
+  private void makeRoom(final ProcessingQueue reader) {
+    if (!reader.isAtLimit() || reader.hasDroppedRows() || reader.isClosed()) {
+      return;
+    }
+
+    if (policy == SlowConsumerPolicy.BLOCK) {
+      waitForReader(reader);
+      if (!reader.isAtLimit()) {
+        return;
+      }
+    }
+
+    // Must be set before the slot is overwritten, so the reader never sees the new row:
+    reader.markDroppedRows();
+  }
+
+  private static void waitForReader(final ProcessingQueue reader) {
+    final long deadline = System.currentTimeMillis() + MAX_BLOCK_MS;
+    while (reader.isAtLimit() && !reader.isClosed() && System.currentTimeMillis() < deadline) {
+      try {
+        Thread.sleep(BLOCK_POLL_MS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+}
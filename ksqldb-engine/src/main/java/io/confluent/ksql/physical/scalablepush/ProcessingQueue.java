@@ -17,78 +17,88 @@ package io.confluent.ksql.physical.scalablepush;
 
 import io.confluent.ksql.physical.common.QueryRow;
 import io.confluent.ksql.query.QueryId;
-import java.util.ArrayDeque;
-import java.util.Deque;
 
 /**
- * A queue for storing pre-processed rows for a given scalable push query request. This queue
- * starts dropping rows if they're past the capacity, and keeps track so it can be reported to the
- * request.
+ * A queue of pre-processed rows for a given scalable push query request. The rows themselves are
+ * held in the {@link FanOutBuffer} of the consumer the queue is subscribed to, which is shared by
+ * all requests: the queue only tracks its own position within that buffer. If the queue falls too
+ * far behind, it stops returning rows, and keeps track so it can be reported to the request.
  *
- * <p>The class is threadsafe since it's assumed that different threads are producing and consuming
- * the data.
+ * <p>The class is threadsafe, assuming a single thread producing the data, by publishing it to the
+ * buffer, and a single thread consuming it.
  */
 public class ProcessingQueue {
 
-  static final int BLOCKING_QUEUE_CAPACITY = 1000;
-
-  private final Deque<QueryRow> rowQueue;
   private final QueryId queryId;
-  private final int queueSizeLimit;
-  private boolean closed = false;
-  private boolean droppedRows = false;
-  private boolean hasError = false;
-  private Runnable newRowCallback = () -> { };
+  private volatile FanOutBuffer buffer;
+  // The sequence number of the next row to read from the buffer.
+  private volatile long position = 0;
+  private volatile boolean closed = false;
+  private volatile boolean droppedRows = false;
+  private volatile boolean hasError = false;
+  private volatile Runnable newRowCallback = () -> { };
 
   public ProcessingQueue(final QueryId queryId) {
-    this(queryId, BLOCKING_QUEUE_CAPACITY);
+    this.queryId = queryId;
   }
 
-  public ProcessingQueue(final QueryId queryId, final int queueSizeLimit) {
-    this.queryId = queryId;
-    this.queueSizeLimit = queueSizeLimit;
-    this.rowQueue = new ArrayDeque<>();
+  /**
+   * Starts reading rows from the given buffer, beginning with the next row published to it. This
+   * is expected to be called when the queue is registered with a consumer.
+   * @param buffer The buffer to read from
+   */
+  public void subscribe(final FanOutBuffer buffer) {
+    // Position must be set before the buffer is, as the buffer guards reads:
+    this.position = buffer.head();
+    this.buffer = buffer;
   }
 
   /**
-   * Adds a {@link QueryRow} to the queue. This is expected to be called from the processor streams
-   * thread when a new row arrives.
-   * @param queryRow The row to add
-   * @return if the row has been successfully added to the queue or if it's been dropped due to
-   *     being at the size limit.
+   * Notifies the queue that a new row has been published to its buffer. This is expected to be
+   * called from the consumer thread when a new row arrives.
    */
-  public synchronized boolean offer(final QueryRow queryRow) {
-    if (closed) {
-      return false;
-    } else if (rowQueue.size() < queueSizeLimit && !droppedRows) {
-      rowQueue.offer(queryRow);
+  void onNewRow() {
+    if (!closed && !droppedRows) {
       newRowCallback.run();
-      return true;
     }
-    droppedRows = true;
-    return false;
   }
 
   /**
    * Reads a row from the queue. This is expected to be called from the plan's physical operator
    * which is called from the Vertx context.
-   * @return The next row or null if either the queue is closed or there's no data to return.
+   * @return The next row or null if either the queue is closed, has dropped rows or there's no
+   *     data to return.
    */
-  public synchronized QueryRow poll() {
-    if (!closed) {
-      return rowQueue.poll();
+  public QueryRow poll() {
+    final FanOutBuffer buffer = this.buffer;
+    if (closed || buffer == null) {
+      return null;
+    }
+
+    final long next = position;
+    if (next >= buffer.head()) {
+      return null;
     }
-    return null;
+
+    final QueryRow row = buffer.get(next);
+    // The writer marks this queue as having dropped rows before overwriting any unread row, so
+    // checking after the read ensures a newer row is never returned in place of an older one:
+    if (droppedRows) {
+      return null;
+    }
+
+    position = next + 1;
+    return row;
   }
 
   /**
    * Closes the queue which causes rows to stop being returned.
    */
-  public synchronized void close() {
+  public void close() {
     closed = true;
   }
 
-  public synchronized boolean isClosed() {
+  public boolean isClosed() {
     return closed;
   }
 
@@ -96,22 +106,26 @@ public class ProcessingQueue {
    * Sets a callback which is invoked every time a new row has been enqueued.
    * @param newRowCallback The callback to invoke
    */
-  public synchronized void setNewRowCallback(final Runnable newRowCallback) {
+  public void setNewRowCallback(final Runnable newRowCallback) {
     this.newRowCallback = newRowCallback;
   }
 
   /**
-   * Whether rows have been dropped due to hitting the queue limit.
+   * Whether rows have been dropped due to falling too far behind.
    */
-  public synchronized boolean hasDroppedRows() {
+  public boolean hasDroppedRows() {
     return droppedRows;
   }
 
-  public synchronized void onError() {
+  void markDroppedRows() {
+    droppedRows = true;
+  }
+
+  public void onError() {
     hasError = true;
   }
 
-  public synchronized boolean getHasError() {
+  public boolean getHasError() {
     return hasError;
   }
 
@@ -119,7 +133,12 @@ public class ProcessingQueue {
     return queryId;
   }
 
-  public synchronized boolean isAtLimit() {
-    return rowQueue.size() >= queueSizeLimit;
+  /**
+   * Whether the queue has as many unread rows as its buffer can hold, i.e. publishing another row
+   * would overwrite one it has not read yet.
+   */
+  public boolean isAtLimit() {
+    final FanOutBuffer buffer = this.buffer;
+    return buffer != null && buffer.head() - position >= buffer.capacity();
   }
 }
@@ -145,9 +145,11 @@ public class PushPhysicalPlanBuilder {
                 QueryType.PULL_QUERY, contextStacker.push("PROJECT").getQueryContext())
         );
 
+    // Rows read from the consumer are shared by all the queries it serves:
     return new ProjectOperator(
         logger,
-        logicalNode
+        logicalNode,
+        true
     );
   }
 
@@ -158,7 +160,7 @@ public class PushPhysicalPlanBuilder {
             QueryLoggerUtil.queryLoggerName(
                 QueryType.PULL_QUERY, contextStacker.push("SELECT").getQueryContext())
         );
-    return new SelectOperator(logicalNode, logger);
+    return new SelectOperator(logicalNode, logger, true);
   }
 
   private AbstractPhysicalOperator translateDataSourceNode(
@@ -18,6 +18,7 @@ package io.confluent.ksql.physical.scalablepush.consumer;
 import com.google.common.collect.ImmutableList;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.physical.scalablepush.FanOutBuffer;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.util.KsqlConfig;
 import java.time.Clock;
@@ -53,7 +54,23 @@ public class LatestConsumer extends ScalablePushConsumer {
       final java.util.function.Consumer<Collection<TopicPartition>> catchupAssignmentUpdater,
       final KsqlConfig ksqlConfig,
       final Clock clock) {
-    super(topicName, windowed, logicalSchema, consumer);
+    this(topicName, windowed, logicalSchema, consumer, catchupCoordinator,
+        catchupAssignmentUpdater, ksqlConfig, clock, new FanOutBuffer());
+  }
+
+  @SuppressFBWarnings(value = "EI_EXPOSE_REP2")
+  public LatestConsumer(
+      final String topicName,
+      final boolean windowed,
+      final LogicalSchema logicalSchema,
+      final KafkaConsumer<Object, GenericRow> consumer,
+      final CatchupCoordinator catchupCoordinator,
+      final java.util.function.Consumer<Collection<TopicPartition>> catchupAssignmentUpdater,
+      final KsqlConfig ksqlConfig,
+      final Clock clock,
+      final FanOutBuffer buffer) {
+    super(topicName, windowed, logicalSchema, consumer, buffer,
+        ksqlConfig.getLong(KsqlConfig.KSQL_QUERY_PUSH_V2_COMMIT_INTERVAL_MS), clock);
     this.catchupCoordinator = catchupCoordinator;
     this.catchupAssignmentUpdater = catchupAssignmentUpdater;
     this.ksqlConfig = ksqlConfig;
@@ -71,7 +88,8 @@ public class LatestConsumer extends ScalablePushConsumer {
       final Clock clock
   ) {
     return new LatestConsumer(topicName, windowed, logicalSchema, consumer,
-        catchupCoordinator, catchupAssignmentUpdater, ksqlConfig, clock);
+        catchupCoordinator, catchupAssignmentUpdater, ksqlConfig, clock,
+        FanOutBuffer.create(ksqlConfig));
   }
 
   public interface LatestConsumerFactory {
@@ -50,12 +50,12 @@ public final class RowUtil {
     if (!windowed) {
       final GenericKey keyCopy = GenericKey.fromList(
           key != null ? ((GenericKey) key).values() : Collections.emptyList());
-      final GenericRow valueCopy = GenericRow.fromList(value.values());
+      final GenericRow valueCopy = value.copy();
       return QueryRowImpl.of(logicalSchema, keyCopy, Optional.empty(), valueCopy, timestamp);
     } else {
       final Windowed<GenericKey> windowedKey = (Windowed<GenericKey>) key;
       final GenericKey keyCopy = GenericKey.fromList(windowedKey.key().values());
-      final GenericRow valueCopy = GenericRow.fromList(value.values());
+      final GenericRow valueCopy = value.copy();
       return QueryRowImpl.of(logicalSchema, keyCopy, Optional.of(Window.of(
           windowedKey.window().startTime(),
           windowedKey.window().endTime()
@@ -21,13 +21,14 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.physical.common.QueryRow;
+import io.confluent.ksql.physical.scalablepush.FanOutBuffer;
 import io.confluent.ksql.physical.scalablepush.ProcessingQueue;
 import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
+import java.time.Clock;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -52,6 +53,11 @@ public abstract class ScalablePushConsumer implements AutoCloseable {
   protected final boolean windowed;
   protected final LogicalSchema logicalSchema;
   protected final KafkaConsumer<Object, GenericRow> consumer;
+  private final FanOutBuffer buffer;
+  private final long commitIntervalMs;
+  private final Clock clock;
+  private long lastCommitMs = 0;
+  private boolean hasUncommittedRecords = false;
   protected int partitions;
   protected boolean started = false;
   protected Map<TopicPartition, Long> currentPositions = new HashMap<>();
@@ -70,11 +76,27 @@ public abstract class ScalablePushConsumer implements AutoCloseable {
       final boolean windowed,
       final LogicalSchema logicalSchema,
       final KafkaConsumer<Object, GenericRow> consumer
+  ) {
+    this(topicName, windowed, logicalSchema, consumer, new FanOutBuffer(), 0L,
+        Clock.systemUTC());
+  }
+
+  public ScalablePushConsumer(
+      final String topicName,
+      final boolean windowed,
+      final LogicalSchema logicalSchema,
+      final KafkaConsumer<Object, GenericRow> consumer,
+      final FanOutBuffer buffer,
+      final long commitIntervalMs,
+      final Clock clock
   ) {
     this.topicName = topicName;
     this.windowed = windowed;
     this.logicalSchema = logicalSchema;
     this.consumer = consumer;
+    this.buffer = buffer;
+    this.commitIntervalMs = commitIntervalMs;
+    this.clock = clock;
   }
 
 
@@ -86,9 +108,6 @@ public abstract class ScalablePushConsumer implements AutoCloseable {
 
   protected abstract void subscribeOrAssign();
 
-  protected void afterOfferedRow(final ProcessingQueue queue) {
-  }
-
   public void newAssignment(final Collection<TopicPartition> tps) {
     newAssignment = true;
     topicPartitions.set(tps != null ? ImmutableSet.copyOf(tps) : null);
@@ -131,7 +150,6 @@ public abstract class ScalablePushConsumer implements AutoCloseable {
         continue;
       }
       if (records.isEmpty()) {
-        updateCurrentPositions();
         onEmptyRecords();
         continue;
       }
@@ -145,43 +163,92 @@ public abstract class ScalablePushConsumer implements AutoCloseable {
         handleRow(rec.key(), rec.value(), rec.timestamp());
       }
 
-      updateCurrentPositions();
-      try {
-        consumer.commitSync();
-        final Map<TopicPartition, OffsetAndMetadata> offsets
-            = consumer.committed(new HashSet<>(topicPartitions.get()));
-        latestCommittedOffsets.set(ImmutableMap.copyOf(offsets));
-      } catch (CommitFailedException e) {
-        LOG.warn("Failed to commit, likely due to rebalance.  Will wait for new assignment", e);
-      }
+      updateCurrentPositions(records);
+      maybeCommit();
 
       afterCommit();
     }
+    commitRemaining();
   }
 
-  private void updateCurrentPositions() {
-    for (TopicPartition tp : topicPartitions.get()) {
-      currentPositions.put(tp, consumer.position(tp));
+  /**
+   * Advances the current positions past the records just handled. This avoids a call to
+   * {@code position()} per partition for every batch. The positions may trail the consumer's own
+   * position when there are gaps after the last record, e.g. due to transaction markers, until
+   * the next record on that partition is read, which only makes them more conservative.
+   */
+  private void updateCurrentPositions(final ConsumerRecords<?, GenericRow> records) {
+    for (TopicPartition tp : records.partitions()) {
+      final List<? extends ConsumerRecord<?, GenericRow>> partitionRecords = records.records(tp);
+      final long lastOffset = partitionRecords.get(partitionRecords.size() - 1).offset();
+      currentPositions.put(tp, lastOffset + 1);
     }
   }
 
+  /**
+   * Commits asynchronously, at most once per commit interval, so that the poll loop isn't held
+   * up by a round trip to the broker. The committed offsets are then tracked from the callback,
+   * which is invoked on this thread from a later call to the consumer.
+   */
+  private void maybeCommit() {
+    hasUncommittedRecords = true;
+    final long now = clock.millis();
+    if (now - lastCommitMs < commitIntervalMs) {
+      return;
+    }
+    lastCommitMs = now;
+    hasUncommittedRecords = false;
+    consumer.commitAsync(this::onCommitCompleted);
+  }
+
+  private void commitRemaining() {
+    if (!hasUncommittedRecords) {
+      return;
+    }
+    try {
+      consumer.commitSync();
+    } catch (final Exception e) {
+      LOG.warn("Failed to commit remaining offsets on close", e);
+    }
+  }
+
+  private void onCommitCompleted(
+      final Map<TopicPartition, OffsetAndMetadata> offsets,
+      final Exception exception
+  ) {
+    if (exception != null) {
+      if (exception instanceof CommitFailedException) {
+        LOG.warn("Failed to commit, likely due to rebalance.  Will wait for new assignment",
+            exception);
+      } else {
+        LOG.warn("Failed to commit", exception);
+      }
+      return;
+    }
+
+    final Set<TopicPartition> assignment = topicPartitions.get();
+    final Map<TopicPartition, OffsetAndMetadata> previous = latestCommittedOffsets.get();
+    final Map<TopicPartition, OffsetAndMetadata> committed = new HashMap<>();
+    if (previous != null) {
+      committed.putAll(previous);
+    }
+    committed.putAll(offsets);
+    if (assignment != null) {
+      committed.keySet().retainAll(assignment);
+    }
+    latestCommittedOffsets.set(ImmutableMap.copyOf(committed));
+  }
+
   private boolean handleRow(final Object key, final GenericRow value, final long timestamp) {
     // We don't currently handle null in either field
     if ((key == null && !logicalSchema.key().isEmpty()) || value == null) {
       return false;
     }
     numRowsReceived.incrementAndGet();
-    for (ProcessingQueue queue : processingQueues.values()) {
-      try {
-        // The physical operators may modify the keys and values, so we make a copy to ensure
-        // that there's no cross-query interference.
-        final QueryRow row = RowUtil.createRow(key, value, timestamp, windowed, logicalSchema);
-        queue.offer(row);
-        afterOfferedRow(queue);
-      } catch (final Throwable t) {
-        LOG.error("Error while offering row", t);
-      }
-    }
+    // A single copy of the row is shared by all queues, so the physical operators must not modify
+    // it, which they don't: any operator which needs a different row creates a new one.
+    final QueryRow row = RowUtil.createRow(key, value, timestamp, windowed, logicalSchema);
+    buffer.publish(row, processingQueues.values());
     return false;
   }
 
@@ -216,6 +283,7 @@ public abstract class ScalablePushConsumer implements AutoCloseable {
   }
 
   public void register(final ProcessingQueue processingQueue) {
+    processingQueue.subscribe(buffer);
     processingQueues.put(processingQueue.getQueryId(), processingQueue);
   }
 
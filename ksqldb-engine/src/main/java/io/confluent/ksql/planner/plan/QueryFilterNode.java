@@ -18,6 +18,7 @@ package io.confluent.ksql.planner.plan;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.BoundType;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Range;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -47,6 +48,7 @@ import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.schema.ksql.Column.Namespace;
 import io.confluent.ksql.schema.ksql.DefaultSqlValueCoercer;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.SqlValueCoercer.Result;
 import io.confluent.ksql.schema.ksql.SystemColumns;
 import io.confluent.ksql.schema.ksql.types.SqlBaseType;
 import io.confluent.ksql.schema.ksql.types.SqlType;
@@ -60,7 +62,9 @@ import java.time.Instant;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -94,6 +98,7 @@ public class QueryFilterNode extends SingleSourcePlanNode {
   // The separated disjuncts.  In the above example, [(A AND B), (C AND D)]
   private final List<Expression> disjuncts;
   private final ImmutableList<LookupConstraint> lookupConstraints;
+  private final ImmutableMap<ColumnName, Object> valueColumnEqualities;
   private final Set<UnqualifiedColumnReferenceExp> keyColumns = new HashSet<>();
   private final Set<UnqualifiedColumnReferenceExp> systemColumns = new HashSet<>();
   private final QueryPlannerOptions queryPlannerOptions;
@@ -130,6 +135,9 @@ public class QueryFilterNode extends SingleSourcePlanNode {
     // Extraction of lookup constraints
     lookupConstraints = extractLookupConstraints();
 
+    // Extraction of value columns that could be looked up in a secondary index
+    valueColumnEqualities = extractValueColumnEqualities();
+
     // Compiling expression into byte code/interpreting the expression
     this.addAdditionalColumnsToIntermediateSchema = shouldAddAdditionalColumnsInSchema();
     this.intermediateSchema = QueryLogicalPlanUtil.buildIntermediateSchema(
@@ -167,6 +175,15 @@ public class QueryFilterNode extends SingleSourcePlanNode {
     return lookupConstraints;
   }
 
+  /**
+   * @return the value columns the WHERE clause requires to equal a literal, e.g. {@code STATUS}
+   *         in {@code STATUS = 'OPEN' AND COUNT > 5}, which a secondary index on the table can
+   *         be used to look up. Empty unless the WHERE clause is a single conjunction.
+   */
+  public Map<ColumnName, Object> getValueColumnEqualities() {
+    return valueColumnEqualities;
+  }
+
   public boolean getAddAdditionalColumnsToIntermediateSchema() {
     return addAdditionalColumnsToIntermediateSchema;
   }
@@ -254,6 +271,52 @@ public class QueryFilterNode extends SingleSourcePlanNode {
     return constraintPerDisjunct.build();
   }
 
+  private ImmutableMap<ColumnName, Object> extractValueColumnEqualities() {
+    if (isWindowed || disjuncts.size() != 1) {
+      return ImmutableMap.of();
+    }
+
+    final Map<ColumnName, Object> equalities = new LinkedHashMap<>();
+    addValueColumnEqualities(disjuncts.get(0), equalities);
+    return ImmutableMap.copyOf(equalities);
+  }
+
+  private void addValueColumnEqualities(
+      final Expression expression,
+      final Map<ColumnName, Object> equalities
+  ) {
+    if (expression instanceof LogicalBinaryExpression) {
+      final LogicalBinaryExpression logical = (LogicalBinaryExpression) expression;
+      if (logical.getType() == LogicalBinaryExpression.Type.AND) {
+        addValueColumnEqualities(logical.getLeft(), equalities);
+        addValueColumnEqualities(logical.getRight(), equalities);
+      }
+      return;
+    }
+
+    if (!(expression instanceof ComparisonExpression)
+        || ((ComparisonExpression) expression).getType() != Type.EQUAL) {
+      return;
+    }
+
+    final ComparisonExpression comparison = (ComparisonExpression) expression;
+    final UnqualifiedColumnReferenceExp column = getColumnRefSideOrNull(comparison);
+    final Expression other = getNonColumnRefSide(comparison);
+    if (column == null || !(other instanceof Literal) || other instanceof NullLiteral) {
+      return;
+    }
+
+    schema.findValueColumn(column.getColumnName())
+        .filter(col -> !SystemColumns.isSystemColumn(col.name(), ksqlConfig))
+        .ifPresent(col -> {
+          final Result value = DefaultSqlValueCoercer.STRICT
+              .coerce(((Literal) other).getValue(), col.type());
+          if (!value.failed()) {
+            value.value().ifPresent(v -> equalities.putIfAbsent(col.name(), v));
+          }
+        });
+  }
+
   /**
    * Validate the WHERE clause for pull queries. Each of these validation steps are taken for each
    * disjunct of a DNF expression.
@@ -167,17 +167,52 @@ public class PullQueryQueue implements BlockingRowQueue {
   }
 
   /**
-   * Similar to {@link #acceptRow(PullQueryRow)} but takes many rows.
+   * Similar to {@link #acceptRow(PullQueryRow)} but takes many rows. Rows are enqueued in as
+   * large chunks as the queue has room for, and the queued callback is run once per chunk rather
+   * than once per row. Blocks until all the rows can be accepted.
    * @param tableRows The rows to enqueue.
    */
   public boolean acceptRows(final List<PullQueryRow> tableRows) {
     if (tableRows == null) {
       return false;
     }
-    for (PullQueryRow row : tableRows) {
-      if (!acceptRow(row)) {
-        return false;
+
+    try {
+      int i = 0;
+      while (i < tableRows.size()) {
+        if (closed.get()) {
+          return false;
+        }
+
+        final int start = i;
+        while (i < tableRows.size()
+            && tableRows.get(i) != null
+            && rowQueue.offer(tableRows.get(i))) {
+          i++;
+        }
+
+        if (i == start && i < tableRows.size() && tableRows.get(i) != null) {
+          // Queue is full, so wait for room for the next row:
+          if (!rowQueue.offer(tableRows.get(i), offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+            continue;
+          }
+          i++;
+        }
+
+        if (i > start) {
+          totalRowsQueued.addAndGet(i - start);
+          queuedCallback.run();
+        }
+
+        if (i < tableRows.size() && tableRows.get(i) == null) {
+          return false;
+        }
       }
+    } catch (final InterruptedException e) {
+      // Forced shutdown?
+      LOG.error("Interrupted while trying to offer rows to queue", e);
+      Thread.currentThread().interrupt();
+      return false;
     }
     return true;
   }
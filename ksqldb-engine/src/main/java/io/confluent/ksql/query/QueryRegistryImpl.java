@@ -19,6 +19,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 import io.confluent.ksql.config.SessionConfig;
 import io.confluent.ksql.engine.QueryEventListener;
 import io.confluent.ksql.execution.plan.ExecutionStep;
@@ -32,6 +33,7 @@ import io.confluent.ksql.serde.WindowInfo;
 import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlConstants;
+import io.confluent.ksql.util.PersistentMap;
 import io.confluent.ksql.util.PersistentQueriesInSharedRuntimesImpl;
 import io.confluent.ksql.util.PersistentQueryMetadata;
 import io.confluent.ksql.util.PersistentQueryMetadataImpl;
@@ -45,28 +47,38 @@ import io.confluent.ksql.util.ValidationSharedKafkaStreamsRuntimeImpl;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.streams.KafkaStreams.State;
 import org.apache.kafka.streams.StreamsBuilder;
 
+/**
+ * The registry of running queries.
+ *
+ * <p>The registered queries are held in persistent maps, which are replaced, under a lock, on each
+ * change. This allows a sandbox to start out sharing the maps of the registry it was created from,
+ * rather than copying them. The queries a sandbox inherits are only wrapped in their sandboxed
+ * form when the sandbox first hands them out, so creating a sandbox is cheap, however many
+ * queries are running.
+ */
 public class QueryRegistryImpl implements QueryRegistry {
   private static final BiPredicate<SourceName, PersistentQueryMetadata> FILTER_QUERIES_WITH_SINK =
       (sourceName, query) -> query.getSinkName().equals(Optional.of(sourceName));
 
-  private final Map<QueryId, PersistentQueryMetadata> persistentQueries;
-  private final Map<QueryId, QueryMetadata> allLiveQueries;
-  private final Map<SourceName, QueryId> createAsQueries;
-  private final Map<SourceName, Set<QueryId>> insertQueries;
+  private final Object lock = new Object();
+  private volatile PersistentMap<QueryId, PersistentQueryMetadata> persistentQueries;
+  private volatile PersistentMap<QueryId, QueryMetadata> allLiveQueries;
+  private volatile PersistentMap<SourceName, QueryId> createAsQueries;
+  private volatile PersistentMap<SourceName, ImmutableSet<QueryId>> insertQueries;
+  // the queries a sandbox inherited, which are sandboxed on first access:
+  private final PersistentMap<QueryId, QueryMetadata> inheritedQueries;
   private final Collection<QueryEventListener> eventListeners;
   private final QueryBuilderFactory queryBuilderFactory;
   private final List<SharedKafkaStreamsRuntime> streams;
@@ -80,10 +92,11 @@ public class QueryRegistryImpl implements QueryRegistry {
       final Collection<QueryEventListener> eventListeners,
       final QueryBuilderFactory queryBuilderFactory
   ) {
-    this.persistentQueries = new ConcurrentHashMap<>();
-    this.allLiveQueries = new ConcurrentHashMap<>();
-    this.createAsQueries = new ConcurrentHashMap<>();
-    this.insertQueries = new ConcurrentHashMap<>();
+    this.persistentQueries = PersistentMap.empty();
+    this.allLiveQueries = PersistentMap.empty();
+    this.createAsQueries = PersistentMap.empty();
+    this.insertQueries = PersistentMap.empty();
+    this.inheritedQueries = PersistentMap.empty();
     this.eventListeners = Objects.requireNonNull(eventListeners);
     this.queryBuilderFactory = Objects.requireNonNull(queryBuilderFactory);
     this.streams = new ArrayList<>();
@@ -93,39 +106,13 @@ public class QueryRegistryImpl implements QueryRegistry {
   // Used to construct a sandbox
   private QueryRegistryImpl(final QueryRegistryImpl original) {
     queryBuilderFactory = original.queryBuilderFactory;
-    persistentQueries = new ConcurrentHashMap<>();
-    allLiveQueries = new ConcurrentHashMap<>();
-    createAsQueries = new ConcurrentHashMap<>();
-    insertQueries = new ConcurrentHashMap<>();
-    original.allLiveQueries.forEach((queryId, queryMetadata) -> {
-      if (queryMetadata instanceof PersistentQueryMetadataImpl) {
-        final PersistentQueryMetadata sandboxed = SandboxedPersistentQueryMetadataImpl.of(
-            (PersistentQueryMetadataImpl) queryMetadata,
-            new ListenerImpl()
-        );
-        persistentQueries.put(sandboxed.getQueryId(), sandboxed);
-        allLiveQueries.put(sandboxed.getQueryId(), sandboxed);
-      } else if (queryMetadata instanceof PersistentQueriesInSharedRuntimesImpl) {
-        final PersistentQueryMetadata sandboxed = SandboxedPersistentQueriesInSharedRuntimesImpl.of(
-                (PersistentQueriesInSharedRuntimesImpl) queryMetadata,
-                new ListenerImpl()
-        );
-        persistentQueries.put(sandboxed.getQueryId(), sandboxed);
-        allLiveQueries.put(sandboxed.getQueryId(), sandboxed);
-      } else {
-        final TransientQueryMetadata sandboxed = SandboxedTransientQueryMetadata.of(
-            (TransientQueryMetadata) queryMetadata,
-            new ListenerImpl()
-        );
-        allLiveQueries.put(sandboxed.getQueryId(), sandboxed);
-      }
-    });
-    createAsQueries.putAll(original.createAsQueries);
-    for (final Map.Entry<SourceName, Set<QueryId>> inserts : original.insertQueries.entrySet()) {
-      final Set<QueryId> sandboxInserts = Collections.synchronizedSet(new HashSet<>());
-      sandboxInserts.addAll(inserts.getValue());
-      insertQueries.put(inserts.getKey(), sandboxInserts);
+    synchronized (original.lock) {
+      persistentQueries = original.persistentQueries;
+      allLiveQueries = original.allLiveQueries;
+      createAsQueries = original.createAsQueries;
+      insertQueries = original.insertQueries;
     }
+    inheritedQueries = allLiveQueries;
     eventListeners = original.eventListeners.stream()
         .map(QueryEventListener::createSandbox)
         .filter(Optional::isPresent)
@@ -291,17 +278,20 @@ public class QueryRegistryImpl implements QueryRegistry {
 
   @Override
   public Optional<PersistentQueryMetadata> getPersistentQuery(final QueryId queryId) {
-    return Optional.ofNullable(persistentQueries.get(queryId));
+    return Optional.ofNullable(sandboxedPersistent(persistentQueries.get(queryId)));
   }
 
   @Override
   public Optional<QueryMetadata> getQuery(final QueryId queryId) {
-    return Optional.ofNullable(allLiveQueries.get(queryId));
+    return Optional.ofNullable(sandboxed(allLiveQueries.get(queryId)));
   }
 
   @Override
   public Map<QueryId, PersistentQueryMetadata> getPersistentQueries() {
-    return Collections.unmodifiableMap(persistentQueries);
+    final Map<QueryId, PersistentQueryMetadata> queries = persistentQueries.asMap();
+    return inheritedQueries.isEmpty()
+        ? queries
+        : Maps.transformValues(queries, this::sandboxedPersistent);
   }
 
   @Override
@@ -318,13 +308,16 @@ public class QueryRegistryImpl implements QueryRegistry {
 
   @Override
   public List<QueryMetadata> getAllLiveQueries() {
-    return ImmutableList.copyOf(allLiveQueries.values());
+    final ImmutableList.Builder<QueryMetadata> queries = ImmutableList.builder();
+    allLiveQueries.forEach((queryId, query) -> queries.add(sandboxed(query)));
+    return queries.build();
   }
 
   @Override
   public Optional<QueryMetadata> getCreateAsQuery(final SourceName sourceName) {
-    if (createAsQueries.containsKey(sourceName)) {
-      return Optional.of(persistentQueries.get(createAsQueries.get(sourceName)));
+    final QueryId queryId = createAsQueries.get(sourceName);
+    if (queryId != null) {
+      return Optional.of(sandboxedPersistent(persistentQueries.get(queryId)));
     }
     return Optional.empty();
   }
@@ -333,8 +326,9 @@ public class QueryRegistryImpl implements QueryRegistry {
   public Set<QueryId> getInsertQueries(
       final SourceName sourceName,
       final BiPredicate<SourceName, PersistentQueryMetadata> filterQueries) {
-    return insertQueries.getOrDefault(sourceName, Collections.emptySet()).stream()
-        .map(persistentQueries::get)
+    final PersistentMap<QueryId, PersistentQueryMetadata> queries = persistentQueries;
+    return insertQueries.getOrDefault(sourceName, ImmutableSet.of()).stream()
+        .map(queryId -> sandboxedPersistent(queries.get(queryId)))
         .filter(query -> filterQueries.test(sourceName, query))
         .map(QueryMetadata::getQueryId)
         .collect(Collectors.toSet());
@@ -374,7 +368,7 @@ public class QueryRegistryImpl implements QueryRegistry {
     // don't use persistentQueries.put(queryId) here because oldQuery.close()
     // will remove any query with oldQuery.getQueryId() from the map of persistent
     // queries
-    final PersistentQueryMetadata oldQuery = persistentQueries.get(queryId);
+    final PersistentQueryMetadata oldQuery = sandboxedPersistent(persistentQueries.get(queryId));
     if (oldQuery != null) {
       oldQuery.getPhysicalPlan().validateUpgrade((persistentQuery).getPhysicalPlan());
 
@@ -391,24 +385,31 @@ public class QueryRegistryImpl implements QueryRegistry {
       // Initialize the query before it's exposed to other threads via the map/sets.
       persistentQuery.initialize();
     }
-    persistentQueries.put(queryId, persistentQuery);
-    switch (persistentQuery.getPersistentQueryType()) {
-      case CREATE_SOURCE:
-        createAsQueries.put(Iterables.getOnlyElement(persistentQuery.getSourceNames()), queryId);
-        break;
-      case CREATE_AS:
-        createAsQueries.put(persistentQuery.getSinkName().get(), queryId);
-        break;
-      case INSERT:
-        sinkAndSources(persistentQuery).forEach(sourceName ->
-            insertQueries.computeIfAbsent(sourceName,
-                x -> Collections.synchronizedSet(new HashSet<>())).add(queryId));
-        break;
-      default:
-        // do nothing
-    }
+    synchronized (lock) {
+      persistentQueries = persistentQueries.plus(queryId, persistentQuery);
+      switch (persistentQuery.getPersistentQueryType()) {
+        case CREATE_SOURCE:
+          createAsQueries = createAsQueries.plus(
+              Iterables.getOnlyElement(persistentQuery.getSourceNames()), queryId);
+          break;
+        case CREATE_AS:
+          createAsQueries = createAsQueries.plus(persistentQuery.getSinkName().get(), queryId);
+          break;
+        case INSERT:
+          sinkAndSources(persistentQuery).forEach(sourceName -> {
+            final Set<QueryId> queries = insertQueries.getOrDefault(sourceName, ImmutableSet.of());
+            insertQueries = insertQueries.plus(sourceName, ImmutableSet.<QueryId>builder()
+                .addAll(queries)
+                .add(queryId)
+                .build());
+          });
+          break;
+        default:
+          // do nothing
+      }
 
-    allLiveQueries.put(persistentQuery.getQueryId(), persistentQuery);
+      allLiveQueries = allLiveQueries.plus(persistentQuery.getQueryId(), persistentQuery);
+    }
     notifyCreate(serviceContext, metaStore, persistentQuery);
   }
 
@@ -421,40 +422,101 @@ public class QueryRegistryImpl implements QueryRegistry {
       throw new IllegalStateException("Transient query must be initialized before it might"
           + " be exposed to other threads via allLiveQueries");
     }
-    allLiveQueries.put(query.getQueryId(), query);
+    synchronized (lock) {
+      allLiveQueries = allLiveQueries.plus(query.getQueryId(), query);
+    }
     notifyCreate(serviceContext, metaStore, query);
   }
 
   private void unregisterQuery(final QueryMetadata query) {
-    if (query instanceof PersistentQueryMetadata) {
-      final PersistentQueryMetadata persistentQuery = (PersistentQueryMetadata) query;
-      final QueryId queryId = persistentQuery.getQueryId();
-      persistentQueries.remove(queryId);
-
-      switch (persistentQuery.getPersistentQueryType()) {
-        case CREATE_SOURCE:
-          createAsQueries.remove(Iterables.getOnlyElement(persistentQuery.getSourceNames()));
-          break;
-        case CREATE_AS:
-          createAsQueries.remove(persistentQuery.getSinkName().get());
-          break;
-        case INSERT:
-          sinkAndSources(persistentQuery).forEach(sourceName ->
-              insertQueries.computeIfPresent(sourceName, (s, queries) -> {
-                queries.remove(queryId);
-                return (queries.isEmpty()) ? null : queries;
-              })
-          );
-          break;
-        default:
-          // nothing to do with unknown query types
+    synchronized (lock) {
+      if (query instanceof PersistentQueryMetadata) {
+        final PersistentQueryMetadata persistentQuery = (PersistentQueryMetadata) query;
+        final QueryId queryId = persistentQuery.getQueryId();
+        persistentQueries = persistentQueries.minus(queryId);
+
+        switch (persistentQuery.getPersistentQueryType()) {
+          case CREATE_SOURCE:
+            createAsQueries = createAsQueries.minus(
+                Iterables.getOnlyElement(persistentQuery.getSourceNames()));
+            break;
+          case CREATE_AS:
+            createAsQueries = createAsQueries.minus(persistentQuery.getSinkName().get());
+            break;
+          case INSERT:
+            sinkAndSources(persistentQuery).forEach(sourceName -> {
+              final Set<QueryId> queries = insertQueries.get(sourceName);
+              if (queries == null) {
+                return;
+              }
+              final ImmutableSet<QueryId> remaining = queries.stream()
+                  .filter(id -> !id.equals(queryId))
+                  .collect(ImmutableSet.toImmutableSet());
+              insertQueries = remaining.isEmpty()
+                  ? insertQueries.minus(sourceName)
+                  : insertQueries.plus(sourceName, remaining);
+            });
+            break;
+          default:
+            // nothing to do with unknown query types
+        }
       }
-    }
 
-    allLiveQueries.remove(query.getQueryId());
+      allLiveQueries = allLiveQueries.minus(query.getQueryId());
+    }
     notifyDeregister(query);
   }
 
+  private PersistentQueryMetadata sandboxedPersistent(final PersistentQueryMetadata query) {
+    return (PersistentQueryMetadata) sandboxed(query);
+  }
+
+  /**
+   * Sandboxes a query the sandbox inherited, replacing it in the registry, so that it is only
+   * sandboxed once. Other queries are returned as is.
+   */
+  private QueryMetadata sandboxed(final QueryMetadata query) {
+    if (query == null || inheritedQueries.get(query.getQueryId()) != query) {
+      return query;
+    }
+
+    synchronized (lock) {
+      final QueryId queryId = query.getQueryId();
+      final QueryMetadata current = allLiveQueries.get(queryId);
+      if (current != null && current != query) {
+        // already sandboxed:
+        return current;
+      }
+
+      final QueryMetadata sandboxed;
+      if (query instanceof PersistentQueryMetadataImpl) {
+        sandboxed = SandboxedPersistentQueryMetadataImpl.of(
+            (PersistentQueryMetadataImpl) query,
+            new ListenerImpl()
+        );
+      } else if (query instanceof PersistentQueriesInSharedRuntimesImpl) {
+        sandboxed = SandboxedPersistentQueriesInSharedRuntimesImpl.of(
+            (PersistentQueriesInSharedRuntimesImpl) query,
+            new ListenerImpl()
+        );
+      } else {
+        sandboxed = SandboxedTransientQueryMetadata.of(
+            (TransientQueryMetadata) query,
+            new ListenerImpl()
+        );
+      }
+
+      if (current != null) {
+        allLiveQueries = allLiveQueries.plus(queryId, sandboxed);
+        if (sandboxed instanceof PersistentQueryMetadata) {
+          persistentQueries = persistentQueries.plus(
+              queryId, (PersistentQueryMetadata) sandboxed);
+        }
+      }
+      return sandboxed;
+    }
+  }
+
   private void notifyCreate(
       final ServiceContext serviceContext,
       final MetaStore metaStore,
@@ -59,7 +59,7 @@ public final class ExtensionSecurityManager extends SecurityManager {
     });
   }
 
-  public synchronized void pushInUdf() {
+  public void pushInUdf() {
     if (validateCaller()) {
       if (UDF_IS_EXECUTING.get() == null) {
         UDF_IS_EXECUTING.set(new Stack<>());
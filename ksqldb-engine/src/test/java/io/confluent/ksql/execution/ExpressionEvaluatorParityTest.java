@@ -46,6 +46,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
@@ -298,6 +300,23 @@ public class ExpressionEvaluatorParityTest {
         .put("B", "abc"));
   }
 
+  @Test
+  public void shouldDoInPredicates() throws Exception {
+    assertOrders("ORDERUNITS IN (1, 20, 300)", true);
+    assertOrders("ORDERUNITS IN (1, 2, 3)", false);
+    assertOrders("ORDERID IN (10, NULL)", true);
+    assertOrders("ORDERID IN ('10', '11')", true);
+    assertOrders("ITEMID IN ('item_id_0', 'item_id_1')", true);
+    assertOrders("ITEMID IN ('item_id_1', 'item_id_2')", false);
+    assertOrders("ORDERUNITS IN (" + IntStream.rangeClosed(1, 50)
+        .mapToObj(String::valueOf)
+        .collect(Collectors.joining(",")) + ")", true);
+    assertOrders("ORDERUNITS IN (" + IntStream.rangeClosed(21, 70)
+        .mapToObj(String::valueOf)
+        .collect(Collectors.joining(",")) + ")", false);
+    assertOrders("ORDERUNITS IN (ORDERUNITS + 1, 20)", true);
+  }
+
   @Test
   public void shouldDoNot() throws Exception {
     assertOrders("not true", false);
@@ -65,6 +65,7 @@ import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
 import java.io.File;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.file.Files;
@@ -789,6 +790,14 @@ public class UdfLoaderTest {
     assertThat(udf.eval(this, 1, 2, 3), equalTo(6.0));
   }
 
+  @Test
+  public void shouldInvokeStaticFunction() throws Exception {
+    final FunctionInvoker udf = FunctionLoaderUtils.createFunctionInvoker(
+        getClass().getMethod("staticUdf", int.class));
+
+    assertThat(udf.eval(this, 1), equalTo(2));
+  }
+
   @Test
   public void shouldHandleMethodsWithGenericArguments() throws Exception {
     final FunctionInvoker udf = FunctionLoaderUtils.createFunctionInvoker(
@@ -1032,6 +1041,23 @@ public class UdfLoaderTest {
         "Failed to invoke function"));
   }
 
+  @Test
+  public void shouldWrapErrorThrownByUdf() throws Exception {
+    final FunctionInvoker udf =
+        createFunctionInvoker(getClass().getMethod("udfThrowingError", String.class));
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlFunctionException.class,
+        () -> udf.eval(this, "boom")
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString("Failed to invoke function"));
+    assertThat(e.getCause(), is(instanceOf(InvocationTargetException.class)));
+    assertThat(e.getCause().getCause(), is(instanceOf(AssertionError.class)));
+  }
+
   @Test
   public void shouldThrowWhenUdafReturnTypeIsntAUdaf() throws Exception {
     // When:
@@ -1272,6 +1298,10 @@ public class UdfLoaderTest {
     return i * l * d;
   }
 
+  public static int staticUdf(final int val) {
+    return val + 1;
+  }
+
   public static Udaf<Long, Double, Double> createLongDouble() {
     return null;
   }
@@ -1321,6 +1351,10 @@ public class UdfLoaderTest {
     return null;
   }
 
+  public static String udfThrowingError(final String val) {
+    throw new AssertionError(val);
+  }
+
   public static String invalidUdf(final int[] ints) {
     return null;
   }
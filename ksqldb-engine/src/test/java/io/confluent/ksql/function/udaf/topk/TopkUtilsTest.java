@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function.udaf.topk;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class TopkUtilsTest {
+
+  private static final List<Integer> DESC = ImmutableList.of(50, 40, 40, 30, 10);
+
+  @Test
+  public void shouldFindInsertionPointAtHead() {
+    assertThat(TopkUtils.insertionPoint(DESC, 60), is(0));
+  }
+
+  @Test
+  public void shouldFindInsertionPointAtTail() {
+    assertThat(TopkUtils.insertionPoint(DESC, 5), is(5));
+  }
+
+  @Test
+  public void shouldFindInsertionPointAfterEqualValues() {
+    assertThat(TopkUtils.insertionPoint(DESC, 40), is(3));
+  }
+
+  @Test
+  public void shouldFindInsertionPointInEmptyList() {
+    assertThat(TopkUtils.insertionPoint(ImmutableList.<Integer>of(), 5), is(0));
+  }
+
+  @Test
+  public void shouldInsertWithoutEvictingIfNotFull() {
+    // Given:
+    final List<Integer> list = Lists.newArrayList(50, 30);
+
+    // When:
+    TopkUtils.insertBounded(list, 1, 40, 3);
+
+    // Then:
+    assertThat(list, contains(50, 40, 30));
+  }
+
+  @Test
+  public void shouldEvictSmallestIfFull() {
+    // Given:
+    final List<Integer> list = Lists.newArrayList(50, 30, 10);
+
+    // When:
+    TopkUtils.insertBounded(list, 1, 40, 3);
+
+    // Then:
+    assertThat(list, contains(50, 40, 30));
+  }
+
+  @Test
+  public void shouldMatchFullSort() {
+    // Given:
+    final Random random = new Random(42);
+    final List<Integer> list = new ArrayList<>();
+    final List<Integer> all = new ArrayList<>();
+
+    // When:
+    for (int i = 0; i < 1000; i++) {
+      final int value = random.nextInt(100);
+      all.add(value);
+      if (list.size() < 10 || value > list.get(list.size() - 1)) {
+        TopkUtils.insertBounded(list, TopkUtils.insertionPoint(list, value), value, 10);
+      }
+    }
+
+    // Then:
+    all.sort((a, b) -> Integer.compare(b, a));
+    assertThat(list, is(all.subList(0, 10)));
+  }
+}
@@ -275,6 +275,47 @@ public class ProjectOperatorTest {
     assertThat(result.value().values(), is(row.key().values()));
   }
 
+  @Test
+  public void shouldNotModifySharedRows() {
+    // Given:
+    final LogicalSchema schema = LogicalSchema.builder()
+        .keyColumn(ColumnName.of("k0"), SqlTypes.STRING)
+        .build();
+    when(logicalNode.getAddAdditionalColumnsToIntermediateSchema()).thenReturn(true);
+    when(logicalNode.getSchema()).thenReturn(schema);
+    when(logicalNode.getCompiledSelectExpressions()).thenReturn(Collections.emptyList());
+    final ProjectOperator projectOperator = new ProjectOperator(
+        logger,
+        logicalNode,
+        true,
+        selectValueMapperFactorySupplier);
+    projectOperator.addChild(child);
+    final QueryRowImpl row = QueryRowImpl.of(
+        INTERMEDIATE_SCHEMA_WITH_PSEUDO,
+        A_KEY,
+        Optional.empty(),
+        GenericRow.genericRow("a", "b", A_ROWTIME, "k"),
+        A_ROWTIME
+    );
+    when(child.next()).thenReturn(row);
+    when(selectValueMapperFactorySupplier.create(any(), any()))
+        .thenReturn(selectValueMapper);
+    when(selectValueMapper.getTransformer(logger)).thenReturn(transformer);
+    when(transformer.transform(
+        A_KEY,
+        GenericRow.genericRow("a", "b", A_ROWTIME, "k", A_ROWTIME, "k"),
+        new PullProcessingContext(12335L)))
+        .thenReturn(GenericRow.genericRow("k"));
+    projectOperator.open();
+
+    // When:
+    final QueryRow result = (QueryRow) projectOperator.next();
+
+    // Then:
+    assertThat(result.value().values(), is(row.key().values()));
+    assertThat(row.value(), is(GenericRow.genericRow("a", "b", A_ROWTIME, "k")));
+  }
+
   @Test
   public void shouldProjectOnlyValueNonWindowed() {
     // Given:
@@ -16,10 +16,13 @@
 package io.confluent.ksql.physical.common.operators;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.GenericKey;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.streams.SqlPredicateFactory;
@@ -31,12 +34,15 @@ import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.execution.transform.sqlpredicate.SqlPredicate;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.physical.common.QueryRow;
 import io.confluent.ksql.physical.common.QueryRowImpl;
 import io.confluent.ksql.planner.plan.QueryFilterNode;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.SystemColumns;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.apache.kafka.streams.kstream.Windowed;
 import org.apache.kafka.streams.kstream.internals.TimeWindow;
@@ -133,6 +139,40 @@ public class SelectOperatorTest {
     assertThat(result, is(intermediateRow));
   }
 
+  @Test
+  public void shouldNotModifySharedRows() {
+    // Given:
+    when(logicalNode.getAddAdditionalColumnsToIntermediateSchema()).thenReturn(true);
+    when(logicalNode.getIntermediateSchema()).thenReturn(INTERMEDIATE_SCHEMA_WITH_PSEUDO);
+    when(predicateFactory.create(any(), any())).thenReturn(sqlPredicate);
+    final SelectOperator selectOperator = new SelectOperator(
+        logicalNode,
+        logger,
+        true,
+        predicateFactory);
+    selectOperator.addChild(child);
+    final QueryRowImpl row = QueryRowImpl.of(
+        OUTPUT_SCHEMA,
+        A_KEY,
+        Optional.empty(),
+        GenericRow.genericRow("a", "b"),
+        A_ROWTIME
+    );
+    when(child.next()).thenReturn(row);
+    when(sqlPredicate.getTransformer(logger)).thenReturn(transformer);
+    final GenericRow intermediate = GenericRow.genericRow("a", "b", A_ROWTIME, "k");
+    when(transformer.transform(A_KEY, intermediate, new PullProcessingContext(12335L)))
+        .thenReturn(Optional.of(intermediate));
+    selectOperator.open();
+
+    // When:
+    final QueryRow result = (QueryRow) selectOperator.next();
+
+    // Then:
+    assertThat(result.value(), is(intermediate));
+    assertThat(row.value(), is(GenericRow.genericRow("a", "b")));
+  }
+
   @Test
   public void shouldSelectKeyWindowed() {
     // Given:
@@ -171,4 +211,38 @@ public class SelectOperatorTest {
     assertThat(result, is(intermediateWindowedRow));
   }
 
+  @Test
+  public void shouldFilterBatchesUntilRowsRemain() {
+    // Given:
+    when(logicalNode.getIntermediateSchema()).thenReturn(OUTPUT_SCHEMA);
+    when(predicateFactory.create(any(), any())).thenReturn(sqlPredicate);
+    final SelectOperator selectOperator = new SelectOperator(
+        logicalNode,
+        logger,
+        predicateFactory);
+    selectOperator.addChild(child);
+    final QueryRowImpl row1 = QueryRowImpl.of(
+        OUTPUT_SCHEMA, A_KEY, Optional.empty(), GenericRow.genericRow("a", "b"), A_ROWTIME);
+    final QueryRowImpl row2 = QueryRowImpl.of(
+        OUTPUT_SCHEMA, A_KEY, Optional.empty(), GenericRow.genericRow("c", "d"), A_ROWTIME);
+    final QueryRowImpl row3 = QueryRowImpl.of(
+        OUTPUT_SCHEMA, A_KEY, Optional.empty(), GenericRow.genericRow("e", "f"), A_ROWTIME);
+    when(child.nextBatch(2)).thenReturn(
+        new ArrayList<>(ImmutableList.of(row1, row2)),
+        new ArrayList<>(ImmutableList.of(row3)),
+        new ArrayList<>());
+    when(sqlPredicate.getTransformer(logger)).thenReturn(transformer);
+    when(transformer.transform(any(), any(), any())).thenReturn(
+        Optional.empty(),
+        Optional.empty(),
+        Optional.of(GenericRow.genericRow("e", "f")));
+    selectOperator.open();
+
+    // When:
+    final List<Object> batch = selectOperator.nextBatch(2);
+
+    // Then:
+    assertThat(batch, contains(row3));
+    assertThat(selectOperator.nextBatch(2), is(empty()));
+  }
 }
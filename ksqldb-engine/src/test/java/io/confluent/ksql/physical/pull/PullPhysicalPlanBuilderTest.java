@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.physical.pull;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.analyzer.ImmutableAnalysis;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.streams.materialization.Materialization;
+import io.confluent.ksql.execution.streams.materialization.MaterializedTable;
+import io.confluent.ksql.execution.transform.ExpressionEvaluator;
+import io.confluent.ksql.logging.processing.ProcessingLogContext;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.logging.processing.ProcessingLoggerFactory;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.physical.pull.PullPhysicalPlan.PullPhysicalPlanType;
+import io.confluent.ksql.physical.pull.operators.IndexLookupOperator;
+import io.confluent.ksql.physical.pull.operators.TableScanOperator;
+import io.confluent.ksql.planner.LogicalPlanNode;
+import io.confluent.ksql.planner.QueryPlannerOptions;
+import io.confluent.ksql.planner.plan.DataSourceNode;
+import io.confluent.ksql.planner.plan.KsqlBareOutputNode;
+import io.confluent.ksql.planner.plan.NonKeyConstraint;
+import io.confluent.ksql.planner.plan.QueryFilterNode;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.PersistentQueryMetadata;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PullPhysicalPlanBuilderTest {
+
+  private static final ColumnName STATUS = ColumnName.of("STATUS");
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .keyColumn(ColumnName.of("ID"), SqlTypes.STRING)
+      .valueColumn(STATUS, SqlTypes.STRING)
+      .build();
+
+  @Mock
+  private ProcessingLogContext processingLogContext;
+  @Mock
+  private ProcessingLoggerFactory processingLoggerFactory;
+  @Mock
+  private ProcessingLogger processingLogger;
+  @Mock
+  private PersistentQueryMetadata persistentQueryMetadata;
+  @Mock
+  private ImmutableAnalysis analysis;
+  @Mock
+  private QueryPlannerOptions queryPlannerOptions;
+  @Mock
+  private Materialization materialization;
+  @Mock
+  private MaterializedTable nonWindowedTable;
+  @Mock
+  private KsqlBareOutputNode outputNode;
+  @Mock
+  private QueryFilterNode filterNode;
+  @Mock
+  private DataSourceNode dataSourceNode;
+  @Mock
+  private Expression predicate;
+  @Mock
+  private ExpressionEvaluator whereClause;
+
+  private PullPhysicalPlanBuilder builder;
+
+  @Before
+  public void setUp() {
+    when(processingLogContext.getLoggerFactory()).thenReturn(processingLoggerFactory);
+    when(processingLoggerFactory.getLogger(anyString())).thenReturn(processingLogger);
+    when(persistentQueryMetadata.getMaterialization(any(), any()))
+        .thenReturn(Optional.of(materialization));
+    when(queryPlannerOptions.getTableScansEnabled()).thenReturn(true);
+    when(materialization.nonWindowed()).thenReturn(nonWindowedTable);
+
+    when(outputNode.getSource()).thenReturn(filterNode);
+    when(filterNode.getSources()).thenReturn(ImmutableList.of(dataSourceNode));
+    when(filterNode.getSchema()).thenReturn(SCHEMA);
+    when(filterNode.getRewrittenPredicate()).thenReturn(predicate);
+    when(filterNode.getCompiledWhereClause()).thenReturn(whereClause);
+    when(whereClause.getExpressionType()).thenReturn(SqlTypes.BOOLEAN);
+    when(filterNode.getLookupConstraints())
+        .thenReturn(ImmutableList.of(new NonKeyConstraint()));
+    when(filterNode.getValueColumnEqualities()).thenReturn(ImmutableMap.of(STATUS, "open"));
+    when(dataSourceNode.getSources()).thenReturn(ImmutableList.of());
+
+    builder = new PullPhysicalPlanBuilder(
+        processingLogContext,
+        persistentQueryMetadata,
+        analysis,
+        queryPlannerOptions,
+        new CompletableFuture<>()
+    );
+  }
+
+  @Test
+  public void shouldLookUpByIndexIfFilteredByEqualityOnIndexedColumn() {
+    // Given:
+    when(nonWindowedTable.indexedColumns()).thenReturn(ImmutableSet.of(STATUS));
+
+    // When:
+    final PullPhysicalPlan plan = builder.buildPullPhysicalPlan(givenPlan());
+
+    // Then:
+    assertThat(plan.getPlanType(), is(PullPhysicalPlanType.INDEX_LOOKUP));
+    assertThat(dataSourceOperator(plan), is(instanceOf(IndexLookupOperator.class)));
+  }
+
+  @Test
+  public void shouldScanTableIfFilteredByEqualityOnUnindexedColumn() {
+    // Given:
+    when(nonWindowedTable.indexedColumns()).thenReturn(ImmutableSet.of());
+
+    // When:
+    final PullPhysicalPlan plan = builder.buildPullPhysicalPlan(givenPlan());
+
+    // Then:
+    assertThat(plan.getPlanType(), is(PullPhysicalPlanType.TABLE_SCAN));
+    assertThat(dataSourceOperator(plan), is(instanceOf(TableScanOperator.class)));
+    assertThat(dataSourceOperator(plan), is(not(instanceOf(IndexLookupOperator.class))));
+  }
+
+  private LogicalPlanNode givenPlan() {
+    return new LogicalPlanNode("SELECT * FROM T WHERE STATUS = 'open';", Optional.of(outputNode));
+  }
+
+  private static Object dataSourceOperator(final PullPhysicalPlan plan) {
+    return plan.getRoot().getChildren().get(0);
+  }
+}
@@ -0,0 +1,117 @@
+package io.confluent.ksql.physical.pull.operators;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericKey;
+import io.confluent.ksql.execution.streams.materialization.Locator.KsqlNode;
+import io.confluent.ksql.execution.streams.materialization.Locator.KsqlPartitionLocation;
+import io.confluent.ksql.execution.streams.materialization.Materialization;
+import io.confluent.ksql.execution.streams.materialization.MaterializedTable;
+import io.confluent.ksql.execution.streams.materialization.Row;
+import io.confluent.ksql.execution.streams.materialization.ks.KsLocator;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.physical.common.QueryRow;
+import io.confluent.ksql.planner.plan.DataSourceNode;
+import io.confluent.ksql.util.IteratorUtil;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IndexLookupOperatorTest {
+
+  private static final ColumnName STATUS = ColumnName.of("STATUS");
+  private static final String OPEN = "open";
+
+  @Mock
+  private KsqlNode node1;
+  @Mock
+  private KsqlNode node2;
+  @Mock
+  private Materialization materialization;
+  @Mock
+  private MaterializedTable nonWindowedTable;
+  @Mock
+  private DataSourceNode logicalNode;
+  @Mock
+  private CompletableFuture<Void> shouldCancelOperations;
+  @Mock
+  private Row ROW1_1;
+  @Mock
+  private Row ROW2_1;
+  @Mock
+  private Row ROW2_2;
+  @Mock
+  private GenericKey GKEY11;
+  @Mock
+  private GenericKey GKEY21;
+  @Mock
+  private GenericKey GKEY22;
+
+  private IndexLookupOperator lookupOperator;
+
+  @Before
+  public void setUp() {
+    when(ROW1_1.key()).thenReturn(GKEY11);
+    when(materialization.nonWindowed()).thenReturn(nonWindowedTable);
+
+    final List<KsqlPartitionLocation> partitionLocations = ImmutableList.of(
+        new KsLocator.PartitionLocation(Optional.empty(), 1, ImmutableList.of(node1)),
+        new KsLocator.PartitionLocation(Optional.empty(), 2, ImmutableList.of(node2))
+    );
+    lookupOperator = new IndexLookupOperator(
+        materialization, logicalNode, STATUS, OPEN, shouldCancelOperations);
+    lookupOperator.setPartitionLocations(partitionLocations);
+  }
+
+  @Test
+  public void shouldLookUpRowsByIndex() {
+    // Given:
+    when(nonWindowedTable.get(1, STATUS, OPEN))
+        .thenReturn(Optional.of(IteratorUtil.of(ROW1_1)));
+    when(nonWindowedTable.get(2, STATUS, OPEN))
+        .thenReturn(Optional.of(IteratorUtil.of()));
+
+    // When:
+    lookupOperator.open();
+
+    // Then:
+    assertThat(((QueryRow) lookupOperator.next()).key(), is(GKEY11));
+    assertThat(lookupOperator.next(), is(nullValue()));
+    assertThat(lookupOperator.getReturnedRowCount(), is(1L));
+    verify(nonWindowedTable, never()).get(anyInt());
+  }
+
+  @Test
+  public void shouldScanPartitionsWithoutIndex() {
+    // Given:
+    when(ROW2_1.key()).thenReturn(GKEY21);
+    when(ROW2_2.key()).thenReturn(GKEY22);
+    when(nonWindowedTable.get(1, STATUS, OPEN))
+        .thenReturn(Optional.of(IteratorUtil.of(ROW1_1)));
+    when(nonWindowedTable.get(2, STATUS, OPEN)).thenReturn(Optional.empty());
+    when(nonWindowedTable.get(2)).thenReturn(IteratorUtil.of(ROW2_1, ROW2_2));
+
+    // When:
+    lookupOperator.open();
+
+    // Then:
+    assertThat(((QueryRow) lookupOperator.next()).key(), is(GKEY11));
+    assertThat(((QueryRow) lookupOperator.next()).key(), is(GKEY21));
+    assertThat(((QueryRow) lookupOperator.next()).key(), is(GKEY22));
+    assertThat(lookupOperator.next(), is(nullValue()));
+    verify(nonWindowedTable, never()).get(1);
+  }
+}
@@ -1,6 +1,7 @@
 package io.confluent.ksql.physical.pull.operators;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.when;
@@ -102,6 +103,41 @@ public class TableScanOperatorTest {
     assertThat(lookupOperator.getReturnedRowCount(), is(4L));
   }
 
+  @Test
+  public void shouldLookupRowsForTableScanInBatches() {
+    //Given:
+    final List<KsqlPartitionLocation> singleKeyPartitionLocations = new ArrayList<>();
+    singleKeyPartitionLocations.add(new KsLocator.PartitionLocation(
+        Optional.empty(), 1, ImmutableList.of(node1)));
+    singleKeyPartitionLocations.add(new KsLocator.PartitionLocation(
+        Optional.empty(), 2, ImmutableList.of(node2)));
+    singleKeyPartitionLocations.add(new KsLocator.PartitionLocation(
+        Optional.empty(), 3, ImmutableList.of(node3)));
+
+    final TableScanOperator lookupOperator
+        = new TableScanOperator(materialization, logicalNode, shouldCancelOperations);
+    when(materialization.nonWindowed()).thenReturn(nonWindowedTable);
+
+    when(nonWindowedTable.get(1)).thenReturn(IteratorUtil.of(ROW1_1, ROW1_2));
+    when(nonWindowedTable.get(2)).thenReturn(IteratorUtil.of());
+    when(nonWindowedTable.get(3)).thenReturn(IteratorUtil.of(ROW3_1, ROW3_2));
+
+    lookupOperator.setPartitionLocations(singleKeyPartitionLocations);
+    lookupOperator.open();
+
+    //Then:
+    final List<Object> batch1 = lookupOperator.nextBatch(3);
+    assertThat(batch1.size(), is(3));
+    assertThat(((QueryRow) batch1.get(0)).key(), is(GKEY11));
+    assertThat(((QueryRow) batch1.get(1)).key(), is(GKEY12));
+    assertThat(((QueryRow) batch1.get(2)).key(), is(GKEY31));
+    final List<Object> batch2 = lookupOperator.nextBatch(3);
+    assertThat(batch2.size(), is(1));
+    assertThat(((QueryRow) batch2.get(0)).key(), is(GKEY32));
+    assertThat(lookupOperator.nextBatch(3), is(empty()));
+    assertThat(lookupOperator.getReturnedRowCount(), is(4L));
+  }
+
   @Test
   public void shouldCancel() {
     //Given:
@@ -6,8 +6,10 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.execution.streams.materialization.TableRow;
 import io.confluent.ksql.physical.common.QueryRow;
+import io.confluent.ksql.physical.scalablepush.FanOutBuffer.SlowConsumerPolicy;
 import io.confluent.ksql.query.QueryId;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -27,15 +29,17 @@ public class ProcessingQueueTest {
   private QueryRow row3;
 
   @Test
-  public void shouldOfferAndPoll() {
+  public void shouldPublishAndPoll() {
     // Given:
+    final FanOutBuffer buffer = new FanOutBuffer();
     final ProcessingQueue queue = new ProcessingQueue(new QueryId("a"));
     queue.setNewRowCallback(runnable);
+    queue.subscribe(buffer);
 
     // When:
-    assertThat(queue.offer(row1), is(true));
-    assertThat(queue.offer(row2), is(true));
-    assertThat(queue.offer(row3), is(true));
+    buffer.publish(row1, ImmutableList.of(queue));
+    buffer.publish(row2, ImmutableList.of(queue));
+    buffer.publish(row3, ImmutableList.of(queue));
 
     // Then:
     verify(runnable, times(3)).run();
@@ -46,25 +50,110 @@ public class ProcessingQueueTest {
     assertThat(queue.hasDroppedRows(), is(false));
   }
 
+  @Test
+  public void shouldOnlySeeRowsPublishedAfterSubscribing() {
+    // Given:
+    final FanOutBuffer buffer = new FanOutBuffer();
+    final ProcessingQueue queue = new ProcessingQueue(new QueryId("a"));
+    buffer.publish(row1, ImmutableList.of());
+    queue.subscribe(buffer);
+
+    // When:
+    buffer.publish(row2, ImmutableList.of(queue));
+
+    // Then:
+    assertThat(queue.poll(), is(row2));
+    assertThat(queue.poll(), nullValue());
+  }
+
+  @Test
+  public void shouldShareRowsBetweenQueues() {
+    // Given:
+    final FanOutBuffer buffer = new FanOutBuffer();
+    final ProcessingQueue queue1 = new ProcessingQueue(new QueryId("a"));
+    final ProcessingQueue queue2 = new ProcessingQueue(new QueryId("b"));
+    queue1.subscribe(buffer);
+    queue2.subscribe(buffer);
+
+    // When:
+    buffer.publish(row1, ImmutableList.of(queue1, queue2));
+    buffer.publish(row2, ImmutableList.of(queue1, queue2));
+
+    // Then:
+    assertThat(queue1.poll(), is(row1));
+    assertThat(queue1.poll(), is(row2));
+    assertThat(queue2.poll(), is(row1));
+    assertThat(queue2.poll(), is(row2));
+  }
+
   @Test
   public void shouldHitLimit() {
     // Given:
-    final ProcessingQueue queue = new ProcessingQueue(new QueryId("a"), 2);
+    final FanOutBuffer buffer = new FanOutBuffer(2, SlowConsumerPolicy.DROP);
+    final ProcessingQueue queue = new ProcessingQueue(new QueryId("a"));
     queue.setNewRowCallback(runnable);
+    queue.subscribe(buffer);
 
     // When:
-    assertThat(queue.offer(row1), is(true));
-    assertThat(queue.offer(row2), is(true));
-    assertThat(queue.offer(row3), is(false));
+    buffer.publish(row1, ImmutableList.of(queue));
+    buffer.publish(row2, ImmutableList.of(queue));
+    assertThat(queue.isAtLimit(), is(true));
+    buffer.publish(row3, ImmutableList.of(queue));
 
     // Then:
     verify(runnable, times(2)).run();
-    assertThat(queue.poll(), is(row1));
-    assertThat(queue.poll(), is(row2));
     assertThat(queue.poll(), nullValue());
     assertThat(queue.hasDroppedRows(), is(true));
   }
 
+  @Test
+  public void shouldNotDropRowsOfQueueThatKeepsUp() {
+    // Given:
+    final FanOutBuffer buffer = new FanOutBuffer(2, SlowConsumerPolicy.DROP);
+    final ProcessingQueue slow = new ProcessingQueue(new QueryId("a"));
+    final ProcessingQueue fast = new ProcessingQueue(new QueryId("b"));
+    slow.subscribe(buffer);
+    fast.subscribe(buffer);
+
+    // When:
+    buffer.publish(row1, ImmutableList.of(slow, fast));
+    assertThat(fast.poll(), is(row1));
+    buffer.publish(row2, ImmutableList.of(slow, fast));
+    assertThat(fast.poll(), is(row2));
+    buffer.publish(row3, ImmutableList.of(slow, fast));
+
+    // Then:
+    assertThat(slow.hasDroppedRows(), is(true));
+    assertThat(fast.hasDroppedRows(), is(false));
+    assertThat(fast.poll(), is(row3));
+  }
+
+  @Test
+  public void shouldBlockUntilQueueCatchesUp() throws Exception {
+    // Given:
+    final FanOutBuffer buffer = new FanOutBuffer(1, SlowConsumerPolicy.BLOCK);
+    final ProcessingQueue queue = new ProcessingQueue(new QueryId("a"));
+    queue.subscribe(buffer);
+    buffer.publish(row1, ImmutableList.of(queue));
+    final Thread reader = new Thread(() -> {
+      try {
+        Thread.sleep(50);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      queue.poll();
+    });
+    reader.start();
+
+    // When:
+    buffer.publish(row2, ImmutableList.of(queue));
+    reader.join();
+
+    // Then:
+    assertThat(queue.hasDroppedRows(), is(false));
+    assertThat(queue.poll(), is(row2));
+  }
+
   @Test
   public void shouldDefaultToFalseForHasError() {
     // Given:
@@ -1,9 +1,9 @@
 package io.confluent.ksql.physical.scalablepush.consumer;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
@@ -14,11 +14,15 @@ import io.confluent.ksql.Window;
 import io.confluent.ksql.execution.streams.materialization.Row;
 import io.confluent.ksql.execution.streams.materialization.WindowedRow;
 import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.physical.common.QueryRow;
 import io.confluent.ksql.physical.common.QueryRowImpl;
 import io.confluent.ksql.physical.scalablepush.ProcessingQueue;
+import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
@@ -30,7 +34,6 @@ import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.apache.kafka.common.record.TimestampType;
 import org.apache.kafka.streams.kstream.Windowed;
 import org.apache.kafka.streams.kstream.internals.TimeWindow;
-import org.mockito.InOrder;
 
 public class CommonTestUtil {
 
@@ -125,33 +128,27 @@ public class CommonTestUtil {
       = new ConsumerRecords<>(ImmutableMap.of());
 
   static void verifyRows(
-      final ProcessingQueue queue,
+      final RecordingProcessingQueue queue,
       final Collection<ConsumerRecord<GenericKey, GenericRow>> records) {
-    InOrder inOrder = inOrder(queue);
-    for (ConsumerRecord<GenericKey, GenericRow> record : records) {
-      inOrder.verify(queue).offer(
-          eq(QueryRowImpl.of(SCHEMA, record.key(), Optional.empty(), record.value(),
-              record.timestamp())));
-    }
-    inOrder.verify(queue).close();
-    inOrder.verifyNoMoreInteractions();
+    assertThat(queue.getRows(), contains(records.stream()
+        .map(record -> QueryRowImpl.of(SCHEMA, record.key(), Optional.empty(), record.value(),
+            record.timestamp()))
+        .toArray()));
+    assertThat(queue.isClosed(), is(true));
   }
 
   static void verifyRowsW(
-      final ProcessingQueue queue,
+      final RecordingProcessingQueue queue,
       final Collection<ConsumerRecord<Windowed<GenericKey>, GenericRow>> records) {
-    InOrder inOrder = inOrder(queue);
-    for (ConsumerRecord<Windowed<GenericKey>, GenericRow> record : records) {
-      inOrder.verify(queue).offer(
-          eq(QueryRowImpl.of(SCHEMA, record.key().key(),
-              Optional.of(Window.of(
-                  record.key().window().startTime(),
-                  record.key().window().endTime()
-              )),
-              record.value(), record.timestamp())));
-    }
-    inOrder.verify(queue).close();
-    inOrder.verifyNoMoreInteractions();
+    assertThat(queue.getRows(), contains(records.stream()
+        .map(record -> QueryRowImpl.of(SCHEMA, record.key().key(),
+            Optional.of(Window.of(
+                record.key().window().startTime(),
+                record.key().window().endTime()
+            )),
+            record.value(), record.timestamp()))
+        .toArray()));
+    assertThat(queue.isClosed(), is(true));
   }
 
   @SuppressWarnings("unchecked")
@@ -196,4 +193,22 @@ public class CommonTestUtil {
     return new ConsumerRecord<>(TOPIC, partition, offset, timestamp,
         TimestampType.NO_TIMESTAMP_TYPE, -1, -1, key, row, new RecordHeaders(), Optional.empty());
   }
+
+  /**
+   * A queue which polls each row as soon as it's published, so they can be checked even once the
+   * queue has been closed.
+   */
+  static class RecordingProcessingQueue extends ProcessingQueue {
+
+    private final List<QueryRow> rows = new ArrayList<>();
+
+    RecordingProcessingQueue(final QueryId queryId) {
+      super(queryId);
+      setNewRowCallback(() -> rows.add(poll()));
+    }
+
+    List<QueryRow> getRows() {
+      return rows;
+    }
+  }
 }
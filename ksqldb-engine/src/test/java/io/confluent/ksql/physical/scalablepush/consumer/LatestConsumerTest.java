@@ -47,7 +47,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.GenericKey;
 import io.confluent.ksql.GenericRow;
-import io.confluent.ksql.physical.scalablepush.ProcessingQueue;
+import io.confluent.ksql.physical.scalablepush.consumer.CommonTestUtil.RecordingProcessingQueue;
 import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.util.KsqlConfig;
 import java.time.Clock;
@@ -73,8 +73,7 @@ public class LatestConsumerTest {
 
   @Mock
   private KafkaConsumer<Object, GenericRow> kafkaConsumer;
-  @Mock
-  private ProcessingQueue queue;
+  private RecordingProcessingQueue queue;
   @Mock
   private java.util.function.Consumer<Collection<TopicPartition>> catchupAssignmentUpdater;
   @Mock
@@ -85,7 +84,7 @@ public class LatestConsumerTest {
   @SuppressWarnings("unchecked")
   @Before
   public void setUp() {
-    when(queue.getQueryId()).thenReturn(new QueryId("a"));
+    queue = new RecordingProcessingQueue(new QueryId("a"));
     when(clock.millis()).thenReturn(CURRENT_TIME_MS);
     when(ksqlConfig.getLong(KsqlConfig.KSQL_QUERY_PUSH_V2_LATEST_RESET_AGE_MS)).thenReturn(30000L);
     when(kafkaConsumer.partitionsFor(TOPIC)).thenReturn(
@@ -141,7 +140,7 @@ public class LatestConsumerTest {
       verifyRows(
           queue,
           ImmutableList.of(RECORD0_2, RECORD0_3, RECORD1_2, RECORD1_3));
-      assertThat(consumer.getCurrentOffsets(), is(ImmutableMap.of(TP0, 4L, TP1, 4L)));
+      assertThat(consumer.getCurrentOffsets(), is(ImmutableMap.of(TP0, 4L, TP1, 5L)));
     }
   }
 
@@ -170,7 +169,7 @@ public class LatestConsumerTest {
       verifyRows(
           queue,
           ImmutableList.of(RECORD0_2, RECORD0_3, RECORD1_2, RECORD1_3));
-      assertThat(consumer.getCurrentOffsets(), is(ImmutableMap.of(TP0, 4L, TP1, 4L)));
+      assertThat(consumer.getCurrentOffsets(), is(ImmutableMap.of(TP0, 4L, TP1, 5L)));
     }
   }
 }
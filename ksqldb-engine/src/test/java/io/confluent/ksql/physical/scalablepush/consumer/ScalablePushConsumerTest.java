@@ -45,19 +45,28 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.GenericKey;
 import io.confluent.ksql.GenericRow;
-import io.confluent.ksql.physical.scalablepush.ProcessingQueue;
+import io.confluent.ksql.physical.scalablepush.FanOutBuffer;
+import io.confluent.ksql.physical.scalablepush.consumer.CommonTestUtil.RecordingProcessingQueue;
 import io.confluent.ksql.query.QueryId;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.kafka.clients.consumer.CommitFailedException;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetCommitCallback;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
 import org.junit.Before;
@@ -79,16 +88,17 @@ public class ScalablePushConsumerTest {
 
   @Mock
   private KafkaConsumer<Object, GenericRow> kafkaConsumer;
-  @Mock
-  private ProcessingQueue queue;
+  private RecordingProcessingQueue queue;
   @Mock
   PartitionInfo partitionInfo1;
   @Mock
   PartitionInfo partitionInfo2;
+  @Mock
+  private Clock clock;
 
   @Before
   public void setUp() {
-    when(queue.getQueryId()).thenReturn(new QueryId("a"));
+    queue = new RecordingProcessingQueue(new QueryId("a"));
     when(kafkaConsumer.partitionsFor(any()))
         .thenReturn(ImmutableList.of(partitionInfo1, partitionInfo2));
   }
@@ -148,8 +158,10 @@ public class ScalablePushConsumerTest {
       when(kafkaConsumer.position(TP0)).thenReturn(0L, 3L);
       when(kafkaConsumer.position(TP1)).thenReturn(0L, 3L);
       doAnswer(a -> {
-        throw new CommitFailedException();
-      }).when(kafkaConsumer).commitSync();
+        final OffsetCommitCallback callback = a.getArgument(0);
+        callback.onComplete(null, new CommitFailedException());
+        return null;
+      }).when(kafkaConsumer).commitAsync(any(OffsetCommitCallback.class));
 
       consumer.register(queue);
 
@@ -165,6 +177,76 @@ public class ScalablePushConsumerTest {
     }
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldRunConsumer_trackCommittedOffsets() {
+    try (TestScalablePushConsumer consumer = new TestScalablePushConsumer(kafkaConsumer, false,
+        ImmutableList.of(TP0, TP1))) {
+      expectPoll(kafkaConsumer, consumer, RECORDS1, EMPTY_RECORDS);
+      when(kafkaConsumer.position(TP0)).thenReturn(0L);
+      when(kafkaConsumer.position(TP1)).thenReturn(0L);
+      doAnswer(a -> {
+        final OffsetCommitCallback callback = a.getArgument(0);
+        callback.onComplete(
+            ImmutableMap.of(TP0, new OffsetAndMetadata(2L), TP1, new OffsetAndMetadata(1L)),
+            null);
+        return null;
+      }).when(kafkaConsumer).commitAsync(any(OffsetCommitCallback.class));
+
+      consumer.register(queue);
+
+      consumer.run();
+
+      verify(kafkaConsumer, never()).commitSync();
+      verify(kafkaConsumer, never()).committed(any(Set.class));
+      assertThat(consumer.getCommittedOffsets(), is(ImmutableMap.of(
+          TP0, new OffsetAndMetadata(2L), TP1, new OffsetAndMetadata(1L))));
+      assertThat(consumer.getCurrentOffsets(), is(ImmutableMap.of(TP0, 2L, TP1, 1L)));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldRunConsumer_commitOncePerInterval() {
+    try (TestScalablePushConsumer consumer = new TestScalablePushConsumer(kafkaConsumer, false,
+        ImmutableList.of(TP0, TP1), Duration.ofHours(1).toMillis(), clock)) {
+      expectPoll(kafkaConsumer, consumer, RECORDS1, RECORDS2, EMPTY_RECORDS);
+      when(kafkaConsumer.position(TP0)).thenReturn(0L);
+      when(kafkaConsumer.position(TP1)).thenReturn(0L);
+      when(clock.millis()).thenReturn(Duration.ofHours(2).toMillis());
+
+      consumer.register(queue);
+
+      consumer.run();
+
+      verify(kafkaConsumer, times(1)).commitAsync(any(OffsetCommitCallback.class));
+      // The second batch is committed on close:
+      verify(kafkaConsumer, times(1)).commitSync();
+      assertThat(consumer.getAfterCommit(), is (2));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldRunConsumer_commitAgainOnceIntervalElapsed() {
+    try (TestScalablePushConsumer consumer = new TestScalablePushConsumer(kafkaConsumer, false,
+        ImmutableList.of(TP0, TP1), 1000L, clock)) {
+      expectPoll(kafkaConsumer, consumer, RECORDS1, RECORDS2, RECORDS_JUST0, EMPTY_RECORDS);
+      when(kafkaConsumer.position(TP0)).thenReturn(0L);
+      when(kafkaConsumer.position(TP1)).thenReturn(0L);
+      when(clock.millis()).thenReturn(10_000L, 10_500L, 11_000L);
+
+      consumer.register(queue);
+
+      consumer.run();
+
+      // The first and third batches are committed, the second within the interval of the first:
+      verify(kafkaConsumer, times(2)).commitAsync(any(OffsetCommitCallback.class));
+      verify(kafkaConsumer, never()).commitSync();
+      assertThat(consumer.getAfterCommit(), is (3));
+    }
+  }
+
   @Test
   public void shouldRunConsumer_reassign() {
     try (TestScalablePushConsumer consumer = new TestScalablePushConsumer(kafkaConsumer, false,
@@ -237,7 +319,15 @@ public class ScalablePushConsumerTest {
     public TestScalablePushConsumer(final KafkaConsumer<Object, GenericRow> kafkaConsumer,
         boolean windowed,
         final List<TopicPartition> initialAssignment) {
-      super(TOPIC, windowed, SCHEMA, kafkaConsumer);
+      this(kafkaConsumer, windowed, initialAssignment, 0L, Clock.systemUTC());
+    }
+
+    public TestScalablePushConsumer(final KafkaConsumer<Object, GenericRow> kafkaConsumer,
+        boolean windowed,
+        final List<TopicPartition> initialAssignment,
+        final long commitIntervalMs,
+        final Clock clock) {
+      super(TOPIC, windowed, SCHEMA, kafkaConsumer, new FanOutBuffer(), commitIntervalMs, clock);
       this.initialAssignment = initialAssignment;
     }
 
@@ -7,8 +7,10 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.execution.streams.materialization.TableRow;
 import io.confluent.ksql.physical.common.QueryRow;
+import io.confluent.ksql.physical.scalablepush.FanOutBuffer;
 import io.confluent.ksql.physical.scalablepush.ProcessingQueue;
 import io.confluent.ksql.physical.scalablepush.ScalablePushRegistry;
 import io.confluent.ksql.planner.plan.DataSourceNode;
@@ -53,8 +55,10 @@ public class PeekStreamOperatorTest {
     // Then:
     verify(registry, times(1)).register(processingQueueCaptor.capture(), eq(false));
     final ProcessingQueue processingQueue = processingQueueCaptor.getValue();
-    processingQueue.offer(row1);
-    processingQueue.offer(row2);
+    final FanOutBuffer buffer = new FanOutBuffer();
+    processingQueue.subscribe(buffer);
+    buffer.publish(row1, ImmutableList.of(processingQueue));
+    buffer.publish(row2, ImmutableList.of(processingQueue));
     assertThat(locator.next(), is(row1));
     assertThat(locator.next(), is(row2));
     assertThat(locator.next(), nullValue());
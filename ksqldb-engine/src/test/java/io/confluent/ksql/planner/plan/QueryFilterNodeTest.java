@@ -25,6 +25,7 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.collect.BoundType;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Range;
 import io.confluent.ksql.GenericKey;
 import io.confluent.ksql.execution.expression.tree.ArithmeticUnaryExpression;
@@ -1581,6 +1582,72 @@ public class QueryFilterNodeTest {
     expectTableScan(expression, false);
   }
 
+  @Test
+  public void shouldExtractValueColumnEqualities() {
+    // Given:
+    when(plannerOptions.getTableScansEnabled()).thenReturn(true);
+    final Expression expression = new LogicalBinaryExpression(
+        LogicalBinaryExpression.Type.AND,
+        new ComparisonExpression(
+            Type.EQUAL,
+            new StringLiteral("abc"),
+            new UnqualifiedColumnReferenceExp(ColumnName.of("COL0"))
+        ),
+        new ComparisonExpression(
+            Type.GREATER_THAN,
+            new UnqualifiedColumnReferenceExp(ColumnName.of("ROWKEY")),
+            new StringLiteral("x")
+        )
+    );
+
+    // When:
+    final QueryFilterNode filterNode = new QueryFilterNode(
+        NODE_ID,
+        source,
+        expression,
+        metaStore,
+        ksqlConfig,
+        false,
+        plannerOptions
+    );
+
+    // Then:
+    assertThat(filterNode.getValueColumnEqualities(), is(ImmutableMap.of(COL0, "abc")));
+  }
+
+  @Test
+  public void shouldNotExtractValueColumnEqualitiesFromDisjunction() {
+    // Given:
+    when(plannerOptions.getTableScansEnabled()).thenReturn(true);
+    final Expression expression = new LogicalBinaryExpression(
+        LogicalBinaryExpression.Type.OR,
+        new ComparisonExpression(
+            Type.EQUAL,
+            new UnqualifiedColumnReferenceExp(ColumnName.of("COL0")),
+            new StringLiteral("abc")
+        ),
+        new ComparisonExpression(
+            Type.EQUAL,
+            new UnqualifiedColumnReferenceExp(ColumnName.of("COL0")),
+            new StringLiteral("def")
+        )
+    );
+
+    // When:
+    final QueryFilterNode filterNode = new QueryFilterNode(
+        NODE_ID,
+        source,
+        expression,
+        metaStore,
+        ksqlConfig,
+        false,
+        plannerOptions
+    );
+
+    // Then:
+    assertThat(filterNode.getValueColumnEqualities().isEmpty(), is(true));
+  }
+
   @SuppressWarnings("unchecked")
   private void expectTableScan(final Expression expression, final boolean windowed) {
     // Given:
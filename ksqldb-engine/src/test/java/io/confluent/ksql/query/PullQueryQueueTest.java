@@ -8,10 +8,13 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.physical.pull.PullQueryRow;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
@@ -80,6 +83,55 @@ public class PullQueryQueueTest {
     verify(queuedCallback, times(3)).run();
   }
 
+  @Test
+  public void shouldQueueRowsWithSingleCallback() {
+    // When:
+    final boolean accepted = queue.acceptRows(ImmutableList.of(VAL_ONE, VAL_TWO, VAL_ONE));
+
+    // Then:
+    assertThat(accepted, is(true));
+    assertThat(drainValues(), contains(VAL_ONE, VAL_TWO, VAL_ONE));
+    assertThat(queue.getTotalRowsQueued(), is(3L));
+    verify(queuedCallback, times(1)).run();
+  }
+
+  @Test
+  public void shouldQueueRowsBeyondCapacityAsQueueIsDrained() throws Exception {
+    // Given:
+    final List<PullQueryRow> rows = Collections.nCopies(QUEUE_SIZE * 2, VAL_ONE);
+    final List<PullQueryRow> drained = new ArrayList<>();
+    executorService = Executors.newSingleThreadScheduledExecutor();
+    final Future<?> drainer = executorService.submit(() -> {
+      while (drained.size() < rows.size()) {
+        queue.drainRowsTo(drained);
+      }
+    });
+
+    // When:
+    final boolean accepted = queue.acceptRows(rows);
+
+    // Then:
+    drainer.get();
+    assertThat(accepted, is(true));
+    assertThat(drained, is(rows));
+    assertThat(queue.getTotalRowsQueued(), is((long) rows.size()));
+  }
+
+  @Test
+  public void shouldStopQueueingRowsOnceClosed() {
+    // Given:
+    final List<PullQueryRow> rows = Collections.nCopies(QUEUE_SIZE + 1, VAL_ONE);
+    givenWillCloseQueueAsync();
+
+    // When:
+    final boolean accepted = queue.acceptRows(rows);
+
+    // Then:
+    assertThat(accepted, is(false));
+    assertThat(queue.size(), is(QUEUE_SIZE));
+    verify(queuedCallback, times(1)).run();
+  }
+
   @Test
   public void shouldPoll() throws Exception {
     // Given:
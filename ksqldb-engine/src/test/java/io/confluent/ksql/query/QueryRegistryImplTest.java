@@ -8,6 +8,8 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.mock;
@@ -378,6 +380,41 @@ public class QueryRegistryImplTest {
     assertThat(queries, contains(new QueryId("q2"), new QueryId("q3")));
   }
 
+  @Test
+  public void shouldSandboxInheritedQueriesOnce() {
+    // Given:
+    final PersistentQueryMetadata q1 = givenCreate(registry, "q1", "source",
+        Optional.of("sink1"), CREATE_AS);
+    final QueryRegistry sandbox = registry.createSandbox();
+
+    // When:
+    final QueryMetadata first = sandbox.getPersistentQuery(new QueryId("q1")).get();
+    final QueryMetadata second = sandbox.getQuery(new QueryId("q1")).get();
+
+    // Then:
+    assertThat(first, is(not(sameInstance(q1))));
+    assertThat(second, is(sameInstance(first)));
+    assertThat(sandbox.getAllLiveQueries(), contains(first));
+    assertThat(registry.getPersistentQuery(new QueryId("q1")).get(), is(sameInstance(q1)));
+  }
+
+  @Test
+  public void shouldNotChangeOriginalWhenSandboxQueryClosed() {
+    // Given:
+    givenCreate(registry, "q1", "source", Optional.of("sink1"), CREATE_AS);
+    givenCreate(registry, "i1", "source", Optional.of("sink1"), INSERT);
+    final QueryRegistry sandbox = registry.createSandbox();
+
+    // When:
+    sandbox.getPersistentQuery(new QueryId("i1")).get().close();
+
+    // Then:
+    assertThat(sandbox.getPersistentQueries().keySet(), contains(new QueryId("q1")));
+    assertThat(registry.getPersistentQueries().size(), is(2));
+    assertThat(registry.getInsertQueries(SourceName.of("sink1"), (n, q) -> true),
+        contains(new QueryId("i1")));
+  }
+
   @Test
   public void shouldCallListenerOnCreate() {
     // Given/When:
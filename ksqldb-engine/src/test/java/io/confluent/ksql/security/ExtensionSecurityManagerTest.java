@@ -68,6 +68,15 @@ public class ExtensionSecurityManagerTest {
         .evaluate();
   }
 
+  @Test
+  public void shouldAllowExecWhenTrustedPluggableUDF() {
+    new PluggableUdf(
+        (thiz,args) -> exec(),
+        new Object(),
+        false)
+        .evaluate();
+  }
+
   @SuppressWarnings("WeakerAccess")
   public static Process exec() {
     try {
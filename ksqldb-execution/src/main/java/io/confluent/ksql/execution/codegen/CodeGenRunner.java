@@ -18,17 +18,27 @@ package io.confluent.ksql.execution.codegen;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.codegen.helpers.InListEvaluator;
+import io.confluent.ksql.execution.codegen.helpers.LikeEvaluator;
 import io.confluent.ksql.execution.expression.tree.CreateArrayExpression;
 import io.confluent.ksql.execution.expression.tree.CreateMapExpression;
 import io.confluent.ksql.execution.expression.tree.CreateStructExpression;
 import io.confluent.ksql.execution.expression.tree.DereferenceExpression;
 import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.expression.tree.FunctionCall;
+import io.confluent.ksql.execution.expression.tree.InPredicate;
 import io.confluent.ksql.execution.expression.tree.LambdaFunctionCall;
 import io.confluent.ksql.execution.expression.tree.LikePredicate;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
 import io.confluent.ksql.execution.expression.tree.SubscriptExpression;
 import io.confluent.ksql.execution.expression.tree.TraversalExpressionVisitor;
 import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
@@ -49,10 +59,15 @@ import io.confluent.ksql.schema.ksql.SystemColumns;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.ArrayUtils;
@@ -60,12 +75,25 @@ import org.apache.kafka.connect.data.Schema;
 import org.codehaus.commons.compiler.CompileException;
 import org.codehaus.commons.compiler.CompilerFactoryFactory;
 import org.codehaus.commons.compiler.IExpressionEvaluator;
+import org.codehaus.commons.compiler.IScriptEvaluator;
 
 public class CodeGenRunner {
 
   private static final SqlToJavaTypeConverter SQL_TO_JAVA_TYPE_CONVERTER =
       SchemaConverters.sqlToJavaConverter();
 
+  // Each cooked evaluator holds a loaded class, roughly in proportion to the size of its code. The
+  // caches are bounded by the total length of the cached code, rather than the number of entries,
+  // so that a few very wide projections can't pin a lot of memory. Entries that no running query
+  // has asked for in a while are dropped, so code of old transient queries doesn't linger:
+  private static final long COOKED_CACHE_MAX_CODE_LENGTH = 20_000_000;
+  private static final Duration COOKED_CACHE_EXPIRY = Duration.ofMinutes(10);
+
+  // Cooked evaluators hold no per-query state: function instances, struct schemas and the like are
+  // passed in as arguments on each call. Queries that generate the same code therefore share them:
+  private static final Cache<CookedKey, IExpressionEvaluator> COOKED_EXPRESSIONS = cookedCache();
+  private static final Cache<CookedKey, IScriptEvaluator> COOKED_PROJECTIONS = cookedCache();
+
   private final LogicalSchema schema;
   private final FunctionRegistry functionRegistry;
   private final ExpressionTypeManager expressionTypeManager;
@@ -122,6 +150,17 @@ public class CodeGenRunner {
     return codeGen.buildCodeGenFromParseTree(expression, type);
   }
 
+  public static CompiledProjection compileProjection(
+      final List<Expression> expressions,
+      final String type,
+      final LogicalSchema schema,
+      final KsqlConfig ksqlConfig,
+      final FunctionRegistry functionRegistry
+  ) {
+    final CodeGenRunner codeGen = new CodeGenRunner(schema, ksqlConfig, functionRegistry);
+    return codeGen.buildProjectionFromParseTrees(expressions, type);
+  }
+
   public CodeGenRunner(
       final LogicalSchema schema,
       final KsqlConfig ksqlConfig,
@@ -134,9 +173,14 @@ public class CodeGenRunner {
   }
 
   public CodeGenSpec getCodeGenSpec(final Expression expression) {
+    return getCodeGenSpec(ImmutableList.of(expression));
+  }
+
+  private CodeGenSpec getCodeGenSpec(final List<Expression> expressions) {
     final Visitor visitor = new Visitor();
-    final Context context = new Context();
-    visitor.process(expression, context);
+    for (final Expression expression : expressions) {
+      visitor.process(expression, new Context());
+    }
     return visitor.spec.build();
   }
 
@@ -175,6 +219,116 @@ public class CodeGenRunner {
     }
   }
 
+  /**
+   * Compile a list of expressions, e.g. the columns of a SELECT, into a single generated method.
+   *
+   * <p>Identical expressions within the list are only evaluated once.
+   *
+   * @param expressions the expressions to compile.
+   * @param type the type of the expressions, used in error messages.
+   * @return the compiled projection.
+   */
+  public CompiledProjection buildProjectionFromParseTrees(
+      final List<Expression> expressions,
+      final String type
+  ) {
+    try {
+      final CodeGenSpec spec = getCodeGenSpec(ImmutableSet.copyOf(expressions).asList());
+      final SqlToJavaVisitor sqlToJavaVisitor = SqlToJavaVisitor.of(
+          schema,
+          functionRegistry,
+          spec,
+          ksqlConfig
+      );
+
+      final ImmutableList.Builder<SqlType> returnTypes = ImmutableList.builder();
+      final Map<Expression, Integer> firstIndex = new HashMap<>();
+      final StringBuilder script = new StringBuilder();
+
+      for (int i = 0; i < expressions.size(); i++) {
+        final Expression expression = expressions.get(i);
+
+        final SqlType returnType = expressionTypeManager.getExpressionSqlType(
+            expression, new HashMap<>());
+        if (returnType == null) {
+          // expressionType can be null if expression is NULL.
+          throw new KsqlException("NULL expression not supported: " + expression);
+        }
+        returnTypes.add(returnType);
+
+        final Integer previous = firstIndex.putIfAbsent(expression, i);
+        if (previous != null) {
+          script.append(CompiledProjection.OUTPUT_PARAM)
+              .append(".append(")
+              .append(CompiledProjection.OUTPUT_PARAM)
+              .append(".get(").append(previous).append("));\n");
+          continue;
+        }
+
+        // Generate code in the same order the spec was built, so function names line up:
+        final String javaCode = sqlToJavaVisitor.process(expression);
+        final String javaType = SQL_TO_JAVA_TYPE_CONVERTER.toJavaType(returnType)
+            .getCanonicalName();
+
+        script.append("try {\n")
+            .append("  final ").append(javaType).append(" __projected").append(i)
+            .append(" = ").append(javaCode).append(";\n")
+            .append("  ").append(CompiledProjection.OUTPUT_PARAM)
+            .append(".append(__projected").append(i).append(");\n")
+            .append("} catch (Exception e) {\n")
+            .append("  ").append(CompiledProjection.OUTPUT_PARAM)
+            .append(".append(defaultValue);\n")
+            .append("  ").append(CompiledProjection.ERROR_HANDLER_PARAM)
+            .append(".onError(").append(i).append(", e, row);\n")
+            .append("}\n");
+      }
+
+      final IScriptEvaluator se =
+          cookProjection(script.toString(), spec.argumentNames(), spec.argumentTypes());
+
+      return new CompiledProjection(se, spec, returnTypes.build(), expressions);
+    } catch (KsqlException | CompileException e) {
+      throw new KsqlException("Invalid " + type + ": " + e.getMessage()
+          + ". expressions: " + expressions + ", schema:" + schema, e);
+    } catch (final Exception e) {
+      throw new RuntimeException("Unexpected error generating code for " + type
+          + ". expressions: " + expressions, e);
+    }
+  }
+
+  @VisibleForTesting
+  static IScriptEvaluator cookProjection(
+      final String javaCode,
+      final String[] argNames,
+      final Class<?>[] argTypes
+  ) throws Exception {
+    return cached(
+        COOKED_PROJECTIONS,
+        new CookedKey(javaCode, void.class, argNames, argTypes),
+        () -> doCookProjection(javaCode, argNames, argTypes)
+    );
+  }
+
+  private static IScriptEvaluator doCookProjection(
+      final String javaCode,
+      final String[] argNames,
+      final Class<?>[] argTypes
+  ) throws Exception {
+    final IScriptEvaluator se = CompilerFactoryFactory.getDefaultCompilerFactory()
+        .newScriptEvaluator();
+
+    se.setDefaultImports(SqlToJavaVisitor.JAVA_IMPORTS.toArray(new String[0]));
+    se.setParameters(
+        ArrayUtils.addAll(argNames, "defaultValue", "logger", "row",
+            CompiledProjection.OUTPUT_PARAM, CompiledProjection.ERROR_HANDLER_PARAM),
+        ArrayUtils.addAll(argTypes, Object.class, ProcessingLogger.class, GenericRow.class,
+            GenericRow.class, CompiledProjection.ColumnErrorHandler.class)
+    );
+    se.setReturnType(void.class);
+    se.cook(javaCode);
+    return se;
+  }
+
   @SuppressWarnings("unchecked")
   @VisibleForTesting
   public static IExpressionEvaluator cook(
@@ -182,6 +336,19 @@ public class CodeGenRunner {
       final Class<?> expressionType,
       final String[] argNames,
       final Class<?>[] argTypes
+  ) throws Exception {
+    return cached(
+        COOKED_EXPRESSIONS,
+        new CookedKey(javaCode, expressionType, argNames, argTypes),
+        () -> doCook(javaCode, expressionType, argNames, argTypes)
+    );
+  }
+
+  private static IExpressionEvaluator doCook(
+      final String javaCode,
+      final Class<?> expressionType,
+      final String[] argNames,
+      final Class<?>[] argTypes
   ) throws Exception {
     final IExpressionEvaluator ee = CompilerFactoryFactory.getDefaultCompilerFactory()
         .newExpressionEvaluator();
@@ -196,6 +363,73 @@ public class CodeGenRunner {
     return ee;
   }
 
+  private static <T> Cache<CookedKey, T> cookedCache() {
+    return CacheBuilder.newBuilder()
+        .maximumWeight(COOKED_CACHE_MAX_CODE_LENGTH)
+        .weigher((CookedKey key, T cooked) -> key.javaCode.length())
+        .expireAfterAccess(COOKED_CACHE_EXPIRY)
+        .build();
+  }
+
+  private static <T> T cached(
+      final Cache<CookedKey, T> cache,
+      final CookedKey key,
+      final Callable<T> cooker
+  ) throws Exception {
+    try {
+      return cache.get(key, cooker);
+    } catch (final ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw (Exception) e.getCause();
+    }
+  }
+
+  /**
+   * Identifies cooked code: the generated code encodes the expression, and the parameters encode
+   * the parts of the input schema it reads.
+   */
+  private static final class CookedKey {
+
+    private final String javaCode;
+    private final Class<?> returnType;
+    private final List<String> argNames;
+    private final List<Class<?>> argTypes;
+
+    CookedKey(
+        final String javaCode,
+        final Class<?> returnType,
+        final String[] argNames,
+        final Class<?>[] argTypes
+    ) {
+      this.javaCode = requireNonNull(javaCode, "javaCode");
+      this.returnType = requireNonNull(returnType, "returnType");
+      this.argNames = Arrays.asList(argNames.clone());
+      this.argTypes = Arrays.asList(argTypes.clone());
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final CookedKey that = (CookedKey) o;
+      return javaCode.equals(that.javaCode)
+          && returnType.equals(that.returnType)
+          && argNames.equals(that.argNames)
+          && argTypes.equals(that.argTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(javaCode, returnType, argNames, argTypes);
+    }
+  }
+
   private final class Visitor extends TraversalExpressionVisitor<Context> {
 
     private final CodeGenSpec.Builder spec;
@@ -211,6 +445,29 @@ public class CodeGenRunner {
     ) {
       process(node.getValue(), context);
       process(node.getPattern(), context);
+      if (node.getPattern() instanceof StringLiteral) {
+        // Constant patterns only need compiling once:
+        final String pattern = ((StringLiteral) node.getPattern()).getValue();
+        spec.addLikeMatcher(node, LikeEvaluator.compile(pattern, node.getEscape()));
+      }
+      return null;
+    }
+
+    @Override
+    public Void visitInPredicate(
+        final InPredicate node,
+        final Context context
+    ) {
+      process(node.getValue(), context);
+      process(node.getValueList(), context);
+
+      final InPredicate preprocessed = InListEvaluator
+          .preprocess(node, expressionTypeManager, context.getLambdaSqlTypeMapping());
+
+      // Constant lists only need coercing and hashing once:
+      InListEvaluator
+          .compile(preprocessed, expressionTypeManager, context.getLambdaSqlTypeMapping())
+          .ifPresent(matcher -> spec.addInListMatcher(node, matcher));
       return null;
     }
 
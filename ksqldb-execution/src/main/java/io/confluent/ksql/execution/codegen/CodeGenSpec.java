@@ -23,8 +23,12 @@ import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.Immutable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.codegen.helpers.InListEvaluator;
+import io.confluent.ksql.execution.codegen.helpers.LikeEvaluator;
 import io.confluent.ksql.execution.expression.formatter.ExpressionFormatter;
 import io.confluent.ksql.execution.expression.tree.CreateStructExpression;
+import io.confluent.ksql.execution.expression.tree.InPredicate;
+import io.confluent.ksql.execution.expression.tree.LikePredicate;
 import io.confluent.ksql.function.udf.Kudf;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.FunctionName;
@@ -33,6 +37,7 @@ import io.confluent.ksql.util.KsqlException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.apache.kafka.connect.data.ConnectSchema;
 import org.apache.kafka.connect.data.Schema;
 
@@ -43,17 +48,23 @@ public final class CodeGenSpec {
   private final ImmutableMap<ColumnName, String> columnToCodeName;
   private final ImmutableListMultimap<FunctionName, String> functionToCodeName;
   private final ImmutableMap<CreateStructExpression, String> structToCodeName;
+  private final ImmutableMap<LikePredicate, String> likeToCodeName;
+  private final ImmutableMap<InPredicate, String> inListToCodeName;
 
   private CodeGenSpec(
       final ImmutableList<ArgumentSpec> arguments,
       final ImmutableMap<ColumnName, String> columnToCodeName,
       final ImmutableListMultimap<FunctionName, String> functionToCodeName,
-      final ImmutableMap<CreateStructExpression, String> structToCodeName
+      final ImmutableMap<CreateStructExpression, String> structToCodeName,
+      final ImmutableMap<LikePredicate, String> likeToCodeName,
+      final ImmutableMap<InPredicate, String> inListToCodeName
   ) {
     this.arguments = arguments;
     this.columnToCodeName = columnToCodeName;
     this.functionToCodeName = functionToCodeName;
     this.structToCodeName = structToCodeName;
+    this.likeToCodeName = likeToCodeName;
+    this.inListToCodeName = inListToCodeName;
   }
 
   public String[] argumentNames() {
@@ -97,6 +108,22 @@ public final class CodeGenSpec {
     return schemaName;
   }
 
+  /**
+   * @return the name of the precompiled matcher for the predicate's pattern, if the pattern
+   *         is constant.
+   */
+  public Optional<String> getLikeMatcherName(final LikePredicate likePredicate) {
+    return Optional.ofNullable(likeToCodeName.get(likePredicate));
+  }
+
+  /**
+   * @return the name of the precompiled matcher for the predicate's list, if the list
+   *         is constant.
+   */
+  public Optional<String> getInListMatcherName(final InPredicate inPredicate) {
+    return Optional.ofNullable(inListToCodeName.get(inPredicate));
+  }
+
   static class Builder {
 
     private final ImmutableList.Builder<ArgumentSpec> argumentBuilder = ImmutableList.builder();
@@ -105,14 +132,22 @@ public final class CodeGenSpec {
         ImmutableListMultimap.builder();
     private final Map<CreateStructExpression, String> structToSchemaName =
             new HashMap<CreateStructExpression, String>();
+    private final Map<LikePredicate, String> likeToMatcherName = new HashMap<>();
+    private final Map<InPredicate, String> inListToMatcherName = new HashMap<>();
     private int argumentCount = 0;
     private int structSchemaCount = 0;
+    private int likeMatcherCount = 0;
+    private int inListMatcherCount = 0;
 
     void addParameter(
         final ColumnName columnName,
         final Class<?> type,
         final int colIndex
     ) {
+      if (columnRefToName.containsKey(columnName)) {
+        // Each column only needs resolving from the row once:
+        return;
+      }
       final String codeName = CodeGenUtil.paramName(argumentCount++);
       columnRefToName.put(columnName, codeName);
       argumentBuilder.add(new ValueArgumentSpec(codeName, type, colIndex));
@@ -133,12 +168,37 @@ public final class CodeGenSpec {
       argumentBuilder.add(new SchemaArgumentSpec(structSchemaName, schema));
     }
 
+    void addLikeMatcher(final LikePredicate likePredicate, final LikeEvaluator.Matcher matcher) {
+      if (likeToMatcherName.containsKey(likePredicate)) {
+        return;
+      }
+      final String matcherName = CodeGenUtil.likeMatcherName(likeMatcherCount++);
+      likeToMatcherName.put(likePredicate, matcherName);
+      argumentBuilder.add(new MatcherArgumentSpec(
+          matcherName, LikeEvaluator.Matcher.class, matcher));
+    }
+
+    void addInListMatcher(
+        final InPredicate inPredicate,
+        final InListEvaluator.Matcher matcher
+    ) {
+      if (inListToMatcherName.containsKey(inPredicate)) {
+        return;
+      }
+      final String matcherName = CodeGenUtil.inListMatcherName(inListMatcherCount++);
+      inListToMatcherName.put(inPredicate, matcherName);
+      argumentBuilder.add(new MatcherArgumentSpec(
+          matcherName, InListEvaluator.Matcher.class, matcher));
+    }
+
     CodeGenSpec build() {
       return new CodeGenSpec(
           argumentBuilder.build(),
           ImmutableMap.copyOf(columnRefToName),
           functionNameBuilder.build(),
-          ImmutableMap.copyOf(structToSchemaName)
+          ImmutableMap.copyOf(structToSchemaName),
+          ImmutableMap.copyOf(likeToMatcherName),
+          ImmutableMap.copyOf(inListToMatcherName)
       );
     }
   }
@@ -268,4 +328,33 @@ public final class CodeGenSpec {
           + '}';
     }
   }
+
+  @Immutable
+  private static final class MatcherArgumentSpec extends BaseArgumentSpec {
+
+    @EffectivelyImmutable
+    private final Object matcher;
+
+    MatcherArgumentSpec(
+        final String name,
+        final Class<?> type,
+        final Object matcher
+    ) {
+      super(name, type);
+      this.matcher = requireNonNull(matcher, "matcher");
+    }
+
+    @Override
+    public Object resolve(final GenericRow value) {
+      return matcher;
+    }
+
+    @Override
+    public String toString() {
+      return "MatcherArgumentSpec{"
+          + "name='" + name() + '\''
+          + ", type=" + type()
+          + '}';
+    }
+  }
 }
@@ -25,10 +25,10 @@ import io.confluent.ksql.logging.processing.RecordProcessingError;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.testing.EffectivelyImmutable;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
-import org.apache.commons.lang3.ArrayUtils;
 import org.codehaus.commons.compiler.IExpressionEvaluator;
 
 @Immutable
@@ -37,7 +37,7 @@ public class CompiledExpression implements ExpressionEvaluator {
   @EffectivelyImmutable
   private final IExpressionEvaluator expressionEvaluator;
   private final SqlType expressionType;
-  private final ThreadLocal<Object[]> threadLocalParameters;
+  private final ThreadLocal<Object[]> threadLocalFrame;
   private final Expression expression;
   private final CodeGenSpec spec;
 
@@ -51,7 +51,9 @@ public class CompiledExpression implements ExpressionEvaluator {
     this.expressionType = Objects.requireNonNull(expressionType, "expressionType");
     this.expression = Objects.requireNonNull(expression, "expression");
     this.spec = Objects.requireNonNull(spec, "spec");
-    this.threadLocalParameters = ThreadLocal.withInitial(() -> new Object[spec.arguments().size()]);
+    // Frame layout: spec arguments, then defaultValue, logger and row:
+    final int frameSize = spec.arguments().size() + 3;
+    this.threadLocalFrame = ThreadLocal.withInitial(() -> new Object[frameSize]);
   }
 
   public List<ArgumentSpec> arguments() {
@@ -84,9 +86,9 @@ public class CompiledExpression implements ExpressionEvaluator {
       final ProcessingLogger logger,
       final Supplier<String> errorMsg
   ) {
+    final Object[] frame = threadLocalFrame.get();
     try {
-      return expressionEvaluator.evaluate(
-          ArrayUtils.addAll(getParameters(row), defaultValue, logger, row));
+      return expressionEvaluator.evaluate(fillFrame(frame, row, defaultValue, logger));
     } catch (final Exception e) {
       final Throwable cause = e instanceof InvocationTargetException
           ? e.getCause()
@@ -94,12 +96,31 @@ public class CompiledExpression implements ExpressionEvaluator {
 
       logger.error(RecordProcessingError.recordProcessingError(errorMsg.get(), cause, row));
       return defaultValue;
+    } finally {
+      // Don't keep the row, or values read from it, reachable from the thread between calls:
+      Arrays.fill(frame, null);
     }
   }
 
-  private Object[] getParameters(final GenericRow row) {
-    final Object[] parameters = threadLocalParameters.get();
-    spec.resolve(row, parameters);
-    return parameters;
+  /**
+   * Populate this thread's argument frame for the supplied row.
+   *
+   * <p>The frame is reused across evaluations on the same thread, so evaluation does not
+   * allocate. This is safe as the generated code does not retain its arguments, and the frame
+   * is cleared once each evaluation completes.
+   */
+  private Object[] fillFrame(
+      final Object[] frame,
+      final GenericRow row,
+      final Object defaultValue,
+      final ProcessingLogger logger
+  ) {
+    spec.resolve(row, frame);
+
+    final int base = frame.length - 3;
+    frame[base] = defaultValue;
+    frame[base + 1] = logger;
+    frame[base + 2] = row;
+    return frame;
   }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.Immutable;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.transform.ExpressionEvaluator;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.logging.processing.RecordProcessingError;
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import io.confluent.ksql.testing.EffectivelyImmutable;
+import io.confluent.ksql.util.KsqlException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.function.Supplier;
+import org.codehaus.commons.compiler.IScriptEvaluator;
+
+/**
+ * A list of expressions compiled into a single generated method.
+ *
+ * <p>Each input column and each function instance is resolved once per row, regardless of how
+ * many of the expressions reference it, and the results are appended directly to the output
+ * row. A failure evaluating one expression does not stop the others from being evaluated: the
+ * failed column is set to the default value and reported to the supplied
+ * {@link ColumnErrorHandler}.
+ */
+@Immutable
+public class CompiledProjection {
+
+  static final String OUTPUT_PARAM = "output";
+  static final String ERROR_HANDLER_PARAM = "errorHandler";
+
+  @EffectivelyImmutable
+  private final IScriptEvaluator scriptEvaluator;
+  private final CodeGenSpec spec;
+  private final ImmutableList<Expression> expressions;
+  private final ImmutableList<SqlType> expressionTypes;
+  private final ThreadLocal<Object[]> threadLocalParameters;
+
+  public CompiledProjection(
+      final IScriptEvaluator scriptEvaluator,
+      final CodeGenSpec spec,
+      final List<SqlType> expressionTypes,
+      final List<Expression> expressions
+  ) {
+    this.scriptEvaluator = requireNonNull(scriptEvaluator, "scriptEvaluator");
+    this.spec = requireNonNull(spec, "spec");
+    this.expressionTypes = ImmutableList.copyOf(requireNonNull(expressionTypes, "expressionTypes"));
+    this.expressions = ImmutableList.copyOf(requireNonNull(expressions, "expressions"));
+    if (this.expressions.size() != this.expressionTypes.size()) {
+      throw new IllegalArgumentException("expression and type count mismatch");
+    }
+
+    // Frame layout: spec arguments, then defaultValue, logger, row, output, errorHandler.
+    final int frameSize = spec.arguments().size() + 5;
+    this.threadLocalParameters = ThreadLocal.withInitial(() -> new Object[frameSize]);
+  }
+
+  public int size() {
+    return expressions.size();
+  }
+
+  public List<Expression> getExpressions() {
+    return expressions;
+  }
+
+  public List<SqlType> getExpressionTypes() {
+    return expressionTypes;
+  }
+
+  /**
+   * Get a view of a single column of the projection as an {@link ExpressionEvaluator}.
+   *
+   * <p>Evaluating the returned evaluator evaluates the whole projection, so it should only be
+   * used where a single column is genuinely required.
+   *
+   * @param index the index of the column.
+   * @return the column evaluator.
+   */
+  public ExpressionEvaluator column(final int index) {
+    return new ProjectedColumn(this, index);
+  }
+
+  /**
+   * Evaluate all expressions against the supplied {@code row}, appending the results to
+   * {@code output} in expression order.
+   *
+   * @param row the row of data to evaluate the expressions against.
+   * @param output the row to append the results to.
+   * @param defaultValue the value to append for any expression that fails.
+   * @param logger the processing logger made available to the generated code.
+   * @param errorHandler called for each expression that fails.
+   */
+  public void evaluate(
+      final GenericRow row,
+      final GenericRow output,
+      final Object defaultValue,
+      final ProcessingLogger logger,
+      final ColumnErrorHandler errorHandler
+  ) {
+    final Object[] parameters = threadLocalParameters.get();
+    spec.resolve(row, parameters);
+
+    final int base = spec.arguments().size();
+    parameters[base] = defaultValue;
+    parameters[base + 1] = logger;
+    parameters[base + 2] = row;
+    parameters[base + 3] = output;
+    parameters[base + 4] = errorHandler;
+
+    try {
+      scriptEvaluator.evaluate(parameters);
+    } catch (final InvocationTargetException e) {
+      throw new KsqlException("Error evaluating projection", e.getCause());
+    } finally {
+      // Do not retain references to the row beyond the call:
+      parameters[base + 2] = null;
+      parameters[base + 3] = null;
+    }
+  }
+
+  /**
+   * Callback invoked by the generated code when an individual expression fails.
+   */
+  public interface ColumnErrorHandler {
+
+    void onError(int index, Exception e, GenericRow row);
+  }
+
+  private static final class ProjectedColumn implements ExpressionEvaluator {
+
+    private final CompiledProjection projection;
+    private final int index;
+
+    ProjectedColumn(final CompiledProjection projection, final int index) {
+      this.projection = requireNonNull(projection, "projection");
+      this.index = index;
+      if (index < 0 || index >= projection.size()) {
+        throw new IndexOutOfBoundsException("index: " + index);
+      }
+    }
+
+    @Override
+    public Object evaluate(
+        final GenericRow row,
+        final Object defaultValue,
+        final ProcessingLogger logger,
+        final Supplier<String> errorMsg
+    ) {
+      final GenericRow output = new GenericRow(projection.size());
+      projection.evaluate(row, output, defaultValue, logger, (idx, e, r) -> {
+        if (idx == index) {
+          final Throwable cause = e instanceof InvocationTargetException
+              ? e.getCause()
+              : e;
+
+          logger.error(RecordProcessingError.recordProcessingError(errorMsg.get(), cause, r));
+        }
+      });
+      return output.get(index);
+    }
+
+    @Override
+    public Expression getExpression() {
+      return projection.expressions.get(index);
+    }
+
+    @Override
+    public SqlType getExpressionType() {
+      return projection.expressionTypes.get(index);
+    }
+  }
+}
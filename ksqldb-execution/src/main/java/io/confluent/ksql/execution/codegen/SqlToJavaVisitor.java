@@ -34,7 +34,6 @@ import io.confluent.ksql.execution.codegen.helpers.LambdaUtil;
 import io.confluent.ksql.execution.codegen.helpers.LikeEvaluator;
 import io.confluent.ksql.execution.codegen.helpers.MapBuilder;
 import io.confluent.ksql.execution.codegen.helpers.NullSafe;
-import io.confluent.ksql.execution.codegen.helpers.SearchedCaseFunction;
 import io.confluent.ksql.execution.codegen.helpers.TriFunction;
 import io.confluent.ksql.execution.expression.tree.ArithmeticBinaryExpression;
 import io.confluent.ksql.execution.expression.tree.ArithmeticUnaryExpression;
@@ -116,13 +115,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringEscapeUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
 
@@ -131,8 +130,6 @@ public class SqlToJavaVisitor {
 
   public static final List<String> JAVA_IMPORTS = ImmutableList.of(
       "io.confluent.ksql.execution.codegen.helpers.ArrayAccess",
-      "io.confluent.ksql.execution.codegen.helpers.SearchedCaseFunction",
-      "io.confluent.ksql.execution.codegen.helpers.SearchedCaseFunction.LazyWhenClause",
       "io.confluent.ksql.logging.processing.RecordProcessingError",
       "java.lang.reflect.InvocationTargetException",
       "java.util.concurrent.TimeUnit",
@@ -216,6 +213,8 @@ public class SqlToJavaVisitor {
   private final Function<FunctionName, String> funNameToCodeName;
   private final Function<ColumnName, String> colRefToCodeName;
   private final Function<CreateStructExpression, String> structToCodeName;
+  private final Function<LikePredicate, Optional<String>> likeToCodeName;
+  private final Function<InPredicate, Optional<String>> inListToCodeName;
   private final KsqlConfig ksqlConfig;
 
   public static SqlToJavaVisitor of(
@@ -234,6 +233,8 @@ public class SqlToJavaVisitor {
           return spec.getUniqueNameForFunction(name, index);
         },
         spec::getStructSchemaName,
+        spec::getLikeMatcherName,
+        spec::getInListMatcherName,
         ksqlConfig);
   }
 
@@ -243,6 +244,8 @@ public class SqlToJavaVisitor {
       final Function<ColumnName, String> colRefToCodeName,
       final Function<FunctionName, String> funNameToCodeName,
       final Function<CreateStructExpression, String> structToCodeName,
+      final Function<LikePredicate, Optional<String>> likeToCodeName,
+      final Function<InPredicate, Optional<String>> inListToCodeName,
       final KsqlConfig ksqlConfig
   ) {
     this.expressionTypeManager = new ExpressionTypeManager(schema, functionRegistry);
@@ -251,6 +254,8 @@ public class SqlToJavaVisitor {
     this.colRefToCodeName = Objects.requireNonNull(colRefToCodeName, "colRefToCodeName");
     this.funNameToCodeName = Objects.requireNonNull(funNameToCodeName, "funNameToCodeName");
     this.structToCodeName = Objects.requireNonNull(structToCodeName, "structToCodeName");
+    this.likeToCodeName = Objects.requireNonNull(likeToCodeName, "likeToCodeName");
+    this.inListToCodeName = Objects.requireNonNull(inListToCodeName, "inListToCodeName");
     this.ksqlConfig = Objects.requireNonNull(ksqlConfig, "ksqlConfig");
   }
 
@@ -317,6 +322,14 @@ public class SqlToJavaVisitor {
 
       final Pair<String, SqlType> value = process(preprocessed.getValue(), context);
 
+      final Optional<String> matcherName = inListToCodeName.apply(inPredicate);
+      if (matcherName.isPresent()) {
+        return new Pair<>(
+            matcherName.get() + ".matches(" + value.getLeft() + ")",
+            SqlTypes.BOOLEAN
+        );
+      }
+
       final String values = preprocessed.getValueList().getValues().stream()
           .map(v -> process(v, context))
           .map(Pair::getLeft)
@@ -976,51 +989,33 @@ public class SqlToJavaVisitor {
     public Pair<String, SqlType> visitSearchedCaseExpression(
         final SearchedCaseExpression node, final Context context
     ) {
-      final String functionClassName = SearchedCaseFunction.class.getSimpleName();
-      final List<CaseWhenProcessed> whenClauses = node
-          .getWhenClauses()
-          .stream()
-          .map(whenClause -> new CaseWhenProcessed(
-              process(whenClause.getOperand(), context),
-              process(whenClause.getResult(), context)
-          ))
-          .collect(Collectors.toList());
-
       final SqlType resultSchema =
           expressionTypeManager.getExpressionSqlType(node, context.getLambdaSqlTypeMapping());
       final String resultSchemaString =
           SchemaConverters.sqlToJavaConverter().toJavaType(resultSchema).getCanonicalName();
 
-      final List<String> lazyWhenClause = whenClauses
-          .stream()
-          .map(processedWhenClause -> functionClassName + ".whenClause("
-              + buildSupplierCode(
-              "Boolean", processedWhenClause.whenProcessResult.getLeft())
-              + ", "
-              + buildSupplierCode(
-              resultSchemaString, processedWhenClause.thenProcessResult.getLeft())
-              + ")")
-          .collect(Collectors.toList());
+      // Generates a chain of conditional expressions, which only evaluates the operands up to
+      // the first that matches, and only evaluates the result of that clause:
+      //   ((T)(op1 ? (T)(r1) : op2 ? (T)(r2) : (T)(default)))
+      final StringBuilder code = new StringBuilder("((" + resultSchemaString + ")(");
+      for (final WhenClause whenClause : node.getWhenClauses()) {
+        final String operand = process(whenClause.getOperand(), context).getLeft();
+        final String result = process(whenClause.getResult(), context).getLeft();
+        code.append("(").append(operand).append(") ? ")
+            .append(castTo(resultSchemaString, result))
+            .append(" : ");
+      }
 
       final String defaultValue = node.getDefaultValue().isPresent()
           ? process(node.getDefaultValue().get(), context).getLeft()
           : "null";
 
-      // ImmutableList.copyOf(Arrays.asList()) replaced ImmutableList.of() to avoid
-      // CASE expressions with 12+ conditions from breaking. Don't change it unless
-      // you are certain it won't break it. See https://github.com/confluentinc/ksql/issues/5707
-      final String codeString = "((" + resultSchemaString + ")"
-          + functionClassName + ".searchedCaseFunction(ImmutableList.copyOf(Arrays.asList( "
-          + StringUtils.join(lazyWhenClause, ", ") + ")),"
-          + buildSupplierCode(resultSchemaString, defaultValue)
-          + "))";
-
-      return new Pair<>(codeString, resultSchema);
+      code.append(castTo(resultSchemaString, defaultValue)).append("))");
+      return new Pair<>(code.toString(), resultSchema);
     }
 
-    private String buildSupplierCode(final String typeString, final String code) {
-      return " new " + Supplier.class.getSimpleName() + "<" + typeString + ">() {"
-          + " @Override public " + typeString + " get() { return " + code + "; }}";
+    private String castTo(final String typeString, final String code) {
+      return "((" + typeString + ")(" + code + "))";
     }
 
     @Override
@@ -1028,9 +1023,18 @@ public class SqlToJavaVisitor {
         final LikePredicate node, final Context context
     ) {
 
-      final String patternString = process(node.getPattern(), context).getLeft();
       final String valueString = process(node.getValue(), context).getLeft();
 
+      final Optional<String> matcherName = likeToCodeName.apply(node);
+      if (matcherName.isPresent()) {
+        return new Pair<>(
+            matcherName.get() + ".matches(" + valueString + ")",
+            SqlTypes.STRING
+        );
+      }
+
+      final String patternString = process(node.getPattern(), context).getLeft();
+
       if (node.getEscape().isPresent()) {
         return new Pair<>(
             "LikeEvaluator.matches("
@@ -1235,17 +1239,4 @@ public class SqlToJavaVisitor {
       return CastEvaluator.generateCode(exp.left, exp.right, sqlType, ksqlConfig);
     }
   }
-
-  private static final class CaseWhenProcessed {
-
-    private final Pair<String, SqlType> whenProcessResult;
-    private final Pair<String, SqlType> thenProcessResult;
-
-    private CaseWhenProcessed(
-        final Pair<String, SqlType> whenProcessResult, final Pair<String, SqlType> thenProcessResult
-    ) {
-      this.whenProcessResult = whenProcessResult;
-      this.thenProcessResult = thenProcessResult;
-    }
-  }
 }
@@ -17,21 +17,27 @@ package io.confluent.ksql.execution.codegen.helpers;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.expression.tree.InListExpression;
 import io.confluent.ksql.execution.expression.tree.InPredicate;
+import io.confluent.ksql.execution.expression.tree.Literal;
 import io.confluent.ksql.execution.expression.tree.NullLiteral;
 import io.confluent.ksql.execution.util.CoercionUtil;
 import io.confluent.ksql.execution.util.ExpressionTypeManager;
 import io.confluent.ksql.schema.ksql.SqlBooleans;
+import io.confluent.ksql.schema.ksql.types.SqlBaseType;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -42,6 +48,10 @@ import org.apache.kafka.connect.data.Struct;
 /**
  * Used in the code generation to evaluate SQL 'IN (a, b, c)' expressions.
  *
+ * <p>Predicates whose list contains only literals of simple types can be compiled, via
+ * {@link #compile}, into a {@link Matcher} that looks values up in a set, rather than comparing
+ * against each element of the list in turn.
+ *
  * <p>For tests, see {@code in.json} QTT test.
  *
  * @see io.confluent.ksql.execution.expression.tree.InPredicate
@@ -50,6 +60,18 @@ public final class InListEvaluator {
 
   private static final Object NO_MATCH = new Object();
 
+  // Lists of integral values up to this size are binary searched, rather than hashed:
+  private static final int MAX_SORTED_ARRAY_SIZE = 16;
+
+  private static final Set<SqlBaseType> COMPILABLE_TYPES = EnumSet.of(
+      SqlBaseType.BOOLEAN,
+      SqlBaseType.INTEGER,
+      SqlBaseType.BIGINT,
+      SqlBaseType.DOUBLE,
+      SqlBaseType.DECIMAL,
+      SqlBaseType.STRING
+  );
+
   private static final ImmutableMap<Class<?>, Function<String, ?>> STRING_PARSERS = ImmutableMap
       .of(
           Boolean.class, InListEvaluator::stringToBoolean,
@@ -119,6 +141,68 @@ public final class InListEvaluator {
     );
   }
 
+  /**
+   * Compiled membership test for a predicate with a constant list.
+   */
+  public interface Matcher {
+
+    /**
+     * @param value the value to look for
+     * @return {@code true} if {@code value} is in the list.
+     */
+    boolean matches(Object value);
+  }
+
+  /**
+   * Compile a predicate, previously {@link #preprocess preprocessed}, into a {@link Matcher}.
+   *
+   * <p>Preprocessing coerces the value and the list to a common type, so a simple type's values
+   * are only equal when their Java objects are equal. Hence values can be looked up directly in a
+   * set of the list's values.
+   *
+   * @param preprocessed the preprocessed predicate
+   * @param typeManager the type manager for the predicate
+   * @param lambdaTypeMapping mapping of lambda variables to type
+   * @return the matcher, or empty if the list contains non-literal expressions or values of a
+   *         type that can not be compiled.
+   */
+  public static Optional<Matcher> compile(
+      final InPredicate preprocessed,
+      final ExpressionTypeManager typeManager,
+      final Map<String, SqlType> lambdaTypeMapping
+  ) {
+    final List<Expression> list = preprocessed.getValueList().getValues();
+    if (!list.stream().allMatch(e -> e instanceof Literal)) {
+      return Optional.empty();
+    }
+
+    final SqlType type = typeManager
+        .getExpressionSqlType(preprocessed.getValue(), lambdaTypeMapping);
+    if (type == null || !COMPILABLE_TYPES.contains(type.baseType())) {
+      return Optional.empty();
+    }
+
+    final List<Object> values = list.stream()
+        .map(e -> ((Literal) e).getValue())
+        .collect(Collectors.toList());
+
+    final boolean integral = type.baseType() == SqlBaseType.INTEGER
+        || type.baseType() == SqlBaseType.BIGINT;
+
+    if (integral && values.size() <= MAX_SORTED_ARRAY_SIZE) {
+      final long[] sorted = values.stream()
+          .mapToLong(v -> ((Number) v).longValue())
+          .sorted()
+          .toArray();
+
+      return Optional.of(value -> value != null
+          && Arrays.binarySearch(sorted, ((Number) value).longValue()) >= 0);
+    }
+
+    final Set<Object> set = ImmutableSet.copyOf(values);
+    return Optional.of(value -> value != null && set.contains(value));
+  }
+
   /**
    * Looks for {@code value} in {@code values}.
    *
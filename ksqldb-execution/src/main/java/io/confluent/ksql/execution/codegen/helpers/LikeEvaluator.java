@@ -16,20 +16,53 @@
 package io.confluent.ksql.execution.codegen.helpers;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.confluent.ksql.util.KsqlException;
+import io.confluent.ksql.util.Pair;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
 /**
  * Used in the code generation to evaluate SQL 'LIKE' expressions.
  *
+ * <p>Patterns are compiled into a {@link Matcher}. Patterns with common shapes, i.e. those
+ * with no wildcards, or only leading, trailing or surrounding '%' wildcards, are matched using
+ * plain string comparisons. All other patterns are matched using a regular expression.
+ *
+ * <p>Constant patterns should be compiled once, using {@link #compile}. The {@code matches}
+ * methods, used when the pattern is not constant, cache recently compiled patterns.
+ *
  * @see io.confluent.ksql.execution.expression.tree.LikePredicate
  */
 public final class LikeEvaluator {
 
+  private static final int MAX_CACHED_PATTERNS = 1000;
+
+  private static final Cache<Pair<String, Optional<Character>>, Matcher> CACHE =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_CACHED_PATTERNS)
+          .build();
+
   private LikeEvaluator() {
   }
 
+  /**
+   * A compiled LIKE pattern.
+   */
+  public interface Matcher {
+
+    /**
+     * @param val the value to match
+     *
+     * @return  whether or not {@code val} matches the pattern given the SQL
+     *          LIKE definition of matching
+     */
+    boolean matches(String val);
+  }
+
   /**
    * @param val     the value to match
    * @param pattern the pattern to match against
@@ -66,11 +99,35 @@ public final class LikeEvaluator {
       final String pattern,
       final Optional<Character> escape
   ) {
+    final Pair<String, Optional<Character>> key = Pair.of(pattern, escape);
+    Matcher matcher = CACHE.getIfPresent(key);
+    if (matcher == null) {
+      matcher = compile(pattern, escape);
+      CACHE.put(key, matcher);
+    }
+    return matcher.matches(val);
+  }
+
+  /**
+   * @param pattern the pattern to compile
+   * @param escape  the escape character, if any
+   *
+   * @return  a matcher that determines whether values match {@code pattern}
+   *          given the SQL LIKE definition of matching
+   */
+  public static Matcher compile(
+      final String pattern,
+      final Optional<Character> escape
+  ) {
+    // The plain-text portions of the pattern between '%' wildcards:
+    final List<String> literals = new ArrayList<>();
     final StringBuilder regex = new StringBuilder();
+    final StringBuilder literal = new StringBuilder();
 
     final char[] chars = pattern.toCharArray();
 
     boolean escaped = false;
+    boolean underscore = false;
     int start = 0; // start of a plain-text portion of the pattern
     int i = 0;     // the current index, also doubles as the end of a plain-text portion
 
@@ -79,6 +136,7 @@ public final class LikeEvaluator {
 
       if (escaped) {
         escaped = false;
+        literal.append(c);
       } else if (escape.filter(e -> e == c).isPresent()) {
         // the escape character is treated differently in different databases
         // the only SQL standard indicates that
@@ -99,10 +157,15 @@ public final class LikeEvaluator {
         append(pattern, start, i, regex);
         regex.append(".*");
         start = i + 1;
+        literals.add(literal.toString());
+        literal.setLength(0);
       } else if (c == '_') {
         append(pattern, start, i, regex);
         regex.append(".");
         start = i + 1;
+        underscore = true;
+      } else {
+        literal.append(c);
       }
     }
 
@@ -111,7 +174,86 @@ public final class LikeEvaluator {
     }
 
     append(pattern, start, i, regex);
-    return Pattern.compile(regex.toString()).matcher(val).matches();
+    literals.add(literal.toString());
+
+    final Pattern compiled = Pattern.compile(regex.toString());
+    final Matcher regexMatcher = val -> compiled.matcher(val).matches();
+
+    if (!underscore) {
+      final Optional<Matcher> matcher = compileLiterals(literals, regexMatcher);
+      if (matcher.isPresent()) {
+        return matcher.get();
+      }
+    }
+
+    return regexMatcher;
+  }
+
+  /**
+   * Specializes patterns with no '_' wildcards, given the plain-text portions between
+   * their '%' wildcards, where a simple string comparison can be used.
+   *
+   * <p>A '%' wildcard does not match line terminators, so values containing them are
+   * matched using the {@code regexMatcher} instead.
+   */
+  private static Optional<Matcher> compileLiterals(
+      final List<String> literals,
+      final Matcher regexMatcher
+  ) {
+    // Consecutive '%' wildcards are equivalent to a single one:
+    final List<String> parts = new ArrayList<>();
+    for (int i = 0; i < literals.size(); i++) {
+      final String part = literals.get(i);
+      if (i == 0 || i == literals.size() - 1 || !part.isEmpty()) {
+        parts.add(part);
+      }
+    }
+
+    switch (parts.size()) {
+      case 1:
+        // 'abc':
+        final String exact = parts.get(0);
+        return Optional.of(val -> val.equals(exact));
+      case 2:
+        // 'abc%', '%abc' or 'ab%c':
+        final String prefix = parts.get(0);
+        final String suffix = parts.get(1);
+        final int minLength = prefix.length() + suffix.length();
+        return Optional.of(val -> hasLineTerminator(val)
+            ? regexMatcher.matches(val)
+            : val.length() >= minLength && val.startsWith(prefix) && val.endsWith(suffix));
+      case 3:
+        if (parts.get(0).isEmpty() && parts.get(2).isEmpty()) {
+          // '%abc%':
+          final String infix = parts.get(1);
+          return Optional.of(val -> hasLineTerminator(val)
+              ? regexMatcher.matches(val)
+              : val.contains(infix));
+        }
+        return Optional.empty();
+      default:
+        return Optional.empty();
+    }
+  }
+
+  /**
+   * @return whether {@code val} contains any of the characters that {@link Pattern}
+   *         treats as line terminators
+   */
+  private static boolean hasLineTerminator(final String val) {
+    for (int i = 0; i < val.length(); i++) {
+      switch (val.charAt(i)) {
+        case '\n':
+        case '\r':
+        case '\u0085':
+        case '\u2028':
+        case '\u2029':
+          return true;
+        default:
+          break;
+      }
+    }
+    return false;
   }
 
   /**
@@ -32,11 +32,29 @@ public class KudafAggregator<K> implements UdafAggregator<K> {
   private final int nonAggColumnCount;
   private final List<KsqlAggregateFunction<?, ?, ?>> aggregateFunctions;
   private final int columnCount;
+  private final boolean inPlace;
 
   public KudafAggregator(
       final int nonAggColumnCount,
       final List<KsqlAggregateFunction<?, ?, ?>> functions
   ) {
+    this(nonAggColumnCount, functions, false);
+  }
+
+  /**
+   * @param nonAggColumnCount the number of non-aggregate columns.
+   * @param functions the aggregate functions.
+   * @param inPlace if {@code true}, aggregate rows passed to {@link #apply} and the merger are
+   *                updated and returned, rather than copied. Only safe where the caller owns the
+   *                row passed in, e.g. where it has just been deserialized from a state store, and
+   *                does not forward it downstream as the old value of the aggregate.
+   */
+  public KudafAggregator(
+      final int nonAggColumnCount,
+      final List<KsqlAggregateFunction<?, ?, ?>> functions,
+      final boolean inPlace
+  ) {
+    this.inPlace = inPlace;
     this.nonAggColumnCount = nonAggColumnCount;
     this.aggregateFunctions = ImmutableList.copyOf(requireNonNull(functions, "functions"));
     this.columnCount = nonAggColumnCount + aggregateFunctions.size();
@@ -52,7 +70,7 @@ public class KudafAggregator<K> implements UdafAggregator<K> {
 
   @Override
   public GenericRow apply(final K k, final GenericRow rowValue, final GenericRow aggRowValue) {
-    final GenericRow result = GenericRow.fromList(aggRowValue.values());
+    final GenericRow result = inPlace ? aggRowValue : aggRowValue.copy();
 
     // copy over group-by and aggregate parameter columns into the output row
     for (int idx = 0; idx < nonAggColumnCount; idx++) {
@@ -80,6 +98,10 @@ public class KudafAggregator<K> implements UdafAggregator<K> {
   @Override
   public Merger<GenericKey, GenericRow> getMerger() {
 
+    if (inPlace) {
+      return this::mergeInPlace;
+    }
+
     return (key, aggRowOne, aggRowTwo) -> {
 
       final GenericRow output = new GenericRow(columnCount);
@@ -104,6 +126,27 @@ public class KudafAggregator<K> implements UdafAggregator<K> {
     };
   }
 
+  private GenericRow mergeInPlace(
+      final GenericKey key,
+      final GenericRow aggRowOne,
+      final GenericRow aggRowTwo
+  ) {
+    for (int idx = 0; idx < nonAggColumnCount; idx++) {
+      if (aggRowOne.get(idx) == null) {
+        aggRowOne.set(idx, aggRowTwo.get(idx));
+      }
+    }
+
+    for (int idx = nonAggColumnCount; idx < columnCount; idx++) {
+      final KsqlAggregateFunction<Object, Object, Object> func = aggregateFunctionForColumn(idx);
+      final Object aggOne = aggRowOne.get(idx);
+      final Object aggTwo = aggRowTwo.get(idx);
+      aggRowOne.set(idx, func.getMerger().apply(key, aggOne, aggTwo));
+    }
+
+    return aggRowOne;
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes"}) // Types have already been checked
   private KsqlAggregateFunction<Object, Object, Object> aggregateFunctionForColumn(
       final int columnIndex
@@ -29,11 +29,27 @@ public class KudafUndoAggregator implements Aggregator<GenericKey, GenericRow, G
   private final int nonAggColumnCount;
   private final List<TableAggregationFunction<?, ?, ?>> aggregateFunctions;
   private final int columnCount;
+  private final boolean inPlace;
 
   public KudafUndoAggregator(
       final int nonAggColumnCount,
       final List<TableAggregationFunction<?, ?, ?>> aggregateFunctions
   ) {
+    this(nonAggColumnCount, aggregateFunctions, false);
+  }
+
+  /**
+   * @param nonAggColumnCount the number of non-aggregate columns.
+   * @param aggregateFunctions the aggregate functions.
+   * @param inPlace if {@code true}, the aggregate row passed to {@link #apply} is updated and
+   *                returned, rather than copied.
+   */
+  public KudafUndoAggregator(
+      final int nonAggColumnCount,
+      final List<TableAggregationFunction<?, ?, ?>> aggregateFunctions,
+      final boolean inPlace
+  ) {
+    this.inPlace = inPlace;
     this.nonAggColumnCount = nonAggColumnCount;
     this.aggregateFunctions = ImmutableList
         .copyOf(requireNonNull(aggregateFunctions, "aggregateFunctions"));
@@ -55,7 +71,7 @@ public class KudafUndoAggregator implements Aggregator<GenericKey, GenericRow, G
       final GenericRow rowValue,
       final GenericRow aggRowValue
   ) {
-    final GenericRow result = GenericRow.fromList(aggRowValue.values());
+    final GenericRow result = inPlace ? aggRowValue : aggRowValue.copy();
 
     for (int idx = 0; idx < nonAggColumnCount; idx++) {
       result.set(idx, rowValue.get(idx));
@@ -26,6 +26,11 @@ import io.confluent.ksql.execution.interpreter.terms.ArithmeticUnaryTerm;
 import io.confluent.ksql.execution.interpreter.terms.ArithmeticUnaryTerm.ArithmeticUnaryFunction;
 import io.confluent.ksql.execution.interpreter.terms.CastTerm;
 import io.confluent.ksql.execution.interpreter.terms.CastTerm.ComparableCastFunction;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.DoubleArithmeticTerm;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.IntegerArithmeticTerm;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.IntegerTerm;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.LongArithmeticTerm;
 import io.confluent.ksql.execution.interpreter.terms.Term;
 import io.confluent.ksql.schema.Operator;
 import io.confluent.ksql.schema.ksql.types.SqlBaseType;
@@ -38,6 +43,10 @@ import io.confluent.ksql.util.KsqlException;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.Optional;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
 
 public final class ArithmeticInterpreter {
   private ArithmeticInterpreter() {
@@ -100,12 +109,41 @@ public final class ArithmeticInterpreter {
           right.getSqlType().baseType() == SqlBaseType.DECIMAL
               ? CastInterpreter.cast(right, right.getSqlType(), SqlTypes.DOUBLE, ksqlConfig)
               : right;
+      final Optional<Term> primitive =
+          doPrimitiveArithmetic(operator, leftTerm, rightTerm, resultType);
+      if (primitive.isPresent()) {
+        return primitive.get();
+      }
       return new ArithmeticBinaryTerm(leftTerm, rightTerm,
           getNonDecimalArithmeticFunction(operator, leftTerm.getSqlType(), rightTerm.getSqlType()),
           resultType);
     }
   }
 
+  private static Optional<Term> doPrimitiveArithmetic(
+      final Operator operator,
+      final Term left,
+      final Term right,
+      final SqlType resultType
+  ) {
+    switch (resultType.baseType()) {
+      case DOUBLE:
+        return PrimitiveTerms.asDouble(left).flatMap(l -> PrimitiveTerms.asDouble(right)
+            .map(r -> new DoubleArithmeticTerm(l, r, getDoubleFunction(operator), resultType)));
+      case BIGINT:
+        return PrimitiveTerms.asLong(left).flatMap(l -> PrimitiveTerms.asLong(right)
+            .map(r -> new LongArithmeticTerm(l, r, getLongFunction(operator), resultType)));
+      case INTEGER:
+        if (left instanceof IntegerTerm && right instanceof IntegerTerm) {
+          return Optional.of(new IntegerArithmeticTerm((IntegerTerm) left, (IntegerTerm) right,
+              getIntegerFunction(operator), resultType));
+        }
+        return Optional.empty();
+      default:
+        return Optional.empty();
+    }
+  }
+
   private static ArithmeticBinaryFunction getNonDecimalArithmeticFunction(
       final Operator operator,
       final SqlType leftType,
@@ -115,20 +153,20 @@ public final class ArithmeticInterpreter {
     if (leftBaseType == SqlBaseType.STRING && rightBaseType == SqlBaseType.STRING) {
       return (o1, o2) -> (String) o1 + (String) o2;
     } else if (leftBaseType == SqlBaseType.DOUBLE || rightBaseType == SqlBaseType.DOUBLE) {
-      final TypedArithmeticBinaryFunction<Double> fn = getDoubleFunction(operator);
+      final DoubleBinaryOperator fn = getDoubleFunction(operator);
       final ComparableCastFunction<Double> castLeft = castToDoubleFunction(leftType);
       final ComparableCastFunction<Double> castRight = castToDoubleFunction(rightType);
-      return (o1, o2) -> fn.doFunction(castLeft.cast(o1), castRight.cast(o2));
+      return (o1, o2) -> fn.applyAsDouble(castLeft.cast(o1), castRight.cast(o2));
     } else if (leftBaseType == SqlBaseType.BIGINT || rightBaseType == SqlBaseType.BIGINT) {
-      final TypedArithmeticBinaryFunction<Long> fn = getLongFunction(operator);
+      final LongBinaryOperator fn = getLongFunction(operator);
       final ComparableCastFunction<Long> castLeft = castToLongFunction(leftType);
       final ComparableCastFunction<Long> castRight = castToLongFunction(rightType);
-      return (o1, o2) -> fn.doFunction(castLeft.cast(o1), castRight.cast(o2));
+      return (o1, o2) -> fn.applyAsLong(castLeft.cast(o1), castRight.cast(o2));
     } else if (leftBaseType == SqlBaseType.INTEGER || rightBaseType == SqlBaseType.INTEGER) {
-      final TypedArithmeticBinaryFunction<Integer> fn = getIntegerFunction(operator);
+      final IntBinaryOperator fn = getIntegerFunction(operator);
       final ComparableCastFunction<Integer> castLeft = castToIntegerFunction(leftType);
       final ComparableCastFunction<Integer> castRight = castToIntegerFunction(rightType);
-      return (o1, o2) -> fn.doFunction(castLeft.cast(o1), castRight.cast(o2));
+      return (o1, o2) -> fn.applyAsInt(castLeft.cast(o1), castRight.cast(o2));
     } else {
       throw new KsqlException("Can't do arithmetic for types " + leftType + " and " + rightType);
     }
@@ -168,7 +206,7 @@ public final class ArithmeticInterpreter {
     }
   }
 
-  private static TypedArithmeticBinaryFunction<Double> getDoubleFunction(final Operator operator) {
+  private static DoubleBinaryOperator getDoubleFunction(final Operator operator) {
     switch (operator) {
       case ADD:
         return (a, b) -> a + b;
@@ -185,9 +223,7 @@ public final class ArithmeticInterpreter {
     }
   }
 
-  private static TypedArithmeticBinaryFunction<Integer> getIntegerFunction(
-      final Operator operator
-  ) {
+  private static IntBinaryOperator getIntegerFunction(final Operator operator) {
     switch (operator) {
       case ADD:
         return (a, b) -> a + b;
@@ -204,7 +240,7 @@ public final class ArithmeticInterpreter {
     }
   }
 
-  private static TypedArithmeticBinaryFunction<Long> getLongFunction(final Operator operator) {
+  private static LongBinaryOperator getLongFunction(final Operator operator) {
     switch (operator) {
       case ADD:
         return (a, b) -> a + b;
@@ -19,6 +19,7 @@ import io.confluent.ksql.execution.codegen.helpers.CastEvaluator;
 import io.confluent.ksql.execution.interpreter.terms.CastTerm;
 import io.confluent.ksql.execution.interpreter.terms.CastTerm.CastFunction;
 import io.confluent.ksql.execution.interpreter.terms.CastTerm.ComparableCastFunction;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms;
 import io.confluent.ksql.execution.interpreter.terms.Term;
 import io.confluent.ksql.schema.ksql.SqlBooleans;
 import io.confluent.ksql.schema.ksql.SqlDoubles;
@@ -52,7 +53,9 @@ public final class CastInterpreter {
       final SqlType to,
       final KsqlConfig config
   ) {
-    return new CastTerm(term, to, castFunction(from, to, config));
+    final CastFunction castFunction = castFunction(from, to, config);
+    return PrimitiveTerms.cast(term, to, castFunction)
+        .orElseGet(() -> new CastTerm(term, to, castFunction));
   }
 
   // CHECKSTYLE_RULES.OFF: CyclomaticComplexity
@@ -33,6 +33,10 @@ import io.confluent.ksql.execution.interpreter.terms.ComparisonTerm.ComparisonNu
 import io.confluent.ksql.execution.interpreter.terms.ComparisonTerm.EqualsCheckFunction;
 import io.confluent.ksql.execution.interpreter.terms.ComparisonTerm.EqualsFunction;
 import io.confluent.ksql.execution.interpreter.terms.ComparisonTerm.EqualsTerm;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.IntegerTerm;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.PrimitiveComparisonTerm;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.PrimitiveTerm;
 import io.confluent.ksql.execution.interpreter.terms.Term;
 import io.confluent.ksql.schema.ksql.types.SqlBaseType;
 import io.confluent.ksql.util.KsqlException;
@@ -62,6 +66,11 @@ public final class ComparisonInterpreter {
       final Term left,
       final Term right
   ) {
+    final Optional<Term> primitive = doPrimitiveComparison(type, left, right);
+    if (primitive.isPresent()) {
+      return primitive.get();
+    }
+
     final ComparisonNullCheckFunction nullCheckFunction = getNullCheckFunction(type);
 
     final Optional<ComparisonFunction> compareTo = doCompareTo(left, right);
@@ -80,6 +89,33 @@ public final class ComparisonInterpreter {
         + right.getSqlType());
   }
 
+  private static Optional<Term> doPrimitiveComparison(
+      final ComparisonExpression.Type type,
+      final Term left,
+      final Term right
+  ) {
+    if (!(left instanceof PrimitiveTerm) || !(right instanceof PrimitiveTerm)) {
+      return Optional.empty();
+    }
+
+    final boolean distinctFrom = type == ComparisonExpression.Type.IS_DISTINCT_FROM;
+    final SqlBaseType leftType = left.getSqlType().baseType();
+    final SqlBaseType rightType = right.getSqlType().baseType();
+    if (either(leftType, rightType, SqlBaseType.DOUBLE)) {
+      return PrimitiveTerms.asDouble(left).flatMap(l -> PrimitiveTerms.asDouble(right)
+          .map(r -> PrimitiveComparisonTerm.ofDoubles(l, r, distinctFrom,
+              getComparisonCheckFunction(type, left, right))));
+    } else if (either(leftType, rightType, SqlBaseType.BIGINT)) {
+      return PrimitiveTerms.asLong(left).flatMap(l -> PrimitiveTerms.asLong(right)
+          .map(r -> PrimitiveComparisonTerm.ofLongs(l, r, distinctFrom,
+              getComparisonCheckFunction(type, left, right))));
+    } else if (left instanceof IntegerTerm && right instanceof IntegerTerm) {
+      return Optional.of(PrimitiveComparisonTerm.ofInts((IntegerTerm) left, (IntegerTerm) right,
+          distinctFrom, getComparisonCheckFunction(type, left, right)));
+    }
+    return Optional.empty();
+  }
+
   private static ComparisonNullCheckFunction getNullCheckFunction(
       final ComparisonExpression.Type type
   ) {
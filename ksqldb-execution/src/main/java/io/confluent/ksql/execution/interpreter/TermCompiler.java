@@ -26,6 +26,7 @@ import com.google.errorprone.annotations.Immutable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.execution.codegen.helpers.ArrayAccess;
 import io.confluent.ksql.execution.codegen.helpers.InListEvaluator;
+import io.confluent.ksql.execution.codegen.helpers.LikeEvaluator;
 import io.confluent.ksql.execution.expression.tree.ArithmeticBinaryExpression;
 import io.confluent.ksql.execution.expression.tree.ArithmeticUnaryExpression;
 import io.confluent.ksql.execution.expression.tree.BetweenPredicate;
@@ -68,7 +69,8 @@ import io.confluent.ksql.execution.expression.tree.Type;
 import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
 import io.confluent.ksql.execution.expression.tree.WhenClause;
 import io.confluent.ksql.execution.interpreter.TermCompiler.Context;
-import io.confluent.ksql.execution.interpreter.terms.ColumnReferenceTerm;
+import io.confluent.ksql.execution.interpreter.terms.CompiledInPredicateTerm;
+import io.confluent.ksql.execution.interpreter.terms.CompiledLikeTerm;
 import io.confluent.ksql.execution.interpreter.terms.CreateArrayTerm;
 import io.confluent.ksql.execution.interpreter.terms.CreateMapTerm;
 import io.confluent.ksql.execution.interpreter.terms.DereferenceTerm;
@@ -84,6 +86,7 @@ import io.confluent.ksql.execution.interpreter.terms.LikeTerm;
 import io.confluent.ksql.execution.interpreter.terms.LiteralTerms;
 import io.confluent.ksql.execution.interpreter.terms.LogicalBinaryTerms;
 import io.confluent.ksql.execution.interpreter.terms.NotTerm;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms;
 import io.confluent.ksql.execution.interpreter.terms.SearchedCaseTerm;
 import io.confluent.ksql.execution.interpreter.terms.StructTerm;
 import io.confluent.ksql.execution.interpreter.terms.SubscriptTerm;
@@ -158,6 +161,30 @@ public class TermCompiler implements ExpressionVisitor<Term, Context> {
     }
   }
 
+  /**
+   * Evaluates a term once, at compile time, if all its inputs are literals. Only terms without
+   * side effects are folded, so function calls never are. If evaluating the term fails, or it
+   * evaluates to null, it is left as is, so that any error is reported for each row as before.
+   */
+  private static Term fold(final Term term, final Term... inputs) {
+    for (final Term input : inputs) {
+      if (!LiteralTerms.isLiteral(input) || input.getSqlType() == null) {
+        return term;
+      }
+    }
+
+    if (term.getSqlType() == null) {
+      return term;
+    }
+
+    try {
+      final Object value = term.getValue(new TermEvaluationContext(null));
+      return value == null ? term : LiteralTerms.constant(value, term.getSqlType());
+    } catch (final Exception e) {
+      return term;
+    }
+  }
+
   private Term visitIllegalState(final Expression expression) {
     throw new IllegalStateException(
         format("Expression type %s should never be visited.%n"
@@ -199,6 +226,12 @@ public class TermCompiler implements ExpressionVisitor<Term, Context> {
 
     final Term value = process(preprocessed.getValue(), context);
 
+    final Optional<InListEvaluator.Matcher> matcher = InListEvaluator
+        .compile(preprocessed, expressionTypeManager, context.getLambdaSqlTypeMapping());
+    if (matcher.isPresent()) {
+      return new CompiledInPredicateTerm(value, matcher.get());
+    }
+
     final List<Term> valueList = preprocessed.getValueList().getValues().stream()
         .map(v -> process(v, context))
         .collect(ImmutableList.toImmutableList());
@@ -318,7 +351,7 @@ public class TermCompiler implements ExpressionVisitor<Term, Context> {
         .orElseThrow(() ->
             new KsqlException("Field not found: " + node.getColumnName()));
 
-    return new ColumnReferenceTerm(schemaColumn.index(), schemaColumn.type());
+    return PrimitiveTerms.columnReference(schemaColumn.index(), schemaColumn.type());
   }
 
   @Override
@@ -442,7 +475,7 @@ public class TermCompiler implements ExpressionVisitor<Term, Context> {
               left.getSqlType(), right.getSqlType()));
     }
 
-    return LogicalBinaryTerms.create(node.getType(), left, right);
+    return fold(LogicalBinaryTerms.create(node.getType(), left, right), left, right);
   }
 
   @Override
@@ -453,7 +486,7 @@ public class TermCompiler implements ExpressionVisitor<Term, Context> {
           format("Not expression expects a boolean value.  Actual %s", term.getSqlType()));
     }
 
-    return new NotTerm(term);
+    return fold(new NotTerm(term), term);
   }
 
   @Override
@@ -463,7 +496,7 @@ public class TermCompiler implements ExpressionVisitor<Term, Context> {
     final Term left = process(node.getLeft(), context);
     final Term right = process(node.getRight(), context);
 
-    return ComparisonInterpreter.doComparison(node.getType(), left, right);
+    return fold(ComparisonInterpreter.doComparison(node.getType(), left, right), left, right);
   }
 
   @Override
@@ -471,7 +504,7 @@ public class TermCompiler implements ExpressionVisitor<Term, Context> {
     final Term term = process(node.getExpression(), context);
     final SqlType from = term.getSqlType();
     final SqlType to = node.getType().getSqlType();
-    return CastInterpreter.cast(term, from, to, ksqlConfig);
+    return fold(CastInterpreter.cast(term, from, to, ksqlConfig), term);
   }
 
   @Override
@@ -480,7 +513,7 @@ public class TermCompiler implements ExpressionVisitor<Term, Context> {
       final Context context
   ) {
     final Term value = process(node.getValue(), context);
-    return new IsNullTerm(value);
+    return fold(new IsNullTerm(value), value);
   }
 
   @Override
@@ -489,7 +522,7 @@ public class TermCompiler implements ExpressionVisitor<Term, Context> {
       final Context context
   ) {
     final Term value = process(node.getValue(), context);
-    return new IsNotNullTerm(value);
+    return fold(new IsNotNullTerm(value), value);
   }
 
   @Override
@@ -497,7 +530,7 @@ public class TermCompiler implements ExpressionVisitor<Term, Context> {
       final ArithmeticUnaryExpression node, final Context context
   ) {
     final Term value = process(node.getValue(), context);
-    return ArithmeticInterpreter.doUnaryArithmetic(node.getSign(), value);
+    return fold(ArithmeticInterpreter.doUnaryArithmetic(node.getSign(), value), value);
   }
 
   @Override
@@ -510,8 +543,10 @@ public class TermCompiler implements ExpressionVisitor<Term, Context> {
     final SqlType schema = expressionTypeManager.getExpressionSqlType(node,
         context.getLambdaSqlTypeMapping());
 
-    return ArithmeticInterpreter.doBinaryArithmetic(node.getOperator(), left, right, schema,
-        ksqlConfig);
+    return fold(
+        ArithmeticInterpreter.doBinaryArithmetic(node.getOperator(), left, right, schema,
+            ksqlConfig),
+        left, right);
   }
 
   @Override
@@ -537,9 +572,14 @@ public class TermCompiler implements ExpressionVisitor<Term, Context> {
 
   @Override
   public Term visitLikePredicate(final LikePredicate node, final Context context) {
-    final Term patternString = process(node.getPattern(), context);
     final Term valueString = process(node.getValue(), context);
 
+    if (node.getPattern() instanceof StringLiteral) {
+      final String pattern = ((StringLiteral) node.getPattern()).getValue();
+      return new CompiledLikeTerm(valueString, LikeEvaluator.compile(pattern, node.getEscape()));
+    }
+
+    final Term patternString = process(node.getPattern(), context);
     return new LikeTerm(patternString, valueString, node.getEscape());
   }
 
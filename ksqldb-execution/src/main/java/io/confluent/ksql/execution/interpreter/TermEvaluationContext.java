@@ -17,8 +17,8 @@ package io.confluent.ksql.execution.interpreter;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.GenericRow;
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.LinkedList;
 import java.util.Map;
 
 /**
@@ -29,7 +29,8 @@ import java.util.Map;
 public final class TermEvaluationContext {
 
   private final GenericRow row;
-  private final Deque<Map<String, Object>> variableMappingsStack = new LinkedList<>();
+  // Only lambdas push variables, so the stack is created on first use:
+  private Deque<Map<String, Object>> variableMappingsStack;
 
   @SuppressFBWarnings(value = "EI_EXPOSE_REP2")
   public TermEvaluationContext(final GenericRow row) {
@@ -47,6 +48,9 @@ public final class TermEvaluationContext {
    * @param mappings The new mappings
    */
   public void pushVariableMappings(final Map<String, Object> mappings) {
+    if (variableMappingsStack == null) {
+      variableMappingsStack = new ArrayDeque<>();
+    }
     variableMappingsStack.push(mappings);
   }
 
@@ -66,6 +70,9 @@ public final class TermEvaluationContext {
    * @return the variable
    */
   public Object lookupVariable(final String name) {
+    if (variableMappingsStack == null) {
+      throw new IllegalStateException("Can't find lambda variable " + name);
+    }
     for (Map<String, Object> mappings : variableMappingsStack) {
       if (mappings.containsKey(name)) {
         return mappings.get(name);
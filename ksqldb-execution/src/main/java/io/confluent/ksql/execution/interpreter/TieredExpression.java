@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.interpreter;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.codegen.CodeGenRunner;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.transform.ExpressionEvaluator;
+import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An expression that starts out interpreted and swaps itself for compiled code once it has been
+ * evaluated enough times.
+ *
+ * <p>Interpreting avoids the cost of generating and compiling code when a query is created, which
+ * dominates start up time for servers running many queries. Expressions that turn out to be hot
+ * are compiled on a background thread, so the stream threads never wait on the compiler.
+ */
+public final class TieredExpression implements ExpressionEvaluator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TieredExpression.class);
+
+  private static final ExecutorService COMPILER = Executors.newSingleThreadExecutor(
+      new ThreadFactoryBuilder()
+          .setNameFormat("ksql-expression-compiler-%d")
+          .setDaemon(true)
+          .build()
+  );
+
+  private final InterpretedExpression interpreted;
+  private final Supplier<ExpressionEvaluator> compiler;
+  private final Executor executor;
+  private final int threshold;
+  private final AtomicBoolean compiling = new AtomicBoolean();
+
+  // Evaluations are only counted to decide when to compile, so lost updates do not matter:
+  private int evaluations;
+  private volatile ExpressionEvaluator current;
+
+  /**
+   * Create an evaluator for the supplied {@code expression}.
+   *
+   * <p>If tiered compilation is disabled, or the interpreter does not support the expression, the
+   * expression is compiled straight away.
+   *
+   * @param expression the expression to evaluate.
+   * @param type the type of the expression, used in error messages.
+   * @param schema the schema of the rows the expression is evaluated against.
+   * @param ksqlConfig the config.
+   * @param functionRegistry the function registry.
+   * @return the evaluator.
+   */
+  public static ExpressionEvaluator create(
+      final Expression expression,
+      final String type,
+      final LogicalSchema schema,
+      final KsqlConfig ksqlConfig,
+      final FunctionRegistry functionRegistry
+  ) {
+    final Supplier<ExpressionEvaluator> compiler = () -> CodeGenRunner.compileExpression(
+        expression, type, schema, ksqlConfig, functionRegistry);
+
+    if (!ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_TIERED_COMPILATION_ENABLED)) {
+      return compiler.get();
+    }
+
+    final InterpretedExpression interpreted;
+    try {
+      interpreted = InterpretedExpressionFactory
+          .create(expression, schema, functionRegistry, ksqlConfig);
+    } catch (final Exception e) {
+      LOG.debug("Compiling expression the interpreter does not support: {}", expression, e);
+      return compiler.get();
+    }
+
+    return new TieredExpression(
+        interpreted,
+        compiler,
+        COMPILER,
+        ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_TIERED_COMPILATION_THRESHOLD)
+    );
+  }
+
+  @VisibleForTesting
+  TieredExpression(
+      final InterpretedExpression interpreted,
+      final Supplier<ExpressionEvaluator> compiler,
+      final Executor executor,
+      final int threshold
+  ) {
+    this.interpreted = requireNonNull(interpreted, "interpreted");
+    this.compiler = requireNonNull(compiler, "compiler");
+    this.executor = requireNonNull(executor, "executor");
+    this.threshold = threshold;
+    this.current = interpreted;
+  }
+
+  @Override
+  public Object evaluate(
+      final GenericRow row,
+      final Object defaultValue,
+      final ProcessingLogger logger,
+      final Supplier<String> errorMsg
+  ) {
+    final ExpressionEvaluator evaluator = current;
+    if (evaluator == interpreted && ++evaluations >= threshold) {
+      compileInBackground();
+    }
+    return evaluator.evaluate(row, defaultValue, logger, errorMsg);
+  }
+
+  @Override
+  public Expression getExpression() {
+    return interpreted.getExpression();
+  }
+
+  @Override
+  public SqlType getExpressionType() {
+    return interpreted.getExpressionType();
+  }
+
+  @VisibleForTesting
+  boolean isCompiled() {
+    return current != interpreted;
+  }
+
+  private void compileInBackground() {
+    if (!compiling.compareAndSet(false, true)) {
+      return;
+    }
+
+    executor.execute(() -> {
+      try {
+        current = compiler.get();
+      } catch (final Exception e) {
+        // The interpreter gives the same results, so carry on using it:
+        LOG.warn("Failed to compile expression: {}", getExpression(), e);
+      }
+    });
+  }
+}
@@ -44,7 +44,7 @@ public class ArithmeticBinaryTerm implements Term {
     if (leftObject == null || rightObject == null) {
       return null;
     }
-    return arithmeticBinaryFunction.doFunction(left.getValue(context), right.getValue(context));
+    return arithmeticBinaryFunction.doFunction(leftObject, rightObject);
   }
 
   @Override
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.interpreter.terms;
+
+import io.confluent.ksql.execution.codegen.helpers.InListEvaluator;
+import io.confluent.ksql.execution.interpreter.TermEvaluationContext;
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.util.Objects;
+
+/**
+ * An IN predicate with a constant list, compiled once when the term is created.
+ */
+public class CompiledInPredicateTerm implements Term {
+
+  private final Term value;
+  private final InListEvaluator.Matcher matcher;
+
+  public CompiledInPredicateTerm(final Term value, final InListEvaluator.Matcher matcher) {
+    this.value = Objects.requireNonNull(value, "value");
+    this.matcher = Objects.requireNonNull(matcher, "matcher");
+  }
+
+  @Override
+  public Object getValue(final TermEvaluationContext context) {
+    return matcher.matches(value.getValue(context));
+  }
+
+  @Override
+  public SqlType getSqlType() {
+    return SqlTypes.BOOLEAN;
+  }
+}
@@ -17,6 +17,10 @@ package io.confluent.ksql.execution.interpreter.terms;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.execution.interpreter.TermEvaluationContext;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.BooleanTerm;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.DoubleTerm;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.IntegerTerm;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.LongTerm;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.math.BigDecimal;
@@ -81,6 +85,53 @@ public final class LiteralTerms {
     return new NullTerm();
   }
 
+  /**
+   * Creates a term for a constant value of the given type, e.g. the result of folding a constant
+   * expression.
+   * @param value The non-null value
+   * @param sqlType The type of the value
+   * @return The resulting term
+   */
+  public static Term constant(final Object value, final SqlType sqlType) {
+    switch (sqlType.baseType()) {
+      case BOOLEAN:
+        return of((Boolean) value);
+      case INTEGER:
+        return of((Integer) value);
+      case BIGINT:
+        return of((Long) value);
+      case DOUBLE:
+        return of((Double) value);
+      case STRING:
+        return of((String) value);
+      case DECIMAL:
+        return of((BigDecimal) value, sqlType);
+      case TIMESTAMP:
+        return of((Timestamp) value);
+      case TIME:
+        return of((Time) value);
+      case DATE:
+        return of((Date) value);
+      default:
+        return new ConstantTermImpl(value, sqlType);
+    }
+  }
+
+  /**
+   * Checks whether a term is a literal, i.e. has the same value for every row.
+   * @param term The term
+   * @return whether the term is a literal
+   */
+  public static boolean isLiteral(final Term term) {
+    return term instanceof LiteralTerm;
+  }
+
+  /**
+   * Marks terms for literal values.
+   */
+  public interface LiteralTerm extends Term {
+  }
+
   public static class NullTerm implements Term {
 
     public NullTerm() {
@@ -97,7 +148,7 @@ public final class LiteralTerms {
     }
   }
 
-  public static class BooleanTermImpl implements Term {
+  public static class BooleanTermImpl implements LiteralTerm, BooleanTerm {
 
     private final Boolean value;
 
@@ -110,6 +161,16 @@ public final class LiteralTerms {
       return value;
     }
 
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return value == null;
+    }
+
+    @Override
+    public boolean getBoolean(final TermEvaluationContext context) {
+      return value;
+    }
+
     @Override
     public SqlType getSqlType() {
       return SqlTypes.BOOLEAN;
@@ -117,7 +178,7 @@ public final class LiteralTerms {
   }
 
 
-  public static class DoubleTermImpl implements Term {
+  public static class DoubleTermImpl implements LiteralTerm, DoubleTerm {
 
     private final Double value;
 
@@ -130,13 +191,23 @@ public final class LiteralTerms {
       return value;
     }
 
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return value == null;
+    }
+
+    @Override
+    public double getDouble(final TermEvaluationContext context) {
+      return value;
+    }
+
     @Override
     public SqlType getSqlType() {
       return SqlTypes.DOUBLE;
     }
   }
 
-  public static class IntegerTermImpl implements Term {
+  public static class IntegerTermImpl implements LiteralTerm, IntegerTerm {
 
     private final Integer value;
 
@@ -149,13 +220,23 @@ public final class LiteralTerms {
       return value;
     }
 
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return value == null;
+    }
+
+    @Override
+    public int getInt(final TermEvaluationContext context) {
+      return value;
+    }
+
     @Override
     public SqlType getSqlType() {
       return SqlTypes.INTEGER;
     }
   }
 
-  public static class LongTermImpl implements Term {
+  public static class LongTermImpl implements LiteralTerm, LongTerm {
 
     private final Long value;
 
@@ -168,13 +249,23 @@ public final class LiteralTerms {
       return value;
     }
 
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return value == null;
+    }
+
+    @Override
+    public long getLong(final TermEvaluationContext context) {
+      return value;
+    }
+
     @Override
     public SqlType getSqlType() {
       return SqlTypes.BIGINT;
     }
   }
 
-  public static class StringTermImpl implements Term {
+  public static class StringTermImpl implements LiteralTerm {
 
     private final String value;
 
@@ -193,7 +284,7 @@ public final class LiteralTerms {
     }
   }
 
-  public static class DecimalTermImpl implements Term {
+  public static class DecimalTermImpl implements LiteralTerm {
 
     private final BigDecimal value;
     private final SqlType sqlType;
@@ -216,7 +307,7 @@ public final class LiteralTerms {
     }
   }
 
-  public static class TimestampTermImpl implements Term {
+  public static class TimestampTermImpl implements LiteralTerm {
 
     private final long timeMs;
 
@@ -235,7 +326,7 @@ public final class LiteralTerms {
     }
   }
 
-  public static class TimeTermImpl implements Term {
+  public static class TimeTermImpl implements LiteralTerm {
 
     private final long timeMs;
 
@@ -254,7 +345,7 @@ public final class LiteralTerms {
     }
   }
 
-  public static class DateTermImpl implements Term {
+  public static class DateTermImpl implements LiteralTerm {
 
     private final long dateMs;
 
@@ -273,7 +364,7 @@ public final class LiteralTerms {
     }
   }
 
-  public static class BytesTermImpl implements Term {
+  public static class BytesTermImpl implements LiteralTerm {
 
     private final ByteBuffer value;
 
@@ -294,7 +385,7 @@ public final class LiteralTerms {
     }
   }
 
-  public static class IntervalUnitTermImpl implements Term {
+  public static class IntervalUnitTermImpl implements LiteralTerm {
 
     private final TimeUnit value;
 
@@ -312,4 +403,25 @@ public final class LiteralTerms {
       return null;
     }
   }
+
+  public static class ConstantTermImpl implements LiteralTerm {
+
+    private final Object value;
+    private final SqlType sqlType;
+
+    public ConstantTermImpl(final Object value, final SqlType sqlType) {
+      this.value = value;
+      this.sqlType = sqlType;
+    }
+
+    @Override
+    public Object getValue(final TermEvaluationContext context) {
+      return value;
+    }
+
+    @Override
+    public SqlType getSqlType() {
+      return sqlType;
+    }
+  }
 }
@@ -17,6 +17,7 @@ package io.confluent.ksql.execution.interpreter.terms;
 
 import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
 import io.confluent.ksql.execution.interpreter.TermEvaluationContext;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.BooleanTerm;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.util.KsqlException;
@@ -27,7 +28,7 @@ public final class LogicalBinaryTerms {
 
   }
 
-  public static class AndTerm implements Term {
+  public static class AndTerm implements BooleanTerm {
     private final Term left;
     private final Term right;
 
@@ -38,7 +39,18 @@ public final class LogicalBinaryTerms {
 
     @Override
     public Object getValue(final TermEvaluationContext context) {
-      return (Boolean) left.getValue(context) && (Boolean) right.getValue(context);
+      return getBoolean(context);
+    }
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return false;
+    }
+
+    @Override
+    public boolean getBoolean(final TermEvaluationContext context) {
+      return PrimitiveTerms.getBoolean(left, context)
+          && PrimitiveTerms.getBoolean(right, context);
     }
 
     @Override
@@ -47,7 +59,7 @@ public final class LogicalBinaryTerms {
     }
   }
 
-  public static class OrTerm implements Term {
+  public static class OrTerm implements BooleanTerm {
     private final Term left;
     private final Term right;
 
@@ -58,7 +70,18 @@ public final class LogicalBinaryTerms {
 
     @Override
     public Object getValue(final TermEvaluationContext context) {
-      return (Boolean) left.getValue(context) || (Boolean) right.getValue(context);
+      return getBoolean(context);
+    }
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return false;
+    }
+
+    @Override
+    public boolean getBoolean(final TermEvaluationContext context) {
+      return PrimitiveTerms.getBoolean(left, context)
+          || PrimitiveTerms.getBoolean(right, context);
     }
 
     @Override
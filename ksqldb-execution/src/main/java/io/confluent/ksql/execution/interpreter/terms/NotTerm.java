@@ -16,10 +16,11 @@
 package io.confluent.ksql.execution.interpreter.terms;
 
 import io.confluent.ksql.execution.interpreter.TermEvaluationContext;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.BooleanTerm;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 
-public class NotTerm implements Term {
+public class NotTerm implements BooleanTerm {
 
   private final Term term;
 
@@ -29,7 +30,17 @@ public class NotTerm implements Term {
 
   @Override
   public Object getValue(final TermEvaluationContext context) {
-    return !((Boolean) term.getValue(context));
+    return getBoolean(context);
+  }
+
+  @Override
+  public boolean isNull(final TermEvaluationContext context) {
+    return false;
+  }
+
+  @Override
+  public boolean getBoolean(final TermEvaluationContext context) {
+    return !PrimitiveTerms.getBoolean(term, context);
   }
 
   @Override
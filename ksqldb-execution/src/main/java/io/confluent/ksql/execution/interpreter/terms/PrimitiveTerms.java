@@ -0,0 +1,588 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.interpreter.terms;
+
+import io.confluent.ksql.execution.interpreter.TermEvaluationContext;
+import io.confluent.ksql.execution.interpreter.terms.CastTerm.CastFunction;
+import io.confluent.ksql.execution.interpreter.terms.ComparisonTerm.ComparisonCheckFunction;
+import io.confluent.ksql.schema.ksql.types.SqlType;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.util.Optional;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Terms of INTEGER, BIGINT, DOUBLE and BOOLEAN type which can be evaluated without boxing
+ * intermediate values.
+ *
+ * <p>A primitive term is only asked for its value once {@link PrimitiveTerm#isNull} has returned
+ * false. Whether a primitive term is null depends only on whether its inputs are null, which makes
+ * the check cheap. Primitive terms are therefore only built over inputs that are themselves
+ * primitive, i.e. columns, literals, and other primitive terms. Anything else, e.g. a function
+ * call, would have to be evaluated twice.
+ */
+public final class PrimitiveTerms {
+
+  private PrimitiveTerms() {
+
+  }
+
+  public interface PrimitiveTerm extends Term {
+
+    /**
+     * @param context The context for evaluating the term
+     * @return whether the term evaluates to null
+     */
+    boolean isNull(TermEvaluationContext context);
+  }
+
+  public interface IntegerTerm extends PrimitiveTerm {
+
+    int getInt(TermEvaluationContext context);
+
+    @Override
+    default Object getValue(final TermEvaluationContext context) {
+      return isNull(context) ? null : getInt(context);
+    }
+  }
+
+  public interface LongTerm extends PrimitiveTerm {
+
+    long getLong(TermEvaluationContext context);
+
+    @Override
+    default Object getValue(final TermEvaluationContext context) {
+      return isNull(context) ? null : getLong(context);
+    }
+  }
+
+  public interface DoubleTerm extends PrimitiveTerm {
+
+    double getDouble(TermEvaluationContext context);
+
+    @Override
+    default Object getValue(final TermEvaluationContext context) {
+      return isNull(context) ? null : getDouble(context);
+    }
+  }
+
+  public interface BooleanTerm extends PrimitiveTerm {
+
+    boolean getBoolean(TermEvaluationContext context);
+
+    @Override
+    default Object getValue(final TermEvaluationContext context) {
+      return isNull(context) ? null : getBoolean(context);
+    }
+  }
+
+  /**
+   * Evaluates a boolean term, without boxing if the term is a {@link BooleanTerm}.
+   * @param term The boolean term
+   * @param context The context for evaluating the term
+   * @return the value of the term
+   */
+  public static boolean getBoolean(final Term term, final TermEvaluationContext context) {
+    if (term instanceof BooleanTerm) {
+      return ((BooleanTerm) term).getBoolean(context);
+    }
+    return (Boolean) term.getValue(context);
+  }
+
+  /**
+   * Creates a term which reads a column of the row, as a primitive term if the column has a
+   * primitive type.
+   * @param rowIndex The index of the column
+   * @param sqlType The type of the column
+   * @return The resulting term
+   */
+  public static ColumnReferenceTerm columnReference(final int rowIndex, final SqlType sqlType) {
+    switch (sqlType.baseType()) {
+      case INTEGER:
+        return new IntegerColumnTerm(rowIndex, sqlType);
+      case BIGINT:
+        return new LongColumnTerm(rowIndex, sqlType);
+      case DOUBLE:
+        return new DoubleColumnTerm(rowIndex, sqlType);
+      case BOOLEAN:
+        return new BooleanColumnTerm(rowIndex, sqlType);
+      default:
+        return new ColumnReferenceTerm(rowIndex, sqlType);
+    }
+  }
+
+  /**
+   * Views an INTEGER or BIGINT primitive term as a BIGINT one.
+   * @param term The term
+   * @return The term as a {@link LongTerm}, or empty if the term isn't one of these types
+   */
+  public static Optional<LongTerm> asLong(final Term term) {
+    if (term instanceof LongTerm) {
+      return Optional.of((LongTerm) term);
+    }
+    if (term instanceof IntegerTerm) {
+      final IntegerTerm integerTerm = (IntegerTerm) term;
+      return Optional.of(new LongTerm() {
+        @Override
+        public long getLong(final TermEvaluationContext context) {
+          return integerTerm.getInt(context);
+        }
+
+        @Override
+        public boolean isNull(final TermEvaluationContext context) {
+          return integerTerm.isNull(context);
+        }
+
+        @Override
+        public SqlType getSqlType() {
+          return SqlTypes.BIGINT;
+        }
+      });
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Views an INTEGER, BIGINT or DOUBLE primitive term as a DOUBLE one.
+   * @param term The term
+   * @return The term as a {@link DoubleTerm}, or empty if the term isn't one of these types
+   */
+  public static Optional<DoubleTerm> asDouble(final Term term) {
+    if (term instanceof DoubleTerm) {
+      return Optional.of((DoubleTerm) term);
+    }
+    return asLong(term).map(longTerm -> new DoubleTerm() {
+      @Override
+      public double getDouble(final TermEvaluationContext context) {
+        return longTerm.getLong(context);
+      }
+
+      @Override
+      public boolean isNull(final TermEvaluationContext context) {
+        return longTerm.isNull(context);
+      }
+
+      @Override
+      public SqlType getSqlType() {
+        return SqlTypes.DOUBLE;
+      }
+    });
+  }
+
+  /**
+   * Creates a primitive cast between INTEGER, BIGINT and DOUBLE, if the term is a primitive term
+   * of one of these types.
+   * @param term The term to cast
+   * @param sqlType The type to cast to
+   * @param castFunction The function casting boxed values
+   * @return The cast term, or empty if the cast can't be done on primitives
+   */
+  public static Optional<CastTerm> cast(
+      final Term term,
+      final SqlType sqlType,
+      final CastFunction castFunction
+  ) {
+    if (!(term instanceof PrimitiveTerm)) {
+      return Optional.empty();
+    }
+    final PrimitiveTerm source = (PrimitiveTerm) term;
+
+    switch (sqlType.baseType()) {
+      case INTEGER:
+        return toInt(term).map(value ->
+            new IntegerCastTerm(source, sqlType, castFunction, value));
+      case BIGINT:
+        return toLong(term).map(value ->
+            new LongCastTerm(source, sqlType, castFunction, value));
+      case DOUBLE:
+        return toDouble(term).map(value ->
+            new DoubleCastTerm(source, sqlType, castFunction, value));
+      default:
+        return Optional.empty();
+    }
+  }
+
+  private static Optional<ToIntFunction<TermEvaluationContext>> toInt(final Term term) {
+    if (term instanceof IntegerTerm) {
+      return Optional.of(((IntegerTerm) term)::getInt);
+    } else if (term instanceof LongTerm) {
+      final LongTerm longTerm = (LongTerm) term;
+      return Optional.of(context -> (int) longTerm.getLong(context));
+    } else if (term instanceof DoubleTerm) {
+      final DoubleTerm doubleTerm = (DoubleTerm) term;
+      return Optional.of(context -> (int) doubleTerm.getDouble(context));
+    }
+    return Optional.empty();
+  }
+
+  private static Optional<ToLongFunction<TermEvaluationContext>> toLong(final Term term) {
+    if (term instanceof DoubleTerm) {
+      final DoubleTerm doubleTerm = (DoubleTerm) term;
+      return Optional.of(context -> (long) doubleTerm.getDouble(context));
+    }
+    return asLong(term).map(longTerm -> longTerm::getLong);
+  }
+
+  private static Optional<ToDoubleFunction<TermEvaluationContext>> toDouble(final Term term) {
+    return asDouble(term).map(doubleTerm -> doubleTerm::getDouble);
+  }
+
+  public static final class IntegerArithmeticTerm implements IntegerTerm {
+
+    private final IntegerTerm left;
+    private final IntegerTerm right;
+    private final IntBinaryOperator operator;
+    private final SqlType resultType;
+
+    public IntegerArithmeticTerm(
+        final IntegerTerm left,
+        final IntegerTerm right,
+        final IntBinaryOperator operator,
+        final SqlType resultType
+    ) {
+      this.left = left;
+      this.right = right;
+      this.operator = operator;
+      this.resultType = resultType;
+    }
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return left.isNull(context) || right.isNull(context);
+    }
+
+    @Override
+    public int getInt(final TermEvaluationContext context) {
+      return operator.applyAsInt(left.getInt(context), right.getInt(context));
+    }
+
+    @Override
+    public SqlType getSqlType() {
+      return resultType;
+    }
+  }
+
+  public static final class LongArithmeticTerm implements LongTerm {
+
+    private final LongTerm left;
+    private final LongTerm right;
+    private final LongBinaryOperator operator;
+    private final SqlType resultType;
+
+    public LongArithmeticTerm(
+        final LongTerm left,
+        final LongTerm right,
+        final LongBinaryOperator operator,
+        final SqlType resultType
+    ) {
+      this.left = left;
+      this.right = right;
+      this.operator = operator;
+      this.resultType = resultType;
+    }
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return left.isNull(context) || right.isNull(context);
+    }
+
+    @Override
+    public long getLong(final TermEvaluationContext context) {
+      return operator.applyAsLong(left.getLong(context), right.getLong(context));
+    }
+
+    @Override
+    public SqlType getSqlType() {
+      return resultType;
+    }
+  }
+
+  public static final class DoubleArithmeticTerm implements DoubleTerm {
+
+    private final DoubleTerm left;
+    private final DoubleTerm right;
+    private final DoubleBinaryOperator operator;
+    private final SqlType resultType;
+
+    public DoubleArithmeticTerm(
+        final DoubleTerm left,
+        final DoubleTerm right,
+        final DoubleBinaryOperator operator,
+        final SqlType resultType
+    ) {
+      this.left = left;
+      this.right = right;
+      this.operator = operator;
+      this.resultType = resultType;
+    }
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return left.isNull(context) || right.isNull(context);
+    }
+
+    @Override
+    public double getDouble(final TermEvaluationContext context) {
+      return operator.applyAsDouble(left.getDouble(context), right.getDouble(context));
+    }
+
+    @Override
+    public SqlType getSqlType() {
+      return resultType;
+    }
+  }
+
+  /**
+   * A comparison of two primitive terms. As for other comparisons, comparing with null is false,
+   * unless the comparison is {@code IS DISTINCT FROM}.
+   */
+  public abstract static class PrimitiveComparisonTerm implements BooleanTerm {
+
+    private final PrimitiveTerm left;
+    private final PrimitiveTerm right;
+    private final boolean distinctFrom;
+    private final ComparisonCheckFunction comparisonCheckFunction;
+
+    PrimitiveComparisonTerm(
+        final PrimitiveTerm left,
+        final PrimitiveTerm right,
+        final boolean distinctFrom,
+        final ComparisonCheckFunction comparisonCheckFunction
+    ) {
+      this.left = left;
+      this.right = right;
+      this.distinctFrom = distinctFrom;
+      this.comparisonCheckFunction = comparisonCheckFunction;
+    }
+
+    public static PrimitiveComparisonTerm ofInts(
+        final IntegerTerm left,
+        final IntegerTerm right,
+        final boolean distinctFrom,
+        final ComparisonCheckFunction comparisonCheckFunction
+    ) {
+      return new PrimitiveComparisonTerm(left, right, distinctFrom, comparisonCheckFunction) {
+        @Override
+        int compareTo(final TermEvaluationContext context) {
+          return Integer.compare(left.getInt(context), right.getInt(context));
+        }
+      };
+    }
+
+    public static PrimitiveComparisonTerm ofLongs(
+        final LongTerm left,
+        final LongTerm right,
+        final boolean distinctFrom,
+        final ComparisonCheckFunction comparisonCheckFunction
+    ) {
+      return new PrimitiveComparisonTerm(left, right, distinctFrom, comparisonCheckFunction) {
+        @Override
+        int compareTo(final TermEvaluationContext context) {
+          return Long.compare(left.getLong(context), right.getLong(context));
+        }
+      };
+    }
+
+    public static PrimitiveComparisonTerm ofDoubles(
+        final DoubleTerm left,
+        final DoubleTerm right,
+        final boolean distinctFrom,
+        final ComparisonCheckFunction comparisonCheckFunction
+    ) {
+      return new PrimitiveComparisonTerm(left, right, distinctFrom, comparisonCheckFunction) {
+        @Override
+        int compareTo(final TermEvaluationContext context) {
+          return Double.compare(left.getDouble(context), right.getDouble(context));
+        }
+      };
+    }
+
+    abstract int compareTo(TermEvaluationContext context);
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return false;
+    }
+
+    @Override
+    public boolean getBoolean(final TermEvaluationContext context) {
+      final boolean leftNull = left.isNull(context);
+      final boolean rightNull = right.isNull(context);
+      if (leftNull || rightNull) {
+        return distinctFrom && (leftNull ^ rightNull);
+      }
+      return comparisonCheckFunction.doCheck(compareTo(context));
+    }
+
+    @Override
+    public SqlType getSqlType() {
+      return SqlTypes.BOOLEAN;
+    }
+  }
+
+  private static final class IntegerColumnTerm extends ColumnReferenceTerm implements IntegerTerm {
+
+    IntegerColumnTerm(final int rowIndex, final SqlType sqlType) {
+      super(rowIndex, sqlType);
+    }
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return getValue(context) == null;
+    }
+
+    @Override
+    public int getInt(final TermEvaluationContext context) {
+      return (Integer) getValue(context);
+    }
+  }
+
+  private static final class LongColumnTerm extends ColumnReferenceTerm implements LongTerm {
+
+    LongColumnTerm(final int rowIndex, final SqlType sqlType) {
+      super(rowIndex, sqlType);
+    }
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return getValue(context) == null;
+    }
+
+    @Override
+    public long getLong(final TermEvaluationContext context) {
+      return (Long) getValue(context);
+    }
+  }
+
+  private static final class DoubleColumnTerm extends ColumnReferenceTerm implements DoubleTerm {
+
+    DoubleColumnTerm(final int rowIndex, final SqlType sqlType) {
+      super(rowIndex, sqlType);
+    }
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return getValue(context) == null;
+    }
+
+    @Override
+    public double getDouble(final TermEvaluationContext context) {
+      return (Double) getValue(context);
+    }
+  }
+
+  private static final class BooleanColumnTerm extends ColumnReferenceTerm implements BooleanTerm {
+
+    BooleanColumnTerm(final int rowIndex, final SqlType sqlType) {
+      super(rowIndex, sqlType);
+    }
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return getValue(context) == null;
+    }
+
+    @Override
+    public boolean getBoolean(final TermEvaluationContext context) {
+      return (Boolean) getValue(context);
+    }
+  }
+
+  private static final class IntegerCastTerm extends CastTerm implements IntegerTerm {
+
+    private final PrimitiveTerm source;
+    private final ToIntFunction<TermEvaluationContext> value;
+
+    IntegerCastTerm(
+        final PrimitiveTerm source,
+        final SqlType sqlType,
+        final CastFunction castFunction,
+        final ToIntFunction<TermEvaluationContext> value
+    ) {
+      super(source, sqlType, castFunction);
+      this.source = source;
+      this.value = value;
+    }
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return source.isNull(context);
+    }
+
+    @Override
+    public int getInt(final TermEvaluationContext context) {
+      return value.applyAsInt(context);
+    }
+  }
+
+  private static final class LongCastTerm extends CastTerm implements LongTerm {
+
+    private final PrimitiveTerm source;
+    private final ToLongFunction<TermEvaluationContext> value;
+
+    LongCastTerm(
+        final PrimitiveTerm source,
+        final SqlType sqlType,
+        final CastFunction castFunction,
+        final ToLongFunction<TermEvaluationContext> value
+    ) {
+      super(source, sqlType, castFunction);
+      this.source = source;
+      this.value = value;
+    }
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return source.isNull(context);
+    }
+
+    @Override
+    public long getLong(final TermEvaluationContext context) {
+      return value.applyAsLong(context);
+    }
+  }
+
+  private static final class DoubleCastTerm extends CastTerm implements DoubleTerm {
+
+    private final PrimitiveTerm source;
+    private final ToDoubleFunction<TermEvaluationContext> value;
+
+    DoubleCastTerm(
+        final PrimitiveTerm source,
+        final SqlType sqlType,
+        final CastFunction castFunction,
+        final ToDoubleFunction<TermEvaluationContext> value
+    ) {
+      super(source, sqlType, castFunction);
+      this.source = source;
+      this.value = value;
+    }
+
+    @Override
+    public boolean isNull(final TermEvaluationContext context) {
+      return source.isNull(context);
+    }
+
+    @Override
+    public double getDouble(final TermEvaluationContext context) {
+      return value.applyAsDouble(context);
+    }
+  }
+}
@@ -16,8 +16,6 @@
 package io.confluent.ksql.execution.interpreter.terms;
 
 import com.google.common.collect.ImmutableList;
-import io.confluent.ksql.execution.codegen.helpers.SearchedCaseFunction;
-import io.confluent.ksql.execution.codegen.helpers.SearchedCaseFunction.LazyWhenClause;
 import io.confluent.ksql.execution.interpreter.TermEvaluationContext;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.util.Pair;
@@ -41,14 +39,15 @@ public class SearchedCaseTerm implements Term {
 
   @Override
   public Object getValue(final TermEvaluationContext context) {
-    final List<LazyWhenClause<Object>> lazyWhenClause = operandResultTerms
-        .stream()
-        .map(pair -> SearchedCaseFunction.whenClause(
-            () -> (Boolean) pair.getLeft().getValue(context),
-            () -> pair.getRight().getValue(context)))
-        .collect(ImmutableList.toImmutableList());
-    return SearchedCaseFunction.searchedCaseFunction(lazyWhenClause,
-        () -> defaultValue.map(term -> term.getValue(context)).orElse(null));
+    // Indexed, rather than iterator, access avoids allocating per row:
+    for (int i = 0; i < operandResultTerms.size(); i++) {
+      final Pair<Term, Term> operandResult = operandResultTerms.get(i);
+      if ((Boolean) operandResult.getLeft().getValue(context)) {
+        return operandResult.getRight().getValue(context);
+      }
+    }
+
+    return defaultValue.isPresent() ? defaultValue.get().getValue(context) : null;
   }
 
   @Override
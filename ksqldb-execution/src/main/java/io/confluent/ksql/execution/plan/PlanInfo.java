@@ -32,6 +32,10 @@ import java.util.Set;
  * repartition topic rather than the source topic.
  * See https://github.com/confluentinc/ksql/issues/6650 and the use of
  * {@code PlanInfo} in {@code SourceBuilder} for more.
+ *
+ * <p>It also records whether any step of the plan requires the old values of the tables it
+ * consumes, e.g. to suppress them, in which case aggregations may not update aggregate rows
+ * in place.
  */
 public class PlanInfo {
 
@@ -42,6 +46,7 @@ public class PlanInfo {
    * If so, this tracks the single source node. Else, empty.
    */
   private final Optional<SourceInfo> activeSource;
+  private boolean oldValuesRequired;
 
   public PlanInfo(final ExecutionStep<?> sourceStep) {
     this.allSources = new Sources();
@@ -49,9 +54,10 @@ public class PlanInfo {
     this.activeSource = Optional.of(sourceInfo);
   }
 
-  private PlanInfo(final Sources sources) {
+  private PlanInfo(final Sources sources, final boolean oldValuesRequired) {
     this.allSources = sources;
     this.activeSource = Optional.empty();
+    this.oldValuesRequired = oldValuesRequired;
   }
 
   public boolean isRepartitionedInPlan(final ExecutionStep<?> sourceStep) {
@@ -67,8 +73,20 @@ public class PlanInfo {
     return this;
   }
 
+  public boolean isOldValuesRequiredInPlan() {
+    return oldValuesRequired;
+  }
+
+  public PlanInfo setIsOldValuesRequiredInPlan() {
+    oldValuesRequired = true;
+    return this;
+  }
+
   public PlanInfo merge(final PlanInfo other) {
-    return new PlanInfo(allSources.merge(other.allSources));
+    return new PlanInfo(
+        allSources.merge(other.allSources),
+        oldValuesRequired || other.oldValuesRequired
+    );
   }
 
   public Set<ExecutionStep<?>> getSources() {
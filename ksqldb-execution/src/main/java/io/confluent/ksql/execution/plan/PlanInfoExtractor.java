@@ -127,17 +127,17 @@ public class PlanInfoExtractor {
   }
 
   public <K> PlanInfo visitTableSuppress(final TableSuppress<K> tableSuppress) {
-    return visitSingleSourceStep(tableSuppress);
+    return visitSingleSourceStep(tableSuppress).setIsOldValuesRequiredInPlan();
   }
 
   public <K> PlanInfo visitTableTableJoin(final TableTableJoin<K> tableTableJoin) {
-    return visitJoinStep(tableTableJoin);
+    return visitJoinStep(tableTableJoin).setIsOldValuesRequiredInPlan();
   }
 
   public <KLeftT, KRightT> PlanInfo visitForeignKeyTableTableJoin(
       final ForeignKeyTableTableJoin<KLeftT, KRightT> foreignKeyTableTableJoin) {
 
-    return visitJoinStep(foreignKeyTableTableJoin);
+    return visitJoinStep(foreignKeyTableTableJoin).setIsOldValuesRequiredInPlan();
   }
 
   private PlanInfo visitSourceStep(final ExecutionStep<?> step) {
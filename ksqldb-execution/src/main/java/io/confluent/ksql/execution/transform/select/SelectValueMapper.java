@@ -19,12 +19,16 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.codegen.CompiledProjection;
+import io.confluent.ksql.execution.codegen.CompiledProjection.ColumnErrorHandler;
 import io.confluent.ksql.execution.transform.ExpressionEvaluator;
 import io.confluent.ksql.execution.transform.KsqlProcessingContext;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.logging.processing.RecordProcessingError;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.utils.FormatOptions;
+import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -32,9 +36,28 @@ import java.util.function.Supplier;
 public class SelectValueMapper<K> {
 
   private final ImmutableList<SelectInfo> selects;
+  private final ImmutableList<CompiledProjection> projections;
 
   SelectValueMapper(final List<SelectInfo> selects) {
+    this(selects, ImmutableList.of());
+  }
+
+  /**
+   * @param selects the select expressions.
+   * @param projections projections that, evaluated in order, evaluate all the {@code selects},
+   *                    or an empty list to evaluate the selects one at a time.
+   */
+  SelectValueMapper(
+      final List<SelectInfo> selects,
+      final List<CompiledProjection> projections
+  ) {
     this.selects = ImmutableList.copyOf(requireNonNull(selects, "selects"));
+    this.projections = ImmutableList.copyOf(requireNonNull(projections, "projections"));
+    if (!this.projections.isEmpty()
+        && this.projections.stream().mapToInt(CompiledProjection::size).sum()
+        != this.selects.size()) {
+      throw new IllegalArgumentException("projections do not match selects");
+    }
   }
 
   List<SelectInfo> getSelects() {
@@ -44,6 +67,9 @@ public class SelectValueMapper<K> {
   public KsqlTransformer<K, GenericRow> getTransformer(
       final ProcessingLogger processingLogger
   ) {
+    if (!projections.isEmpty()) {
+      return new ProjectionMapper<>(selects, projections, processingLogger);
+    }
     return new SelectMapper<>(selects, processingLogger);
   }
 
@@ -131,4 +157,63 @@ public class SelectValueMapper<K> {
       return select.evaluator.evaluate(row, null, processingLogger, errorMsgSupplier);
     }
   }
+
+  private static final class ProjectionMapper<K> implements KsqlTransformer<K, GenericRow> {
+
+    private final ImmutableList<SelectInfo> selects;
+    private final ImmutableList<CompiledProjection> projections;
+    private final ImmutableList<ColumnErrorHandler> errorHandlers;
+    private final ProcessingLogger processingLogger;
+
+    private ProjectionMapper(
+        final ImmutableList<SelectInfo> selects,
+        final ImmutableList<CompiledProjection> projections,
+        final ProcessingLogger processingLogger
+    ) {
+      this.selects = requireNonNull(selects, "selects");
+      this.projections = requireNonNull(projections, "projections");
+      this.processingLogger = requireNonNull(processingLogger, "processingLogger");
+
+      // Projections report errors by their own column index:
+      final ImmutableList.Builder<ColumnErrorHandler> handlers = ImmutableList.builder();
+      int offset = 0;
+      for (final CompiledProjection projection : projections) {
+        final int first = offset;
+        handlers.add((index, e, row) -> onError(first + index, e, row));
+        offset += projection.size();
+      }
+      this.errorHandlers = handlers.build();
+    }
+
+    @Override
+    public GenericRow transform(
+        final K readOnlyKey,
+        final GenericRow value,
+        final KsqlProcessingContext ctx
+    ) {
+      if (value == null) {
+        return null;
+      }
+
+      final GenericRow row = new GenericRow(selects.size());
+      for (int i = 0; i < projections.size(); i++) {
+        projections.get(i).evaluate(value, row, null, processingLogger, errorHandlers.get(i));
+      }
+      return row;
+    }
+
+    private void onError(final int index, final Exception e, final GenericRow row) {
+      final SelectInfo select = selects.get(index);
+
+      final String errorMsg = "Error computing expression " + select.evaluator.getExpression()
+          + " for column " + select.fieldName.toString(FormatOptions.noEscape())
+          + " with index " + index;
+
+      final Throwable cause = e instanceof InvocationTargetException
+          ? e.getCause()
+          : e;
+
+      processingLogger.error(RecordProcessingError.recordProcessingError(errorMsg, cause, row));
+    }
+  }
 }
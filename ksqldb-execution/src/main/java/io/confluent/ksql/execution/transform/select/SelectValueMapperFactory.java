@@ -18,9 +18,13 @@ package io.confluent.ksql.execution.transform.select;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import io.confluent.ksql.execution.codegen.CodeGenRunner;
-import io.confluent.ksql.execution.codegen.CompiledExpression;
+import io.confluent.ksql.execution.codegen.CompiledProjection;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.interpreter.TieredExpression;
 import io.confluent.ksql.execution.plan.SelectExpression;
 import io.confluent.ksql.execution.transform.ExpressionEvaluator;
 import io.confluent.ksql.execution.transform.select.SelectValueMapper.SelectInfo;
@@ -29,12 +33,19 @@ import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.util.KsqlConfig;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.codehaus.commons.compiler.CompileException;
+import org.codehaus.janino.InternalCompilerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Factor class for {@link SelectValueMapper}.
  */
 public final class SelectValueMapperFactory {
+  private static final Logger LOG = LoggerFactory.getLogger(SelectValueMapperFactory.class);
   private static final String EXP_TYPE = "Select";
+  @VisibleForTesting
+  static final int MAX_PROJECTION_SIZE = 100;
 
   private final CodeGenRunner codeGenerator;
 
@@ -64,32 +75,65 @@ public final class SelectValueMapperFactory {
       final KsqlConfig ksqlConfig,
       final FunctionRegistry functionRegistry
   ) {
+    if (ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_TIERED_COMPILATION_ENABLED)) {
+      // Tiered expressions are compiled one at a time, once hot, rather than as one projection:
+      return create(selectExpressions, selectExpressions.stream()
+          .map(exp -> TieredExpression.create(
+              exp.getExpression(), EXP_TYPE, sourceSchema, ksqlConfig, functionRegistry))
+          .collect(Collectors.toList()));
+    }
+
     final CodeGenRunner codeGen = new CodeGenRunner(sourceSchema, ksqlConfig, functionRegistry);
 
     return new SelectValueMapperFactory(codeGen).create(selectExpressions);
   }
 
+  /**
+   * Build a mapper that evaluates the select expressions as projections of at most
+   * {@link #MAX_PROJECTION_SIZE} columns each. Very wide selects are split because all the
+   * columns of a projection are compiled into a single method, which the JVM limits to 64KB of
+   * bytecode. If Janino still can't compile a projection, e.g. because its method grows beyond
+   * that limit, the expressions are compiled one at a time. Any other error is rethrown.
+   */
   @VisibleForTesting
   <K> SelectValueMapper<K> create(
       final List<SelectExpression> selectExpressions
   ) {
-    return new SelectValueMapper<>(buildSelects(selectExpressions));
-  }
+    final List<Expression> expressions = selectExpressions.stream()
+        .map(SelectExpression::getExpression)
+        .collect(Collectors.toList());
 
-  private SelectInfo buildSelect(final SelectExpression selectExpression) {
-    final CompiledExpression evaluator = codeGenerator
-        .buildCodeGenFromParseTree(selectExpression.getExpression(), EXP_TYPE);
+    final List<CompiledProjection> projections;
+    try {
+      projections = Lists.partition(expressions, MAX_PROJECTION_SIZE).stream()
+          .map(chunk -> codeGenerator.buildProjectionFromParseTrees(chunk, EXP_TYPE))
+          .collect(Collectors.toList());
+    } catch (final RuntimeException e) {
+      if (!isCompilationFailure(e)) {
+        throw e;
+      }
+
+      LOG.info("Failed to compile select expressions as a projection. "
+          + "Falling back to compiling each expression separately: {}", e.getMessage());
+
+      return create(selectExpressions, expressions.stream()
+          .map(exp -> codeGenerator.buildCodeGenFromParseTree(exp, EXP_TYPE))
+          .collect(Collectors.toList()));
+    }
 
-    return SelectInfo.of(
-        selectExpression.getAlias(),
-        evaluator
-    );
+    final ImmutableList.Builder<SelectInfo> selects = ImmutableList.builder();
+    for (int i = 0; i < selectExpressions.size(); i++) {
+      final CompiledProjection projection = projections.get(i / MAX_PROJECTION_SIZE);
+      selects.add(SelectInfo.of(
+          selectExpressions.get(i).getAlias(), projection.column(i % MAX_PROJECTION_SIZE)));
+    }
+
+    return new SelectValueMapper<>(selects.build(), projections);
   }
 
-  private List<SelectInfo> buildSelects(final List<SelectExpression> selectExpressions) {
-    return selectExpressions.stream()
-        .map(this::buildSelect)
-        .collect(Collectors.toList());
+  private static boolean isCompilationFailure(final RuntimeException e) {
+    return Throwables.getCausalChain(e).stream()
+        .anyMatch(t -> t instanceof InternalCompilerException || t instanceof CompileException);
   }
 
   private static List<SelectInfo> buildSelects(
@@ -18,8 +18,8 @@ package io.confluent.ksql.execution.transform.sqlpredicate;
 import static java.util.Objects.requireNonNull;
 
 import io.confluent.ksql.GenericRow;
-import io.confluent.ksql.execution.codegen.CodeGenRunner;
 import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.interpreter.TieredExpression;
 import io.confluent.ksql.execution.transform.ExpressionEvaluator;
 import io.confluent.ksql.execution.transform.KsqlProcessingContext;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
@@ -43,7 +43,7 @@ public final class SqlPredicate {
   ) {
     this(
         filterExpression,
-        CodeGenRunner.compileExpression(
+        TieredExpression.create(
             filterExpression,
             "Predicate",
             schema,
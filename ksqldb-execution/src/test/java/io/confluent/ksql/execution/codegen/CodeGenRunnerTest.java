@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+import org.codehaus.commons.compiler.CompileException;
+import org.codehaus.commons.compiler.IExpressionEvaluator;
+import org.junit.Test;
+
+public class CodeGenRunnerTest {
+
+  private static final String[] ARG_NAMES = {"var0"};
+  private static final Class<?>[] ARG_TYPES = {Integer.class};
+
+  @Test
+  public void shouldShareCookedCode() throws Exception {
+    // Given:
+    final IExpressionEvaluator first =
+        CodeGenRunner.cook("var0 + 1", Integer.class, ARG_NAMES, ARG_TYPES);
+
+    // When:
+    final IExpressionEvaluator second =
+        CodeGenRunner.cook("var0 + 1", Integer.class, ARG_NAMES, ARG_TYPES);
+
+    // Then:
+    assertThat(second, is(sameInstance(first)));
+  }
+
+  @Test
+  public void shouldNotShareCookedCodeWithDifferentParameters() throws Exception {
+    // Given:
+    final IExpressionEvaluator first =
+        CodeGenRunner.cook("var0 + 2", Integer.class, ARG_NAMES, ARG_TYPES);
+
+    // When:
+    final IExpressionEvaluator second = CodeGenRunner
+        .cook("var0 + 2", Integer.class, ARG_NAMES, new Class<?>[]{Long.class});
+
+    // Then:
+    assertThat(second, is(not(sameInstance(first))));
+  }
+
+  @Test
+  public void shouldThrowCompileExceptionForInvalidCode() {
+    // When:
+    assertThrows(
+        CompileException.class,
+        () -> CodeGenRunner.cook("var0 +", Integer.class, ARG_NAMES, ARG_TYPES)
+    );
+  }
+}
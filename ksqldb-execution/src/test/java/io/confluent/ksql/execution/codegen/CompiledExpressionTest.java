@@ -2,10 +2,17 @@ package io.confluent.ksql.execution.codegen;
 
 import static io.confluent.ksql.GenericRow.genericRow;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -19,6 +26,9 @@ import io.confluent.ksql.name.FunctionName;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
@@ -29,6 +39,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
 
 public class CompiledExpressionTest {
 
@@ -47,6 +58,9 @@ public class CompiledExpressionTest {
   @Mock
   private Supplier<String> errorMsgSupplier;
   private CompiledExpression compiledExpression;
+  // The frame is cleared after each evaluation, so capture its contents at call time:
+  private final List<Object[]> frames = new CopyOnWriteArrayList<>();
+  private final List<Object[]> frameInstances = new CopyOnWriteArrayList<>();
 
   @Rule
   public final MockitoRule mockitoRule = MockitoJUnit.rule();
@@ -54,7 +68,7 @@ public class CompiledExpressionTest {
 
   @Before
   public void setup() throws Exception {
-    when(expressionEvaluator.evaluate(any())).thenReturn(RETURN_VALUE);
+    when(expressionEvaluator.evaluate(any())).thenAnswer(recordFrame(RETURN_VALUE));
     when(errorMsgSupplier.get()).thenReturn("It went wrong!");
 
     spec = new CodeGenSpec.Builder();
@@ -86,7 +100,8 @@ public class CompiledExpressionTest {
 
     // Then:
     assertThat(result, equalTo(RETURN_VALUE));
-    verify(expressionEvaluator).evaluate(new Object[]{123, 456, DEFAULT_VAL, processingLogger, genericRow(123, 456)});
+    assertThat(frames, contains(
+        equalTo(new Object[]{123, 456, DEFAULT_VAL, processingLogger, genericRow(123, 456)})));
   }
 
   @Test
@@ -115,7 +130,89 @@ public class CompiledExpressionTest {
 
     // Then:
     assertThat(result, equalTo(RETURN_VALUE));
-    verify(expressionEvaluator).evaluate(new Object[]{udf, 123, DEFAULT_VAL, processingLogger, genericRow(123)});
+    assertThat(frames, contains(
+        equalTo(new Object[]{udf, 123, DEFAULT_VAL, processingLogger, genericRow(123)})));
+  }
+
+  @Test
+  public void shouldReuseArgumentFrameOnSameThread() throws Exception {
+    // Given:
+    spec.addParameter(
+        ColumnName.of("foo1"),
+        Integer.class,
+        0
+    );
+    compiledExpression = new CompiledExpression(
+        expressionEvaluator,
+        spec.build(),
+        EXPRESSION_TYPE,
+        expression
+    );
+
+    // When:
+    compiledExpression
+        .evaluate(genericRow(123), DEFAULT_VAL, processingLogger, errorMsgSupplier);
+    compiledExpression
+        .evaluate(genericRow(456), DEFAULT_VAL, processingLogger, errorMsgSupplier);
+
+    // Then:
+    assertThat(frameInstances.get(0), is(sameInstance(frameInstances.get(1))));
+    assertThat(frames, contains(
+        equalTo(new Object[]{123, DEFAULT_VAL, processingLogger, genericRow(123)}),
+        equalTo(new Object[]{456, DEFAULT_VAL, processingLogger, genericRow(456)})));
+  }
+
+  @Test
+  public void shouldClearArgumentFrameAfterEvaluation() throws Exception {
+    // Given:
+    spec.addParameter(
+        ColumnName.of("foo1"),
+        Integer.class,
+        0
+    );
+    compiledExpression = new CompiledExpression(
+        expressionEvaluator,
+        spec.build(),
+        EXPRESSION_TYPE,
+        expression
+    );
+
+    // When:
+    compiledExpression
+        .evaluate(genericRow(123), DEFAULT_VAL, processingLogger, errorMsgSupplier);
+
+    // Then:
+    final Object[] frame = frameInstances.get(0);
+    assertThat(frame, is(arrayWithSize(4)));
+    assertThat(Arrays.asList(frame), everyItem(is(nullValue())));
+  }
+
+  @Test
+  public void shouldClearArgumentFrameIfEvalThrows() throws Exception {
+    // Given:
+    spec.addParameter(
+        ColumnName.of("foo1"),
+        Integer.class,
+        0
+    );
+    compiledExpression = new CompiledExpression(
+        expressionEvaluator,
+        spec.build(),
+        EXPRESSION_TYPE,
+        expression
+    );
+
+    doAnswer(invocation -> {
+      frameInstances.add(invocation.getArgument(0));
+      throw new InvocationTargetException(new RuntimeException("Boom"));
+    }).when(expressionEvaluator).evaluate(any());
+
+    // When:
+    compiledExpression
+        .evaluate(genericRow(123), DEFAULT_VAL, processingLogger, errorMsgSupplier);
+
+    // Then:
+    assertThat(Arrays.asList(frameInstances.get(0)), everyItem(is(nullValue())));
   }
 
   @Test
@@ -135,13 +232,15 @@ public class CompiledExpressionTest {
     final CountDownLatch threadLatch = new CountDownLatch(1);
     final CountDownLatch mainLatch = new CountDownLatch(1);
 
-    when(expressionEvaluator.evaluate(new Object[]{123, 456, DEFAULT_VAL, processingLogger, genericRow(123, 456)}))
-        .thenAnswer(
-            invocation -> {
-              threadLatch.countDown();
-              assertThat(mainLatch.await(10, TimeUnit.SECONDS), is(true));
-              return RETURN_VALUE;
-            });
+    doAnswer(
+        invocation -> {
+          frames.add(((Object[]) invocation.getArgument(0)).clone());
+          threadLatch.countDown();
+          assertThat(mainLatch.await(10, TimeUnit.SECONDS), is(true));
+          return RETURN_VALUE;
+        })
+        .when(expressionEvaluator)
+        .evaluate(new Object[]{123, 456, DEFAULT_VAL, processingLogger, genericRow(123, 456)});
 
     compiledExpression = new CompiledExpression(
         expressionEvaluator,
@@ -168,10 +267,9 @@ public class CompiledExpressionTest {
 
     // Then:
     thread.join();
-    verify(expressionEvaluator, times(1))
-        .evaluate(new Object[]{123, 456, DEFAULT_VAL, processingLogger, genericRow(123, 456)});
-    verify(expressionEvaluator, times(1))
-        .evaluate(new Object[]{100, 200, DEFAULT_VAL, processingLogger, genericRow(100, 200)});
+    assertThat(frames, containsInAnyOrder(
+        equalTo(new Object[]{123, 456, DEFAULT_VAL, processingLogger, genericRow(123, 456)}),
+        equalTo(new Object[]{100, 200, DEFAULT_VAL, processingLogger, genericRow(100, 200)})));
   }
 
   @Test
@@ -191,7 +289,7 @@ public class CompiledExpressionTest {
     );
 
     final RuntimeException e = new RuntimeException("Boom");
-    when(expressionEvaluator.evaluate(any())).thenThrow(new InvocationTargetException(e));
+    doThrow(new InvocationTargetException(e)).when(expressionEvaluator).evaluate(any());
 
     final GenericRow row = genericRow(123);
 
@@ -221,7 +319,7 @@ public class CompiledExpressionTest {
     );
 
     final RuntimeException e = new RuntimeException("Boom");
-    when(expressionEvaluator.evaluate(any())).thenThrow(new InvocationTargetException(e));
+    doThrow(new InvocationTargetException(e)).when(expressionEvaluator).evaluate(any());
 
     // When:
     final Object result = compiledExpression
@@ -279,4 +377,13 @@ public class CompiledExpressionTest {
     verify(processingLogger).error(RecordProcessingError
         .recordProcessingError("It went wrong!", new NullPointerException(), (GenericRow)null));
   }
-}
\ No newline at end of file
+
+  private Answer<Object> recordFrame(final Object result) {
+    return invocation -> {
+      final Object[] frame = invocation.getArgument(0);
+      frameInstances.add(frame);
+      frames.add(frame.clone());
+      return result;
+    };
+  }
+}
@@ -64,7 +64,19 @@ public class LikeEvaluatorTest {
         {"escape with special char",              "f%o", "f%%o", '%'},
         {"escape with special char [X]",          "foo", "f%%o", '%'},
         {"escape with backslash char",            "f%o", "f\\%o", '\\'},
-        {"escape with backslash char [X]",        "foo", "f\\%o", '\\'}
+        {"escape with backslash char [X]",        "foo", "f\\%o", '\\'},
+        {"prefix and suffix overlap [X]",         "aba", "ab%ba", null},
+        {"escaped percents",                      "%foo%", "!%foo!%", '!'},
+        {"escaped percents [X]",                  "barfoobaz", "!%foo!%", '!'},
+        {"escaped percents in the middle",        "f%o", "%!%%", '!'},
+        {"escaped percents in the middle [X]",    "foo", "%!%%", '!'},
+        {"only percents",                         "", "%%", null},
+        {"multiple line value",                   "foo\nbar", "foo\nbar", null},
+        {"multiple line value with percents [X]", "foo\nbar", "foo%", null},
+        {"multiple line value with percents around [X]", "\nfoo", "%foo%", null},
+        {"multiple line value with percents in the middle [X]", "b\rar", "b%r", null},
+        {"multiple line value with percents and underscore [X]", "foo\nbar", "f_o%", null},
+        {"multiple line value with underscore [X]", "foo\nbar", "foo_bar", null}
     };
   }
 
@@ -85,4 +97,14 @@ public class LikeEvaluatorTest {
     }
   }
 
+  @Test
+  public void shouldMatchCompiled() {
+    // When:
+    final LikeEvaluator.Matcher matcher =
+        LikeEvaluator.compile(pattern, Optional.ofNullable(escape));
+
+    // Then:
+    assertThat(matcher.matches(val), not(name.contains("[X]")));
+  }
+
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -76,4 +77,19 @@ public class KudafUndoAggregatorTest {
     // Then:
     assertThat(resultRow, equalTo(genericRow(1, 2L, "func1-undone")));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldUndoInPlaceIfEnabled() {
+    // Given:
+    aggregator = new KudafUndoAggregator(2, ImmutableList.of(func1), true);
+    final GenericRow value = genericRow(1, 2L);
+    final GenericRow aggRow = genericRow(1, 2L, 3);
+
+    // When:
+    final GenericRow resultRow = aggregator.apply(key, value, aggRow);
+
+    // Then:
+    assertThat(resultRow, is(sameInstance(aggRow)));
+    assertThat(resultRow, equalTo(genericRow(1, 2L, "func1-undone")));
+  }
+}
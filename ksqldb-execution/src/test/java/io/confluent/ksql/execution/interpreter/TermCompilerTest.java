@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.interpreter;
+
+import static io.confluent.ksql.execution.testutil.TestExpressions.COL3;
+import static io.confluent.ksql.execution.testutil.TestExpressions.COL7;
+import static io.confluent.ksql.execution.testutil.TestExpressions.SCHEMA;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.expression.tree.ArithmeticBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.Cast;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.LongLiteral;
+import io.confluent.ksql.execution.expression.tree.Type;
+import io.confluent.ksql.execution.interpreter.TermCompiler.Context;
+import io.confluent.ksql.execution.interpreter.terms.LiteralTerms;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.BooleanTerm;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.DoubleTerm;
+import io.confluent.ksql.execution.interpreter.terms.PrimitiveTerms.LongTerm;
+import io.confluent.ksql.execution.interpreter.terms.Term;
+import io.confluent.ksql.execution.util.ExpressionTypeManager;
+import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.schema.Operator;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class TermCompilerTest {
+
+  @Mock
+  private FunctionRegistry functionRegistry;
+
+  @Rule
+  public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  private TermCompiler compiler;
+
+  @Before
+  public void init() {
+    compiler = new TermCompiler(
+        functionRegistry,
+        SCHEMA,
+        new KsqlConfig(Collections.emptyMap()),
+        new ExpressionTypeManager(SCHEMA, functionRegistry)
+    );
+  }
+
+  @Test
+  public void shouldFoldConstantArithmetic() {
+    // Given:
+    final Expression expression = new ArithmeticBinaryExpression(
+        Operator.MULTIPLY,
+        new IntegerLiteral(6),
+        new ArithmeticBinaryExpression(Operator.ADD, new IntegerLiteral(3), new LongLiteral(4))
+    );
+
+    // When:
+    final Term term = compiler.process(expression, new Context());
+
+    // Then:
+    assertThat(LiteralTerms.isLiteral(term), is(true));
+    assertThat(term, is(instanceOf(LongTerm.class)));
+    assertThat(term.getValue(new TermEvaluationContext(null)), is(42L));
+  }
+
+  @Test
+  public void shouldFoldConstantCast() {
+    // Given:
+    final Expression expression = new Cast(new IntegerLiteral(5), new Type(SqlTypes.DOUBLE));
+
+    // When:
+    final Term term = compiler.process(expression, new Context());
+
+    // Then:
+    assertThat(LiteralTerms.isLiteral(term), is(true));
+    assertThat(term.getValue(new TermEvaluationContext(null)), is(5.0));
+  }
+
+  @Test
+  public void shouldNotFoldConstantExpressionThatFails() {
+    // Given:
+    final Expression expression = new ArithmeticBinaryExpression(
+        Operator.DIVIDE,
+        new IntegerLiteral(1),
+        new IntegerLiteral(0)
+    );
+
+    // When:
+    final Term term = compiler.process(expression, new Context());
+
+    // Then:
+    assertThat(LiteralTerms.isLiteral(term), is(false));
+  }
+
+  @Test
+  public void shouldCompilePrimitiveArithmeticOverColumns() {
+    // Given:
+    final Expression expression = new ArithmeticBinaryExpression(
+        Operator.ADD,
+        COL3,
+        new ArithmeticBinaryExpression(Operator.ADD, COL7, new IntegerLiteral(1))
+    );
+
+    // When:
+    final Term term = compiler.process(expression, new Context());
+
+    // Then:
+    assertThat(term, is(instanceOf(DoubleTerm.class)));
+    assertThat(term.getValue(context(2.5, 3)), is(6.5));
+    assertThat(term.getValue(context(null, 3)), is(nullValue()));
+  }
+
+  @Test
+  public void shouldCompilePrimitiveComparisonOverColumns() {
+    // Given:
+    final Expression expression = new ComparisonExpression(
+        ComparisonExpression.Type.GREATER_THAN,
+        COL3,
+        COL7
+    );
+
+    // When:
+    final Term term = compiler.process(expression, new Context());
+
+    // Then:
+    assertThat(term, is(instanceOf(BooleanTerm.class)));
+    assertThat(term.getValue(context(3.5, 3)), is(true));
+    assertThat(term.getValue(context(2.5, 3)), is(false));
+    assertThat(term.getValue(context(3.5, null)), is(false));
+  }
+
+  private static TermEvaluationContext context(final Double col3, final Integer col7) {
+    return new TermEvaluationContext(GenericRow.genericRow(
+        null, null, null, col3, null, null, null, col7));
+  }
+}
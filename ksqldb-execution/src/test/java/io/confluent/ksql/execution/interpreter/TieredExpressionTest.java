@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.interpreter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.codegen.CompiledExpression;
+import io.confluent.ksql.execution.expression.tree.ArithmeticBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.testutil.TestExpressions;
+import io.confluent.ksql.execution.transform.ExpressionEvaluator;
+import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.schema.Operator;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class TieredExpressionTest {
+
+  private static final GenericRow ROW = GenericRow.genericRow(1);
+  private static final Supplier<String> ERROR_MSG = () -> "error";
+
+  @Mock
+  private InterpretedExpression interpreted;
+  @Mock
+  private ExpressionEvaluator compiled;
+  @Mock
+  private Supplier<ExpressionEvaluator> compiler;
+  @Mock
+  private ProcessingLogger logger;
+  @Mock
+  private FunctionRegistry functionRegistry;
+
+  @Rule
+  public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  private final Executor executor = Runnable::run;
+  private TieredExpression expression;
+
+  @Before
+  public void setUp() {
+    expression = new TieredExpression(interpreted, compiler, executor, 2);
+  }
+
+  @Test
+  public void shouldInterpretUntilThreshold() {
+    // When:
+    expression.evaluate(ROW, null, logger, ERROR_MSG);
+
+    // Then:
+    verify(interpreted).evaluate(ROW, null, logger, ERROR_MSG);
+    verify(compiler, never()).get();
+    assertThat(expression.isCompiled(), is(false));
+  }
+
+  @Test
+  public void shouldSwapToCompiledOnceHot() {
+    // Given:
+    when(compiler.get()).thenReturn(compiled);
+    expression.evaluate(ROW, null, logger, ERROR_MSG);
+    expression.evaluate(ROW, null, logger, ERROR_MSG);
+
+    // When:
+    expression.evaluate(ROW, null, logger, ERROR_MSG);
+
+    // Then:
+    assertThat(expression.isCompiled(), is(true));
+    verify(interpreted, times(2)).evaluate(ROW, null, logger, ERROR_MSG);
+    verify(compiled).evaluate(ROW, null, logger, ERROR_MSG);
+    verify(compiler).get();
+  }
+
+  @Test
+  public void shouldKeepInterpretingIfCompilationFails() {
+    // Given:
+    when(compiler.get()).thenThrow(new IllegalStateException("boom"));
+
+    // When:
+    expression.evaluate(ROW, null, logger, ERROR_MSG);
+    expression.evaluate(ROW, null, logger, ERROR_MSG);
+    expression.evaluate(ROW, null, logger, ERROR_MSG);
+
+    // Then:
+    assertThat(expression.isCompiled(), is(false));
+    verify(interpreted, times(3)).evaluate(ROW, null, logger, ERROR_MSG);
+    verify(compiler).get();
+  }
+
+  @Test
+  public void shouldCompileUpFrontIfTieredCompilationDisabled() {
+    // When:
+    final ExpressionEvaluator evaluator = TieredExpression.create(
+        new ArithmeticBinaryExpression(Operator.ADD, TestExpressions.COL7, new IntegerLiteral(1)),
+        "Test",
+        TestExpressions.SCHEMA,
+        new KsqlConfig(Collections.emptyMap()),
+        functionRegistry
+    );
+
+    // Then:
+    assertThat(evaluator, is(instanceOf(CompiledExpression.class)));
+  }
+
+  @Test
+  public void shouldStartInterpretedIfTieredCompilationEnabled() {
+    // When:
+    final ExpressionEvaluator evaluator = TieredExpression.create(
+        new ArithmeticBinaryExpression(Operator.ADD, TestExpressions.COL7, new IntegerLiteral(1)),
+        "Test",
+        TestExpressions.SCHEMA,
+        new KsqlConfig(Collections.singletonMap(
+            KsqlConfig.KSQL_QUERY_TIERED_COMPILATION_ENABLED, true)),
+        functionRegistry
+    );
+
+    // Then:
+    assertThat(evaluator, is(instanceOf(TieredExpression.class)));
+    assertThat(((TieredExpression) evaluator).isCompiled(), is(false));
+  }
+}
@@ -17,16 +17,39 @@ package io.confluent.ksql.execution.transform.select;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.codegen.CodeGenRunner;
 import io.confluent.ksql.execution.codegen.CompiledExpression;
+import io.confluent.ksql.execution.expression.tree.ArithmeticBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
 import io.confluent.ksql.execution.plan.SelectExpression;
+import io.confluent.ksql.execution.transform.KsqlProcessingContext;
 import io.confluent.ksql.execution.transform.select.SelectValueMapper.SelectInfo;
+import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.Operator;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlException;
+import java.util.ArrayList;
+import java.util.List;
+import org.codehaus.commons.compiler.CompileException;
+import org.codehaus.janino.InternalCompilerException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -44,6 +67,8 @@ public class SelectValueMapperFactoryTest {
   private CompiledExpression md_0;
   @Mock
   private CompiledExpression md_1;
+  @Mock
+  private CodeGenRunner codeGenRunner;
 
   @Before
   public void setUp() {
@@ -64,4 +89,99 @@ public class SelectValueMapperFactoryTest {
        SelectInfo.of(ColumnName.of("field_1"), md_1)
     ));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldFallBackToCompilingEachSelectIfProjectionTooLarge() {
+    // Given:
+    final Expression exp_0 = new IntegerLiteral(0);
+    final Expression exp_1 = new IntegerLiteral(1);
+    when(select_0.getExpression()).thenReturn(exp_0);
+    when(select_1.getExpression()).thenReturn(exp_1);
+    when(codeGenRunner.buildProjectionFromParseTrees(any(), any()))
+        .thenThrow(new RuntimeException("Unexpected error generating code",
+            new InternalCompilerException("Code of method \"eval\" grows beyond 64 KB")));
+    when(codeGenRunner.buildCodeGenFromParseTree(eq(exp_0), any())).thenReturn(md_0);
+    when(codeGenRunner.buildCodeGenFromParseTree(eq(exp_1), any())).thenReturn(md_1);
+
+    // When:
+    final SelectValueMapper<?> mapper = new SelectValueMapperFactory(codeGenRunner)
+        .create(ImmutableList.of(select_0, select_1));
+
+    // Then:
+    assertThat(mapper.getSelects(), contains(
+        SelectInfo.of(ColumnName.of("field_0"), md_0),
+        SelectInfo.of(ColumnName.of("field_1"), md_1)
+    ));
+  }
+
+  @Test
+  public void shouldFallBackToCompilingEachSelectIfJaninoFailsToCompileProjection() {
+    // Given:
+    final Expression exp_0 = new IntegerLiteral(0);
+    final Expression exp_1 = new IntegerLiteral(1);
+    when(select_0.getExpression()).thenReturn(exp_0);
+    when(select_1.getExpression()).thenReturn(exp_1);
+    when(codeGenRunner.buildProjectionFromParseTrees(any(), any()))
+        .thenThrow(new KsqlException("Invalid Select", new CompileException("Boom", null)));
+    when(codeGenRunner.buildCodeGenFromParseTree(eq(exp_0), any())).thenReturn(md_0);
+    when(codeGenRunner.buildCodeGenFromParseTree(eq(exp_1), any())).thenReturn(md_1);
+
+    // When:
+    final SelectValueMapper<?> mapper = new SelectValueMapperFactory(codeGenRunner)
+        .create(ImmutableList.of(select_0, select_1));
+
+    // Then:
+    assertThat(mapper.getSelects(), contains(
+        SelectInfo.of(ColumnName.of("field_0"), md_0),
+        SelectInfo.of(ColumnName.of("field_1"), md_1)
+    ));
+  }
+
+  @Test
+  public void shouldNotFallBackIfProjectionFailsForOtherReasons() {
+    // Given:
+    when(select_0.getExpression()).thenReturn(new IntegerLiteral(0));
+    when(select_1.getExpression()).thenReturn(new IntegerLiteral(1));
+    final KsqlException error = new KsqlException("NULL expression not supported");
+    when(codeGenRunner.buildProjectionFromParseTrees(any(), any())).thenThrow(error);
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> new SelectValueMapperFactory(codeGenRunner)
+            .create(ImmutableList.of(select_0, select_1))
+    );
+
+    // Then:
+    assertThat(e, is(error));
+    verify(codeGenRunner, never()).buildCodeGenFromParseTree(any(), any());
+  }
+
+  @Test
+  public void shouldEvaluateVeryWideSelect() {
+    // Given:
+    final int width = SelectValueMapperFactory.MAX_PROJECTION_SIZE * 10 + 1;
+    final LogicalSchema.Builder schema = LogicalSchema.builder();
+    final List<SelectExpression> selects = new ArrayList<>();
+    final List<Object> values = new ArrayList<>();
+    final List<Object> expected = new ArrayList<>();
+    for (int i = 0; i < width; i++) {
+      final ColumnName column = ColumnName.of("COL" + i);
+      schema.valueColumn(column, SqlTypes.INTEGER);
+      selects.add(SelectExpression.of(ColumnName.of("OUT" + i), new ArithmeticBinaryExpression(
+          Operator.ADD, new UnqualifiedColumnReferenceExp(column), new IntegerLiteral(1))));
+      values.add(i);
+      expected.add(i + 1);
+    }
+
+    final SelectValueMapper<Object> mapper = SelectValueMapperFactory.create(
+        selects, schema.build(), KsqlConfig.empty(), mock(FunctionRegistry.class));
+
+    // When:
+    final GenericRow result = mapper.getTransformer(mock(ProcessingLogger.class))
+        .transform(null, GenericRow.fromList(values), mock(KsqlProcessingContext.class));
+
+    // Then:
+    assertThat(result, equalTo(GenericRow.fromList(expected)));
+  }
+}
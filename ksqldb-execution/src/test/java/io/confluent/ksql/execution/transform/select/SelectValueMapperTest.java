@@ -24,18 +24,23 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.codegen.CompiledExpression;
+import io.confluent.ksql.execution.codegen.CompiledProjection;
+import io.confluent.ksql.execution.codegen.CompiledProjection.ColumnErrorHandler;
 import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
 import io.confluent.ksql.execution.transform.KsqlProcessingContext;
 import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.logging.processing.RecordProcessingError;
 import io.confluent.ksql.name.ColumnName;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.junit.Before;
@@ -61,6 +66,10 @@ public class SelectValueMapperTest {
   @Mock
   private CompiledExpression col2;
   @Mock
+  private CompiledProjection projection;
+  @Mock
+  private CompiledProjection otherProjection;
+  @Mock
   private ProcessingLogger processingLogger;
   @Mock
   private KsqlProcessingContext ctx;
@@ -129,4 +138,143 @@ public class SelectValueMapperTest {
     // Then:
     assertThat(result, is(nullValue()));
   }
+
+  @Test
+  public void shouldEvaluateProjection() {
+    // Given:
+    doAnswer(inv -> {
+      final GenericRow output = inv.getArgument(1);
+      output.append(100).append(200).append(300);
+      return null;
+    }).when(projection).evaluate(any(), any(), any(), any(), any());
+
+    // When:
+    final GenericRow result = projectionTransformer().transform(KEY, VALUE, ctx);
+
+    // Then:
+    assertThat(result, equalTo(genericRow(100, 200, 300)));
+    verify(projection).evaluate(eq(VALUE), any(), isNull(), eq(processingLogger), any());
+  }
+
+  @Test
+  public void shouldLogProjectionErrorsWithColumnDetails() {
+    // Given:
+    final Exception error = new RuntimeException("boom");
+    doAnswer(inv -> {
+      final ColumnErrorHandler handler = inv.getArgument(4);
+      handler.onError(1, error, VALUE);
+      return null;
+    }).when(projection).evaluate(any(), any(), any(), any(), any());
+
+    // When:
+    projectionTransformer().transform(KEY, VALUE, ctx);
+
+    // Then:
+    final ArgumentCaptor<ProcessingLogger.ErrorMessage> errorCaptor =
+        ArgumentCaptor.forClass(ProcessingLogger.ErrorMessage.class);
+    verify(processingLogger).error(errorCaptor.capture());
+    final RecordProcessingError logged = (RecordProcessingError) errorCaptor.getValue();
+    assertThat(logged.getMessage(),
+        equalTo("Error computing expression c for column cherry with index 1"));
+    assertThat(logged.getException(), equalTo(Optional.<Throwable>of(error)));
+  }
+
+  @Test
+  public void shouldEvaluateSplitProjectionsInOrder() {
+    // Given:
+    doAnswer(inv -> {
+      final GenericRow output = inv.getArgument(1);
+      output.append(100).append(200);
+      return null;
+    }).when(projection).evaluate(any(), any(), any(), any(), any());
+    doAnswer(inv -> {
+      final GenericRow output = inv.getArgument(1);
+      output.append(300);
+      return null;
+    }).when(otherProjection).evaluate(any(), any(), any(), any(), any());
+
+    // When:
+    final GenericRow result = splitProjectionTransformer().transform(KEY, VALUE, ctx);
+
+    // Then:
+    assertThat(result, equalTo(genericRow(100, 200, 300)));
+  }
+
+  @Test
+  public void shouldLogSplitProjectionErrorsWithColumnDetails() {
+    // Given:
+    final Exception error = new RuntimeException("boom");
+    doAnswer(inv -> {
+      final ColumnErrorHandler handler = inv.getArgument(4);
+      handler.onError(0, error, VALUE);
+      return null;
+    }).when(otherProjection).evaluate(any(), any(), any(), any(), any());
+
+    // When:
+    splitProjectionTransformer().transform(KEY, VALUE, ctx);
+
+    // Then:
+    final ArgumentCaptor<ProcessingLogger.ErrorMessage> errorCaptor =
+        ArgumentCaptor.forClass(ProcessingLogger.ErrorMessage.class);
+    verify(processingLogger).error(errorCaptor.capture());
+    final RecordProcessingError logged = (RecordProcessingError) errorCaptor.getValue();
+    assertThat(logged.getMessage(),
+        equalTo("Error computing expression b for column banana with index 2"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldThrowIfProjectionsDoNotMatchSelects() {
+    // Given:
+    when(projection.size()).thenReturn(2);
+
+    // When:
+    new SelectValueMapper<>(
+        ImmutableList.of(
+            SelectValueMapper.SelectInfo.of(NAME0, col0),
+            SelectValueMapper.SelectInfo.of(NAME1, col1),
+            SelectValueMapper.SelectInfo.of(NAME2, col2)
+        ),
+        ImmutableList.of(projection)
+    );
+  }
+
+  @Test
+  public void shouldHandleNullRowsWithProjection() {
+    // When:
+    final GenericRow result = projectionTransformer().transform(KEY, null, ctx);
+
+    // Then:
+    assertThat(result, is(nullValue()));
+  }
+
+  private KsqlTransformer<Object, GenericRow> projectionTransformer() {
+    when(projection.size()).thenReturn(3);
+
+    final SelectValueMapper<Object> selectValueMapper = new SelectValueMapper<>(
+        ImmutableList.of(
+            SelectValueMapper.SelectInfo.of(NAME0, col0),
+            SelectValueMapper.SelectInfo.of(NAME1, col1),
+            SelectValueMapper.SelectInfo.of(NAME2, col2)
+        ),
+        ImmutableList.of(projection)
+    );
+
+    return selectValueMapper.getTransformer(processingLogger);
+  }
+
+  private KsqlTransformer<Object, GenericRow> splitProjectionTransformer() {
+    when(projection.size()).thenReturn(2);
+    when(otherProjection.size()).thenReturn(1);
+
+    final SelectValueMapper<Object> selectValueMapper = new SelectValueMapper<>(
+        ImmutableList.of(
+            SelectValueMapper.SelectInfo.of(NAME0, col0),
+            SelectValueMapper.SelectInfo.of(NAME1, col1),
+            SelectValueMapper.SelectInfo.of(NAME2, col2)
+        ),
+        ImmutableList.of(projection, otherProjection)
+    );
+
+    return selectValueMapper.getTransformer(processingLogger);
+  }
 }
@@ -15,16 +15,21 @@
 
 package io.confluent.ksql.execution.transform.select;
 
+import static io.confluent.ksql.GenericRow.genericRow;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
 import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.expression.tree.ArithmeticBinaryExpression;
 import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
 import io.confluent.ksql.execution.plan.SelectExpression;
+import io.confluent.ksql.execution.transform.KsqlProcessingContext;
+import io.confluent.ksql.execution.transform.KsqlTransformer;
 import io.confluent.ksql.execution.transform.select.SelectValueMapper.SelectInfo;
 import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.Operator;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
@@ -66,6 +71,10 @@ public class SelectionTest {
   private KsqlConfig ksqlConfig;
   @Mock
   private FunctionRegistry functionRegistry;
+  @Mock
+  private ProcessingLogger processingLogger;
+  @Mock
+  private KsqlProcessingContext ctx;
 
   private Selection<String> selection;
 
@@ -134,4 +143,41 @@ public class SelectionTest {
         .build()
     ));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldEvaluateAllSelectExpressions() {
+    // Given:
+    final KsqlTransformer<String, GenericRow> transformer = selection.getMapper()
+        .getTransformer(processingLogger);
+
+    // When:
+    final GenericRow result = transformer.transform("k", genericRow("long", 2, 40L), ctx);
+
+    // Then:
+    assertThat(result, equalTo(genericRow("long", 42L)));
+  }
+
+  @Test
+  public void shouldEvaluateDuplicateSelectExpressions() {
+    // Given:
+    selection = Selection.of(
+        SCHEMA,
+        ImmutableList.of(ALIASED_KEY),
+        ImmutableList.of(
+            SelectExpression.of(ColumnName.of("FOO"), EXPRESSION2),
+            SelectExpression.of(ColumnName.of("BAR"), EXPRESSION1),
+            SelectExpression.of(ColumnName.of("BAZ"), EXPRESSION2)
+        ),
+        ksqlConfig,
+        functionRegistry
+    );
+    final KsqlTransformer<String, GenericRow> transformer = selection.getMapper()
+        .getTransformer(processingLogger);
+
+    // When:
+    final GenericRow result = transformer.transform("k", genericRow("long", 2, 40L), ctx);
+
+    // Then:
+    assertThat(result, equalTo(genericRow(42L, "long", 42L)));
+  }
+}
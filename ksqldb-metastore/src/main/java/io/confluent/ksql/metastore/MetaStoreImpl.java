@@ -15,6 +15,7 @@
 
 package io.confluent.ksql.metastore;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import io.confluent.ksql.function.AggregateFunctionFactory;
 import io.confluent.ksql.function.AggregateFunctionInitArguments;
@@ -30,7 +31,7 @@ import io.confluent.ksql.schema.ksql.SqlArgument;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.KsqlReferentialIntegrityException;
-import io.vertx.core.impl.ConcurrentHashSet;
+import io.confluent.ksql.util.PersistentMap;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -38,44 +39,46 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.concurrent.ThreadSafe;
 
+/**
+ * The metastore.
+ *
+ * <p>State is held in persistent maps of immutable values, which are replaced, under a lock, on
+ * each change. Reads don't take the lock, and a copy of the metastore, e.g. for a sandbox, just
+ * shares the current maps, so costs the same no matter how many sources there are.
+ */
 @ThreadSafe
 public final class MetaStoreImpl implements MutableMetaStore {
   // these sources have a constraint that cannot be deleted until the references are dropped first
-  private final Map<SourceName, Set<SourceName>> dropConstraints = new ConcurrentHashMap<>();
+  private volatile PersistentMap<SourceName, ImmutableSet<SourceName>> dropConstraints;
 
-  private final Map<SourceName, SourceInfo> dataSources = new ConcurrentHashMap<>();
+  private volatile PersistentMap<SourceName, SourceInfo> dataSources;
   private final Object metaStoreLock = new Object();
   private final FunctionRegistry functionRegistry;
-  private final TypeRegistry typeRegistry;
+  private final TypeRegistryImpl typeRegistry;
 
   public MetaStoreImpl(final FunctionRegistry functionRegistry) {
-    this.functionRegistry = Objects.requireNonNull(functionRegistry, "functionRegistry");
-    this.typeRegistry = new TypeRegistryImpl();
+    this(
+        PersistentMap.empty(),
+        functionRegistry,
+        new TypeRegistryImpl(),
+        PersistentMap.empty()
+    );
   }
 
   private MetaStoreImpl(
-      final Map<SourceName, SourceInfo> dataSources,
+      final PersistentMap<SourceName, SourceInfo> dataSources,
       final FunctionRegistry functionRegistry,
-      final TypeRegistry typeRegistry,
-      final Map<SourceName, Set<SourceName>> dropConstraints
+      final TypeRegistryImpl typeRegistry,
+      final PersistentMap<SourceName, ImmutableSet<SourceName>> dropConstraints
   ) {
     this.functionRegistry = Objects.requireNonNull(functionRegistry, "functionRegistry");
-    this.typeRegistry = new TypeRegistryImpl();
-
-    dataSources.forEach((name, info) -> this.dataSources.put(name, info.copy()));
-    typeRegistry.types()
-        .forEachRemaining(type -> this.typeRegistry.registerType(type.getName(), type.getType()));
-
-    dropConstraints.forEach((source, references) -> {
-      final Set<SourceName> childSources = new ConcurrentHashSet<>();
-      childSources.addAll(references);
-      this.dropConstraints.put(source, childSources);
-    });
+    this.typeRegistry = Objects.requireNonNull(typeRegistry, "typeRegistry");
+    this.dataSources = Objects.requireNonNull(dataSources, "dataSources");
+    this.dropConstraints = Objects.requireNonNull(dropConstraints, "dropConstraints");
   }
 
   @Override
@@ -89,53 +92,55 @@ public final class MetaStoreImpl implements MutableMetaStore {
 
   @Override
   public void putSource(final DataSource dataSource, final boolean allowReplace) {
-    final SourceInfo existing = dataSources.get(dataSource.getName());
-    if (existing != null && !allowReplace) {
-      final SourceName name = dataSource.getName();
-      final String newType = dataSource.getDataSourceType().getKsqlType().toLowerCase();
-      final String existingType = existing.source.getDataSourceType().getKsqlType().toLowerCase();
-
-      throw new KsqlException(String.format(
-          "Cannot add %s '%s': A %s with the same name already exists",
-          newType, name.text(), existingType));
-    } else if (existing != null) {
-      existing.source.canUpgradeTo(dataSource).ifPresent(msg -> {
-        throw new KsqlException("Cannot upgrade data source: " + msg);
-      });
-    }
+    synchronized (metaStoreLock) {
+      final SourceInfo existing = dataSources.get(dataSource.getName());
+      if (existing != null && !allowReplace) {
+        final SourceName name = dataSource.getName();
+        final String newType = dataSource.getDataSourceType().getKsqlType().toLowerCase();
+        final String existingType =
+            existing.source.getDataSourceType().getKsqlType().toLowerCase();
+
+        throw new KsqlException(String.format(
+            "Cannot add %s '%s': A %s with the same name already exists",
+            newType, name.text(), existingType));
+      } else if (existing != null) {
+        existing.source.canUpgradeTo(dataSource).ifPresent(msg -> {
+          throw new KsqlException("Cannot upgrade data source: " + msg);
+        });
+      }
 
-    // Replace the dataSource if one exists, which may contain changes in the Schema, with
-    // a copy of the previous source info
-    dataSources.put(dataSource.getName(),
-        (existing != null) ? existing.copyWith(dataSource) : new SourceInfo(dataSource));
+      // Replace the dataSource if one exists, which may contain changes in the Schema, keeping
+      // the references of the previous source info
+      dataSources = dataSources.plus(dataSource.getName(),
+          (existing != null) ? existing.withSource(dataSource) : new SourceInfo(dataSource));
+    }
   }
 
   @Override
   public void deleteSource(final SourceName sourceName) {
     synchronized (metaStoreLock) {
-      dataSources.compute(sourceName, (ignored, sourceInfo) -> {
-        if (sourceInfo == null) {
-          throw new KsqlException(String.format("No data source with name %s exists.",
-              sourceName.text()));
-        }
+      final SourceInfo sourceInfo = dataSources.get(sourceName);
+      if (sourceInfo == null) {
+        throw new KsqlException(String.format("No data source with name %s exists.",
+            sourceName.text()));
+      }
 
-        if (dropConstraints.containsKey(sourceName)) {
-          throw new KsqlReferentialIntegrityException(String.format(
-              "Cannot drop %s.%n"
-                  + "The following streams and/or tables read from this source: [%s].%n"
-                  + "You need to drop them before dropping %s.",
-              sourceName.text(),
-              dropConstraints.get(sourceName).stream().map(SourceName::text)
-                  .sorted().collect(Collectors.joining(", ")),
-              sourceName.text()
-          ));
-        }
+      if (dropConstraints.containsKey(sourceName)) {
+        throw new KsqlReferentialIntegrityException(String.format(
+            "Cannot drop %s.%n"
+                + "The following streams and/or tables read from this source: [%s].%n"
+                + "You need to drop them before dropping %s.",
+            sourceName.text(),
+            dropConstraints.get(sourceName).stream().map(SourceName::text)
+                .sorted().collect(Collectors.joining(", ")),
+            sourceName.text()
+        ));
+      }
 
-        // Remove drop constraints from the referenced sources
-        sourceInfo.references.stream().forEach(ref -> dropConstraint(ref, sourceName));
+      // Remove drop constraints from the referenced sources
+      sourceInfo.references.forEach(ref -> dropConstraint(ref, sourceName));
 
-        return null;
-      });
+      dataSources = dataSources.minus(sourceName);
     }
   }
 
@@ -162,7 +167,10 @@ public final class MetaStoreImpl implements MutableMetaStore {
       sourceReferences.forEach(s -> addConstraint(s, sourceName));
 
       // add all references to the source
-      dataSources.get(sourceName).references.addAll(sourceReferences);
+      dataSources = dataSources.plus(
+          sourceName,
+          dataSources.get(sourceName).withReferences(sourceReferences)
+      );
     }
   }
 
@@ -175,26 +183,40 @@ public final class MetaStoreImpl implements MutableMetaStore {
     return sourceInfo.references;
   }
 
+  // Must be called while holding the metaStoreLock:
   private void addConstraint(final SourceName source, final SourceName sourceWithReference) {
-    dropConstraints.computeIfAbsent(source, x -> ConcurrentHashMap.newKeySet())
-        .add(sourceWithReference);
+    final Set<SourceName> existing = dropConstraints.getOrDefault(source, ImmutableSet.of());
+    dropConstraints = dropConstraints.plus(source, ImmutableSet.<SourceName>builder()
+        .addAll(existing)
+        .add(sourceWithReference)
+        .build());
   }
 
+  // Must be called while holding the metaStoreLock:
   private void dropConstraint(final SourceName source, final SourceName sourceWithReference) {
-    dropConstraints.computeIfPresent(source, (k , info) -> {
-      info.remove(sourceWithReference);
-      return (info.isEmpty()) ? null : info;
-    });
+    final Set<SourceName> existing = dropConstraints.get(source);
+    if (existing == null) {
+      return;
+    }
+
+    final ImmutableSet<SourceName> remaining = existing.stream()
+        .filter(name -> !name.equals(sourceWithReference))
+        .collect(ImmutableSet.toImmutableSet());
+
+    dropConstraints = remaining.isEmpty()
+        ? dropConstraints.minus(source)
+        : dropConstraints.plus(source, remaining);
   }
 
   @Override
   public Set<SourceName> getSourceConstraints(final SourceName sourceName) {
-    return dropConstraints.getOrDefault(sourceName, Collections.emptySet());
+    return dropConstraints.getOrDefault(sourceName, ImmutableSet.of());
   }
 
   @Override
   public Map<SourceName, DataSource> getAllDataSources() {
     return dataSources
+        .asMap()
         .entrySet()
         .stream()
         .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().source));
@@ -203,7 +225,12 @@ public final class MetaStoreImpl implements MutableMetaStore {
   @Override
   public MutableMetaStore copy() {
     synchronized (metaStoreLock) {
-      return new MetaStoreImpl(dataSources, functionRegistry, typeRegistry, dropConstraints);
+      return new MetaStoreImpl(
+          dataSources,
+          functionRegistry,
+          typeRegistry.copy(),
+          dropConstraints
+      );
     }
   }
 
@@ -301,29 +328,31 @@ public final class MetaStoreImpl implements MutableMetaStore {
 
     // parent sources that this source references to; it is used to remove constraints from
     // the parent table when this source is deleted
-    private final Set<SourceName> references = new ConcurrentHashSet<>();
+    private final ImmutableSet<SourceName> references;
 
     private SourceInfo(
         final DataSource source
     ) {
-      this.source = Objects.requireNonNull(source, "source");
+      this(source, ImmutableSet.of());
     }
 
     private SourceInfo(
         final DataSource source,
-        final Set<SourceName> references
+        final ImmutableSet<SourceName> references
     ) {
       this.source = Objects.requireNonNull(source, "source");
-      this.references.addAll(
-          Objects.requireNonNull(references, "references"));
+      this.references = Objects.requireNonNull(references, "references");
     }
 
-    public SourceInfo copy() {
-      return copyWith(source);
+    public SourceInfo withSource(final DataSource source) {
+      return new SourceInfo(source, references);
     }
 
-    public SourceInfo copyWith(final DataSource source) {
-      return new SourceInfo(source, references);
+    public SourceInfo withReferences(final Set<SourceName> additional) {
+      return new SourceInfo(source, ImmutableSet.<SourceName>builder()
+          .addAll(references)
+          .addAll(additional)
+          .build());
     }
   }
 }
@@ -16,23 +16,45 @@
 package io.confluent.ksql.metastore;
 
 import io.confluent.ksql.schema.ksql.types.SqlType;
+import io.confluent.ksql.util.PersistentMap;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class TypeRegistryImpl implements TypeRegistry {
 
-  private final Map<String, SqlType> typeRegistry = new ConcurrentHashMap<>();
+  private final Object lock = new Object();
+  private volatile PersistentMap<String, SqlType> typeRegistry;
+
+  public TypeRegistryImpl() {
+    this(PersistentMap.empty());
+  }
+
+  private TypeRegistryImpl(final PersistentMap<String, SqlType> typeRegistry) {
+    this.typeRegistry = typeRegistry;
+  }
 
   @Override
   public boolean registerType(final String name, final SqlType type) {
-    return typeRegistry.putIfAbsent(name.toUpperCase(), type) == null;
+    synchronized (lock) {
+      final String key = name.toUpperCase();
+      if (typeRegistry.containsKey(key)) {
+        return false;
+      }
+      typeRegistry = typeRegistry.plus(key, type);
+      return true;
+    }
   }
 
   @Override
   public boolean deleteType(final String name) {
-    return typeRegistry.remove(name.toUpperCase()) != null;
+    synchronized (lock) {
+      final PersistentMap<String, SqlType> updated = typeRegistry.minus(name.toUpperCase());
+      if (updated == typeRegistry) {
+        return false;
+      }
+      typeRegistry = updated;
+      return true;
+    }
   }
 
   @Override
@@ -43,9 +65,16 @@ public class TypeRegistryImpl implements TypeRegistry {
   @Override
   public Iterator<CustomType> types() {
     return typeRegistry
+        .asMap()
         .entrySet()
         .stream()
         .map(kv -> new CustomType(kv.getKey(), kv.getValue())).iterator();
   }
 
+  /**
+   * @return an independent copy of the registry, which shares its current state.
+   */
+  TypeRegistryImpl copy() {
+    return new TypeRegistryImpl(typeRegistry);
+  }
 }
@@ -387,11 +387,13 @@ public class AstBuilder {
         columns = ImmutableList.of();
       }
 
-      return new InsertValues(
+      return InsertValues.ofRows(
           targetLocation,
           targetName,
           columns,
-          visit(context.values().valueExpression(), Expression.class));
+          context.values().stream()
+              .map(values -> visit(values.valueExpression(), Expression.class))
+              .collect(Collectors.toList()));
     }
 
     @Override
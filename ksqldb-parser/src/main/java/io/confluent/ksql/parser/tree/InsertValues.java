@@ -33,7 +33,7 @@ public class InsertValues extends Statement {
 
   private final SourceName target;
   private final ImmutableList<ColumnName> columns;
-  private final ImmutableList<Expression> values;
+  private final ImmutableList<ImmutableList<Expression>> rows;
 
   public InsertValues(
       final SourceName target,
@@ -48,24 +48,66 @@ public class InsertValues extends Statement {
       final SourceName target,
       final List<ColumnName> columns,
       final List<Expression> values
+  ) {
+    this(location, target, columns, ImmutableList.of(
+        ImmutableList.copyOf(Objects.requireNonNull(values, "values"))));
+  }
+
+  private InsertValues(
+      final Optional<NodeLocation> location,
+      final SourceName target,
+      final List<ColumnName> columns,
+      final ImmutableList<ImmutableList<Expression>> rows
   ) {
     super(location);
     this.target = Objects.requireNonNull(target, "target");
     this.columns = ImmutableList.copyOf(Objects.requireNonNull(columns, "columns"));
-    this.values = ImmutableList.copyOf(Objects.requireNonNull(values, "values"));
+    this.rows = Objects.requireNonNull(rows, "rows");
 
-    if (values.isEmpty()) {
+    if (rows.isEmpty()) {
       throw new KsqlException("Expected some values for INSERT INTO statement.");
     }
 
-    if (!columns.isEmpty() && columns.size() != values.size()) {
-      throw new KsqlException(
-          "Expected number columns and values to match: "
-              + columns.stream().map(ColumnName::text).collect(Collectors.toList()) + ", "
-              + values);
+    for (final List<Expression> values : rows) {
+      if (values.isEmpty()) {
+        throw new KsqlException("Expected some values for INSERT INTO statement.");
+      }
+
+      if (!columns.isEmpty() && columns.size() != values.size()) {
+        throw new KsqlException(
+            "Expected number columns and values to match: "
+                + columns.stream().map(ColumnName::text).collect(Collectors.toList()) + ", "
+                + values);
+      }
     }
   }
 
+  /**
+   * Create an INSERT VALUES statement that inserts multiple rows, e.g.
+   * {@code INSERT INTO foo VALUES (1, 'a'), (2, 'b');}
+   *
+   * @param location the location of the statement.
+   * @param target the source to insert into.
+   * @param columns the columns to insert, or empty for all columns.
+   * @param rows the values of each row to insert.
+   * @return the statement.
+   */
+  public static InsertValues ofRows(
+      final Optional<NodeLocation> location,
+      final SourceName target,
+      final List<ColumnName> columns,
+      final List<? extends List<Expression>> rows
+  ) {
+    return new InsertValues(
+        location,
+        target,
+        columns,
+        Objects.requireNonNull(rows, "rows").stream()
+            .map(ImmutableList::copyOf)
+            .collect(ImmutableList.toImmutableList())
+    );
+  }
+
   public SourceName getTarget() {
     return target;
   }
@@ -75,9 +117,17 @@ public class InsertValues extends Statement {
     return columns;
   }
 
-  @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "values is ImmutableList")
+  /**
+   * @return the values of the first row to insert.
+   * @see #getRows()
+   */
   public List<Expression> getValues() {
-    return values;
+    return rows.get(0);
+  }
+
+  @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "rows is ImmutableList")
+  public List<? extends List<Expression>> getRows() {
+    return rows;
   }
 
   @Override
@@ -96,12 +146,12 @@ public class InsertValues extends Statement {
     final InsertValues that = (InsertValues) o;
     return Objects.equals(target, that.target)
         && Objects.equals(columns, that.columns)
-        && Objects.equals(values, that.values);
+        && Objects.equals(rows, that.rows);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(target, columns, values);
+    return Objects.hash(target, columns, rows);
   }
 
   @Override
@@ -109,7 +159,7 @@ public class InsertValues extends Statement {
     return "InsertValues{"
         + "target=" + target
         + ", columns=" + columns
-        + ", values=" + values
+        + ", rows=" + rows
         + '}';
   }
 }
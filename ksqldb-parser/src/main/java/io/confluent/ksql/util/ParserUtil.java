@@ -150,13 +150,18 @@ public final class ParserUtil {
   }
 
   public static Literal visitIntegerLiteral(final IntegerLiteralContext context) {
-    final Optional<NodeLocation> location = getLocation(context);
+    return parseIntegerLiteral(context.getText(), getLocation(context));
+  }
 
+  public static Literal parseIntegerLiteral(
+      final String text,
+      final Optional<NodeLocation> location
+  ) {
     final long valueAsLong;
     try {
-      valueAsLong = Long.parseLong(context.getText());
+      valueAsLong = Long.parseLong(text);
     } catch (final NumberFormatException e) {
-      throw new ParsingException("Invalid numeric literal: " + context.getText(), location);
+      throw new ParsingException("Invalid numeric literal: " + text, location);
     }
 
     if (valueAsLong <= Integer.MAX_VALUE && valueAsLong >= Integer.MIN_VALUE) {
@@ -167,30 +172,39 @@ public final class ParserUtil {
   }
 
   public static DoubleLiteral parseFloatLiteral(final FloatLiteralContext context) {
-    final Optional<NodeLocation> location = getLocation(context);
+    return parseFloatLiteral(context.getText(), getLocation(context));
+  }
 
+  public static DoubleLiteral parseFloatLiteral(
+      final String text,
+      final Optional<NodeLocation> location
+  ) {
     try {
-      final double value = Double.parseDouble(context.getText());
+      final double value = Double.parseDouble(text);
       if (Double.isNaN(value)) {
-        throw new ParsingException("Not a number: " + context.getText(), location);
+        throw new ParsingException("Not a number: " + text, location);
       }
       if (Double.isInfinite(value)) {
-        throw new ParsingException("Number overflows DOUBLE: " + context.getText(), location);
+        throw new ParsingException("Number overflows DOUBLE: " + text, location);
       }
       return new DoubleLiteral(location, value);
     } catch (final NumberFormatException e) {
-      throw new ParsingException("Invalid numeric literal: " + context.getText(), location);
+      throw new ParsingException("Invalid numeric literal: " + text, location);
     }
   }
 
   public static DecimalLiteral parseDecimalLiteral(final DecimalLiteralContext context) {
-    final Optional<NodeLocation> location = getLocation(context);
+    return parseDecimalLiteral(context.getText(), getLocation(context));
+  }
 
+  public static DecimalLiteral parseDecimalLiteral(
+      final String text,
+      final Optional<NodeLocation> location
+  ) {
     try {
-      final String value = context.getText();
-      return new DecimalLiteral(location, new BigDecimal(value));
+      return new DecimalLiteral(location, new BigDecimal(text));
     } catch (final NumberFormatException e) {
-      throw new ParsingException("Invalid numeric literal: " + context.getText(), location);
+      throw new ParsingException("Invalid numeric literal: " + text, location);
     }
   }
 
@@ -22,10 +22,12 @@ import io.confluent.ksql.execution.expression.tree.StringLiteral;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.util.KsqlException;
+import java.util.Optional;
 import org.junit.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 
 public class InsertValuesTest {
@@ -81,4 +83,39 @@ public class InsertValuesTest {
     ));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void shouldThrowIfAnyRowDoesNotMatchColumns() {
+    // When:
+    final KsqlException e = assertThrows(
+        KsqlException.class,
+        () ->  InsertValues.ofRows(
+            Optional.empty(),
+            SOME_NAME,
+            ImmutableList.of(ColumnName.of("col1")),
+            ImmutableList.of(
+                ImmutableList.of(new StringLiteral("val1")),
+                ImmutableList.of(new StringLiteral("val1"), new StringLiteral("val2"))))
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "Expected number columns and values to match"
+    ));
+  }
+
+  @Test
+  public void shouldExposeFirstRowAsValues() {
+    // When:
+    final InsertValues insertValues = InsertValues.ofRows(
+        Optional.empty(),
+        SOME_NAME,
+        ImmutableList.of(),
+        ImmutableList.of(
+            ImmutableList.of(new StringLiteral("a")),
+            ImmutableList.of(new StringLiteral("b"))));
+
+    // Then:
+    assertThat(insertValues.getValues(), is(ImmutableList.of(new StringLiteral("a"))));
+    assertThat(insertValues.getRows().size(), is(2));
+  }
+}
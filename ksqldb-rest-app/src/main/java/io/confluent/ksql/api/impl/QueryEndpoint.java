@@ -15,7 +15,6 @@
 
 package io.confluent.ksql.api.impl;
 
-import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.RateLimiter;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.analyzer.ImmutableAnalysis;
@@ -32,7 +31,6 @@ import io.confluent.ksql.internal.PullQueryExecutorMetrics;
 import io.confluent.ksql.internal.ScalablePushQueryMetrics;
 import io.confluent.ksql.metastore.model.DataSource;
 import io.confluent.ksql.name.ColumnName;
-import io.confluent.ksql.parser.KsqlParser.ParsedStatement;
 import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
 import io.confluent.ksql.parser.tree.Query;
 import io.confluent.ksql.parser.tree.Statement;
@@ -68,6 +66,7 @@ import io.confluent.ksql.util.TransientQueryMetadata;
 import io.confluent.ksql.util.VertxUtils;
 import io.vertx.core.Context;
 import io.vertx.core.WorkerExecutor;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -94,6 +93,7 @@ public class QueryEndpoint {
   private final HARouting routing;
   private final PushRouting pushRouting;
   private final Optional<LocalCommands> localCommands;
+  private final QueryStatementCache statementCache;
 
   // CHECKSTYLE_RULES.OFF: ParameterNumberCheck
   @SuppressFBWarnings(value = "EI_EXPOSE_REP2")
@@ -111,7 +111,8 @@ public class QueryEndpoint {
       final SlidingWindowRateLimiter scalablePushBandRateLimiter,
       final HARouting routing,
       final PushRouting pushRouting,
-      final Optional<LocalCommands> localCommands
+      final Optional<LocalCommands> localCommands,
+      final QueryStatementCache statementCache
   ) {
     this.ksqlEngine = ksqlEngine;
     this.ksqlConfig = ksqlConfig;
@@ -126,6 +127,7 @@ public class QueryEndpoint {
     this.routing = routing;
     this.pushRouting = pushRouting;
     this.localCommands = localCommands;
+    this.statementCache = statementCache;
   }
 
   public QueryPublisher createQueryPublisher(
@@ -171,7 +173,8 @@ public class QueryEndpoint {
               pullQueryMetrics,
               workerExecutor,
               metricsCallbackHolder,
-              consistencyOffsetVector
+              consistencyOffsetVector,
+              requestProperties
           );
         case KSTREAM:
           return createStreamPullQueryPublisher(
@@ -328,7 +331,8 @@ public class QueryEndpoint {
       final Optional<PullQueryExecutorMetrics> pullQueryMetrics,
       final WorkerExecutor workerExecutor,
       final MetricsCallbackHolder metricsCallbackHolder,
-      final Optional<ConsistencyOffsetVector> consistencyOffsetVector
+      final Optional<ConsistencyOffsetVector> consistencyOffsetVector,
+      final Map<String, Object> requestProperties
   ) {
     // First thing, set the metrics callback so that it gets called, even if we hit an error
     final AtomicReference<PullQueryResult> resultForMetrics = new AtomicReference<>(null);
@@ -337,7 +341,7 @@ public class QueryEndpoint {
     final RoutingOptions routingOptions = new PullQueryConfigRoutingOptions(
         ksqlConfig,
         statement.getSessionConfig().getOverrides(),
-        ImmutableMap.of()
+        coerceRequestProperties(requestProperties)
     );
 
     final PullQueryConfigPlannerOptions plannerOptions = new PullQueryConfigPlannerOptions(
@@ -384,15 +388,8 @@ public class QueryEndpoint {
 
   private ConfiguredStatement<Query> createStatement(final String queryString,
       final Map<String, Object> properties, final Map<String, Object> sessionVariables) {
-    final List<ParsedStatement> statements = ksqlEngine.parse(queryString);
-    if ((statements.size() != 1)) {
-      throw new KsqlStatementException(
-          String
-              .format("Expected exactly one KSQL statement; found %d instead", statements.size()),
-          queryString);
-    }
-    final PreparedStatement<?> ps = ksqlEngine.prepare(
-        statements.get(0),
+    final PreparedStatement<?> ps = statementCache.prepare(
+        queryString,
         sessionVariables.entrySet()
             .stream()
             .collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue().toString()))
@@ -406,6 +403,24 @@ public class QueryEndpoint {
     return ConfiguredStatement.of(psq, SessionConfig.of(ksqlConfig, properties));
   }
 
+  /**
+   * Request properties on /query-stream are plain JSON values, e.g. the partitions of a forwarded
+   * pull query arrive as a comma separated string. Parse the ones the request set, as
+   * {@code KsqlRequest} does for /query.
+   */
+  private static Map<String, Object> coerceRequestProperties(
+      final Map<String, Object> requestProperties
+  ) {
+    final Map<String, Object> parsed = new KsqlRequestConfig(requestProperties).values();
+    final Map<String, Object> coerced = new HashMap<>(requestProperties);
+    for (final String key : requestProperties.keySet()) {
+      if (parsed.containsKey(key)) {
+        coerced.put(key, parsed.get(key));
+      }
+    }
+    return coerced;
+  }
+
   private static List<String> colTypesFromSchema(final List<Column> columns) {
     return columns.stream()
         .map(Column::type)
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.confluent.ksql.KsqlExecutionContext;
+import io.confluent.ksql.engine.rewrite.StatementLiterals;
+import io.confluent.ksql.execution.expression.tree.Literal;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.metastore.MetaStore;
+import io.confluent.ksql.metastore.model.DataSource;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.parser.CaseInsensitiveStream;
+import io.confluent.ksql.parser.KsqlParser.ParsedStatement;
+import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
+import io.confluent.ksql.parser.NodeLocation;
+import io.confluent.ksql.parser.SqlBaseLexer;
+import io.confluent.ksql.parser.VariableSubstitutor;
+import io.confluent.ksql.parser.tree.AliasedRelation;
+import io.confluent.ksql.parser.tree.Query;
+import io.confluent.ksql.parser.tree.Statement;
+import io.confluent.ksql.parser.tree.Table;
+import io.confluent.ksql.util.KsqlStatementException;
+import io.confluent.ksql.util.ParserUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.misc.Interval;
+
+/**
+ * Prepares the statements of query requests, caching prepared pull queries by the shape of their
+ * text.
+ *
+ * <p>The shape of a statement is its sequence of tokens, with the values of any string or numeric
+ * literals left out. Clients tend to issue the same few pull queries over and over, differing only
+ * in the keys they look up, so the first statement of each shape is prepared as normal and kept as
+ * a template. Later statements of the same shape are only lexed, and their literal values bound
+ * into a copy of the template, rather than being parsed and sanitized from scratch.
+ *
+ * <p>A statement can only be used as a template if each literal token in its text maps to a
+ * literal in the prepared statement. For example, the value of a {@code LIMIT} clause is not a
+ * literal, so queries with one are always prepared from scratch. A template is only used while the
+ * source it reads from is unchanged in the metastore.
+ *
+ * <p>Variables are substituted before the shape of a statement is taken, so a query which uses
+ * variables in place of its literals is also prepared from its template. The parse of such a
+ * query, which is needed to substitute its variables, is cached by its exact text.
+ *
+ * <p>Only parsing and preparing are cached. Each request is still analyzed and planned, as the
+ * plan of a pull query is built from the keys it looks up and its physical plan holds the state of
+ * a single execution.
+ */
+public class QueryStatementCache {
+
+  private final KsqlExecutionContext executionContext;
+  private final boolean enabled;
+  private final Cache<String, ParsedStatement> parsed;
+  private final Cache<String, Template> templates;
+
+  public QueryStatementCache(final KsqlExecutionContext executionContext, final int maxSize) {
+    this.executionContext = requireNonNull(executionContext, "executionContext");
+    this.enabled = maxSize > 0;
+    this.parsed = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    this.templates = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * Prepare the single statement in the supplied {@code sql}.
+   *
+   * @param sql the text of the statement.
+   * @param variables the variables to substitute into the statement.
+   * @return the prepared statement.
+   */
+  public PreparedStatement<?> prepare(final String sql, final Map<String, String> variables) {
+    if (!enabled) {
+      return executionContext.prepare(parseSingle(sql), variables);
+    }
+
+    final ParsedStatement parsedStatement;
+    final String text;
+    if (variables.isEmpty()) {
+      parsedStatement = null;
+      text = sql;
+    } else {
+      parsedStatement = parseCached(sql);
+      text = VariableSubstitutor.substitute(parsedStatement, variables);
+    }
+
+    final Optional<Shape> shape = Shape.of(text);
+    if (shape.isPresent()) {
+      final Template template = templates.getIfPresent(shape.get().key);
+      if (template != null) {
+        final Optional<PreparedStatement<Query>> bound =
+            template.bind(shape.get(), executionContext.getMetaStore());
+        if (bound.isPresent()) {
+          return bound.get();
+        }
+      }
+    }
+
+    final PreparedStatement<?> prepared = executionContext.prepare(
+        parsedStatement == null ? parseSingle(sql) : parsedStatement,
+        variables
+    );
+
+    shape.ifPresent(s -> Template.of(prepared.getStatement(), s, executionContext.getMetaStore())
+        .ifPresent(template -> templates.put(s.key, template)));
+
+    return prepared;
+  }
+
+  private ParsedStatement parseCached(final String sql) {
+    final ParsedStatement cached = parsed.getIfPresent(sql);
+    if (cached != null) {
+      return cached;
+    }
+
+    final ParsedStatement statement = parseSingle(sql);
+    parsed.put(sql, statement);
+    return statement;
+  }
+
+  private ParsedStatement parseSingle(final String sql) {
+    final List<ParsedStatement> statements = executionContext.parse(sql);
+    if ((statements.size() != 1)) {
+      throw new KsqlStatementException(
+          String
+              .format("Expected exactly one KSQL statement; found %d instead", statements.size()),
+          sql);
+    }
+    return statements.get(0);
+  }
+
+  private static final class Shape {
+
+    private final String key;
+    private final List<Token> tokens;
+    private final List<Integer> literalIndexes;
+
+    private Shape(
+        final String key,
+        final List<Token> tokens,
+        final List<Integer> literalIndexes
+    ) {
+      this.key = key;
+      this.tokens = tokens;
+      this.literalIndexes = literalIndexes;
+    }
+
+    static Optional<Shape> of(final String text) {
+      final SqlBaseLexer lexer = new SqlBaseLexer(
+          new CaseInsensitiveStream(CharStreams.fromString(text)));
+      final FailureListener failureListener = new FailureListener();
+      lexer.removeErrorListeners();
+      lexer.addErrorListener(failureListener);
+
+      final CommonTokenStream tokenStream = new CommonTokenStream(lexer);
+      tokenStream.fill();
+      if (failureListener.failed) {
+        // Leave it to the parser to report the error:
+        return Optional.empty();
+      }
+
+      final StringBuilder key = new StringBuilder(text.length());
+      final List<Token> tokens = new ArrayList<>();
+      final List<Integer> literalIndexes = new ArrayList<>();
+
+      for (final Token token : tokenStream.getTokens()) {
+        if (token.getChannel() != Token.DEFAULT_CHANNEL) {
+          continue;
+        }
+
+        key.append(token.getType()).append(':');
+        if (isLiteral(token)) {
+          literalIndexes.add(tokens.size());
+        } else if (token.getType() != Token.EOF) {
+          key.append(token.getText().length()).append(':').append(token.getText());
+        }
+        key.append(' ');
+
+        tokens.add(token);
+      }
+
+      return Optional.of(new Shape(key.toString(), tokens, literalIndexes));
+    }
+
+    int literalCount() {
+      return literalIndexes.size();
+    }
+
+    Token literal(final int idx) {
+      return tokens.get(literalIndexes.get(idx));
+    }
+
+    Optional<Token> minusBefore(final int idx) {
+      final int tokenIdx = literalIndexes.get(idx);
+      if (tokenIdx == 0 || tokens.get(tokenIdx - 1).getType() != SqlBaseLexer.MINUS) {
+        return Optional.empty();
+      }
+      return Optional.of(tokens.get(tokenIdx - 1));
+    }
+
+    String statementText() {
+      // Matches the text of a parsed statement, i.e. up to and including the trailing semicolon:
+      final Token first = tokens.get(0);
+      final Token last = tokens.get(tokens.size() - 2);
+      return first.getInputStream()
+          .getText(Interval.of(first.getStartIndex(), last.getStopIndex()));
+    }
+
+    private static boolean isLiteral(final Token token) {
+      switch (token.getType()) {
+        case SqlBaseLexer.STRING:
+        case SqlBaseLexer.INTEGER_VALUE:
+        case SqlBaseLexer.DECIMAL_VALUE:
+        case SqlBaseLexer.FLOATING_POINT_VALUE:
+          return true;
+        default:
+          return false;
+      }
+    }
+  }
+
+  private static final class Template {
+
+    private final Query query;
+    private final SourceName sourceName;
+    private final DataSource source;
+    private final List<Literal> literals;
+    private final boolean[] negated;
+
+    private Template(
+        final Query query,
+        final SourceName sourceName,
+        final DataSource source,
+        final List<Literal> literals,
+        final boolean[] negated
+    ) {
+      this.query = query;
+      this.sourceName = sourceName;
+      this.source = source;
+      this.literals = literals;
+      this.negated = negated;
+    }
+
+    static Optional<Template> of(
+        final Statement statement,
+        final Shape shape,
+        final MetaStore metaStore
+    ) {
+      if (!(statement instanceof Query)
+          || !((Query) statement).isPullQuery()
+          || !(((Query) statement).getFrom() instanceof AliasedRelation)) {
+        return Optional.empty();
+      }
+
+      final Query query = (Query) statement;
+      final AliasedRelation from = (AliasedRelation) query.getFrom();
+      if (!(from.getRelation() instanceof Table)) {
+        return Optional.empty();
+      }
+
+      final SourceName sourceName = ((Table) from.getRelation()).getName();
+      final DataSource source = metaStore.getSource(sourceName);
+      if (source == null) {
+        return Optional.empty();
+      }
+
+      final List<Literal> found = StatementLiterals.find(query);
+      if (found.size() != shape.literalCount()) {
+        return Optional.empty();
+      }
+
+      final Map<NodeLocation, Literal> byLocation = new HashMap<>();
+      for (final Literal literal : found) {
+        if (!literal.getLocation().isPresent()
+            || byLocation.put(literal.getLocation().get(), literal) != null) {
+          return Optional.empty();
+        }
+      }
+
+      final List<Literal> literals = new ArrayList<>(found.size());
+      final boolean[] negated = new boolean[found.size()];
+      for (int i = 0; i < shape.literalCount(); i++) {
+        // A negative number's literal starts at the minus sign, if it has one:
+        final Optional<Token> minus = shape.minusBefore(i);
+        Literal literal = byLocation.get(location(shape.literal(i)));
+        if (literal == null && minus.isPresent()) {
+          literal = byLocation.get(location(minus.get()));
+          negated[i] = true;
+        }
+
+        if (literal == null || !literal.equals(toLiteral(shape, i, negated[i]).orElse(null))) {
+          return Optional.empty();
+        }
+
+        literals.add(literal);
+      }
+
+      return Optional.of(new Template(query, sourceName, source, literals, negated));
+    }
+
+    Optional<PreparedStatement<Query>> bind(final Shape shape, final MetaStore metaStore) {
+      if (metaStore.getSource(sourceName) != source) {
+        return Optional.empty();
+      }
+
+      final IdentityHashMap<Literal, Literal> replacements = new IdentityHashMap<>();
+      for (int i = 0; i < literals.size(); i++) {
+        final Optional<Literal> literal = toLiteral(shape, i, negated[i]);
+        if (!literal.isPresent()) {
+          return Optional.empty();
+        }
+        replacements.put(literals.get(i), literal.get());
+      }
+
+      return Optional.of(PreparedStatement.of(
+          shape.statementText(),
+          (Query) StatementLiterals.replace(query, replacements)
+      ));
+    }
+
+    /**
+     * Builds the literal for a token in the same way as {@code AstBuilder}, or returns empty if
+     * the token's value is invalid, which is left to the parser to report.
+     */
+    private static Optional<Literal> toLiteral(
+        final Shape shape,
+        final int idx,
+        final boolean negated
+    ) {
+      final Token token = shape.literal(idx);
+      final Optional<NodeLocation> location = negated
+          ? shape.minusBefore(idx).map(Template::location)
+          : Optional.of(location(token));
+      final String text = negated ? "-" + token.getText() : token.getText();
+
+      try {
+        switch (token.getType()) {
+          case SqlBaseLexer.STRING:
+            return negated
+                ? Optional.empty()
+                : Optional.of(new StringLiteral(location, ParserUtil.unquote(text, "'")));
+          case SqlBaseLexer.INTEGER_VALUE:
+            return Optional.of(ParserUtil.parseIntegerLiteral(text, location));
+          case SqlBaseLexer.DECIMAL_VALUE:
+            return Optional.of(ParserUtil.parseDecimalLiteral(text, location));
+          case SqlBaseLexer.FLOATING_POINT_VALUE:
+            return Optional.of(ParserUtil.parseFloatLiteral(text, location));
+          default:
+            return Optional.empty();
+        }
+      } catch (final Exception e) {
+        return Optional.empty();
+      }
+    }
+
+    private static NodeLocation location(final Token token) {
+      return new NodeLocation(token.getLine(), token.getCharPositionInLine());
+    }
+  }
+
+  private static final class FailureListener extends BaseErrorListener {
+
+    private boolean failed;
+
+    @Override
+    public void syntaxError(
+        final Recognizer<?, ?> recognizer,
+        final Object offendingSymbol,
+        final int line,
+        final int charPositionInLine,
+        final String msg,
+        final RecognitionException e
+    ) {
+      failed = true;
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.server;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat.ValueEncoding;
+import io.confluent.ksql.rest.entity.ConsistencyToken;
+import io.confluent.ksql.rest.entity.KsqlErrorMessage;
+import io.confluent.ksql.rest.entity.PushContinuationToken;
+import io.confluent.ksql.rest.entity.QueryResponseMetadata;
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes the query response stream in binary format.
+ *
+ * <p>Rows are encoded using the column types sent in the metadata, rather than as JSON, and are
+ * written to the response in batches: rows are buffered until either enough have been buffered
+ * or the current event loop task completes.
+ *
+ * <p>See {@link BinaryQueryStreamFormat} for a full description of the format.
+ */
+public class BinaryQueryStreamResponseWriter implements QueryStreamResponseWriter {
+
+  private static final int FLUSH_SIZE_BYTES = 64 * 1024;
+
+  private final HttpServerResponse response;
+  private final Context context;
+  private Buffer pending = Buffer.buffer();
+  private boolean flushScheduled;
+  private List<ValueEncoding> encodings;
+
+  @SuppressFBWarnings(value = "EI_EXPOSE_REP2")
+  public BinaryQueryStreamResponseWriter(
+      final HttpServerResponse response,
+      final Context context
+  ) {
+    this.response = Objects.requireNonNull(response);
+    this.context = Objects.requireNonNull(context);
+  }
+
+  @Override
+  public QueryStreamResponseWriter writeMetadata(final QueryResponseMetadata metaData) {
+    encodings = ValueEncoding.forColumnTypes(metaData.columnTypes);
+    response.putHeader(HttpHeaders.CONTENT_TYPE, BinaryQueryStreamFormat.CONTENT_TYPE);
+    appendJsonFrame(BinaryQueryStreamFormat.METADATA_FRAME, metaData);
+    flush();
+    return this;
+  }
+
+  @Override
+  public QueryStreamResponseWriter writeRow(final GenericRow row) {
+    if (encodings == null) {
+      throw new IllegalStateException("writeRow called before metadata written");
+    }
+
+    final int lengthPos = appendFrameHeader(BinaryQueryStreamFormat.ROW_FRAME);
+    appendRow(row.values());
+    pending.setInt(lengthPos, pending.length() - lengthPos - Integer.BYTES);
+
+    if (pending.length() >= FLUSH_SIZE_BYTES) {
+      flush();
+    } else if (!flushScheduled) {
+      flushScheduled = true;
+      context.runOnContext(v -> {
+        flushScheduled = false;
+        flush();
+      });
+    }
+    return this;
+  }
+
+  @Override
+  public QueryStreamResponseWriter writeContinuationToken(
+      final PushContinuationToken pushContinuationToken) {
+    appendJsonFrame(BinaryQueryStreamFormat.CONTINUATION_TOKEN_FRAME, pushContinuationToken);
+    flush();
+    return this;
+  }
+
+  @Override
+  public QueryStreamResponseWriter writeError(final KsqlErrorMessage error) {
+    appendJsonFrame(BinaryQueryStreamFormat.ERROR_FRAME, error);
+    flush();
+    return this;
+  }
+
+  @Override
+  public QueryStreamResponseWriter writeConsistencyToken(final ConsistencyToken consistencyToken) {
+    appendJsonFrame(BinaryQueryStreamFormat.CONSISTENCY_TOKEN_FRAME, consistencyToken);
+    flush();
+    return this;
+  }
+
+  @Override
+  public void end() {
+    flush();
+    response.end();
+  }
+
+  private void flush() {
+    if (pending.length() == 0 || response.ended() || response.closed()) {
+      return;
+    }
+    response.write(pending);
+    pending = Buffer.buffer();
+  }
+
+  private int appendFrameHeader(final byte frameType) {
+    pending.appendByte(frameType);
+    final int lengthPos = pending.length();
+    pending.appendInt(0);
+    return lengthPos;
+  }
+
+  private void appendJsonFrame(final byte frameType, final Object entity) {
+    final Buffer json = ServerUtils.serializeObject(entity);
+    pending.appendByte(frameType);
+    pending.appendInt(json.length());
+    pending.appendBuffer(json);
+  }
+
+  private void appendRow(final List<?> values) {
+    if (values.size() != encodings.size()) {
+      throw new IllegalStateException("Row does not match metadata. Expected "
+          + encodings.size() + " columns, got " + values.size());
+    }
+
+    final int bitmapPos = pending.length();
+    for (int i = 0; i < values.size(); i += Byte.SIZE) {
+      pending.appendByte((byte) 0);
+    }
+
+    for (int i = 0; i < values.size(); i++) {
+      final Object value = values.get(i);
+      if (value == null) {
+        final int bytePos = bitmapPos + i / Byte.SIZE;
+        pending.setByte(bytePos, (byte) (pending.getByte(bytePos) | (1 << (i % Byte.SIZE))));
+      } else {
+        appendValue(encodings.get(i), value);
+      }
+    }
+  }
+
+  private void appendValue(final ValueEncoding encoding, final Object value) {
+    switch (encoding) {
+      case BOOLEAN:
+        pending.appendByte((byte) ((Boolean) value ? 1 : 0));
+        break;
+      case INTEGER:
+        pending.appendInt(((Number) value).intValue());
+        break;
+      case BIGINT:
+        pending.appendLong(((Number) value).longValue());
+        break;
+      case DOUBLE:
+        pending.appendDouble(((Number) value).doubleValue());
+        break;
+      case STRING:
+        final byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        pending.appendInt(bytes.length);
+        pending.appendBytes(bytes);
+        break;
+      default:
+        final Buffer json = ServerUtils.serializeObject(value);
+        pending.appendInt(json.length());
+        pending.appendBuffer(json);
+        break;
+    }
+  }
+}
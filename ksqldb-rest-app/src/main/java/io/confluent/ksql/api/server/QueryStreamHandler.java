@@ -20,6 +20,7 @@ import static io.confluent.ksql.api.server.ServerUtils.checkHttp2;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.api.auth.DefaultApiSecurityContext;
 import io.confluent.ksql.api.spi.Endpoints;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat;
 import io.confluent.ksql.rest.entity.QueryResponseMetadata;
 import io.confluent.ksql.rest.entity.QueryStreamArgs;
 import io.vertx.core.Context;
@@ -69,6 +70,9 @@ public class QueryStreamHandler implements Handler<RoutingContext> {
       // Default
       queryStreamResponseWriter =
           new DelimitedQueryStreamResponseWriter(routingContext.response());
+    } else if (BinaryQueryStreamFormat.CONTENT_TYPE.equals(contentType)) {
+      queryStreamResponseWriter =
+          new BinaryQueryStreamResponseWriter(routingContext.response(), context);
     } else {
       queryStreamResponseWriter = new JsonQueryStreamResponseWriter(routingContext.response());
     }
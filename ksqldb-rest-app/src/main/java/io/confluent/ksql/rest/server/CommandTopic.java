@@ -101,6 +101,20 @@ public class CommandTopic {
   }
 
   public List<QueuedCommand> getRestoreCommands(final Duration duration) {
+    return getRestoreCommands(
+        duration,
+        () -> commandConsumer.seekToBeginning(Collections.singletonList(commandTopicPartition))
+    );
+  }
+
+  public List<QueuedCommand> getRestoreCommands(final Duration duration, final long startOffset) {
+    return getRestoreCommands(
+        duration,
+        () -> commandConsumer.seek(commandTopicPartition, startOffset)
+    );
+  }
+
+  private List<QueuedCommand> getRestoreCommands(final Duration duration, final Runnable seek) {
     final List<QueuedCommand> restoreCommands = Lists.newArrayList();
     if (commandTopicBackup.commandTopicCorruption()) {
       log.warn("Corruption detected. "
@@ -110,8 +124,7 @@ public class CommandTopic {
 
     final long endOffset = getEndOffset();
 
-    commandConsumer.seekToBeginning(
-        Collections.singletonList(commandTopicPartition));
+    seek.run();
 
     log.info("Reading prior command records up to offset {}", endOffset);
 
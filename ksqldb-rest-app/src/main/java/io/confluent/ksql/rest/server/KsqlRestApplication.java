@@ -69,9 +69,11 @@ import io.confluent.ksql.rest.entity.StreamsList;
 import io.confluent.ksql.rest.server.HeartbeatAgent.Builder;
 import io.confluent.ksql.rest.server.computation.Command;
 import io.confluent.ksql.rest.server.computation.CommandRunner;
+import io.confluent.ksql.rest.server.computation.CommandSnapshotStore;
 import io.confluent.ksql.rest.server.computation.CommandStore;
 import io.confluent.ksql.rest.server.computation.InteractiveStatementExecutor;
 import io.confluent.ksql.rest.server.computation.InternalTopicSerdes;
+import io.confluent.ksql.rest.server.execution.CustomExecutors;
 import io.confluent.ksql.rest.server.resources.ClusterStatusResource;
 import io.confluent.ksql.rest.server.resources.HealthCheckResource;
 import io.confluent.ksql.rest.server.resources.HeartbeatResource;
@@ -585,6 +587,12 @@ public final class KsqlRestApplication implements Executable {
       apiServer = null;
     }
 
+    try {
+      CustomExecutors.closeInsertValuesProducers();
+    } catch (final Exception e) {
+      log.error("Exception while closing INSERT VALUES producers", e);
+    }
+
     if (vertx != null) {
       vertx.close();
     }
@@ -891,7 +899,8 @@ public final class KsqlRestApplication implements Executable {
         InternalTopicSerdes.deserializer(Command.class),
         errorHandler,
         serviceContext.getTopicClient(),
-        commandTopicName
+        commandTopicName,
+        commandSnapshotStore(ksqlConfig, restConfig, commandTopicName)
     );
   
     final KsqlResource ksqlResource = new KsqlResource(
@@ -1171,6 +1180,32 @@ public final class KsqlRestApplication implements Executable {
         .anyMatch(stream -> stream.getName().equals(processingLogStreamName));
   }
 
+  private static Optional<CommandSnapshotStore> commandSnapshotStore(
+      final KsqlConfig ksqlConfig,
+      final KsqlRestConfig restConfig,
+      final String commandTopicName
+  ) {
+    final String location =
+        restConfig.getString(KsqlRestConfig.KSQL_COMMAND_SNAPSHOT_LOCATION_CONFIG);
+    if (location.isEmpty()) {
+      return Optional.empty();
+    }
+
+    // The command topic backup must see every record of the command topic, so the restore
+    // can't skip the records covered by a snapshot:
+    if (!CommandTopicBackupUtil.backupLocation(ksqlConfig).isEmpty()) {
+      log.warn("Command snapshots are disabled, as {} is set.",
+          KsqlConfig.KSQL_METASTORE_BACKUP_LOCATION);
+      return Optional.empty();
+    }
+
+    return Optional.of(new CommandSnapshotStore(
+        location,
+        commandTopicName,
+        restConfig.getInt(KsqlRestConfig.KSQL_COMMAND_SNAPSHOT_INTERVAL_CONFIG)
+    ));
+  }
+
   private static Optional<LocalCommands> createLocalCommands(
       final KsqlRestConfig restConfig,
       final KsqlEngine ksqlEngine
@@ -246,6 +246,20 @@ public class KsqlRestConfig extends AbstractConfig {
   private static final String KSQL_COMMAND_RUNNER_BLOCKED_THRESHHOLD_ERROR_MS_DOC =
       "How long to wait for the command runner to process a command from the command topic "
           + "before reporting an error metric.";
+
+  public static final String KSQL_COMMAND_SNAPSHOT_LOCATION_CONFIG =
+      KSQL_CONFIG_PREFIX + "server.command.snapshot.location";
+  private static final String KSQL_COMMAND_SNAPSHOT_LOCATION_DOC =
+      "The directory in which to store a snapshot of the compacted command topic. On restart, "
+          + "the server reads the compacted commands from the snapshot, and only reads the "
+          + "commands written to the command topic after it. This only speeds up reading the "
+          + "command topic: all compacted commands are still executed. Snapshots are disabled "
+          + "if empty, or if " + KsqlConfig.KSQL_METASTORE_BACKUP_LOCATION + " is set.";
+
+  public static final String KSQL_COMMAND_SNAPSHOT_INTERVAL_CONFIG =
+      KSQL_CONFIG_PREFIX + "server.command.snapshot.interval";
+  private static final String KSQL_COMMAND_SNAPSHOT_INTERVAL_DOC =
+      "The number of commands to execute between writing snapshots of the command topic.";
   public static final String KSQL_HEARTBEAT_ENABLE_CONFIG =
       KSQL_CONFIG_PREFIX + "heartbeat.enable";
   private static final String KSQL_HEARTBEAT_ENABLE_DOC =
@@ -596,6 +610,19 @@ public class KsqlRestConfig extends AbstractConfig {
             15000L,
             Importance.LOW,
             KSQL_COMMAND_RUNNER_BLOCKED_THRESHHOLD_ERROR_MS_DOC
+        ).define(
+            KSQL_COMMAND_SNAPSHOT_LOCATION_CONFIG,
+            Type.STRING,
+            "",
+            Importance.LOW,
+            KSQL_COMMAND_SNAPSHOT_LOCATION_DOC
+        ).define(
+            KSQL_COMMAND_SNAPSHOT_INTERVAL_CONFIG,
+            Type.INT,
+            100,
+            oneOrMore(),
+            Importance.LOW,
+            KSQL_COMMAND_SNAPSHOT_INTERVAL_DOC
         ).define(
             KSQL_SERVER_ERROR_MESSAGES,
             Type.CLASS,
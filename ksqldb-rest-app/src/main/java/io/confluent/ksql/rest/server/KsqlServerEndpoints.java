@@ -23,6 +23,7 @@ import io.confluent.ksql.api.auth.ApiSecurityContext;
 import io.confluent.ksql.api.impl.InsertsStreamEndpoint;
 import io.confluent.ksql.api.impl.KsqlSecurityContextProvider;
 import io.confluent.ksql.api.impl.QueryEndpoint;
+import io.confluent.ksql.api.impl.QueryStatementCache;
 import io.confluent.ksql.api.server.InsertResult;
 import io.confluent.ksql.api.server.InsertsStreamSubscriber;
 import io.confluent.ksql.api.server.MetricsCallbackHolder;
@@ -98,6 +99,7 @@ public class KsqlServerEndpoints implements Endpoints {
   private final HARouting routing;
   private final PushRouting pushRouting;
   private final Optional<LocalCommands> localCommands;
+  private final QueryStatementCache statementCache;
 
   // CHECKSTYLE_RULES.OFF: ParameterNumber
   @SuppressFBWarnings(value = "EI_EXPOSE_REP2")
@@ -154,6 +156,10 @@ public class KsqlServerEndpoints implements Endpoints {
     this.routing = Objects.requireNonNull(routing);
     this.pushRouting = pushRouting;
     this.localCommands = Objects.requireNonNull(localCommands);
+    this.statementCache = new QueryStatementCache(
+        ksqlEngine,
+        ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_PULL_STATEMENT_CACHE_SIZE)
+    );
   }
 
   @Override
@@ -172,7 +178,7 @@ public class KsqlServerEndpoints implements Endpoints {
         return new QueryEndpoint(
             ksqlEngine, ksqlConfig, ksqlRestConfig, routingFilterFactory, pullQueryMetrics,
             scalablePushQueryMetrics, rateLimiter, pullConcurrencyLimiter, pullBandRateLimiter,
-            scalablePushBandRateLimiter, routing, pushRouting, localCommands)
+            scalablePushBandRateLimiter, routing, pushRouting, localCommands, statementCache)
             .createQueryPublisher(
                 sql,
                 properties,
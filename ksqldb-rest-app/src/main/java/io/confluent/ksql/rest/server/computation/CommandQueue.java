@@ -72,6 +72,16 @@ public interface CommandQueue extends Closeable {
    */
   List<QueuedCommand> getRestoreCommands();
 
+  /**
+   * Seeks to the supplied offset in the command queue and returns all commands between then and
+   * the end of the queue.
+   *
+   * @param startOffset the offset of the first command to return.
+   * @return the command list history from {@code startOffset}
+   * @apiNote this method may block
+   */
+  List<QueuedCommand> getRestoreCommands(long startOffset);
+
   /**
    * @param seqNum  the required minimum sequence number to wait for
    * @param timeout throws {@link TimeoutException} if it takes longer that
@@ -19,6 +19,7 @@ import com.google.common.annotations.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.rest.Errors;
 import io.confluent.ksql.rest.entity.ClusterTerminateRequest;
+import io.confluent.ksql.rest.server.computation.CommandSnapshotStore.Snapshot;
 import io.confluent.ksql.rest.server.resources.IncompatibleKsqlCommandVersionException;
 import io.confluent.ksql.rest.server.state.ServerState;
 import io.confluent.ksql.rest.util.ClusterTerminator;
@@ -88,6 +89,11 @@ public class CommandRunner implements Closeable {
   private boolean incompatibleCommandDetected;
   private final Supplier<Boolean> commandTopicExists;
   private boolean commandTopicDeleted;
+  private final Optional<CommandSnapshotStore> snapshotStore;
+  // the commands read so far, only compacted when a snapshot is written:
+  private List<QueuedCommand> snapshotCommands = new ArrayList<>();
+  private Optional<QueuedCommand> lastCommand = Optional.empty();
+  private int commandsSinceSnapshot;
   private Status state = new Status(CommandRunnerStatus.RUNNING, CommandRunnerDegradedReason.NONE);
 
   public enum CommandRunnerStatus {
@@ -146,7 +152,8 @@ public class CommandRunner implements Closeable {
       final Deserializer<Command> commandDeserializer,
       final Errors errorHandler,
       final KafkaTopicClient kafkaTopicClient,
-      final String commandTopicName
+      final String commandTopicName,
+      final Optional<CommandSnapshotStore> snapshotStore
   ) {
     this(
         statementExecutor,
@@ -166,7 +173,8 @@ public class CommandRunner implements Closeable {
         },
         commandDeserializer,
         errorHandler,
-        () -> kafkaTopicClient.isTopicExists(commandTopicName)
+        () -> kafkaTopicClient.isTopicExists(commandTopicName),
+        snapshotStore
     );
   }
 
@@ -187,7 +195,8 @@ public class CommandRunner implements Closeable {
       final Consumer<QueuedCommand> incompatibleCommandChecker,
       final Deserializer<Command> commandDeserializer,
       final Errors errorHandler,
-      final Supplier<Boolean> commandTopicExists
+      final Supplier<Boolean> commandTopicExists,
+      final Optional<CommandSnapshotStore> snapshotStore
   ) {
     // CHECKSTYLE_RULES.ON: ParameterNumberCheck
     this.statementExecutor = Objects.requireNonNull(statementExecutor, "statementExecutor");
@@ -212,6 +221,7 @@ public class CommandRunner implements Closeable {
         Objects.requireNonNull(errorHandler, "errorHandler");
     this.commandTopicExists =
         Objects.requireNonNull(commandTopicExists, "commandTopicExists");
+    this.snapshotStore = Objects.requireNonNull(snapshotStore, "snapshotStore");
     this.incompatibleCommandDetected = false;
     this.commandTopicDeleted = false;
   }
@@ -251,10 +261,17 @@ public class CommandRunner implements Closeable {
 
   /**
    * Read and execute all commands on the command topic, starting at the earliest offset.
+   *
+   * <p>If there is a snapshot of the compacted commands, they are read from it, and only the
+   * commands after it are read from the command topic. Either way, every compacted command is
+   * executed.
    */
   public void processPriorCommands(final PersistentQueryCleanupImpl queryCleanup) {
     try {
-      final List<QueuedCommand> restoreCommands = commandStore.getRestoreCommands();
+      final List<QueuedCommand> restoreCommands = snapshotStore
+          .flatMap(CommandSnapshotStore::read)
+          .flatMap(this::getRestoreCommandsFromSnapshot)
+          .orElseGet(commandStore::getRestoreCommands);
       final List<QueuedCommand> compatibleCommands = checkForIncompatibleCommands(restoreCommands);
 
       LOG.info("Restoring previous state from {} commands.", compatibleCommands.size());
@@ -268,6 +285,11 @@ public class CommandRunner implements Closeable {
       }
 
       final List<QueuedCommand> compacted = compactor.apply(compatibleCommands);
+      if (snapshotStore.isPresent() && !compatibleCommands.isEmpty()) {
+        snapshotCommands = new ArrayList<>(compacted);
+        lastCommand = Optional.of(compatibleCommands.get(compatibleCommands.size() - 1));
+        writeSnapshot();
+      }
 
       compacted.forEach(
           command -> {
@@ -330,7 +352,44 @@ public class CommandRunner implements Closeable {
       }
 
       executeStatement(command);
+      if (snapshotStore.isPresent()) {
+        snapshotCommands.add(command);
+        lastCommand = Optional.of(command);
+        commandsSinceSnapshot++;
+      }
+    }
+
+    if (snapshotStore.isPresent()
+        && commandsSinceSnapshot >= snapshotStore.get().getInterval()) {
+      writeSnapshot();
+    }
+  }
+
+  private Optional<List<QueuedCommand>> getRestoreCommandsFromSnapshot(final Snapshot snapshot) {
+    // Read from the last command in the snapshot, to check it was taken of this command topic:
+    final List<QueuedCommand> tail = commandStore.getRestoreCommands(snapshot.offset());
+    if (tail.isEmpty() || !snapshot.isLastCommand(tail.get(0))) {
+      LOG.warn("Command snapshot does not match the command topic at offset {}. "
+          + "Restoring from the start of the command topic.", snapshot.offset());
+      return Optional.empty();
     }
+
+    final List<QueuedCommand> commands = snapshot.queuedCommands();
+    LOG.info("Restoring {} commands from snapshot at offset {}, and {} commands after it.",
+        commands.size(), snapshot.offset(), tail.size() - 1);
+
+    commands.addAll(tail.subList(1, tail.size()));
+    return Optional.of(commands);
+  }
+
+  private void writeSnapshot() {
+    if (!snapshotStore.isPresent() || !lastCommand.isPresent() || incompatibleCommandDetected) {
+      return;
+    }
+
+    snapshotCommands = new ArrayList<>(compactor.apply(snapshotCommands));
+    snapshotStore.get().write(snapshotCommands, lastCommand.get());
+    commandsSinceSnapshot = 0;
   }
 
   private void executeStatement(final QueuedCommand queuedCommand) {
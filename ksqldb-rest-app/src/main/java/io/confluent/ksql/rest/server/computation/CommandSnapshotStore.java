@@ -0,0 +1,237 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.computation;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores a snapshot of the compacted command topic on local disk.
+ *
+ * <p>The snapshot holds the commands, including their plans, as they were read from the command
+ * topic, along with the offset of the last command read. On restart, the server reads the
+ * commands from the snapshot and only needs to read the commands written after that offset from
+ * the command topic, rather than the whole of the topic.
+ *
+ * <p>This only speeds up reading the command topic. It is not a snapshot of the engine's state:
+ * every compacted command is still replayed on restart, so the time taken to rebuild the
+ * metastore and start the persistent queries is unchanged.
+ *
+ * <p>The snapshot also holds the last command read, which must match the command at the same
+ * offset in the command topic. This detects snapshots taken of a different command topic, e.g.
+ * one that has since been deleted and recreated.
+ */
+public final class CommandSnapshotStore {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CommandSnapshotStore.class);
+
+  static final int VERSION = 1;
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final String SUFFIX = ".snapshot";
+
+  private final File file;
+  private final int interval;
+
+  public CommandSnapshotStore(
+      final String location,
+      final String commandTopicName,
+      final int interval
+  ) {
+    this(new File(location, commandTopicName + SUFFIX), interval);
+  }
+
+  CommandSnapshotStore(final File file, final int interval) {
+    this.file = Objects.requireNonNull(file, "file");
+    this.interval = interval;
+  }
+
+  /**
+   * @return the number of commands to execute between snapshots.
+   */
+  public int getInterval() {
+    return interval;
+  }
+
+  /**
+   * Reads the snapshot.
+   *
+   * @return the snapshot, or empty if there is no usable snapshot.
+   */
+  Optional<Snapshot> read() {
+    if (!file.exists()) {
+      return Optional.empty();
+    }
+
+    try {
+      final Snapshot snapshot = MAPPER.readValue(file, Snapshot.class);
+      if (snapshot.version != VERSION) {
+        LOG.info("Ignoring command snapshot {} with version {}. Expected version {}.",
+            file, snapshot.version, VERSION);
+        return Optional.empty();
+      }
+      return Optional.of(snapshot);
+    } catch (final IOException e) {
+      LOG.warn("Failed to read command snapshot {}. Restoring from the command topic.", file, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Writes a snapshot, replacing any previous snapshot.
+   *
+   * <p>Failing to write a snapshot is logged rather than thrown, as the command topic remains the
+   * source of truth.
+   *
+   * @param commands the compacted commands to snapshot.
+   * @param lastCommand the last command read from the command topic.
+   */
+  void write(final List<QueuedCommand> commands, final QueuedCommand lastCommand) {
+    final Snapshot snapshot = new Snapshot(
+        VERSION,
+        SnapshotCommand.of(lastCommand),
+        commands.stream().map(SnapshotCommand::of).collect(Collectors.toList())
+    );
+
+    try {
+      final Path target = file.toPath();
+      Files.createDirectories(target.toAbsolutePath().getParent());
+
+      final Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+      MAPPER.writeValue(temp.toFile(), snapshot);
+      Files.move(
+          temp,
+          target,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE
+      );
+
+      LOG.info("Wrote command snapshot of {} commands up to offset {}",
+          commands.size(), lastCommand.getOffset());
+    } catch (final IOException e) {
+      LOG.warn("Failed to write command snapshot {}", file, e);
+    }
+  }
+
+  static final class Snapshot {
+
+    private final int version;
+    private final SnapshotCommand lastCommand;
+    private final ImmutableList<SnapshotCommand> commands;
+
+    @JsonCreator
+    Snapshot(
+        @JsonProperty(value = "version", required = true) final int version,
+        @JsonProperty(value = "lastCommand", required = true) final SnapshotCommand lastCommand,
+        @JsonProperty(value = "commands", required = true) final List<SnapshotCommand> commands
+    ) {
+      this.version = version;
+      this.lastCommand = Objects.requireNonNull(lastCommand, "lastCommand");
+      this.commands = ImmutableList.copyOf(Objects.requireNonNull(commands, "commands"));
+    }
+
+    public int getVersion() {
+      return version;
+    }
+
+    public SnapshotCommand getLastCommand() {
+      return lastCommand;
+    }
+
+    public List<SnapshotCommand> getCommands() {
+      return commands;
+    }
+
+    /**
+     * @return the offset of the last command read from the command topic.
+     */
+    long offset() {
+      return lastCommand.offset;
+    }
+
+    /**
+     * @param command the command read from the command topic at the snapshot's offset.
+     * @return whether the snapshot was taken of the same command topic.
+     */
+    boolean isLastCommand(final QueuedCommand command) {
+      return command.getOffset() == lastCommand.offset
+          && Arrays.equals(command.getCommandId(), lastCommand.commandId)
+          && Arrays.equals(command.getCommand(), lastCommand.command);
+    }
+
+    List<QueuedCommand> queuedCommands() {
+      return commands.stream()
+          .map(SnapshotCommand::toQueuedCommand)
+          .collect(Collectors.toList());
+    }
+  }
+
+  static final class SnapshotCommand {
+
+    private final byte[] commandId;
+    private final byte[] command;
+    private final long offset;
+
+    @JsonCreator
+    SnapshotCommand(
+        @JsonProperty(value = "commandId", required = true) final byte[] commandId,
+        @JsonProperty(value = "command", required = true) final byte[] command,
+        @JsonProperty(value = "offset", required = true) final long offset
+    ) {
+      this.commandId = Objects.requireNonNull(commandId, "commandId");
+      this.command = Objects.requireNonNull(command, "command");
+      this.offset = offset;
+    }
+
+    static SnapshotCommand of(final QueuedCommand command) {
+      return new SnapshotCommand(
+          command.getCommandId(),
+          command.getCommand(),
+          command.getOffset()
+      );
+    }
+
+    public byte[] getCommandId() {
+      return Arrays.copyOf(commandId, commandId.length);
+    }
+
+    public byte[] getCommand() {
+      return Arrays.copyOf(command, command.length);
+    }
+
+    public long getOffset() {
+      return offset;
+    }
+
+    QueuedCommand toQueuedCommand() {
+      return new QueuedCommand(commandId, command, Optional.empty(), offset);
+    }
+  }
+}
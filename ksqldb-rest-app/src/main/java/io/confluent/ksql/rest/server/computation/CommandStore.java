@@ -271,6 +271,11 @@ public class CommandStore implements CommandQueue, Closeable {
     return commandTopic.getRestoreCommands(POLLING_TIMEOUT_FOR_COMMAND_TOPIC);
   }
 
+  @Override
+  public List<QueuedCommand> getRestoreCommands(final long startOffset) {
+    return commandTopic.getRestoreCommands(POLLING_TIMEOUT_FOR_COMMAND_TOPIC, startOffset);
+  }
+
   @Override
   public void ensureConsumedPast(final long seqNum, final Duration timeout)
       throws InterruptedException, TimeoutException {
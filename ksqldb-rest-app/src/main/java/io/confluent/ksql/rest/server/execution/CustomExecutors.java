@@ -115,6 +115,13 @@ public enum CustomExecutors {
     return this::execute;
   }
 
+  /**
+   * Closes the producers pooled for INSERT VALUES statements.
+   */
+  public static void closeInsertValuesProducers() {
+    InsertValuesProducers.POOL.close();
+  }
+
   public StatementExecutorResponse execute(
       final ConfiguredStatement<?> statement,
       final SessionProperties sessionProperties,
@@ -130,7 +137,7 @@ public enum CustomExecutors {
   }
 
   private static StatementExecutor insertValuesExecutor() {
-    final InsertValuesExecutor executor = new InsertValuesExecutor();
+    final InsertValuesExecutor executor = new InsertValuesExecutor(InsertValuesProducers.POOL);
 
     return (
         statement,
@@ -147,4 +154,9 @@ public enum CustomExecutors {
       return StatementExecutorResponse.handled(Optional.empty());
     };
   }
+
+  // Enum constants are initialized before the enum's own static fields, so hold the pool here:
+  private static final class InsertValuesProducers {
+    private static final PooledRecordProducer POOL = new PooledRecordProducer();
+  }
 }
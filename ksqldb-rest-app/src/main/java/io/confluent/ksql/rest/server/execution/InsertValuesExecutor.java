@@ -16,6 +16,7 @@
 package io.confluent.ksql.rest.server.execution;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import io.confluent.kafka.schemaregistry.ParsedSchema;
 import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
 import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
@@ -26,6 +27,7 @@ import io.confluent.ksql.engine.generic.GenericRecordFactory;
 import io.confluent.ksql.engine.generic.KsqlGenericRecord;
 import io.confluent.ksql.exception.KsqlSchemaAuthorizationException;
 import io.confluent.ksql.exception.KsqlTopicAuthorizationException;
+import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.logging.processing.NoopProcessingLogContext;
 import io.confluent.ksql.metastore.MetaStore;
 import io.confluent.ksql.metastore.model.DataSource;
@@ -50,11 +52,15 @@ import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.KsqlStatementException;
 import io.confluent.ksql.util.ReservedInternalTopics;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.LongSupplier;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -65,6 +71,7 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.acl.AclOperation;
 import org.apache.kafka.common.errors.TopicAuthorizationException;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,6 +81,7 @@ public class InsertValuesExecutor {
 
   private static final Logger LOG = LoggerFactory.getLogger(InsertValuesExecutor.class);
   private static final Duration MAX_SEND_TIMEOUT = Duration.ofSeconds(5);
+  private static final Duration MAX_ACK_TIMEOUT = Duration.ofSeconds(30);
 
   private final LongSupplier clock;
   private final boolean canBeDisabledByConfig;
@@ -82,7 +90,11 @@ public class InsertValuesExecutor {
   private final KeySerdeFactory keySerdeFactory;
 
   public InsertValuesExecutor() {
-    this(true, InsertValuesExecutor::sendRecord);
+    this(true, new ProducerPerStatement());
+  }
+
+  InsertValuesExecutor(final RecordProducer producer) {
+    this(true, producer);
   }
 
   public interface RecordProducer {
@@ -92,6 +104,28 @@ public class InsertValuesExecutor {
         ServiceContext serviceContext,
         Map<String, Object> producerProps
     );
+
+    /**
+     * Sends the records of a single statement.
+     *
+     * <p>Implementations may pipeline the sends, and may return before the records are
+     * acknowledged if {@code awaitAcks} is false.
+     *
+     * @param records the records to send, in order.
+     * @param serviceContext the service context to produce with.
+     * @param userPrincipalName the name of the user the service context was created for, if any.
+     * @param producerProps the producer properties.
+     * @param awaitAcks whether to wait for the records to be acknowledged.
+     */
+    default void sendRecords(
+        final List<ProducerRecord<byte[], byte[]>> records,
+        final ServiceContext serviceContext,
+        final Optional<String> userPrincipalName,
+        final Map<String, Object> producerProps,
+        final boolean awaitAcks
+    ) {
+      records.forEach(record -> sendRecord(record, serviceContext, producerProps));
+    }
   }
 
   @VisibleForTesting
@@ -114,7 +148,7 @@ public class InsertValuesExecutor {
       final KeySerdeFactory keySerdeFactory,
       final ValueSerdeFactory valueSerdeFactory
   ) {
-    this(InsertValuesExecutor::sendRecord, true, clock, keySerdeFactory, valueSerdeFactory);
+    this(new ProducerPerStatement(), true, clock, keySerdeFactory, valueSerdeFactory);
   }
 
   private InsertValuesExecutor(
@@ -144,11 +178,17 @@ public class InsertValuesExecutor {
 
     final DataSource dataSource = getDataSource(config, metaStore, insertValues);
 
-    final ProducerRecord<byte[], byte[]> record =
-        buildRecord(statement, metaStore, dataSource, serviceContext);
+    final List<ProducerRecord<byte[], byte[]>> records =
+        buildRecords(statement, metaStore, dataSource, serviceContext);
 
     try {
-      producer.sendRecord(record, serviceContext, config.getProducerClientConfigProps());
+      producer.sendRecords(
+          records,
+          serviceContext,
+          sessionProperties.getUserPrincipalName(),
+          config.getProducerClientConfigProps(),
+          !config.getBoolean(KsqlConfig.KSQL_INSERT_INTO_VALUES_ASYNC_ACKS)
+      );
     } catch (final TopicAuthorizationException e) {
       // TopicAuthorizationException does not give much detailed information about why it failed,
       // except which topics are denied. Here we just add the ACL to make the error message
@@ -193,7 +233,7 @@ public class InsertValuesExecutor {
     return dataSource;
   }
 
-  private ProducerRecord<byte[], byte[]> buildRecord(
+  private List<ProducerRecord<byte[], byte[]>> buildRecords(
       final ConfiguredStatement<InsertValues> statement,
       final MetaStore metaStore,
       final DataSource dataSource,
@@ -205,25 +245,37 @@ public class InsertValuesExecutor {
     final KsqlConfig config = statement.getSessionConfig().getConfig(true);
 
     try {
-      final KsqlGenericRecord row = new GenericRecordFactory(config, metaStore, clock).build(
-          insertValues.getColumns(),
-          insertValues.getValues(),
-          dataSource.getSchema(),
-          dataSource.getDataSourceType()
-      );
+      final GenericRecordFactory recordFactory =
+          new GenericRecordFactory(config, metaStore, clock);
+
+      final List<KsqlGenericRecord> rows = new ArrayList<>(insertValues.getRows().size());
+      for (final List<Expression> values : insertValues.getRows()) {
+        rows.add(recordFactory.build(
+            insertValues.getColumns(),
+            values,
+            dataSource.getSchema(),
+            dataSource.getDataSourceType()
+        ));
+      }
 
-      final byte[] key = serializeKey(row.key, dataSource, config, serviceContext);
-      final byte[] value = serializeValue(row.value, dataSource, config, serviceContext);
+      // Serdes are created once per statement, not per row, as creating them may involve
+      // calls to the schema registry:
+      final List<byte[]> keys = serializeKeys(rows, dataSource, config, serviceContext);
+      final List<byte[]> values = serializeValues(rows, dataSource, config, serviceContext);
 
       final String topicName = dataSource.getKafkaTopicName();
 
-      return new ProducerRecord<>(
-          topicName,
-          null,
-          row.ts,
-          key,
-          value
-      );
+      final List<ProducerRecord<byte[], byte[]>> records = new ArrayList<>(rows.size());
+      for (int i = 0; i < rows.size(); i++) {
+        records.add(new ProducerRecord<>(
+            topicName,
+            null,
+            rows.get(i).ts,
+            keys.get(i),
+            values.get(i)
+        ));
+      }
+      return records;
     } catch (final Exception e) {
       throw new KsqlStatementException(
           createInsertFailedExceptionMessage(insertValues) + " " + e.getMessage(),
@@ -246,8 +298,8 @@ public class InsertValuesExecutor {
     }
   }
 
-  private byte[] serializeKey(
-      final GenericKey keyValue,
+  private List<byte[]> serializeKeys(
+      final List<KsqlGenericRecord> rows,
       final DataSource dataSource,
       final KsqlConfig config,
       final ServiceContext serviceContext
@@ -271,10 +323,15 @@ public class InsertValuesExecutor {
     );
 
     final String topicName = dataSource.getKafkaTopicName();
+    final Serializer<GenericKey> serializer = keySerde.serializer();
+    final List<byte[]> keys = new ArrayList<>(rows.size());
+    GenericKey keyValue = null;
     try {
-      return keySerde
-          .serializer()
-          .serialize(topicName, keyValue);
+      for (final KsqlGenericRecord row : rows) {
+        keyValue = row.key;
+        keys.add(serializer.serialize(topicName, keyValue));
+      }
+      return keys;
     } catch (final Exception e) {
       maybeThrowSchemaRegistryAuthError(
           FormatFactory.fromName(dataSource.getKsqlTopic().getKeyFormat().getFormat()),
@@ -331,8 +388,8 @@ public class InsertValuesExecutor {
     }
   }
 
-  private byte[] serializeValue(
-      final GenericRow row,
+  private List<byte[]> serializeValues(
+      final List<KsqlGenericRecord> rows,
       final DataSource dataSource,
       final KsqlConfig config,
       final ServiceContext serviceContext
@@ -354,9 +411,15 @@ public class InsertValuesExecutor {
     );
 
     final String topicName = dataSource.getKafkaTopicName();
-
+    final Serializer<GenericRow> serializer = valueSerde.serializer();
+    final List<byte[]> values = new ArrayList<>(rows.size());
+    GenericRow row = null;
     try {
-      return valueSerde.serializer().serialize(topicName, row);
+      for (final KsqlGenericRecord record : rows) {
+        row = record.value;
+        values.add(serializer.serialize(topicName, row));
+      }
+      return values;
     } catch (final Exception e) {
       maybeThrowSchemaRegistryAuthError(
           FormatFactory.fromName(dataSource.getKsqlTopic().getValueFormat().getFormat()),
@@ -393,37 +456,76 @@ public class InsertValuesExecutor {
     }
   }
 
-  private static void sendRecord(
-      final ProducerRecord<byte[], byte[]> record,
-      final ServiceContext serviceContext,
-      final Map<String, Object> producerProps
-  ) {
-    // for now, just create a new producer each time
-    final Producer<byte[], byte[]> producer = serviceContext
-        .getKafkaClientSupplier()
-        .getProducer(producerProps);
-
-    final Future<RecordMetadata> producerCallResult;
-
-    try {
-      producerCallResult = producer.send(record);
-    } finally {
-      producer.close(MAX_SEND_TIMEOUT);
-    }
+  /**
+   * Waits for sent records to be acknowledged.
+   *
+   * @param results the results of sending the records.
+   */
+  static void awaitAcks(final List<Future<RecordMetadata>> results) {
+    awaitAcks(results, MAX_ACK_TIMEOUT);
+  }
 
+  @VisibleForTesting
+  static void awaitAcks(final List<Future<RecordMetadata>> results, final Duration timeout) {
+    final long deadline = System.nanoTime() + timeout.toNanos();
     try {
       // Check if the producer failed to write to the topic. This can happen if the
       // ServiceContext does not have write permissions.
-      producerCallResult.get();
+      for (final Future<RecordMetadata> result : results) {
+        result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      }
     } catch (final ExecutionException e) {
       if (e.getCause() instanceof RuntimeException) {
         throw (RuntimeException) e.getCause();
       }
       throw new RuntimeException(e);
+    } catch (final TimeoutException e) {
+      throw new KsqlException("Timed out after " + timeout.toMillis() + "ms waiting for "
+          + results.size() + " records to be acknowledged", e);
     } catch (final InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new RuntimeException(e);
     }
   }
 
-}
\ No newline at end of file
+  /**
+   * Creates a new producer for each statement, closing it once the statement's records are sent.
+   */
+  private static final class ProducerPerStatement implements RecordProducer {
+
+    @Override
+    public void sendRecord(
+        final ProducerRecord<byte[], byte[]> record,
+        final ServiceContext serviceContext,
+        final Map<String, Object> producerProps
+    ) {
+      sendRecords(ImmutableList.of(record), serviceContext, Optional.empty(), producerProps, true);
+    }
+
+    @Override
+    public void sendRecords(
+        final List<ProducerRecord<byte[], byte[]>> records,
+        final ServiceContext serviceContext,
+        final Optional<String> userPrincipalName,
+        final Map<String, Object> producerProps,
+        final boolean awaitAcks
+    ) {
+      final Producer<byte[], byte[]> producer = serviceContext
+          .getKafkaClientSupplier()
+          .getProducer(producerProps);
+
+      final List<Future<RecordMetadata>> producerCallResults = new ArrayList<>(records.size());
+
+      try {
+        for (final ProducerRecord<byte[], byte[]> record : records) {
+          producerCallResults.add(producer.send(record));
+        }
+      } finally {
+        producer.close(MAX_SEND_TIMEOUT);
+      }
+
+      // The producer is closed, so the records are always acknowledged or failed by now:
+      awaitAcks(producerCallResults);
+    }
+  }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.confluent.ksql.rest.server.execution.InsertValuesExecutor.RecordProducer;
+import io.confluent.ksql.services.ServiceContext;
+import io.confluent.ksql.util.KsqlException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.streams.KafkaClientSupplier;
+import org.apache.kafka.streams.processor.internals.DefaultKafkaClientSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link RecordProducer} that reuses producers across INSERT VALUES statements.
+ *
+ * <p>Producers are pooled by the producer properties and the user making the request. Service
+ * contexts built with the default, stateless {@link KafkaClientSupplier} share producers whoever
+ * the user is. Other suppliers, e.g. those returned by a security extension for a principal,
+ * produce with the user's credentials, so their producers are only shared by requests of the same
+ * user. Requests with such a supplier but no authenticated user are not pooled.
+ *
+ * <p>Producers that have not been used for a while are closed. The pool checks for idle producers
+ * periodically, as the cache only expires entries while it is being used. {@link #close()} closes
+ * all pooled producers on shutdown.
+ */
+final class PooledRecordProducer implements RecordProducer, AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PooledRecordProducer.class);
+
+  private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(1);
+  private static final int MAX_PRODUCERS = 100;
+  private static final Duration MAX_CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+  private final Cache<PoolKey, Producer<byte[], byte[]>> producers;
+
+  PooledRecordProducer() {
+    this(IDLE_TIMEOUT, MAX_PRODUCERS, Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("ksql-insert-values-producer-cleaner-%d")
+            .build()
+    ));
+  }
+
+  @VisibleForTesting
+  PooledRecordProducer(
+      final Duration idleTimeout,
+      final int maxProducers,
+      final ScheduledExecutorService cleaner
+  ) {
+    this.producers = CacheBuilder.newBuilder()
+        .expireAfterAccess(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+        .maximumSize(maxProducers)
+        .removalListener(PooledRecordProducer::closeProducer)
+        .build();
+
+    cleaner.scheduleWithFixedDelay(
+        producers::cleanUp,
+        idleTimeout.toMillis(),
+        idleTimeout.toMillis(),
+        TimeUnit.MILLISECONDS
+    );
+  }
+
+  @Override
+  public void sendRecord(
+      final ProducerRecord<byte[], byte[]> record,
+      final ServiceContext serviceContext,
+      final Map<String, Object> producerProps
+  ) {
+    sendRecords(ImmutableList.of(record), serviceContext, Optional.empty(), producerProps, true);
+  }
+
+  @Override
+  public void sendRecords(
+      final List<ProducerRecord<byte[], byte[]>> records,
+      final ServiceContext serviceContext,
+      final Optional<String> userPrincipalName,
+      final Map<String, Object> producerProps,
+      final boolean awaitAcks
+  ) {
+    final KafkaClientSupplier supplier = serviceContext.getKafkaClientSupplier();
+    final boolean sharedSupplier = supplier.getClass() == DefaultKafkaClientSupplier.class;
+    if (!sharedSupplier && !userPrincipalName.isPresent()) {
+      sendUnpooled(records, supplier, producerProps);
+      return;
+    }
+
+    final PoolKey key = new PoolKey(
+        supplier,
+        sharedSupplier ? Optional.empty() : userPrincipalName,
+        producerProps
+    );
+
+    final List<Future<RecordMetadata>> results = new ArrayList<>(records.size());
+    for (final ProducerRecord<byte[], byte[]> record : records) {
+      results.add(send(key, record, awaitAcks));
+    }
+
+    if (awaitAcks) {
+      InsertValuesExecutor.awaitAcks(results);
+    }
+  }
+
+  /**
+   * Closes all pooled producers.
+   *
+   * <p>The pool remains usable: any later statement creates a new producer. This keeps a shared
+   * pool working if the server is restarted within the same JVM, e.g. in tests.
+   */
+  @Override
+  public void close() {
+    producers.invalidateAll();
+    producers.cleanUp();
+  }
+
+  @VisibleForTesting
+  long size() {
+    producers.cleanUp();
+    return producers.size();
+  }
+
+  private Future<RecordMetadata> send(
+      final PoolKey key,
+      final ProducerRecord<byte[], byte[]> record,
+      final boolean awaitAcks
+  ) {
+    final Producer<byte[], byte[]> producer = getProducer(key);
+    try {
+      return send(producer, record, awaitAcks);
+    } catch (final IllegalStateException e) {
+      // The producer was closed by the pool between being fetched and used.
+      // Nothing was sent, so retry once with a new producer:
+      producers.asMap().remove(key, producer);
+      return send(getProducer(key), record, awaitAcks);
+    }
+  }
+
+  private static Future<RecordMetadata> send(
+      final Producer<byte[], byte[]> producer,
+      final ProducerRecord<byte[], byte[]> record,
+      final boolean awaitAcks
+  ) {
+    if (awaitAcks) {
+      return producer.send(record);
+    }
+
+    return producer.send(record, (metadata, e) -> {
+      if (e != null) {
+        LOG.error("Failed to insert values into topic '{}'.", record.topic(), e);
+      }
+    });
+  }
+
+  private static void sendUnpooled(
+      final List<ProducerRecord<byte[], byte[]>> records,
+      final KafkaClientSupplier supplier,
+      final Map<String, Object> producerProps
+  ) {
+    final Producer<byte[], byte[]> producer = supplier.getProducer(producerProps);
+    final List<Future<RecordMetadata>> results = new ArrayList<>(records.size());
+    try {
+      for (final ProducerRecord<byte[], byte[]> record : records) {
+        results.add(producer.send(record));
+      }
+    } finally {
+      producer.close(MAX_CLOSE_TIMEOUT);
+    }
+
+    InsertValuesExecutor.awaitAcks(results);
+  }
+
+  private Producer<byte[], byte[]> getProducer(final PoolKey key) {
+    try {
+      return producers.get(key, () -> key.supplier.getProducer(key.producerProps));
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof KafkaException) {
+        throw (KafkaException) e.getCause();
+      }
+      throw new KsqlException("Failed to create producer", e.getCause());
+    }
+  }
+
+  private static void closeProducer(
+      final RemovalNotification<PoolKey, Producer<byte[], byte[]>> notification
+  ) {
+    try {
+      notification.getValue().close(MAX_CLOSE_TIMEOUT);
+    } catch (final Exception e) {
+      LOG.warn("Failed to close pooled producer", e);
+    }
+  }
+
+  private static final class PoolKey {
+
+    private final KafkaClientSupplier supplier;
+    private final Optional<String> userPrincipalName;
+    private final Map<String, Object> producerProps;
+
+    PoolKey(
+        final KafkaClientSupplier supplier,
+        final Optional<String> userPrincipalName,
+        final Map<String, Object> producerProps
+    ) {
+      this.supplier = Objects.requireNonNull(supplier, "supplier");
+      this.userPrincipalName = Objects.requireNonNull(userPrincipalName, "userPrincipalName");
+      this.producerProps = Collections.unmodifiableMap(new HashMap<>(producerProps));
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final PoolKey that = (PoolKey) o;
+      // Suppliers are created per request, so are not part of the key: the suppliers of a user
+      // all produce with the user's credentials.
+      return Objects.equals(userPrincipalName, that.userPrincipalName)
+          && Objects.equals(producerProps, that.producerProps);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(userPrincipalName, producerProps);
+    }
+  }
+}
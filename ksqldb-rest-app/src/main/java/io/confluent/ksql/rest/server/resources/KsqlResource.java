@@ -63,6 +63,7 @@ import io.confluent.ksql.util.KsqlRequestConfig;
 import io.confluent.ksql.util.KsqlStatementException;
 import io.confluent.ksql.version.metrics.ActivenessRegistrar;
 import java.net.URL;
+import java.security.Principal;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
@@ -309,7 +310,8 @@ public class KsqlResource implements KsqlConfigurable {
               localHost,
               localUrl,
               requestConfig.getBoolean(KsqlRequestConfig.KSQL_REQUEST_INTERNAL_REQUEST),
-              request.getSessionVariables()
+              request.getSessionVariables(),
+              securityContext.getUserPrincipal().map(Principal::getName)
           )
       );
 
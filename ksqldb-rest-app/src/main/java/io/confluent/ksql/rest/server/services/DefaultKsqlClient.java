@@ -124,12 +124,11 @@ final class DefaultKsqlClient implements SimpleKsqlClient {
       final Optional<String> serializedOffsetVector
   ) {
     final KsqlTarget target = sharedClient
-        .target(serverEndPoint)
+        .targetHttp2(serverEndPoint)
         .properties(configOverrides);
 
     final RestResponse<Integer> resp = getTarget(target, authHeader)
-        .postQueryRequest(sql, requestProperties, Optional.empty(), rowConsumer,
-            shouldCloseConnection);
+        .postQueryStreamRequest(sql, requestProperties, rowConsumer, shouldCloseConnection);
 
     if (resp.isErroneous()) {
       return RestResponse.erroneous(resp.getStatusCode(), resp.getErrorMessage());
@@ -32,6 +32,7 @@ import io.confluent.ksql.api.utils.QueryResponse;
 import io.confluent.ksql.api.utils.ReceiveStream;
 import io.confluent.ksql.api.utils.SendStream;
 import io.confluent.ksql.parser.exception.ParseFailedException;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat;
 import io.confluent.ksql.rest.entity.PushQueryId;
 import io.confluent.ksql.util.AppInfo;
 import io.confluent.ksql.util.VertxCompletableFuture;
@@ -731,6 +732,50 @@ public class ApiTest extends BaseApiTest {
     }
   }
 
+  @Test
+  public void shouldUseBinaryFormatWhenBinaryAcceptHeaderQuery() throws Exception {
+    // When
+    JsonObject requestBody = new JsonObject().put("sql", DEFAULT_PULL_QUERY);
+    VertxCompletableFuture<HttpResponse<Buffer>> requestFuture = new VertxCompletableFuture<>();
+    client
+        .post("/query-stream")
+        .putHeader("accept", BinaryQueryStreamFormat.CONTENT_TYPE)
+        .sendBuffer(requestBody.toBuffer(), requestFuture);
+
+    // Then
+    HttpResponse<Buffer> response = requestFuture.get();
+    assertThat(response.statusCode(), is(200));
+    assertThat(response.getHeader("content-type"), is(BinaryQueryStreamFormat.CONTENT_TYPE));
+
+    final Buffer body = response.body();
+    final List<Byte> frameTypes = new ArrayList<>();
+    final List<Buffer> payloads = new ArrayList<>();
+    int pos = 0;
+    while (pos < body.length()) {
+      final int length = body.getInt(pos + 1);
+      frameTypes.add(body.getByte(pos));
+      payloads.add(body.getBuffer(pos + 5, pos + 5 + length));
+      pos += 5 + length;
+    }
+
+    assertThat(frameTypes, hasSize(DEFAULT_JSON_ROWS.size() + 1));
+    assertThat(frameTypes.get(0), is(BinaryQueryStreamFormat.METADATA_FRAME));
+    JsonObject metaData = payloads.get(0).toJsonObject();
+    assertThat(metaData.getJsonArray("columnTypes"), is(DEFAULT_COLUMN_TYPES));
+
+    // The first columns are STRING, INTEGER, BOOLEAN, BIGINT and DOUBLE:
+    final Buffer row = payloads.get(1);
+    final JsonArray expected = DEFAULT_JSON_ROWS.get(0);
+    assertThat(frameTypes.get(1), is(BinaryQueryStreamFormat.ROW_FRAME));
+    final int stringLength = row.getInt(2);
+    assertThat(row.getString(6, 6 + stringLength), is(expected.getString(0)));
+    pos = 6 + stringLength;
+    assertThat(row.getInt(pos), is(expected.getInteger(1)));
+    assertThat(row.getByte(pos + 4) != 0, is(expected.getBoolean(2)));
+    assertThat(row.getLong(pos + 5), is(expected.getLong(3)));
+    assertThat(row.getDouble(pos + 13), is(expected.getDouble(4)));
+  }
+
   @Test
   public void shouldUseDelimitedFormatWhenNoAcceptHeaderInserts() throws Exception {
     // When
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.api.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.KsqlExecutionContext;
+import io.confluent.ksql.metastore.MetaStore;
+import io.confluent.ksql.metastore.model.DataSource;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.parser.DefaultKsqlParser;
+import io.confluent.ksql.parser.KsqlParser;
+import io.confluent.ksql.parser.KsqlParser.ParsedStatement;
+import io.confluent.ksql.parser.KsqlParser.PreparedStatement;
+import io.confluent.ksql.parser.VariableSubstitutor;
+import io.confluent.ksql.util.KsqlStatementException;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class QueryStatementCacheTest {
+
+  private static final KsqlParser KSQL_PARSER = new DefaultKsqlParser();
+  private static final SourceName SOURCE_NAME = SourceName.of("T");
+
+  @Mock
+  private KsqlExecutionContext executionContext;
+  @Mock
+  private MetaStore metaStore;
+  @Mock
+  private DataSource source;
+  @Mock
+  private DataSource otherSource;
+
+  private QueryStatementCache cache;
+
+  @Before
+  public void setUp() {
+    when(executionContext.parse(any())).thenAnswer(inv -> KSQL_PARSER.parse(inv.getArgument(0)));
+
+    cache = new QueryStatementCache(executionContext, 10);
+  }
+
+  @Test
+  public void shouldPrepareStatementsOfTheSameShapeFromTemplate() {
+    // Given:
+    givenPrepare();
+    givenSource();
+    cache.prepare("SELECT * FROM T WHERE ID = 10;", Collections.emptyMap());
+
+    // When:
+    final PreparedStatement<?> result =
+        cache.prepare("SELECT * FROM T WHERE ID = 20;", Collections.emptyMap());
+
+    // Then:
+    verify(executionContext, times(1)).parse(any());
+    verify(executionContext, times(1)).prepare(any(), any());
+    assertThat(result.getStatementText(), is("SELECT * FROM T WHERE ID = 20;"));
+    assertThat(result.getStatement(), is(prepare("SELECT * FROM T WHERE ID = 20;")));
+  }
+
+  @Test
+  public void shouldBindAllTypesOfLiteral() {
+    // Given:
+    givenPrepare();
+    givenSource();
+    cache.prepare(
+        "SELECT * FROM T WHERE ID = -1 AND A = 'a' AND B = 1.5 AND C = 1E3 AND D = 10000000000;",
+        Collections.emptyMap()
+    );
+    final String sql =
+        "SELECT * FROM T WHERE ID = -200 AND A = 'it''s' AND B = 2.25 AND C = 2E3 AND D = 1;";
+
+    // When:
+    final PreparedStatement<?> result = cache.prepare(sql, Collections.emptyMap());
+
+    // Then:
+    verify(executionContext, times(1)).parse(any());
+    assertThat(result.getStatement(), is(prepare(sql)));
+  }
+
+  @Test
+  public void shouldBindVariables() {
+    // Given:
+    givenPrepare();
+    givenSource();
+    final String sql = "SELECT * FROM T WHERE ID = ${id};";
+    cache.prepare(sql, ImmutableMap.of("id", "10"));
+
+    // When:
+    final PreparedStatement<?> result = cache.prepare(sql, ImmutableMap.of("id", "20"));
+
+    // Then:
+    verify(executionContext, times(1)).parse(sql);
+    verify(executionContext, times(1)).prepare(any(), any());
+    assertThat(result.getStatementText(), is("SELECT * FROM T WHERE ID = 20;"));
+    assertThat(result.getStatement(), is(prepare("SELECT * FROM T WHERE ID = 20;")));
+  }
+
+  @Test
+  public void shouldNotUseTemplateIfLiteralIsNotInStatement() {
+    // Given:
+    givenPrepare();
+    givenSource();
+    cache.prepare("SELECT * FROM T WHERE ID = 10 LIMIT 1;", Collections.emptyMap());
+
+    // When:
+    final PreparedStatement<?> result =
+        cache.prepare("SELECT * FROM T WHERE ID = 20 LIMIT 2;", Collections.emptyMap());
+
+    // Then:
+    verify(executionContext, times(2)).parse(any());
+    assertThat(result.getStatement(), is(prepare("SELECT * FROM T WHERE ID = 20 LIMIT 2;")));
+  }
+
+  @Test
+  public void shouldNotUseTemplateOnceSourceHasChanged() {
+    // Given:
+    givenPrepare();
+    givenSource();
+    cache.prepare("SELECT * FROM T WHERE ID = 10;", Collections.emptyMap());
+    when(metaStore.getSource(SOURCE_NAME)).thenReturn(otherSource);
+
+    // When:
+    cache.prepare("SELECT * FROM T WHERE ID = 20;", Collections.emptyMap());
+
+    // Then:
+    verify(executionContext, times(2)).parse(any());
+  }
+
+  @Test
+  public void shouldNotUseTemplateForPushQueries() {
+    // Given:
+    givenPrepare();
+    cache.prepare("SELECT * FROM T WHERE ID = 10 EMIT CHANGES;", Collections.emptyMap());
+
+    // When:
+    cache.prepare("SELECT * FROM T WHERE ID = 20 EMIT CHANGES;", Collections.emptyMap());
+
+    // Then:
+    verify(executionContext, times(2)).parse(any());
+  }
+
+  @Test
+  public void shouldNotCacheIfDisabled() {
+    // Given:
+    givenPrepare();
+    cache = new QueryStatementCache(executionContext, 0);
+    cache.prepare("SELECT * FROM T WHERE ID = 10;", Collections.emptyMap());
+
+    // When:
+    cache.prepare("SELECT * FROM T WHERE ID = 20;", Collections.emptyMap());
+
+    // Then:
+    verify(executionContext, times(2)).parse(any());
+  }
+
+  @Test
+  public void shouldThrowOnMultipleStatements() {
+    // When:
+    final Exception e = assertThrows(
+        KsqlStatementException.class,
+        () -> cache.prepare("SELECT * FROM T; SELECT * FROM T;", Collections.emptyMap())
+    );
+
+    // Then:
+    assertThat(e.getMessage(),
+        containsString("Expected exactly one KSQL statement; found 2 instead"));
+  }
+
+  private void givenPrepare() {
+    when(executionContext.prepare(any(), any())).thenAnswer(inv -> {
+      final ParsedStatement statement = inv.getArgument(0);
+      final Map<String, String> variables = inv.getArgument(1);
+      return KSQL_PARSER.prepare(variables.isEmpty()
+          ? statement
+          : KSQL_PARSER.parse(VariableSubstitutor.substitute(statement, variables)).get(0),
+          metaStore);
+    });
+  }
+
+  private void givenSource() {
+    when(executionContext.getMetaStore()).thenReturn(metaStore);
+    when(metaStore.getSource(SOURCE_NAME)).thenReturn(source);
+  }
+
+  private Object prepare(final String sql) {
+    return KSQL_PARSER.prepare(KSQL_PARSER.parse(sql).get(0), metaStore).getStatement();
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.confluent.ksql.api.server;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat;
+import io.confluent.ksql.rest.entity.QueryResponseMetadata;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BinaryQueryStreamResponseWriterTest {
+
+  private static final int FLUSH_SIZE_BYTES = 64 * 1024;
+
+  @Mock
+  private HttpServerResponse response;
+  @Mock
+  private Context context;
+  @Captor
+  private ArgumentCaptor<Buffer> written;
+  @Captor
+  private ArgumentCaptor<Handler<Void>> scheduledFlush;
+
+  private BinaryQueryStreamResponseWriter writer;
+
+  @Before
+  public void setUp() {
+    writer = new BinaryQueryStreamResponseWriter(response, context);
+  }
+
+  @Test
+  public void shouldWriteNullBitmapForMoreThanEightColumns() {
+    // Given:
+    writer.writeMetadata(metadata(Collections.nCopies(10, "INTEGER")));
+
+    // When:
+    writer.writeRow(GenericRow.fromList(Arrays.asList(null, 1, 2, 3, 4, 5, 6, 7, null, null)));
+    writer.end();
+
+    // Then:
+    verify(response, times(2)).write(written.capture());
+    final Buffer frame = written.getAllValues().get(1);
+    assertThat(frame.getByte(0), is(BinaryQueryStreamFormat.ROW_FRAME));
+    assertThat(frame.getInt(1), is(2 + 7 * Integer.BYTES));
+    assertThat(frame.getByte(5), is((byte) 0x01));
+    assertThat(frame.getByte(6), is((byte) 0x03));
+    for (int i = 0; i < 7; i++) {
+      assertThat(frame.getInt(7 + i * Integer.BYTES), is(i + 1));
+    }
+  }
+
+  @Test
+  public void shouldWriteEmptyNullBitmapForEightColumns() {
+    // Given:
+    writer.writeMetadata(metadata(Collections.nCopies(8, "BOOLEAN")));
+
+    // When:
+    writer.writeRow(GenericRow.fromList(Collections.nCopies(8, true)));
+    writer.end();
+
+    // Then:
+    verify(response, times(2)).write(written.capture());
+    final Buffer frame = written.getAllValues().get(1);
+    assertThat(frame.getInt(1), is(1 + 8));
+    assertThat(frame.getByte(5), is((byte) 0));
+  }
+
+  @Test
+  public void shouldFlushRowsOnContextIfBelowFlushSize() {
+    // Given:
+    writer.writeMetadata(metadata(ImmutableList.of("STRING")));
+
+    // When:
+    writer.writeRow(GenericRow.genericRow("a"));
+    writer.writeRow(GenericRow.genericRow("b"));
+
+    // Then:
+    verify(response, times(1)).write(any(Buffer.class));
+    verify(context, times(1)).runOnContext(scheduledFlush.capture());
+
+    // When:
+    scheduledFlush.getValue().handle(null);
+
+    // Then:
+    verify(response, times(2)).write(written.capture());
+    assertThat(written.getAllValues().get(1).length(), is(2 * (5 + 1 + Integer.BYTES + 1)));
+  }
+
+  @Test
+  public void shouldFlushImmediatelyOnceFlushSizeReached() {
+    // Given:
+    final int valueSize = FLUSH_SIZE_BYTES / 2;
+    final int frameSize = 5 + 1 + Integer.BYTES + valueSize;
+    writer.writeMetadata(metadata(ImmutableList.of("STRING")));
+
+    // When:
+    writer.writeRow(GenericRow.genericRow(Strings.repeat("a", valueSize)));
+
+    // Then: below flush size, so not written yet:
+    verify(response, times(1)).write(any(Buffer.class));
+
+    // When:
+    writer.writeRow(GenericRow.genericRow(Strings.repeat("b", valueSize)));
+
+    // Then: both rows written without waiting for the scheduled flush:
+    verify(response, times(2)).write(written.capture());
+    assertThat(written.getAllValues().get(1).length(), is(2 * frameSize));
+
+    // When:
+    verify(context).runOnContext(scheduledFlush.capture());
+    scheduledFlush.getValue().handle(null);
+
+    // Then: nothing left to flush:
+    verify(response, times(2)).write(any(Buffer.class));
+  }
+
+  @Test
+  public void shouldNotWriteAfterResponseEnded() {
+    // Given:
+    writer.writeMetadata(metadata(ImmutableList.of("STRING")));
+    writer.writeRow(GenericRow.genericRow("a"));
+    verify(context).runOnContext(scheduledFlush.capture());
+    when(response.ended()).thenReturn(true);
+
+    // When:
+    scheduledFlush.getValue().handle(null);
+
+    // Then: only the metadata was written:
+    verify(response, times(1)).write(any(Buffer.class));
+  }
+
+  private static QueryResponseMetadata metadata(final List<String> columnTypes) {
+    final ImmutableList.Builder<String> names = ImmutableList.builder();
+    for (int i = 0; i < columnTypes.size(); i++) {
+      names.add("COL" + i);
+    }
+    return new QueryResponseMetadata("queryId", names.build(), columnTypes);
+  }
+}
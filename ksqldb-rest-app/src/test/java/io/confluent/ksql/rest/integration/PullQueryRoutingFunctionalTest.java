@@ -33,14 +33,17 @@ import static org.hamcrest.Matchers.not;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.confluent.common.utils.IntegrationTest;
 import io.confluent.ksql.api.auth.AuthenticationPlugin;
 import io.confluent.ksql.integration.IntegrationTestHarness;
 import io.confluent.ksql.integration.Retry;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.rest.client.BasicCredentials;
+import io.confluent.ksql.rest.client.RestResponse;
 import io.confluent.ksql.rest.entity.ActiveStandbyEntity;
 import io.confluent.ksql.rest.entity.ClusterStatusResponse;
+import io.confluent.ksql.rest.entity.HostStatusEntity;
 import io.confluent.ksql.rest.entity.KsqlEntity;
 import io.confluent.ksql.rest.entity.KsqlErrorMessage;
 import io.confluent.ksql.rest.entity.KsqlHostInfoEntity;
@@ -51,25 +54,33 @@ import io.confluent.ksql.rest.integration.FaultyKafkaConsumer.FaultyKafkaConsume
 import io.confluent.ksql.rest.integration.HighAvailabilityTestUtil.Shutoffs;
 import io.confluent.ksql.rest.server.KsqlRestConfig;
 import io.confluent.ksql.rest.server.TestKsqlRestApp;
+import io.confluent.ksql.rest.server.services.TestDefaultKsqlClientFactory;
 import io.confluent.ksql.rest.server.utils.TestUtils;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.serde.FormatFactory;
 import io.confluent.ksql.serde.SerdeFeatures;
+import io.confluent.ksql.services.SimpleKsqlClient;
 import io.confluent.ksql.test.util.KsqlIdentifierTestUtil;
 import io.confluent.ksql.test.util.KsqlTestFolder;
 import io.confluent.ksql.test.util.TestBasicJaasConfig;
 import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlRequestConfig;
 import io.confluent.ksql.util.UserDataProvider;
 import io.vertx.core.WorkerExecutor;
 import io.vertx.ext.web.RoutingContext;
 import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -409,6 +420,70 @@ public class PullQueryRoutingFunctionalTest {
     assertThat(values, containsInAnyOrder(ImmutableList.of(KEY, 1), ImmutableList.of(KEY1, 1)));
   }
 
+  @Test
+  public void shouldOnlyReturnRequestedPartitionsWhenForwardedOverQueryStream() throws Exception {
+    // Given:
+    final String twoPartitionTopic = USER_TOPIC + KsqlIdentifierTestUtil.uniqueIdentifierName();
+    TEST_HARNESS.ensureTopics(2, twoPartitionTopic);
+    TEST_HARNESS.produceRows(
+        twoPartitionTopic,
+        USER_PROVIDER,
+        FormatFactory.KAFKA,
+        FormatFactory.JSON,
+        timestampSupplier::getAndIncrement
+    );
+    final String stream = KsqlIdentifierTestUtil.uniqueIdentifierName();
+    makeAdminRequest(
+        REST_APP_0,
+        "CREATE STREAM " + stream
+            + " (" + USER_PROVIDER.ksqlSchemaString(false) + ")"
+            + " WITH ("
+            + "   kafka_topic='" + twoPartitionTopic + "', "
+            + "   value_format='JSON');",
+        USER_CREDS
+    );
+    final String table = KsqlIdentifierTestUtil.uniqueIdentifierName();
+    final List<KsqlEntity> res = makeAdminRequestWithResponse(
+        REST_APP_0,
+        "CREATE TABLE " + table + " AS"
+            + " SELECT " + USER_PROVIDER.key() + ", COUNT(1) AS COUNT FROM " + stream
+            + " GROUP BY " + USER_PROVIDER.key() + ";",
+        USER_CREDS
+    );
+    String tableQueryId = extractQueryId(res.get(0).toString());
+    tableQueryId = tableQueryId.substring(0, tableQueryId.length() - 1);
+    TEST_HARNESS.verifyAvailableUniqueRows(
+        table.toUpperCase(),
+        USER_PROVIDER.data().size(),
+        FormatFactory.KAFKA,
+        FormatFactory.JSON,
+        AGGREGATE_SCHEMA
+    );
+    final String tableSql = "SELECT * FROM " + table + ";";
+
+    final SimpleKsqlClient client = TestDefaultKsqlClientFactory.instance(
+        Optional.of("Basic " + Base64.getEncoder().encodeToString(
+            (USER_WITH_ACCESS + ":" + USER_WITH_ACCESS_PWD).getBytes(StandardCharsets.UTF_8))),
+        ImmutableMap.of());
+
+    try {
+      // When:
+      final List<List<?>> rows0 = makeForwardedPullQueryRequest(
+          client, findActiveHost(tableQueryId, 0), tableSql, 0);
+      final List<List<?>> rows1 = makeForwardedPullQueryRequest(
+          client, findActiveHost(tableQueryId, 1), tableSql, 1);
+
+      // Then:
+      final List<Object> keys = new ArrayList<>();
+      rows0.forEach(row -> keys.add(row.get(0)));
+      rows1.forEach(row -> keys.add(row.get(0)));
+      assertThat(keys, hasSize(USER_PROVIDER.data().size()));
+      assertThat(ImmutableSet.copyOf(keys), hasSize(USER_PROVIDER.data().size()));
+    } finally {
+      client.close();
+    }
+  }
+
   @Test
   public void shouldFilterLaggyServers() throws Exception {
     // Given:
@@ -495,6 +570,55 @@ public class PullQueryRoutingFunctionalTest {
         properties);
   }
 
+  private static List<List<?>> makeForwardedPullQueryRequest(
+      final SimpleKsqlClient client,
+      final KsqlHostInfoEntity host,
+      final String sql,
+      final int partition
+  ) {
+    final List<List<?>> rows = new CopyOnWriteArrayList<>();
+    final RestResponse<Integer> response = client.makeQueryRequest(
+        URI.create("http://" + host.getHost() + ":" + host.getPort()),
+        sql,
+        ImmutableMap.of(),
+        ImmutableMap.of(
+            KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_SKIP_FORWARDING, true,
+            KsqlRequestConfig.KSQL_REQUEST_INTERNAL_REQUEST, true,
+            KsqlRequestConfig.KSQL_REQUEST_QUERY_PULL_PARTITIONS, Integer.toString(partition)),
+        batch -> {
+          if (batch != null) {
+            batch.stream()
+                .map(StreamedRow::getRow)
+                .filter(Optional::isPresent)
+                .forEach(row -> rows.add(row.get().getColumns()));
+          }
+        },
+        new CompletableFuture<>(),
+        Optional.empty()
+    );
+    assertThat(response.isSuccessful(), is(true));
+    return rows;
+  }
+
+  // Finds the host running the given partition of the query as active
+  private KsqlHostInfoEntity findActiveHost(final String queryId, final int partition)
+      throws InterruptedException {
+    while (true) {
+      final ClusterStatusResponse clusterStatusResponse
+          = HighAvailabilityTestUtil.sendClusterStatusRequest(REST_APP_0, USER_CREDS);
+      for (final Map.Entry<KsqlHostInfoEntity, HostStatusEntity> entry
+          : clusterStatusResponse.getClusterStatus().entrySet()) {
+        final ActiveStandbyEntity entity =
+            entry.getValue().getActiveStandbyPerQuery().get(queryId);
+        if (entity != null && entity.getActivePartitions().stream()
+            .anyMatch(topicPartition -> topicPartition.getPartition() == partition)) {
+          return entry.getKey();
+        }
+      }
+      Thread.sleep(200);
+    }
+  }
+
   private ClusterFormation findClusterFormation(
       TestApp testApp0, TestApp testApp1, TestApp testApp2) {
     ClusterFormation clusterFormation = new ClusterFormation();
@@ -41,6 +41,7 @@ import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.engine.KsqlEngine;
 import io.confluent.ksql.metrics.MetricCollectors;
 import io.confluent.ksql.rest.Errors;
+import io.confluent.ksql.rest.server.computation.CommandSnapshotStore.Snapshot;
 import io.confluent.ksql.rest.server.resources.IncompatibleKsqlCommandVersionException;
 import io.confluent.ksql.rest.server.state.ServerState;
 import io.confluent.ksql.rest.util.ClusterTerminator;
@@ -50,9 +51,11 @@ import io.confluent.ksql.util.PersistentQueryMetadata;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
@@ -122,6 +125,10 @@ public class CommandRunnerTest {
   private PersistentQueryMetadata queryMetadata3;
   @Mock
   private PersistentQueryCleanupImpl persistentQueryCleanupImpl;
+  @Mock
+  private CommandSnapshotStore snapshotStore;
+  @Mock
+  private Snapshot snapshot;
   @Captor
   private ArgumentCaptor<Runnable> threadTaskCaptor;
   private CommandRunner commandRunner;
@@ -165,7 +172,8 @@ public class CommandRunnerTest {
         incompatibleCommandChecker,
         commandDeserializer,
         errorHandler,
-        commandTopicExists
+        commandTopicExists,
+        Optional.empty()
     );
   }
 
@@ -191,6 +199,64 @@ public class CommandRunnerTest {
     verify(queryMetadata3, never()).setCorruptionQueryError();
   }
 
+  @Test
+  public void shouldRestoreFromSnapshot() {
+    // Given:
+    givenSnapshotStore();
+    when(snapshotStore.read()).thenReturn(Optional.of(snapshot));
+    when(snapshot.offset()).thenReturn(5L);
+    when(snapshot.queuedCommands()).thenReturn(new ArrayList<>(ImmutableList.of(queuedCommand1)));
+    when(snapshot.isLastCommand(queuedCommand2)).thenReturn(true);
+    when(commandStore.getRestoreCommands(5L))
+        .thenReturn(ImmutableList.of(queuedCommand2, queuedCommand3));
+
+    // When:
+    commandRunner.processPriorCommands(persistentQueryCleanupImpl);
+
+    // Then:
+    final InOrder inOrder = inOrder(statementExecutor);
+    inOrder.verify(statementExecutor).handleRestore(eq(queuedCommand1));
+    inOrder.verify(statementExecutor).handleRestore(eq(queuedCommand3));
+    verify(statementExecutor, never()).handleRestore(eq(queuedCommand2));
+    verify(commandStore, never()).getRestoreCommands();
+    verify(snapshotStore).write(ImmutableList.of(queuedCommand1, queuedCommand3), queuedCommand3);
+  }
+
+  @Test
+  public void shouldRestoreFromCommandTopicIfSnapshotDoesNotMatch() {
+    // Given:
+    givenSnapshotStore();
+    when(snapshotStore.read()).thenReturn(Optional.of(snapshot));
+    when(snapshot.offset()).thenReturn(5L);
+    when(commandStore.getRestoreCommands(5L)).thenReturn(ImmutableList.of(queuedCommand3));
+
+    // When:
+    commandRunner.processPriorCommands(persistentQueryCleanupImpl);
+
+    // Then:
+    final InOrder inOrder = inOrder(statementExecutor);
+    inOrder.verify(statementExecutor).handleRestore(eq(queuedCommand1));
+    inOrder.verify(statementExecutor).handleRestore(eq(queuedCommand2));
+    inOrder.verify(statementExecutor).handleRestore(eq(queuedCommand3));
+    verify(snapshot, never()).queuedCommands();
+  }
+
+  @Test
+  public void shouldWriteSnapshotAfterInterval() {
+    // Given:
+    givenSnapshotStore();
+    when(snapshotStore.getInterval()).thenReturn(3);
+
+    // When:
+    commandRunner.fetchAndRunCommands();
+
+    // Then:
+    verify(snapshotStore).write(
+        ImmutableList.of(queuedCommand1, queuedCommand2, queuedCommand3),
+        queuedCommand3
+    );
+  }
+
   @Test
   public void shouldNotStartQueriesDuringRestoreWhenCorrupted() {
     // Given:
@@ -656,6 +722,28 @@ public class CommandRunnerTest {
     return threadTaskCaptor.getValue();
   }
 
+  private void givenSnapshotStore() {
+    commandRunner.close();
+    commandRunner = new CommandRunner(
+        statementExecutor,
+        commandStore,
+        3,
+        clusterTerminator,
+        executor,
+        serverState,
+        "ksql-service-id",
+        Duration.ofMillis(COMMAND_RUNNER_HEALTH_TIMEOUT),
+        "",
+        clock,
+        compactor,
+        incompatibleCommandChecker,
+        commandDeserializer,
+        errorHandler,
+        commandTopicExists,
+        Optional.of(snapshotStore)
+    );
+  }
+
   private void givenQueuedCommands(final QueuedCommand... cmds) {
     when(commandStore.getRestoreCommands()).thenReturn(Arrays.asList(cmds));
     when(commandStore.getNewCommands(any())).thenReturn(Arrays.asList(cmds));
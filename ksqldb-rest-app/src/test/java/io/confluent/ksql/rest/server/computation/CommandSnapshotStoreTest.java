@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.computation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.rest.entity.CommandId;
+import io.confluent.ksql.rest.server.computation.CommandSnapshotStore.Snapshot;
+import io.confluent.ksql.test.util.KsqlTestFolder;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CommandSnapshotStoreTest {
+
+  private static final QueuedCommand COMMAND_1 = command("a", 1);
+  private static final QueuedCommand COMMAND_2 = command("b", 4);
+
+  @Rule
+  public TemporaryFolder snapshotLocation = KsqlTestFolder.temporaryFolder();
+
+  private File file;
+  private CommandSnapshotStore store;
+
+  @Before
+  public void setUp() {
+    file = new File(snapshotLocation.getRoot(), "command_topic.snapshot");
+    store = new CommandSnapshotStore(file, 10);
+  }
+
+  @Test
+  public void shouldReadSnapshotThatWasWritten() {
+    // Given:
+    store.write(ImmutableList.of(COMMAND_1, COMMAND_2), COMMAND_2);
+
+    // When:
+    final Snapshot snapshot = store.read().get();
+
+    // Then:
+    assertThat(snapshot.offset(), is(4L));
+    assertThat(snapshot.queuedCommands(), is(ImmutableList.of(COMMAND_1, COMMAND_2)));
+    assertThat(snapshot.isLastCommand(COMMAND_2), is(true));
+    assertThat(snapshot.isLastCommand(command("b", 5)), is(false));
+    assertThat(snapshot.isLastCommand(command("c", 4)), is(false));
+  }
+
+  @Test
+  public void shouldReplacePreviousSnapshot() {
+    // Given:
+    store.write(ImmutableList.of(COMMAND_1), COMMAND_1);
+
+    // When:
+    store.write(Collections.emptyList(), COMMAND_2);
+
+    // Then:
+    final Snapshot snapshot = store.read().get();
+    assertThat(snapshot.offset(), is(4L));
+    assertThat(snapshot.queuedCommands(), is(Collections.emptyList()));
+  }
+
+  @Test
+  public void shouldReturnEmptyIfNoSnapshot() {
+    // When:
+    final Optional<Snapshot> snapshot = store.read();
+
+    // Then:
+    assertThat(snapshot, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldIgnoreSnapshotOfDifferentVersion() throws IOException {
+    // Given:
+    store.write(ImmutableList.of(COMMAND_1), COMMAND_1);
+    final String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    Files.write(
+        file.toPath(),
+        json.replace("\"version\":1", "\"version\":0").getBytes(StandardCharsets.UTF_8)
+    );
+
+    // When:
+    final Optional<Snapshot> snapshot = store.read();
+
+    // Then:
+    assertThat(snapshot, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldIgnoreUnreadableSnapshot() throws IOException {
+    // Given:
+    Files.write(file.toPath(), "not json".getBytes(StandardCharsets.UTF_8));
+
+    // When:
+    final Optional<Snapshot> snapshot = store.read();
+
+    // Then:
+    assertThat(snapshot, is(Optional.empty()));
+  }
+
+  private static QueuedCommand command(final String name, final long offset) {
+    return new QueuedCommand(
+        new CommandId(CommandId.Type.STREAM, name, CommandId.Action.CREATE),
+        new Command(
+            "CREATE STREAM " + name + " (id INT) WITH (kafka_topic='" + name + "');",
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Optional.empty()
+        ),
+        Optional.empty(),
+        offset
+    );
+  }
+}
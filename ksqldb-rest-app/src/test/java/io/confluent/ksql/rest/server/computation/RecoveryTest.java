@@ -171,6 +171,14 @@ public class RecoveryTest {
       return restoreCommands;
     }
 
+    @Override
+    public List<QueuedCommand> getRestoreCommands(final long startOffset) {
+      final List<QueuedCommand> restoreCommands =
+          ImmutableList.copyOf(commandLog.subList((int) startOffset, commandLog.size()));
+      this.offset = commandLog.size();
+      return restoreCommands;
+    }
+
     @Override
     public void ensureConsumedPast(final long seqNum, final Duration timeout) {
     }
@@ -241,7 +249,8 @@ public class RecoveryTest {
           InternalTopicSerdes.deserializer(Command.class),
           errorHandler,
           topicClient,
-          "command_topic"
+          "command_topic",
+          Optional.empty()
       );
 
       this.ksqlResource = new KsqlResource(
@@ -22,9 +22,12 @@ import static org.hamcrest.Matchers.containsString;
 import static org.junit.Assert.assertThrows;
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -80,15 +83,18 @@ import io.confluent.ksql.util.KsqlConstants;
 import io.confluent.ksql.util.KsqlException;
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.errors.TopicAuthorizationException;
 import org.apache.kafka.common.serialization.Serde;
@@ -97,6 +103,7 @@ import org.apache.kafka.streams.KafkaClientSupplier;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -217,6 +224,44 @@ public class InsertValuesExecutorTest {
     verify(producer).send(new ProducerRecord<>(TOPIC_NAME, null, 1L, KEY, VALUE));
   }
 
+  @Test
+  public void shouldHandleMultipleRowsWithSingleProducer() {
+    // Given:
+    final ConfiguredStatement<InsertValues> statement = ConfiguredStatement.of(
+        PreparedStatement.of("", InsertValues.ofRows(
+            Optional.empty(),
+            SourceName.of("TOPIC"),
+            allColumnNames(SCHEMA),
+            ImmutableList.of(
+                ImmutableList.of(
+                    new StringLiteral("key1"),
+                    new StringLiteral("str1"),
+                    new LongLiteral(1L)
+                ),
+                ImmutableList.of(
+                    new StringLiteral("key2"),
+                    new StringLiteral("str2"),
+                    new LongLiteral(2L)
+                )
+            ))),
+        SessionConfig.of(new KsqlConfig(ImmutableMap.of()), ImmutableMap.of())
+    );
+
+    // When:
+    executor.execute(statement, mock(SessionProperties.class), engine, serviceContext);
+
+    // Then:
+    final InOrder inOrder = inOrder(keySerializer, valueSerializer);
+    inOrder.verify(keySerializer).serialize(TOPIC_NAME, genericKey("key1"));
+    inOrder.verify(keySerializer).serialize(TOPIC_NAME, genericKey("key2"));
+    inOrder.verify(valueSerializer).serialize(TOPIC_NAME, genericRow("str1", 1L));
+    inOrder.verify(valueSerializer).serialize(TOPIC_NAME, genericRow("str2", 2L));
+    verify(producer, times(2)).send(new ProducerRecord<>(TOPIC_NAME, null, 1L, KEY, VALUE));
+    verify(producer).close(any(Duration.class));
+    verify(keySerdeFactory).create(any(), any(), any(), any(), any(), any(), any());
+    verify(valueSerdeFactory).create(any(), any(), any(), any(), any(), any(), any());
+  }
+
   @Test
   public void shouldInsertWrappedSingleField() {
     // Given:
@@ -581,7 +626,7 @@ public class InsertValuesExecutorTest {
     );
 
     final Future<?> failure = mock(Future.class);
-    when(failure.get()).thenThrow(ExecutionException.class);
+    when(failure.get(anyLong(), any())).thenThrow(ExecutionException.class);
     doReturn(failure).when(producer).send(any());
 
     // When:
@@ -595,6 +640,24 @@ public class InsertValuesExecutorTest {
         "Failed to insert values into "));
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldTimeOutWaitingForAcks() throws Exception {
+    // Given:
+    final Future<RecordMetadata> pending = mock(Future.class);
+    when(pending.get(anyLong(), any())).thenThrow(new TimeoutException());
+
+    // When:
+    final Exception e = assertThrows(
+        KsqlException.class,
+        () -> InsertValuesExecutor.awaitAcks(ImmutableList.of(pending), Duration.ofMillis(10))
+    );
+
+    // Then:
+    assertThat(e.getMessage(), containsString(
+        "Timed out after 10ms waiting for 1 records to be acknowledged"));
+  }
+
   @Test
   public void shouldThrowOnSerializingKeyError() {
     // Given:
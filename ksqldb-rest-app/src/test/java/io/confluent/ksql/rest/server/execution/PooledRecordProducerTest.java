@@ -0,0 +1,253 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.server.execution;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.services.ServiceContext;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.TopicAuthorizationException;
+import org.apache.kafka.streams.KafkaClientSupplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PooledRecordProducerTest {
+
+  private static final Map<String, Object> PROPS = ImmutableMap.of("acks", "all");
+  private static final Optional<String> USER = Optional.of("alice");
+  private static final Optional<String> OTHER_USER = Optional.of("bob");
+  private static final ProducerRecord<byte[], byte[]> RECORD_1 =
+      new ProducerRecord<>("topic", new byte[]{1}, new byte[]{1});
+  private static final ProducerRecord<byte[], byte[]> RECORD_2 =
+      new ProducerRecord<>("topic", new byte[]{2}, new byte[]{2});
+
+  @Mock
+  private ServiceContext serviceContext;
+  @Mock
+  private ServiceContext otherServiceContext;
+  @Mock
+  private KafkaClientSupplier supplier;
+  @Mock
+  private KafkaClientSupplier otherSupplier;
+  @Mock
+  private Producer<byte[], byte[]> producer;
+  @Mock
+  private Producer<byte[], byte[]> otherProducer;
+  @Mock
+  private Future<RecordMetadata> result;
+  @Mock
+  private ScheduledExecutorService cleaner;
+
+  private PooledRecordProducer pool;
+
+  @Before
+  public void setUp() {
+    when(serviceContext.getKafkaClientSupplier()).thenReturn(supplier);
+    when(supplier.getProducer(any())).thenReturn(producer, otherProducer);
+
+    pool = new PooledRecordProducer(Duration.ofMinutes(1), 10, cleaner);
+  }
+
+  @Test
+  public void shouldReuseProducerAcrossStatements() throws Exception {
+    // Given:
+    doReturn(result).when(producer).send(any());
+
+    // When:
+    pool.sendRecords(ImmutableList.of(RECORD_1), serviceContext, USER, PROPS, true);
+    pool.sendRecords(ImmutableList.of(RECORD_2), serviceContext, USER, PROPS, true);
+
+    // Then:
+    verify(supplier).getProducer(PROPS);
+    verify(producer).send(RECORD_1);
+    verify(producer).send(RECORD_2);
+    verify(producer, never()).close(any(Duration.class));
+    verify(result, times(2)).get(anyLong(), any());
+  }
+
+  @Test
+  public void shouldNotShareProducersBetweenUsers() {
+    // Given:
+    when(otherServiceContext.getKafkaClientSupplier()).thenReturn(otherSupplier);
+    when(otherSupplier.getProducer(any())).thenReturn(otherProducer);
+    doReturn(result).when(producer).send(any());
+    doReturn(result).when(otherProducer).send(any());
+
+    // When:
+    pool.sendRecords(ImmutableList.of(RECORD_1), serviceContext, USER, PROPS, true);
+    pool.sendRecords(ImmutableList.of(RECORD_2), otherServiceContext, OTHER_USER, PROPS, true);
+
+    // Then:
+    verify(producer).send(RECORD_1);
+    verify(otherProducer).send(RECORD_2);
+    assertThat(pool.size(), is(2L));
+  }
+
+  @Test
+  public void shouldShareProducersOfUserAcrossSuppliers() {
+    // Given:
+    when(otherServiceContext.getKafkaClientSupplier()).thenReturn(otherSupplier);
+    doReturn(result).when(producer).send(any());
+
+    // When:
+    pool.sendRecords(ImmutableList.of(RECORD_1), serviceContext, USER, PROPS, true);
+    pool.sendRecords(ImmutableList.of(RECORD_2), otherServiceContext, USER, PROPS, true);
+
+    // Then:
+    verify(producer).send(RECORD_1);
+    verify(producer).send(RECORD_2);
+    verify(otherSupplier, never()).getProducer(any());
+    assertThat(pool.size(), is(1L));
+  }
+
+  @Test
+  public void shouldNotPoolProducersOfUnknownUser() throws Exception {
+    // Given:
+    doReturn(result).when(producer).send(any());
+
+    // When:
+    pool.sendRecords(ImmutableList.of(RECORD_1), serviceContext, Optional.empty(), PROPS, true);
+
+    // Then:
+    verify(producer).send(RECORD_1);
+    verify(producer).close(any(Duration.class));
+    verify(result).get(anyLong(), any());
+    assertThat(pool.size(), is(0L));
+  }
+
+  @Test
+  public void shouldSendAllRecordsBeforeWaitingForAcks() throws Exception {
+    // Given:
+    doReturn(result).when(producer).send(any());
+    when(result.get(anyLong(), any())).thenThrow(new ExecutionException(new TopicAuthorizationException("t")));
+
+    // When:
+    assertThrows(
+        TopicAuthorizationException.class,
+        () -> pool.sendRecords(ImmutableList.of(RECORD_1, RECORD_2), serviceContext, USER, PROPS, true)
+    );
+
+    // Then:
+    verify(producer).send(RECORD_1);
+    verify(producer).send(RECORD_2);
+  }
+
+  @Test
+  public void shouldNotWaitForAcksIfAsync() throws Exception {
+    // Given:
+    doReturn(result).when(producer).send(any(), any());
+
+    // When:
+    pool.sendRecords(ImmutableList.of(RECORD_1, RECORD_2), serviceContext, USER, PROPS, false);
+
+    // Then:
+    verify(producer, times(2)).send(any(), any());
+    verify(result, never()).get(anyLong(), any());
+  }
+
+  @Test
+  public void shouldRetryWithNewProducerIfPooledProducerClosed() {
+    // Given:
+    doThrow(new IllegalStateException("closed")).when(producer).send(any());
+    doReturn(result).when(otherProducer).send(any());
+
+    // When:
+    pool.sendRecords(ImmutableList.of(RECORD_1), serviceContext, USER, PROPS, true);
+
+    // Then:
+    verify(otherProducer).send(RECORD_1);
+    verify(producer).close(any(Duration.class));
+  }
+
+  @Test
+  public void shouldCloseAllProducersOnClose() {
+    // Given:
+    doReturn(result).when(producer).send(any(), any());
+    pool.sendRecords(ImmutableList.of(RECORD_1), serviceContext, USER, PROPS, false);
+
+    // When:
+    pool.close();
+
+    // Then:
+    verify(producer).close(any(Duration.class));
+    assertThat(pool.size(), is(0L));
+  }
+
+  @Test
+  public void shouldRemainUsableAfterClose() {
+    // Given:
+    doReturn(result).when(producer).send(any(), any());
+    doReturn(result).when(otherProducer).send(any(), any());
+    pool.sendRecords(ImmutableList.of(RECORD_1), serviceContext, USER, PROPS, false);
+    pool.close();
+
+    // When:
+    pool.sendRecords(ImmutableList.of(RECORD_2), serviceContext, USER, PROPS, false);
+
+    // Then:
+    verify(otherProducer).send(eq(RECORD_2), any());
+    assertThat(pool.size(), is(1L));
+  }
+
+  @Test
+  public void shouldPeriodicallyCloseIdleProducers() throws Exception {
+    // Given:
+    final ArgumentCaptor<Runnable> cleanUp = ArgumentCaptor.forClass(Runnable.class);
+    verify(cleaner).scheduleWithFixedDelay(
+        cleanUp.capture(), eq(60_000L), eq(60_000L), eq(TimeUnit.MILLISECONDS));
+
+    pool = new PooledRecordProducer(Duration.ofMillis(1), 10, cleaner);
+    verify(cleaner).scheduleWithFixedDelay(
+        cleanUp.capture(), eq(1L), eq(1L), eq(TimeUnit.MILLISECONDS));
+
+    doReturn(result).when(producer).send(any(), any());
+    pool.sendRecords(ImmutableList.of(RECORD_1), serviceContext, USER, PROPS, false);
+    Thread.sleep(10);
+
+    // When:
+    cleanUp.getValue().run();
+
+    // Then:
+    verify(producer).close(any(Duration.class));
+  }
+}
@@ -29,6 +29,7 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.engine.KsqlEngine;
+import io.confluent.ksql.execution.streams.materialization.ks.PullQueryRowCache;
 import io.confluent.ksql.internal.PullQueryExecutorMetrics;
 import io.confluent.ksql.metrics.MetricCollectors;
 import io.confluent.ksql.physical.pull.PullPhysicalPlan.PullPhysicalPlanType;
@@ -86,6 +87,17 @@ public class PullQueryMetricsTest {
         sensor -> assertThat(pullMetrics.getMetrics().getSensor(sensor.name()), is(nullValue())));
   }
 
+  @Test
+  public void shouldReportTableCacheHitsAndMisses() {
+    // When:
+    final double hits = getMetricValue("-table-cache-hit-count");
+    final double misses = getMetricValue("-table-cache-miss-count");
+
+    // Then:
+    assertThat(hits, equalTo((double) PullQueryRowCache.hits()));
+    assertThat(misses, equalTo((double) PullQueryRowCache.misses()));
+  }
+
   @Test
   public void shouldRecordNumberOfLocalRequests() {
     // Given:
@@ -23,4 +23,10 @@ public class TestDefaultKsqlClientFactory {
     return new DefaultKsqlClient(Optional.empty(), clientProps, socketAddressFactory);
   }
 
+  // Creates an instance which sends the given authorization header
+  public static SimpleKsqlClient instance(final Optional<String> authHeader,
+      final Map<String, Object> clientProps) {
+    return new DefaultKsqlClient(authHeader, clientProps, SocketAddress::inetSocketAddress);
+  }
+
 }
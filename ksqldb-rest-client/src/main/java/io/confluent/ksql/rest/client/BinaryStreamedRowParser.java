@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.client;
+
+import static io.confluent.ksql.rest.client.KsqlClientUtil.deserialize;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat.ValueEncoding;
+import io.confluent.ksql.rest.entity.KsqlErrorMessage;
+import io.confluent.ksql.rest.entity.QueryResponseMetadata;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.vertx.core.buffer.Buffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Parses a query-stream response in the binary format into {@link StreamedRow}s.
+ *
+ * <p>Response chunks may split frames at any point. Each call to {@link #parse} returns all the
+ * frames completed by the chunk, so rows are handed on in the batches the server wrote them in.
+ *
+ * <p>See {@link BinaryQueryStreamFormat} for a full description of the format.
+ */
+final class BinaryStreamedRowParser {
+
+  private Buffer pending = Buffer.buffer();
+  private List<ValueEncoding> encodings;
+
+  List<StreamedRow> parse(final Buffer chunk) {
+    pending.appendBuffer(chunk);
+
+    final List<StreamedRow> rows = new ArrayList<>();
+    int pos = 0;
+    while (pending.length() - pos >= BinaryQueryStreamFormat.FRAME_HEADER_SIZE) {
+      final int start = pos + BinaryQueryStreamFormat.FRAME_HEADER_SIZE;
+      final int end = start + pending.getInt(pos + 1);
+      if (end > pending.length()) {
+        break;
+      }
+
+      parseFrame(pending.getByte(pos), pending.slice(start, end)).ifPresent(rows::add);
+      pos = end;
+    }
+
+    pending = pending.getBuffer(pos, pending.length());
+    return rows;
+  }
+
+  private Optional<StreamedRow> parseFrame(final byte frameType, final Buffer payload) {
+    switch (frameType) {
+      case BinaryQueryStreamFormat.METADATA_FRAME:
+        final QueryResponseMetadata metadata = deserialize(payload, QueryResponseMetadata.class);
+        encodings = ValueEncoding.forColumnTypes(metadata.columnTypes);
+        return Optional.of(KsqlTargetUtil.toHeader(metadata));
+      case BinaryQueryStreamFormat.ROW_FRAME:
+        return Optional.of(StreamedRow.pullRow(parseRow(payload), Optional.empty()));
+      case BinaryQueryStreamFormat.ERROR_FRAME:
+        final KsqlErrorMessage error = deserialize(payload, KsqlErrorMessage.class);
+        return Optional.of(
+            StreamedRow.error(new RuntimeException(error.getMessage()), error.getErrorCode()));
+      default:
+        // Tokens are not requested by callers of this parser:
+        return Optional.empty();
+    }
+  }
+
+  private GenericRow parseRow(final Buffer payload) {
+    if (encodings == null) {
+      throw new IllegalStateException("Row received before metadata");
+    }
+
+    final List<Object> values = new ArrayList<>(encodings.size());
+    int pos = (encodings.size() + Byte.SIZE - 1) / Byte.SIZE;
+    for (int i = 0; i < encodings.size(); i++) {
+      if ((payload.getByte(i / Byte.SIZE) & (1 << (i % Byte.SIZE))) != 0) {
+        values.add(null);
+        continue;
+      }
+
+      switch (encodings.get(i)) {
+        case BOOLEAN:
+          values.add(payload.getByte(pos) != 0);
+          pos += 1;
+          break;
+        case INTEGER:
+          values.add(payload.getInt(pos));
+          pos += Integer.BYTES;
+          break;
+        case BIGINT:
+          values.add(payload.getLong(pos));
+          pos += Long.BYTES;
+          break;
+        case DOUBLE:
+          values.add(payload.getDouble(pos));
+          pos += Double.BYTES;
+          break;
+        case STRING:
+          final int stringLength = payload.getInt(pos);
+          pos += Integer.BYTES;
+          values.add(payload.getString(pos, pos + stringLength, StandardCharsets.UTF_8.name()));
+          pos += stringLength;
+          break;
+        default:
+          final int jsonLength = payload.getInt(pos);
+          pos += Integer.BYTES;
+          values.add(deserialize(payload.slice(pos, pos + jsonLength), Object.class));
+          pos += jsonLength;
+          break;
+      }
+    }
+    return GenericRow.fromList(values);
+  }
+}
@@ -20,6 +20,7 @@ import static io.confluent.ksql.rest.client.KsqlClientUtil.serialize;
 import static java.util.Objects.requireNonNull;
 
 import io.confluent.ksql.properties.LocalProperties;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat;
 import io.confluent.ksql.rest.entity.ClusterStatusResponse;
 import io.confluent.ksql.rest.entity.CommandStatus;
 import io.confluent.ksql.rest.entity.CommandStatuses;
@@ -46,6 +47,7 @@ import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.net.SocketAddress;
 import io.vertx.core.parsetools.RecordParser;
+import io.vertx.core.streams.ReadStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -71,6 +73,9 @@ public final class KsqlTarget {
   private static final String KSQL_PATH = "/ksql";
   private static final String QUERY_PATH = "/query";
   private static final String QUERY_STREAM_PATH = "/query-stream";
+  // Prefer the binary format, falling back to the delimited format for older servers:
+  private static final String QUERY_STREAM_ACCEPT = BinaryQueryStreamFormat.CONTENT_TYPE
+      + ", application/vnd.ksqlapi.delimited.v1;q=0.9";
   private static final String HEARTBEAT_PATH = "/heartbeat";
   private static final String CLUSTERSTATUS_PATH = "/clusterStatus";
   private static final String LAG_REPORT_PATH = "/lag";
@@ -206,6 +211,50 @@ public final class KsqlTarget {
         shouldCloseConnection);
   }
 
+  /**
+   * Runs a query through the query-stream endpoint, preferring the binary response format.
+   *
+   * <p>Rows are passed to the {@code rowConsumer} in the batches they arrive in, followed by
+   * {@code null} when the response ends. Unlike the query endpoint, the response contains no
+   * per-row source host or consistency tokens.
+   *
+   * @return the number of rows received, including the header.
+   */
+  public RestResponse<Integer> postQueryStreamRequest(
+      final String sql,
+      final Map<String, ?> requestProperties,
+      final Consumer<List<StreamedRow>> rowConsumer,
+      final CompletableFuture<Void> shouldCloseConnection
+  ) {
+    final AtomicInteger rowCount = new AtomicInteger(0);
+    return executeSync(HttpMethod.POST, QUERY_STREAM_PATH, Optional.of(QUERY_STREAM_ACCEPT),
+        createQueryStreamArgs(sql, requestProperties),
+        resp -> rowCount.get(),
+        (resp, vcf) -> {
+          if (resp.statusCode() != 200) {
+            resp.bodyHandler(body -> vcf.complete(new ResponseWithBody(resp, body)));
+            return;
+          }
+
+          final Consumer<List<StreamedRow>> countingConsumer = rows -> {
+            if (rows != null) {
+              rowCount.addAndGet(rows.size());
+            }
+            rowConsumer.accept(rows);
+          };
+
+          if (BinaryQueryStreamFormat.CONTENT_TYPE.equals(resp.getHeader("Content-Type"))) {
+            final BinaryStreamedRowParser parser = new BinaryStreamedRowParser();
+            handleChunks(resp, resp, parser::parse, countingConsumer, vcf,
+                shouldCloseConnection);
+          } else {
+            handleChunks(resp, RecordParser.newDelimited("\n", resp),
+                buff -> Collections.singletonList(KsqlTargetUtil.toRowFromDelimited(buff)),
+                countingConsumer, vcf, shouldCloseConnection);
+          }
+        });
+  }
+
   public RestResponse<List<StreamedRow>> postQueryRequest(
       final String ksql,
       final Map<String, ?> requestProperties,
@@ -256,6 +305,16 @@ public final class KsqlTarget {
     );
   }
 
+  private QueryStreamArgs createQueryStreamArgs(
+      final String sql,
+      final Map<String, ?> requestProperties
+  ) {
+    final Map<String, Object> requestPropertiesObject = requestProperties.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    return new QueryStreamArgs(sql, localProperties.toMap(),
+        Collections.emptyMap(), requestPropertiesObject);
+  }
+
   private <T> RestResponse<T> get(final String path, final Class<T> type) {
     return executeRequestSync(HttpMethod.GET, path, null, r -> deserialize(r.getBody(), type));
   }
@@ -315,46 +374,55 @@ public final class KsqlTarget {
   ) {
     return executeSync(httpMethod, path, Optional.empty(), requestBody,
         resp -> responseSupplier.get(),
-        (resp, vcf) -> {
-        final RecordParser recordParser = RecordParser.newDelimited(delimiter, resp);
-        final AtomicBoolean end = new AtomicBoolean(false);
-        recordParser.exceptionHandler(vcf::completeExceptionally);
-        recordParser.handler(buff -> {
-          try {
-            chunkHandler.accept(chunkMapper.apply(buff));
-          } catch (Throwable t) {
-            log.error("Error while handling chunk", t);
-            vcf.completeExceptionally(t);
-          }
-        });
-        recordParser.endHandler(v -> {
+        (resp, vcf) -> handleChunks(resp, RecordParser.newDelimited(delimiter, resp),
+            chunkMapper, chunkHandler, vcf, shouldCloseConnection));
+  }
+
+  private static <T> void handleChunks(
+      final HttpClientResponse resp,
+      final ReadStream<Buffer> chunks,
+      final Function<Buffer, T> chunkMapper,
+      final Consumer<T> chunkHandler,
+      final CompletableFuture<ResponseWithBody> vcf,
+      final CompletableFuture<Void> shouldCloseConnection
+  ) {
+    final AtomicBoolean end = new AtomicBoolean(false);
+    chunks.exceptionHandler(vcf::completeExceptionally);
+    chunks.handler(buff -> {
+      try {
+        chunkHandler.accept(chunkMapper.apply(buff));
+      } catch (Throwable t) {
+        log.error("Error while handling chunk", t);
+        vcf.completeExceptionally(t);
+      }
+    });
+    chunks.endHandler(v -> {
+      try {
+        end.set(true);
+        chunkHandler.accept(null);
+        vcf.complete(new ResponseWithBody(resp, Buffer.buffer()));
+      } catch (Throwable t) {
+        log.error("Error while handling end", t);
+        vcf.completeExceptionally(t);
+      }
+    });
+    // Closing after the end handle was called resulted in errors about the connection being
+    // closed, so we even turn this on the context so there's no race.
+    final Context context = Vertx.currentContext();
+    shouldCloseConnection.handle((v, t) -> {
+      context.runOnContext(v2 -> {
+        if (!end.get()) {
           try {
-            end.set(true);
-            chunkHandler.accept(null);
-            vcf.complete(new ResponseWithBody(resp, Buffer.buffer()));
-          } catch (Throwable t) {
-            log.error("Error while handling end", t);
-            vcf.completeExceptionally(t);
+            resp.request().connection().close();
+            vcf.completeExceptionally(new KsqlRestClientException("Closing connection"));
+          } catch (Throwable closing) {
+            log.error("Error while handling close", closing);
+            vcf.completeExceptionally(closing);
           }
-        });
-        // Closing after the end handle was called resulted in errors about the connection being
-        // closed, so we even turn this on the context so there's no race.
-        final Context context = Vertx.currentContext();
-        shouldCloseConnection.handle((v, t) -> {
-          context.runOnContext(v2 -> {
-            if (!end.get()) {
-              try {
-                resp.request().connection().close();
-                vcf.completeExceptionally(new KsqlRestClientException("Closing connection"));
-              } catch (Throwable closing) {
-                log.error("Error while handling close", closing);
-                vcf.completeExceptionally(closing);
-              }
-            }
-          });
-          return null;
-        });
+        }
       });
+      return null;
+    });
   }
 
   private <T> RestResponse<StreamPublisher<T>> executeQueryRequestWithStreamResponse(
@@ -384,10 +452,7 @@ public final class KsqlTarget {
       final Map<String, ?> requestProperties,
       final Function<Buffer, T> mapper
   ) {
-    final Map<String, Object> requestPropertiesObject = requestProperties.entrySet().stream()
-        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    final QueryStreamArgs queryStreamArgs = new QueryStreamArgs(ksql, localProperties.toMap(),
-        Collections.emptyMap(), requestPropertiesObject);
+    final QueryStreamArgs queryStreamArgs = createQueryStreamArgs(ksql, requestProperties);
     final AtomicReference<StreamPublisher<T>> pubRef = new AtomicReference<>();
     return executeAsync(HttpMethod.POST, QUERY_STREAM_PATH,
         Optional.of("application/vnd.ksqlapi.delimited.v1"), queryStreamArgs,
@@ -68,9 +68,7 @@ public final class KsqlTargetUtil {
 
   public static StreamedRow toRowFromDelimited(final Buffer buff) {
     try {
-      final QueryResponseMetadata metadata = deserialize(buff, QueryResponseMetadata.class);
-      return StreamedRow.header(new QueryId(Strings.nullToEmpty(metadata.queryId)),
-        createSchema(metadata));
+      return toHeader(deserialize(buff, QueryResponseMetadata.class));
     } catch (KsqlRestClientException e) {
       // Not a {@link QueryResponseMetadata}
     }
@@ -89,6 +87,11 @@ public final class KsqlTargetUtil {
     throw new IllegalStateException("Couldn't parse message: " + buff.toString());
   }
 
+  static StreamedRow toHeader(final QueryResponseMetadata metadata) {
+    return StreamedRow.header(new QueryId(Strings.nullToEmpty(metadata.queryId)),
+        createSchema(metadata));
+  }
+
   private static LogicalSchema createSchema(final QueryResponseMetadata metadata) {
     final SqlTypeParser parser = SqlTypeParser.create(TypeRegistry.EMPTY);
     return LogicalSchema.builder().valueColumns(
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.rest.BinaryQueryStreamFormat;
+import io.confluent.ksql.rest.entity.KsqlErrorMessage;
+import io.confluent.ksql.rest.entity.QueryResponseMetadata;
+import io.confluent.ksql.rest.entity.StreamedRow;
+import io.vertx.core.buffer.Buffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BinaryStreamedRowParserTest {
+
+  private static final QueryResponseMetadata METADATA = new QueryResponseMetadata(
+      ImmutableList.of("B", "I", "L", "D", "S", "A"),
+      ImmutableList.of("BOOLEAN", "INTEGER", "BIGINT", "DOUBLE", "STRING", "ARRAY<INTEGER>")
+  );
+
+  private BinaryStreamedRowParser parser;
+
+  @Before
+  public void setUp() {
+    parser = new BinaryStreamedRowParser();
+  }
+
+  @Test
+  public void shouldParseHeaderAndRows() {
+    // Given:
+    final Buffer response = metadataFrame()
+        .appendBuffer(rowFrame(true, 1, 2L, 3.5, "hello", "[1,2]"))
+        .appendBuffer(rowFrame(false, null, null, null, null, null));
+
+    // When:
+    final List<StreamedRow> rows = parser.parse(response);
+
+    // Then:
+    assertThat(rows, hasSize(3));
+    assertThat(rows.get(0).getHeader().get().getSchema().value(), hasSize(6));
+    assertThat(rows.get(1).getRow().get().getColumns(),
+        is(Arrays.asList(true, 1, 2L, 3.5, "hello", ImmutableList.of(1, 2))));
+    assertThat(rows.get(2).getRow().get().getColumns(),
+        is(Arrays.asList(false, null, null, null, null, null)));
+  }
+
+  @Test
+  public void shouldParseFramesSplitAcrossChunks() {
+    // Given:
+    final Buffer response = metadataFrame()
+        .appendBuffer(rowFrame(true, 1, 2L, 3.5, "hello", "[1,2]"));
+
+    // When:
+    final List<StreamedRow> rows = new ArrayList<>();
+    for (int i = 0; i < response.length(); i += 3) {
+      rows.addAll(parser.parse(response.getBuffer(i, Math.min(i + 3, response.length()))));
+    }
+
+    // Then:
+    assertThat(rows, hasSize(2));
+    assertThat(rows.get(1).getRow().get().getColumns(),
+        contains(true, 1, 2L, 3.5, "hello", ImmutableList.of(1, 2)));
+  }
+
+  @Test
+  public void shouldReturnNothingForPartialFrame() {
+    // Given:
+    final Buffer frame = metadataFrame();
+
+    // When:
+    final List<StreamedRow> rows = parser.parse(frame.getBuffer(0, frame.length() - 1));
+
+    // Then:
+    assertThat(rows, is(empty()));
+  }
+
+  @Test
+  public void shouldParseError() {
+    // Given:
+    final Buffer response = metadataFrame()
+        .appendBuffer(jsonFrame(BinaryQueryStreamFormat.ERROR_FRAME,
+            new KsqlErrorMessage(40001, "Boom")));
+
+    // When:
+    final List<StreamedRow> rows = parser.parse(response);
+
+    // Then:
+    assertThat(rows.get(1).getErrorMessage().get().getMessage(), containsString("Boom"));
+    assertThat(rows.get(1).getErrorMessage().get().getErrorCode(), is(40001));
+  }
+
+  @Test
+  public void shouldThrowOnRowBeforeMetadata() {
+    // Given:
+    final Buffer response = rowFrame(true, 1, 2L, 3.5, "hello", "[1,2]");
+
+    // When:
+    final Exception e = assertThrows(
+        IllegalStateException.class,
+        () -> parser.parse(response)
+    );
+
+    // Then:
+    assertThat(e.getMessage(), is("Row received before metadata"));
+  }
+
+  private static Buffer metadataFrame() {
+    return jsonFrame(BinaryQueryStreamFormat.METADATA_FRAME, METADATA);
+  }
+
+  private static Buffer jsonFrame(final byte frameType, final Object entity) {
+    final Buffer json = KsqlClientUtil.serialize(entity);
+    return Buffer.buffer()
+        .appendByte(frameType)
+        .appendInt(json.length())
+        .appendBuffer(json);
+  }
+
+  private static Buffer rowFrame(
+      final boolean b,
+      final Integer i,
+      final Long l,
+      final Double d,
+      final String s,
+      final String arrayJson
+  ) {
+    final Buffer payload = Buffer.buffer().appendByte((byte) (i == null ? 0x3E : 0));
+    payload.appendByte((byte) (b ? 1 : 0));
+    if (i != null) {
+      final byte[] string = s.getBytes(StandardCharsets.UTF_8);
+      final byte[] array = arrayJson.getBytes(StandardCharsets.UTF_8);
+      payload.appendInt(i)
+          .appendLong(l)
+          .appendDouble(d)
+          .appendInt(string.length)
+          .appendBytes(string)
+          .appendInt(array.length)
+          .appendBytes(array);
+    }
+
+    return Buffer.buffer()
+        .appendByte(BinaryQueryStreamFormat.ROW_FRAME)
+        .appendInt(payload.length())
+        .appendBuffer(payload);
+  }
+}
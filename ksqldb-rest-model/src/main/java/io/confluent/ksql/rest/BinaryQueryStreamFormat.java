@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.rest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Describes the binary format of query-stream responses.
+ *
+ * <p>The response is a sequence of frames. Each frame is a single byte giving the frame type,
+ * followed by the length of the payload as a four byte big-endian int, followed by the payload.
+ *
+ * <p>The first frame is a {@link #METADATA_FRAME}, whose payload is the query metadata as JSON.
+ * The column types in the metadata form the schema of the subsequent {@link #ROW_FRAME}s.
+ *
+ * <p>The payload of a row frame starts with a bitmap of the columns that are null, one bit per
+ * column, least significant bit first. The values of the non-null columns follow in column order,
+ * each encoded as given by the {@link ValueEncoding} of the column's type.
+ *
+ * <p>All other frames, i.e. errors and tokens, have the same JSON payload as they would in the
+ * delimited format.
+ */
+public final class BinaryQueryStreamFormat {
+
+  public static final String CONTENT_TYPE = "application/vnd.ksqlapi.binary.v1";
+
+  public static final int FRAME_HEADER_SIZE = 5;
+
+  public static final byte METADATA_FRAME = 'M';
+  public static final byte ROW_FRAME = 'R';
+  public static final byte ERROR_FRAME = 'E';
+  public static final byte CONTINUATION_TOKEN_FRAME = 'C';
+  public static final byte CONSISTENCY_TOKEN_FRAME = 'T';
+
+  private BinaryQueryStreamFormat() {
+  }
+
+  public enum ValueEncoding {
+    /**
+     * A single byte, 1 for true, 0 for false.
+     */
+    BOOLEAN,
+    /**
+     * A four byte big-endian int.
+     */
+    INTEGER,
+    /**
+     * An eight byte big-endian long.
+     */
+    BIGINT,
+    /**
+     * An eight byte IEEE 754 double.
+     */
+    DOUBLE,
+    /**
+     * The length of the UTF-8 bytes as a four byte big-endian int, followed by the bytes.
+     */
+    STRING,
+    /**
+     * The length of the value's JSON as a four byte big-endian int, followed by the JSON, as
+     * the value would be written in the delimited format. Used for all other types.
+     */
+    JSON;
+
+    public static ValueEncoding forColumnType(final String columnType) {
+      switch (columnType) {
+        case "BOOLEAN":
+          return BOOLEAN;
+        case "INTEGER":
+          return INTEGER;
+        case "BIGINT":
+          return BIGINT;
+        case "DOUBLE":
+          return DOUBLE;
+        case "STRING":
+          return STRING;
+        default:
+          return JSON;
+      }
+    }
+
+    public static List<ValueEncoding> forColumnTypes(final List<String> columnTypes) {
+      return columnTypes.stream()
+          .map(ValueEncoding::forColumnType)
+          .collect(Collectors.toList());
+    }
+  }
+}
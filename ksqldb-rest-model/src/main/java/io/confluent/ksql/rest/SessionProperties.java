@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 
@@ -39,6 +40,7 @@ public class SessionProperties {
   private final URL localUrl;
   private final boolean internalRequest;
   private final Map<String, String> sessionVariables;
+  private final Optional<String> userPrincipalName;
 
   /**
    * @param mutableScopedProperties   The streamsProperties of the incoming request
@@ -46,13 +48,15 @@ public class SessionProperties {
    * @param localUrl                  The url of the server that handles the request
    * @param internalRequest           Flag indicating if request is from within the KSQL cluster
    * @param sessionVariables          Initial session variables
+   * @param userPrincipalName         The name of the authenticated user making the request
    */
   public SessionProperties(
       final Map<String, Object> mutableScopedProperties,
       final KsqlHostInfo ksqlHostInfo,
       final URL localUrl,
       final boolean internalRequest,
-      final Map<String, Object> sessionVariables
+      final Map<String, Object> sessionVariables,
+      final Optional<String> userPrincipalName
   ) {
     this.mutableScopedProperties =
         new HashMap<>(Objects.requireNonNull(mutableScopedProperties, "mutableScopedProperties"));
@@ -65,6 +69,31 @@ public class SessionProperties {
             .entrySet()
             .stream()
             .collect(Collectors.toMap(Entry::getKey, e -> e.getValue().toString())));
+    this.userPrincipalName = Objects.requireNonNull(userPrincipalName, "userPrincipalName");
+  }
+
+  /**
+   * @param mutableScopedProperties   The streamsProperties of the incoming request
+   * @param ksqlHostInfo              The ksqlHostInfo of the server that handles the request
+   * @param localUrl                  The url of the server that handles the request
+   * @param internalRequest           Flag indicating if request is from within the KSQL cluster
+   * @param sessionVariables          Initial session variables
+   */
+  public SessionProperties(
+      final Map<String, Object> mutableScopedProperties,
+      final KsqlHostInfo ksqlHostInfo,
+      final URL localUrl,
+      final boolean internalRequest,
+      final Map<String, Object> sessionVariables
+  ) {
+    this(
+        mutableScopedProperties,
+        ksqlHostInfo,
+        localUrl,
+        internalRequest,
+        sessionVariables,
+        Optional.empty()
+    );
   }
 
   /**
@@ -103,6 +132,13 @@ public class SessionProperties {
     return internalRequest;
   }
 
+  /**
+   * @return the name of the authenticated user making the request, if any.
+   */
+  public Optional<String> getUserPrincipalName() {
+    return userPrincipalName;
+  }
+
   public Map<String, String> getSessionVariables() {
     return Collections.unmodifiableMap(sessionVariables);
   }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.serde.SerdeUtils;
+import io.confluent.ksql.serde.avro.DirectAvroReaders.Reader;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.Schema;
+
+/**
+ * Deserializer that decodes Avro data directly into ksqlDB's internal types.
+ *
+ * <p>Readers are built by {@link DirectAvroReaders} for each writer schema, the first time a
+ * record written with that schema is seen, and cached by schema id. Records whose writer schema
+ * is not supported by {@link DirectAvroReaders}, or whose writer schema can not be retrieved, are
+ * passed to the supplied {@code fallback} deserializer, i.e. the Connect based deserializer.
+ * Records that fail to decode are also passed to the fallback, so that any error reported is
+ * exactly the one the Connect based path reports.
+ *
+ * <p>Instances are not thread safe, as they reuse a decoder, but the cache of readers may be
+ * shared between instances.
+ */
+class DirectAvroDeserializer<T> implements Deserializer<T> {
+
+  private static final byte MAGIC_BYTE = 0x0;
+  private static final int HEADER_SIZE = Byte.BYTES + Integer.BYTES;
+
+  private final SchemaRegistryClient srClient;
+  private final Schema avroCompatibleSchema;
+  private final Schema ksqlSchema;
+  private final Class<T> targetType;
+  private final ConcurrentMap<Integer, Optional<Reader>> readers;
+  private final Deserializer<T> fallback;
+  private BinaryDecoder decoder;
+
+  DirectAvroDeserializer(
+      final SchemaRegistryClient srClient,
+      final Schema avroCompatibleSchema,
+      final Schema ksqlSchema,
+      final Class<T> targetType,
+      final ConcurrentMap<Integer, Optional<Reader>> readers,
+      final Deserializer<T> fallback
+  ) {
+    this.srClient = Objects.requireNonNull(srClient, "srClient");
+    this.avroCompatibleSchema =
+        Objects.requireNonNull(avroCompatibleSchema, "avroCompatibleSchema");
+    this.ksqlSchema = Objects.requireNonNull(ksqlSchema, "ksqlSchema");
+    this.targetType = Objects.requireNonNull(targetType, "targetType");
+    this.readers = Objects.requireNonNull(readers, "readers");
+    this.fallback = Objects.requireNonNull(fallback, "fallback");
+  }
+
+  @Override
+  public void configure(final Map<String, ?> configs, final boolean isKey) {
+    fallback.configure(configs, isKey);
+  }
+
+  @Override
+  public T deserialize(final String topic, final byte[] bytes) {
+    if (bytes == null || bytes.length < HEADER_SIZE || bytes[0] != MAGIC_BYTE) {
+      return fallback.deserialize(topic, bytes);
+    }
+
+    final int schemaId = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+    final Optional<Reader> reader = getReader(schemaId);
+    if (!reader.isPresent()) {
+      return fallback.deserialize(topic, bytes);
+    }
+
+    try {
+      decoder = DecoderFactory.get()
+          .binaryDecoder(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE, decoder);
+
+      final Object val = reader.get().read(decoder);
+
+      return SerdeUtils.castToTargetType(val, targetType);
+    } catch (final Exception e) {
+      // Bad data is rare, so re-reading it to report the same error as the Connect path is cheap:
+      return fallback.deserialize(topic, bytes);
+    }
+  }
+
+  @Override
+  public void close() {
+    fallback.close();
+  }
+
+  private Optional<Reader> getReader(final int schemaId) {
+    final Optional<Reader> cached = readers.get(schemaId);
+    if (cached != null) {
+      return cached;
+    }
+
+    final ParsedSchema writerSchema;
+    try {
+      writerSchema = srClient.getSchemaById(schemaId);
+    } catch (final Exception e) {
+      // Not cached, so that transient failures are retried.
+      // The fallback path will report the failure if it persists:
+      return Optional.empty();
+    }
+
+    final Optional<Reader> reader = writerSchema instanceof AvroSchema
+        ? DirectAvroReaders.build(
+            ((AvroSchema) writerSchema).rawSchema(),
+            avroCompatibleSchema,
+            ksqlSchema
+        )
+        : Optional.empty();
+
+    readers.putIfAbsent(schemaId, reader);
+    return reader;
+  }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import io.confluent.ksql.serde.SerdeUtils;
+import io.confluent.ksql.util.DecimalUtil;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.avro.LogicalType;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.Decoder;
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Time;
+import org.apache.kafka.connect.data.Timestamp;
+
+/**
+ * Builds readers that decode Avro binary data straight into ksqlDB's internal types.
+ *
+ * <p>A reader is compiled for a specific writer schema and ksqlDB schema. Its output matches that
+ * of converting the data to Connect's data model with the {@code AvroConverter} and then
+ * translating it with {@link AvroDataTranslator}, but without materializing the intermediate
+ * object graph. Writer fields that are not in the ksqlDB schema are skipped without being
+ * decoded.
+ *
+ * <p>Only combinations of writer and ksqlDB schema that are known to produce identical results
+ * are supported. For anything else, e.g. general unions, non-string map keys or type mismatches,
+ * no reader is built and the caller should fall back to the Connect based path, which also
+ * ensures errors are reported in the same way.
+ */
+final class DirectAvroReaders {
+
+  private DirectAvroReaders() {
+  }
+
+  /**
+   * Reads a single value from the decoder.
+   */
+  interface Reader {
+
+    Object read(Decoder in) throws IOException;
+  }
+
+  /**
+   * Build a reader.
+   *
+   * @param writerSchema the schema the data was written with.
+   * @param avroCompatibleSchema the Avro compatible version of {@code ksqlSchema}, as returned
+   *                             by {@link AvroDataTranslator#getAvroCompatibleSchema()}.
+   * @param ksqlSchema the schema of the values to return.
+   * @return the reader, if the schemas are supported.
+   */
+  static Optional<Reader> build(
+      final org.apache.avro.Schema writerSchema,
+      final Schema avroCompatibleSchema,
+      final Schema ksqlSchema
+  ) {
+    return Optional.ofNullable(buildReader(writerSchema, avroCompatibleSchema, ksqlSchema));
+  }
+
+  // CHECKSTYLE_RULES.OFF: CyclomaticComplexity
+  private static Reader buildReader(
+      final org.apache.avro.Schema writer,
+      final Schema compatible,
+      final Schema ksql
+  ) {
+    // CHECKSTYLE_RULES.ON: CyclomaticComplexity
+    if (writer.getType() == org.apache.avro.Schema.Type.UNION) {
+      return buildOptionalReader(writer, compatible, ksql);
+    }
+
+    switch (ksql.type()) {
+      case BOOLEAN:
+        return writer.getType() == org.apache.avro.Schema.Type.BOOLEAN
+            ? Decoder::readBoolean
+            : null;
+      case INT32:
+        return buildIntReader(writer, ksql);
+      case INT64:
+        return buildBigIntReader(writer, ksql);
+      case FLOAT64:
+        return buildDoubleReader(writer);
+      case STRING:
+        return buildStringReader(writer);
+      case BYTES:
+        return buildBytesReader(writer, ksql);
+      case ARRAY:
+        return buildArrayReader(writer, compatible, ksql);
+      case MAP:
+        return buildMapReader(writer, compatible, ksql);
+      case STRUCT:
+        return buildStructReader(writer, compatible, ksql);
+      default:
+        return null;
+    }
+  }
+
+  private static Reader buildOptionalReader(
+      final org.apache.avro.Schema writer,
+      final Schema compatible,
+      final Schema ksql
+  ) {
+    final List<org.apache.avro.Schema> types = writer.getTypes();
+    if (types.size() != 2) {
+      return null;
+    }
+
+    final int nullIndex = types.get(0).getType() == org.apache.avro.Schema.Type.NULL ? 0 : 1;
+    final org.apache.avro.Schema valueSchema = types.get(1 - nullIndex);
+    if (types.get(nullIndex).getType() != org.apache.avro.Schema.Type.NULL
+        || valueSchema.getType() == org.apache.avro.Schema.Type.NULL) {
+      return null;
+    }
+
+    final Reader valueReader = buildReader(valueSchema, compatible, ksql);
+    if (valueReader == null) {
+      return null;
+    }
+
+    return in -> in.readIndex() == nullIndex
+        ? readNull(in)
+        : valueReader.read(in);
+  }
+
+  private static Object readNull(final Decoder in) throws IOException {
+    in.readNull();
+    return null;
+  }
+
+  private static Reader buildIntReader(final org.apache.avro.Schema writer, final Schema ksql) {
+    if (writer.getType() != org.apache.avro.Schema.Type.INT) {
+      return null;
+    }
+
+    if (ksql.name() == Time.LOGICAL_NAME) {
+      return in -> new java.sql.Time(in.readInt());
+    }
+
+    if (ksql.name() == Date.LOGICAL_NAME) {
+      return in -> SerdeUtils.getDateFromEpochDays(in.readInt());
+    }
+
+    return Decoder::readInt;
+  }
+
+  private static Reader buildBigIntReader(final org.apache.avro.Schema writer, final Schema ksql) {
+    final boolean isTimestamp = ksql.name() == Timestamp.LOGICAL_NAME;
+
+    switch (writer.getType()) {
+      case INT:
+        return isTimestamp
+            ? in -> new java.sql.Timestamp(in.readInt())
+            : in -> (long) in.readInt();
+      case LONG:
+        return isTimestamp
+            ? in -> new java.sql.Timestamp(in.readLong())
+            : Decoder::readLong;
+      default:
+        return null;
+    }
+  }
+
+  private static Reader buildDoubleReader(final org.apache.avro.Schema writer) {
+    switch (writer.getType()) {
+      case FLOAT:
+        return in -> (double) in.readFloat();
+      case DOUBLE:
+        return Decoder::readDouble;
+      default:
+        return null;
+    }
+  }
+
+  private static Reader buildStringReader(final org.apache.avro.Schema writer) {
+    switch (writer.getType()) {
+      case STRING:
+        return Decoder::readString;
+      case ENUM:
+        final List<String> symbols = writer.getEnumSymbols();
+        return in -> symbols.get(in.readEnum());
+      case BOOLEAN:
+        return in -> String.valueOf(in.readBoolean());
+      case INT:
+        return in -> String.valueOf(in.readInt());
+      case LONG:
+        return in -> String.valueOf(in.readLong());
+      case FLOAT:
+        return in -> String.valueOf(in.readFloat());
+      case DOUBLE:
+        return in -> String.valueOf(in.readDouble());
+      default:
+        return null;
+    }
+  }
+
+  private static Reader buildBytesReader(final org.apache.avro.Schema writer, final Schema ksql) {
+    if (writer.getType() != org.apache.avro.Schema.Type.BYTES) {
+      return null;
+    }
+
+    final boolean writtenAsDecimal = "decimal".equals(writer.getProp("logicalType"));
+
+    if (!DecimalUtil.isDecimal(ksql)) {
+      return writtenAsDecimal
+          ? null
+          : in -> in.readBytes(null);
+    }
+
+    final LogicalType logicalType = writer.getLogicalType();
+    if (!(logicalType instanceof LogicalTypes.Decimal)) {
+      return null;
+    }
+
+    final int scale = ((LogicalTypes.Decimal) logicalType).getScale();
+    return in -> {
+      final ByteBuffer bytes = in.readBytes(null);
+      final byte[] unscaled = new byte[bytes.remaining()];
+      bytes.get(unscaled);
+      return DecimalUtil.ensureFit(new BigDecimal(new BigInteger(unscaled), scale), ksql);
+    };
+  }
+
+  private static Reader buildArrayReader(
+      final org.apache.avro.Schema writer,
+      final Schema compatible,
+      final Schema ksql
+  ) {
+    if (writer.getType() != org.apache.avro.Schema.Type.ARRAY) {
+      return null;
+    }
+
+    final Reader elementReader = buildReader(
+        writer.getElementType(),
+        compatible.valueSchema(),
+        ksql.valueSchema()
+    );
+
+    if (elementReader == null) {
+      return null;
+    }
+
+    return in -> {
+      long count = in.readArrayStart();
+      final List<Object> array = new ArrayList<>((int) count);
+      while (count != 0) {
+        for (long i = 0; i < count; i++) {
+          array.add(elementReader.read(in));
+        }
+        count = in.arrayNext();
+      }
+      return array;
+    };
+  }
+
+  private static Reader buildMapReader(
+      final org.apache.avro.Schema writer,
+      final Schema compatible,
+      final Schema ksql
+  ) {
+    if (writer.getType() != org.apache.avro.Schema.Type.MAP
+        || ksql.keySchema().type() != Schema.Type.STRING) {
+      return null;
+    }
+
+    final Reader valueReader = buildReader(
+        writer.getValueType(),
+        compatible.valueSchema(),
+        ksql.valueSchema()
+    );
+
+    if (valueReader == null) {
+      return null;
+    }
+
+    return in -> {
+      final Map<Object, Object> map = new HashMap<>();
+      for (long count = in.readMapStart(); count != 0; count = in.mapNext()) {
+        for (long i = 0; i < count; i++) {
+          map.put(in.readString(), valueReader.read(in));
+        }
+      }
+      return map;
+    };
+  }
+
+  private static Reader buildStructReader(
+      final org.apache.avro.Schema writer,
+      final Schema compatible,
+      final Schema ksql
+  ) {
+    if (writer.getType() != org.apache.avro.Schema.Type.RECORD) {
+      return null;
+    }
+
+    final List<org.apache.avro.Schema.Field> writerFields = writer.getFields();
+    final Field[] targets = new Field[writerFields.size()];
+    final Reader[] readers = new Reader[writerFields.size()];
+    final org.apache.avro.Schema[] skipped = new org.apache.avro.Schema[writerFields.size()];
+
+    for (int i = 0; i < writerFields.size(); i++) {
+      final org.apache.avro.Schema.Field writerField = writerFields.get(i);
+
+      // Match field names in the same way as ConnectDataTranslator:
+      Field compatibleField = compatible.field(writerField.name());
+      if (compatibleField == null) {
+        compatibleField = compatible.field(writerField.name().toUpperCase());
+      }
+
+      if (compatibleField == null) {
+        skipped[i] = writerField.schema();
+        continue;
+      }
+
+      // Avro compatible and ksql schemas differ only in names, so fields match by position:
+      final Field ksqlField = ksql.fields().get(compatibleField.index());
+
+      readers[i] = buildReader(writerField.schema(), compatibleField.schema(), ksqlField.schema());
+      if (readers[i] == null) {
+        return null;
+      }
+
+      targets[i] = ksqlField;
+    }
+
+    return in -> {
+      final Struct struct = new Struct(ksql);
+      for (int i = 0; i < readers.length; i++) {
+        if (readers[i] == null) {
+          GenericDatumReader.skip(skipped[i], in);
+        } else {
+          struct.put(targets[i], readers[i].read(in));
+        }
+      }
+      return struct;
+    };
+  }
+}
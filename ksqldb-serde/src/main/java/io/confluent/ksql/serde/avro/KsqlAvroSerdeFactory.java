@@ -20,6 +20,7 @@ import io.confluent.connect.avro.AvroConverter;
 import io.confluent.connect.avro.AvroDataConfig;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.ksql.serde.avro.DirectAvroReaders.Reader;
 import io.confluent.ksql.serde.connect.KsqlConnectDeserializer;
 import io.confluent.ksql.serde.connect.KsqlConnectSerializer;
 import io.confluent.ksql.serde.tls.ThreadLocalDeserializer;
@@ -27,6 +28,9 @@ import io.confluent.ksql.serde.tls.ThreadLocalSerializer;
 import io.confluent.ksql.util.KsqlConfig;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
@@ -111,13 +115,35 @@ class KsqlAvroSerdeFactory {
       final Class<T> targetType,
       final boolean isKey
   ) {
+    final boolean directDecoding =
+        ksqlConfig.getBoolean(KsqlConfig.KSQL_AVRO_DIRECT_DECODING_ENABLED);
+
+    // Readers are cached per schema id, and are shared by all threads' deserializers:
+    final ConcurrentMap<Integer, Optional<Reader>> readers = new ConcurrentHashMap<>();
+
     return () -> {
       final AvroDataTranslator translator = createAvroTranslator(schema);
 
+      final SchemaRegistryClient srClient = srFactory.get();
+
       final AvroConverter avroConverter =
-          getAvroConverter(srFactory.get(), ksqlConfig, isKey);
+          getAvroConverter(srClient, ksqlConfig, isKey);
 
-      return new KsqlConnectDeserializer<>(avroConverter, translator, targetType);
+      final Deserializer<T> connectDeserializer =
+          new KsqlConnectDeserializer<>(avroConverter, translator, targetType);
+
+      if (!directDecoding) {
+        return connectDeserializer;
+      }
+
+      return new DirectAvroDeserializer<>(
+          srClient,
+          translator.getAvroCompatibleSchema(),
+          schema,
+          targetType,
+          readers,
+          connectDeserializer
+      );
     };
   }
 
@@ -16,7 +16,9 @@
 package io.confluent.ksql.serde.json;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -92,6 +94,7 @@ public class KsqlJsonDeserializer<T> implements Deserializer<T> {
   private final ConnectSchema schema;
   private final boolean isJsonSchema;
   private final Class<T> targetType;
+  private final Map<String, Integer> structFieldIndexes;
   private String target = "?";
 
   KsqlJsonDeserializer(
@@ -102,6 +105,7 @@ public class KsqlJsonDeserializer<T> implements Deserializer<T> {
     this.schema = validateSchema(Objects.requireNonNull(schema, "schema"));
     this.isJsonSchema = isJsonSchema;
     this.targetType = Objects.requireNonNull(targetType, "targetType");
+    this.structFieldIndexes = buildFieldIndexes(schema);
 
     SerdeUtils.throwOnSchemaJavaTypeMismatch(schema, targetType);
   }
@@ -118,17 +122,7 @@ public class KsqlJsonDeserializer<T> implements Deserializer<T> {
         return null;
       }
 
-      // don't use the JsonSchemaConverter to read this data because
-      // we require that the MAPPER enables USE_BIG_DECIMAL_FOR_FLOATS,
-      // which is not currently available in the standard converters
-      final JsonNode value = isJsonSchema
-          ? JsonSerdeUtils.readJsonSR(bytes, MAPPER, JsonNode.class)
-          : MAPPER.readTree(bytes);
-
-      final Object coerced = enforceFieldType(
-          "$",
-          new JsonValueContext(value, schema)
-      );
+      final Object coerced = deserializeValue(bytes);
 
       if (LOG.isTraceEnabled()) {
         LOG.trace("Deserialized {}. topic:{}, row:{}", target, topic, coerced);
@@ -146,6 +140,98 @@ public class KsqlJsonDeserializer<T> implements Deserializer<T> {
     }
   }
 
+  private Object deserializeValue(final byte[] bytes) throws IOException {
+    if (schema.type() == Type.STRUCT && (!isJsonSchema || JsonSerdeUtils.hasMagicByte(bytes))) {
+      final int offset = isJsonSchema ? JsonSerdeUtils.SIZE_OF_SR_PREFIX : 0;
+      try (JsonParser parser = MAPPER.getFactory()
+          .createParser(bytes, offset, Math.max(0, bytes.length - offset))) {
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+          return streamStruct(parser);
+        }
+      }
+    }
+
+    // don't use the JsonSchemaConverter to read this data because
+    // we require that the MAPPER enables USE_BIG_DECIMAL_FOR_FLOATS,
+    // which is not currently available in the standard converters
+    final JsonNode value = isJsonSchema
+        ? JsonSerdeUtils.readJsonSR(bytes, MAPPER, JsonNode.class)
+        : MAPPER.readTree(bytes);
+
+    return enforceFieldType(
+        "$",
+        new JsonValueContext(value, schema)
+    );
+  }
+
+  /**
+   * Reads a top level JSON object, positioned just after its start token, into a struct.
+   *
+   * <p>Equivalent to reading the whole document as a tree and calling {@link
+   * #enforceFieldTypesForStruct}, except that only the values of fields in the schema are
+   * materialized: all other fields are skipped at the token level. Values are matched to fields
+   * in the same way, i.e. an exact match of the field name wins over a case-insensitive one.
+   */
+  private Struct streamStruct(final JsonParser parser) throws IOException {
+    final List<Field> fields = schema.fields();
+    final JsonNode[] exactMatches = new JsonNode[fields.size()];
+    final JsonNode[] upperCaseMatches = new JsonNode[fields.size()];
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String name = parser.getCurrentName();
+      final Integer exactIdx = structFieldIndexes.get(name);
+      final Integer upperCaseIdx = structFieldIndexes.get(name.toUpperCase());
+
+      parser.nextToken();
+
+      if (exactIdx == null && upperCaseIdx == null) {
+        parser.skipChildren();
+        continue;
+      }
+
+      JsonNode value = MAPPER.readTree(parser);
+      if (value == null) {
+        value = NullNode.getInstance();
+      }
+
+      if (exactIdx != null) {
+        exactMatches[exactIdx] = value;
+      }
+      if (upperCaseIdx != null) {
+        upperCaseMatches[upperCaseIdx] = value;
+      }
+    }
+
+    final Struct struct = new Struct(schema);
+    for (int i = 0; i < fields.size(); i++) {
+      final Field field = fields.get(i);
+      final JsonNode value = exactMatches[i] != null ? exactMatches[i] : upperCaseMatches[i];
+
+      try {
+        struct.put(field.name(), enforceFieldType(
+            "." + field.name(),
+            new JsonValueContext(value, field.schema())
+        ));
+      } catch (final CoercionException e) {
+        throw new CoercionException(e.getRawMessage(), "$" + e.getPath(), e);
+      }
+    }
+    return struct;
+  }
+
+  private static Map<String, Integer> buildFieldIndexes(final ConnectSchema schema) {
+    if (schema.type() != Type.STRUCT) {
+      return ImmutableMap.of();
+    }
+
+    final ImmutableMap.Builder<String, Integer> indexes = ImmutableMap.builder();
+    final List<Field> fields = schema.fields();
+    for (int i = 0; i < fields.size(); i++) {
+      indexes.put(fields.get(i).name(), i);
+    }
+    return indexes.build();
+  }
+
   public static ObjectReader jsonReader() {
     return MAPPER.reader();
   }
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import io.confluent.ksql.util.DecimalUtil;
+import io.confluent.ksql.util.KsqlConfig;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import org.apache.avro.Conversions.DecimalConversion;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.generic.GenericData;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DirectAvroDeserializerTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final org.apache.avro.Schema NESTED_AVRO_SCHEMA = parseAvroSchema("{"
+      + "\"type\": \"record\","
+      + "\"name\": \"nested\","
+      + "\"fields\": ["
+      + " {\"name\": \"a\", \"type\": \"string\"},"
+      + " {\"name\": \"b\", \"type\": {\"type\": \"array\", \"items\": \"long\"}}"
+      + " ]"
+      + "}");
+
+  private static final org.apache.avro.Schema DECIMAL_AVRO_SCHEMA = parseAvroSchema("{"
+      + "\"type\": \"bytes\","
+      + "\"logicalType\": \"decimal\","
+      + "\"precision\": 4,"
+      + "\"scale\": 2"
+      + "}");
+
+  private static final org.apache.avro.Schema ROW_AVRO_SCHEMA = parseAvroSchema("{"
+      + "\"namespace\": \"kql\","
+      + "\"name\": \"row\","
+      + "\"type\": \"record\","
+      + "\"fields\": ["
+      + " {\"name\": \"ignored\", \"type\": " + NESTED_AVRO_SCHEMA + "},"
+      + " {\"name\": \"id\", \"type\": \"int\"},"
+      + " {\"name\": \"Name\", \"type\": [\"null\", \"string\"]},"
+      + " {\"name\": \"price\", \"type\": [\"null\", \"float\"]},"
+      + " {\"name\": \"amount\", \"type\": " + DECIMAL_AVRO_SCHEMA + "},"
+      + " {\"name\": \"colour\", \"type\": "
+      + "    {\"type\": \"enum\", \"name\": \"colours\", \"symbols\": [\"RED\", \"BLUE\"]}},"
+      + " {\"name\": \"time\", \"type\": {\"type\": \"int\", \"logicalType\": \"time-millis\"}},"
+      + " {\"name\": \"date\", \"type\": {\"type\": \"int\", \"logicalType\": \"date\"}},"
+      + " {\"name\": \"ts\","
+      + "    \"type\": {\"type\": \"long\", \"logicalType\": \"timestamp-millis\"}},"
+      + " {\"name\": \"raw\", \"type\": \"bytes\"},"
+      + " {\"name\": \"tags\", \"type\": {\"type\": \"map\", \"values\": [\"null\", \"long\"]}},"
+      + " {\"name\": \"nested\", \"type\": [\"null\", \"nested\"]}"
+      + " ]"
+      + "}");
+
+  private static final Schema NESTED_SCHEMA = SchemaBuilder.struct()
+      .field("B", SchemaBuilder.array(Schema.OPTIONAL_INT64_SCHEMA).optional().build())
+      .optional()
+      .build();
+
+  private static final Schema ROW_SCHEMA = SchemaBuilder.struct()
+      .field("ID", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("NAME", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("PRICE", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("AMOUNT", DecimalUtil.builder(4, 2).optional().build())
+      .field("COLOUR", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("TIME", org.apache.kafka.connect.data.Time.builder().optional().build())
+      .field("DATE", org.apache.kafka.connect.data.Date.builder().optional().build())
+      .field("TS", org.apache.kafka.connect.data.Timestamp.builder().optional().build())
+      .field("RAW", Schema.OPTIONAL_BYTES_SCHEMA)
+      .field("TAGS", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_INT64_SCHEMA)
+          .optional()
+          .build())
+      .field("NESTED", NESTED_SCHEMA)
+      .optional()
+      .build();
+
+  private static final KsqlConfig CONNECT_CONFIG = new KsqlConfig(Collections.singletonMap(
+      KsqlConfig.SCHEMA_REGISTRY_URL_PROPERTY, "fake-schema-registry-url"));
+
+  private static final KsqlConfig DIRECT_CONFIG = new KsqlConfig(ImmutableMap.of(
+      KsqlConfig.SCHEMA_REGISTRY_URL_PROPERTY, "fake-schema-registry-url",
+      KsqlConfig.KSQL_AVRO_DIRECT_DECODING_ENABLED, true
+  ));
+
+  private SchemaRegistryClient srClient;
+  private KafkaAvroSerializer serializer;
+
+  @Before
+  public void setUp() {
+    srClient = spy(new MockSchemaRegistryClient());
+
+    serializer = new KafkaAvroSerializer(srClient, ImmutableMap.of(
+        AbstractKafkaSchemaSerDeConfig.AUTO_REGISTER_SCHEMAS, true,
+        AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, ""
+    ));
+  }
+
+  @Test
+  public void shouldDecodeSameValueAsConnectPath() {
+    // Given:
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, givenRow());
+
+    // When:
+    final Struct direct = givenDeserializer(ROW_SCHEMA, DIRECT_CONFIG, Struct.class)
+        .deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    final Struct connect = givenDeserializer(ROW_SCHEMA, CONNECT_CONFIG, Struct.class)
+        .deserialize(SOME_TOPIC, bytes);
+
+    assertThat(direct, is(connect));
+    assertThat(direct.get("ID"), is(10L));
+    assertThat(direct.get("NAME"), is("bob"));
+    assertThat(direct.get("PRICE"), is(1.5));
+    assertThat(direct.get("AMOUNT"), is(new BigDecimal("12.34")));
+    assertThat(direct.get("COLOUR"), is("BLUE"));
+    assertThat(direct.get("TIME"), is(new java.sql.Time(1000)));
+    assertThat(direct.get("TS"), is(new java.sql.Timestamp(1234)));
+    assertThat(direct.get("RAW"), is(ByteBuffer.wrap(new byte[]{1, 2})));
+    assertThat(direct.get("TAGS"), is(Collections.singletonMap("k", 3L)));
+    assertThat(direct.get("NESTED"), is(new Struct(NESTED_SCHEMA).put("B", ImmutableList.of(4L))));
+  }
+
+  @Test
+  public void shouldDecodeNullValuesInOptionalFields() {
+    // Given:
+    final GenericData.Record row = givenRow();
+    row.put("Name", null);
+    row.put("nested", null);
+
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, row);
+
+    // When:
+    final Struct result = givenDeserializer(ROW_SCHEMA, DIRECT_CONFIG, Struct.class)
+        .deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(result.get("NAME"), is(nullValue()));
+    assertThat(result.get("NESTED"), is(nullValue()));
+    assertThat(result.get("ID"), is(10L));
+  }
+
+  @Test
+  public void shouldDecodeUnwrappedPrimitive() {
+    // Given:
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, 42);
+
+    // When:
+    final Long result = givenDeserializer(Schema.OPTIONAL_INT64_SCHEMA, DIRECT_CONFIG, Long.class)
+        .deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(result, is(42L));
+  }
+
+  @Test
+  public void shouldFallBackToConnectPathForUnsupportedWriterSchema() {
+    // Given:
+    final org.apache.avro.Schema unionSchema = parseAvroSchema(
+        "{\"type\": \"record\", \"name\": \"row\", \"fields\": ["
+            + " {\"name\": \"u\", \"type\": [\"int\", \"string\"]}"
+            + "]}");
+
+    final GenericData.Record row = new GenericData.Record(unionSchema);
+    row.put("u", "hello");
+
+    final Schema ksqlSchema = SchemaBuilder.struct()
+        .field("U", SchemaBuilder.struct()
+            .field("INT", Schema.OPTIONAL_INT32_SCHEMA)
+            .field("STRING", Schema.OPTIONAL_STRING_SCHEMA)
+            .optional()
+            .build())
+        .optional()
+        .build();
+
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, row);
+
+    // When:
+    final Struct direct = givenDeserializer(ksqlSchema, DIRECT_CONFIG, Struct.class)
+        .deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    final Struct connect = givenDeserializer(ksqlSchema, CONNECT_CONFIG, Struct.class)
+        .deserialize(SOME_TOPIC, bytes);
+
+    assertThat(direct, is(connect));
+  }
+
+  @Test
+  public void shouldThrowSameErrorAsConnectPathOnTypeMismatch() {
+    // Given:
+    final Schema ksqlSchema = SchemaBuilder.struct()
+        .field("NAME", Schema.OPTIONAL_INT64_SCHEMA)
+        .optional()
+        .build();
+
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, givenRow());
+
+    final Deserializer<Struct> deserializer =
+        givenDeserializer(ksqlSchema, DIRECT_CONFIG, Struct.class);
+
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> deserializer.deserialize(SOME_TOPIC, bytes)
+    );
+
+    // Then:
+    assertThat(e.getCause().getMessage(),
+        is("Cannot deserialize type string as type int64 for path: ->NAME"));
+  }
+
+  @Test
+  public void shouldThrowSameErrorAsConnectPathOnTruncatedData() {
+    // Given:
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, givenRow());
+    final byte[] truncated = new byte[bytes.length - 4];
+    System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+    final Deserializer<Struct> deserializer =
+        givenDeserializer(ROW_SCHEMA, DIRECT_CONFIG, Struct.class);
+
+    // When:
+    final Exception e = assertThrows(
+        SerializationException.class,
+        () -> deserializer.deserialize(SOME_TOPIC, truncated)
+    );
+
+    // Then:
+    final Exception connect = assertThrows(
+        SerializationException.class,
+        () -> givenDeserializer(ROW_SCHEMA, CONNECT_CONFIG, Struct.class)
+            .deserialize(SOME_TOPIC, truncated)
+    );
+
+    assertThat(e.getMessage(), is(connect.getMessage()));
+    assertThat(e.getCause().getMessage(), is(connect.getCause().getMessage()));
+  }
+
+  @Test
+  public void shouldOnlyLookUpWriterSchemaOnce() throws Exception {
+    // Given:
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, givenRow());
+
+    final Deserializer<Struct> deserializer =
+        givenDeserializer(ROW_SCHEMA, DIRECT_CONFIG, Struct.class);
+
+    clearInvocations(srClient);
+
+    // When:
+    deserializer.deserialize(SOME_TOPIC, bytes);
+    deserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    verify(srClient, times(1)).getSchemaById(anyInt());
+  }
+
+  private <T> Deserializer<T> givenDeserializer(
+      final Schema schema,
+      final KsqlConfig ksqlConfig,
+      final Class<T> targetType
+  ) {
+    final Deserializer<T> deserializer = new KsqlAvroSerdeFactory(
+        AvroProperties.DEFAULT_AVRO_SCHEMA_FULL_NAME)
+        .createSerde((ConnectSchema) schema, ksqlConfig, () -> srClient, targetType, false)
+        .deserializer();
+
+    deserializer.configure(Collections.emptyMap(), false);
+    return deserializer;
+  }
+
+  private static GenericData.Record givenRow() {
+    final GenericData.Record ignored = new GenericData.Record(NESTED_AVRO_SCHEMA);
+    ignored.put("a", "skip me");
+    ignored.put("b", ImmutableList.of(1L, 2L, 3L));
+
+    final GenericData.Record nested = new GenericData.Record(NESTED_AVRO_SCHEMA);
+    nested.put("a", "x");
+    nested.put("b", ImmutableList.of(4L));
+
+    final GenericData.Record row = new GenericData.Record(ROW_AVRO_SCHEMA);
+    row.put("ignored", ignored);
+    row.put("id", 10);
+    row.put("Name", "bob");
+    row.put("price", 1.5f);
+    row.put("amount", new DecimalConversion().toBytes(
+        new BigDecimal("12.34"), DECIMAL_AVRO_SCHEMA, LogicalTypes.decimal(4, 2)));
+    row.put("colour", new GenericData.EnumSymbol(
+        ROW_AVRO_SCHEMA.getField("colour").schema(), "BLUE"));
+    row.put("time", 1000);
+    row.put("date", 10);
+    row.put("ts", 1234L);
+    row.put("raw", ByteBuffer.wrap(new byte[]{1, 2}));
+    row.put("tags", Collections.singletonMap("k", 3L));
+    row.put("nested", nested);
+    return row;
+  }
+
+  private static org.apache.avro.Schema parseAvroSchema(final String avroSchema) {
+    return new org.apache.avro.Schema.Parser().parse(avroSchema);
+  }
+}
@@ -256,6 +256,36 @@ public class KsqlJsonDeserializerTest {
     assertThat(result, is(expectedOrder));
   }
 
+  @Test
+  public void shouldDeserializeJsonObjectWithRedundantNestedFields() {
+    // Given:
+    final Map<String, Object> orderRow = new HashMap<>(AN_ORDER);
+    orderRow.put("extraField", ImmutableMap.of(
+        "nested", ImmutableList.of(ImmutableMap.of("ordertime", "not a number"), 1, true)
+    ));
+
+    final byte[] bytes = serializeJson(orderRow);
+
+    // When:
+    final Struct result = deserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(result, is(expectedOrder));
+  }
+
+  @Test
+  public void shouldPreferExactFieldNameMatchRegardlessOfOrder() {
+    // Given:
+    final byte[] bytes = addMagic(
+        "{\"@ORDERID\": 2, \"@orderid\": 1}".getBytes(StandardCharsets.UTF_8));
+
+    // When:
+    final Struct result = deserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(result, is(new Struct(ORDER_SCHEMA).put(ORDERID, 2L)));
+  }
+
   @Test
   public void shouldDeserializeJsonObjectWithMissingFields() {
     // Given:
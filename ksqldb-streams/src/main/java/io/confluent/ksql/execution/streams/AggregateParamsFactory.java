@@ -57,22 +57,43 @@ public class AggregateParamsFactory {
     this.undoAggregatorFactory = Objects.requireNonNull(undoAggregatorFactory);
   }
 
+  /**
+   * @param oldValuesRequired whether the topology forwards the old value of the aggregate
+   *                          downstream, e.g. to suppress it. If so, aggregate rows are never
+   *                          updated in place.
+   */
   public AggregateParams createUndoable(
       final LogicalSchema schema,
       final List<ColumnName> nonAggregateColumns,
       final FunctionRegistry functionRegistry,
       final List<FunctionCall> functionList,
+      final boolean oldValuesRequired,
       final KsqlConfig config
   ) {
-    return create(schema, nonAggregateColumns, functionRegistry, functionList, true, false, config);
+    return create(
+        schema,
+        nonAggregateColumns,
+        functionRegistry,
+        functionList,
+        true,
+        false,
+        oldValuesRequired,
+        config
+    );
   }
 
+  /**
+   * @param oldValuesRequired whether the topology forwards the old value of the aggregate
+   *                          downstream, e.g. to suppress it. If so, aggregate rows are never
+   *                          updated in place.
+   */
   public AggregateParams create(
       final LogicalSchema schema,
       final List<ColumnName> nonAggregateColumns,
       final FunctionRegistry functionRegistry,
       final List<FunctionCall> functionList,
       final boolean windowedAggregation,
+      final boolean oldValuesRequired,
       final KsqlConfig config
   ) {
     return create(
@@ -82,6 +103,7 @@ public class AggregateParamsFactory {
         functionList,
         false,
         windowedAggregation,
+        oldValuesRequired,
         config
     );
   }
@@ -93,6 +115,7 @@ public class AggregateParamsFactory {
       final List<FunctionCall> functionList,
       final boolean table,
       final boolean windowedAggregation,
+      final boolean oldValuesRequired,
       final KsqlConfig config
   ) {
     final List<KsqlAggregateFunction<?, ?, ?>> functions =
@@ -102,8 +125,12 @@ public class AggregateParamsFactory {
         .map(KsqlAggregateFunction::getInitialValueSupplier)
         .collect(Collectors.toList());
 
+    // The old value forwarded downstream would be the updated row:
+    final boolean inPlace = !oldValuesRequired
+        && config.getBoolean(KsqlConfig.KSQL_AGGREGATE_IN_PLACE_ENABLED);
+
     final Optional<KudafUndoAggregator> undoAggregator =
-        buildUndoAggregators(nonAggregateColumns.size(), table, functions);
+        buildUndoAggregators(nonAggregateColumns.size(), table, functions, inPlace);
 
     final LogicalSchema aggregateSchema =
         buildSchema(schema, nonAggregateColumns, functions, true, false);
@@ -113,7 +140,7 @@ public class AggregateParamsFactory {
 
     return new AggregateParams(
         new KudafInitializer(nonAggregateColumns.size(), initialValueSuppliers),
-        aggregatorFactory.create(nonAggregateColumns.size(), functions),
+        aggregatorFactory.create(nonAggregateColumns.size(), functions, inPlace),
         undoAggregator,
         aggregateSchema,
         outputSchema
@@ -123,7 +150,8 @@ public class AggregateParamsFactory {
   private Optional<KudafUndoAggregator> buildUndoAggregators(
       final int nonAggColumnCount,
       final boolean table,
-      final List<KsqlAggregateFunction<?, ?, ?>> functions
+      final List<KsqlAggregateFunction<?, ?, ?>> functions,
+      final boolean inPlace
   ) {
     if (!table) {
       return Optional.empty();
@@ -133,7 +161,7 @@ public class AggregateParamsFactory {
     for (final KsqlAggregateFunction<?, ?, ?> function : functions) {
       tableFunctions.add((TableAggregationFunction<?, ?, ?>) function);
     }
-    return Optional.of(undoAggregatorFactory.create(nonAggColumnCount, tableFunctions));
+    return Optional.of(undoAggregatorFactory.create(nonAggColumnCount, tableFunctions, inPlace));
   }
 
   private static List<KsqlAggregateFunction<?, ?, ?>> resolveAggregateFunctions(
@@ -193,7 +221,8 @@ public class AggregateParamsFactory {
 
     KudafAggregator<?> create(
         int nonAggColumnCount,
-        List<KsqlAggregateFunction<?, ?, ?>> functions
+        List<KsqlAggregateFunction<?, ?, ?>> functions,
+        boolean inPlace
     );
   }
 
@@ -201,7 +230,8 @@ public class AggregateParamsFactory {
 
     KudafUndoAggregator create(
         int nonAggColumnCount,
-        List<TableAggregationFunction<?, ?, ?>> functions
+        List<TableAggregationFunction<?, ?, ?>> functions,
+        boolean inPlace
     );
   }
 }
@@ -150,7 +150,8 @@ public final class KSPlanBuilder implements PlanBuilder {
         streamAggregate,
         buildContext,
         streamsFactories.getMaterializedFactory(),
-        aggregateParamFactory
+        aggregateParamFactory,
+        planInfo
     );
   }
 
@@ -299,7 +300,8 @@ public final class KSPlanBuilder implements PlanBuilder {
         aggregate,
         buildContext,
         streamsFactories.getMaterializedFactory(),
-        aggregateParamFactory
+        aggregateParamFactory,
+        planInfo
     );
   }
 
@@ -313,7 +315,8 @@ public final class KSPlanBuilder implements PlanBuilder {
         aggregate,
         buildContext,
         streamsFactories.getMaterializedFactory(),
-        aggregateParamFactory
+        aggregateParamFactory,
+        planInfo
     );
   }
 
@@ -16,11 +16,19 @@
 package io.confluent.ksql.execution.streams;
 
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.streams.materialization.ks.IndexingKeyValueStore;
+import io.confluent.ksql.execution.streams.materialization.ks.RowCachingKeyValueStore;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.util.KsqlConfig;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.streams.kstream.Materialized;
 import org.apache.kafka.streams.processor.StateStore;
+import org.apache.kafka.streams.state.KeyValueBytesStoreSupplier;
+import org.apache.kafka.streams.state.Stores;
 
 public interface MaterializedFactory {
   <K, S extends StateStore> Materialized<K, GenericRow, S> create(
@@ -55,6 +63,74 @@ public interface MaterializedFactory {
     );
   }
 
+  /**
+   * Create a factory for a query with the supplied config.
+   *
+   * <p>If the pull query table cache is enabled, key-value stores are wrapped so that a
+   * {@link io.confluent.ksql.execution.streams.materialization.ks.PullQueryRowCache} can be kept
+   * coherent with them. If table index columns are configured, key-value stores are wrapped to
+   * maintain a {@link io.confluent.ksql.execution.streams.materialization.ks.SecondaryIndex}.
+   * The wrappers sit below the Kafka Streams record cache, so record caching, and with it the
+   * query's output, is unchanged; the wrappers see writes when the record cache is flushed or
+   * evicts them. Windowed stores are unaffected.
+   */
+  static MaterializedFactory create(final KsqlConfig ksqlConfig) {
+    final MaterializedFactory factory = create();
+
+    final int maxEntries = ksqlConfig.getInt(KsqlConfig.KSQL_QUERY_PULL_TABLE_CACHE_MAX_ENTRIES);
+    final List<ColumnName> indexColumns = ksqlConfig
+        .getList(KsqlConfig.KSQL_QUERY_PULL_TABLE_INDEX_COLUMNS)
+        .stream()
+        .map(ColumnName::of)
+        .collect(Collectors.toList());
+    final int maxIndexEntries = ksqlConfig
+        .getInt(KsqlConfig.KSQL_QUERY_PULL_TABLE_INDEX_MAX_ENTRIES);
+    if ((maxEntries == 0 && indexColumns.isEmpty())
+        || ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PULL_ENABLE_STANDBY_READS)) {
+      return factory;
+    }
+
+    return new MaterializedFactory() {
+      @Override
+      public <K, S extends StateStore> Materialized<K, GenericRow, S> create(
+          final Serde<K> keySerde,
+          final Serde<GenericRow> valSerde,
+          final String name,
+          final Optional<Duration> retention) {
+        return factory.create(keySerde, valSerde, name, retention);
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public <K, S extends StateStore> Materialized<K, GenericRow, S> create(
+          final Serde<K> keySerde,
+          final Serde<GenericRow> valSerde,
+          final String name) {
+        KeyValueBytesStoreSupplier supplier = Stores.persistentTimestampedKeyValueStore(name);
+        if (!indexColumns.isEmpty()) {
+          supplier = IndexingKeyValueStore.supplier(
+              supplier,
+              keySerde.deserializer(),
+              valSerde.deserializer(),
+              indexColumns,
+              maxIndexEntries
+          );
+        }
+        if (maxEntries != 0) {
+          supplier = RowCachingKeyValueStore.supplier(
+              supplier,
+              keySerde.deserializer(),
+              maxEntries
+          );
+        }
+
+        return (Materialized<K, GenericRow, S>) Materialized.<K, GenericRow>as(supplier)
+            .withKeySerde(keySerde)
+            .withValueSerde(valSerde);
+      }
+    };
+  }
+
   static MaterializedFactory create(final Materializer materializer) {
     return new MaterializedFactory() {
       @Override
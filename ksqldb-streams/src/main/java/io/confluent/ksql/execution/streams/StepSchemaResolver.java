@@ -392,6 +392,7 @@ public final class StepSchemaResolver {
         functionRegistry,
         aggregationFunctions,
         windowedAggregation,
+        true,
         ksqlConfig
     ).getSchema();
   }
@@ -24,6 +24,7 @@ import io.confluent.ksql.execution.plan.ExecutionKeyFactory;
 import io.confluent.ksql.execution.plan.Formats;
 import io.confluent.ksql.execution.plan.KGroupedStreamHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
+import io.confluent.ksql.execution.plan.PlanInfo;
 import io.confluent.ksql.execution.plan.StreamAggregate;
 import io.confluent.ksql.execution.plan.StreamWindowedAggregate;
 import io.confluent.ksql.execution.runtime.RuntimeBuildContext;
@@ -63,13 +64,15 @@ public final class StreamAggregateBuilder {
       final KGroupedStreamHolder groupedStream,
       final StreamAggregate aggregate,
       final RuntimeBuildContext buildContext,
-      final MaterializedFactory materializedFactory) {
+      final MaterializedFactory materializedFactory,
+      final PlanInfo planInfo) {
     return build(
         groupedStream,
         aggregate,
         buildContext,
         materializedFactory,
-        new AggregateParamsFactory()
+        new AggregateParamsFactory(),
+        planInfo
     );
   }
 
@@ -78,7 +81,8 @@ public final class StreamAggregateBuilder {
       final StreamAggregate aggregate,
       final RuntimeBuildContext buildContext,
       final MaterializedFactory materializedFactory,
-      final AggregateParamsFactory aggregateParamsFactory) {
+      final AggregateParamsFactory aggregateParamsFactory,
+      final PlanInfo planInfo) {
     final LogicalSchema sourceSchema = groupedStream.getSchema();
     final List<ColumnName> nonFuncColumns = aggregate.getNonAggregateColumns();
     final AggregateParams aggregateParams = aggregateParamsFactory.create(
@@ -87,6 +91,7 @@ public final class StreamAggregateBuilder {
         buildContext.getFunctionRegistry(),
         aggregate.getAggregationFunctions(),
         false,
+        planInfo.isOldValuesRequiredInPlan(),
         buildContext.getKsqlConfig()
     );
     final LogicalSchema aggregateSchema = aggregateParams.getAggregateSchema();
@@ -136,14 +141,16 @@ public final class StreamAggregateBuilder {
       final KGroupedStreamHolder groupedStream,
       final StreamWindowedAggregate aggregate,
       final RuntimeBuildContext buildContext,
-      final MaterializedFactory materializedFactory
+      final MaterializedFactory materializedFactory,
+      final PlanInfo planInfo
   ) {
     return build(
         groupedStream,
         aggregate,
         buildContext,
         materializedFactory,
-        new AggregateParamsFactory()
+        new AggregateParamsFactory(),
+        planInfo
     );
   }
 
@@ -153,7 +160,8 @@ public final class StreamAggregateBuilder {
       final StreamWindowedAggregate aggregate,
       final RuntimeBuildContext buildContext,
       final MaterializedFactory materializedFactory,
-      final AggregateParamsFactory aggregateParamsFactory
+      final AggregateParamsFactory aggregateParamsFactory,
+      final PlanInfo planInfo
   ) {
     final LogicalSchema sourceSchema = groupedStream.getSchema();
     final List<ColumnName> nonFuncColumns = aggregate.getNonAggregateColumns();
@@ -163,6 +171,7 @@ public final class StreamAggregateBuilder {
         buildContext.getFunctionRegistry(),
         aggregate.getAggregationFunctions(),
         true,
+        planInfo.isOldValuesRequiredInPlan(),
         buildContext.getKsqlConfig()
     );
     final LogicalSchema aggregateSchema = aggregateParams.getAggregateSchema();
@@ -31,7 +31,7 @@ public class StreamsFactories {
     return new StreamsFactories(
         GroupedFactory.create(),
         JoinedFactory.create(),
-        MaterializedFactory.create(),
+        MaterializedFactory.create(ksqlConfig),
         StreamJoinedFactory.create(),
         Consumed::with
     );
@@ -21,6 +21,7 @@ import io.confluent.ksql.execution.materialization.MaterializationInfo;
 import io.confluent.ksql.execution.plan.ExecutionKeyFactory;
 import io.confluent.ksql.execution.plan.KGroupedTableHolder;
 import io.confluent.ksql.execution.plan.KTableHolder;
+import io.confluent.ksql.execution.plan.PlanInfo;
 import io.confluent.ksql.execution.plan.TableAggregate;
 import io.confluent.ksql.execution.runtime.RuntimeBuildContext;
 import io.confluent.ksql.execution.streams.transform.KsTransformer;
@@ -41,13 +42,15 @@ public final class TableAggregateBuilder {
       final KGroupedTableHolder groupedTable,
       final TableAggregate aggregate,
       final RuntimeBuildContext buildContext,
-      final MaterializedFactory materializedFactory) {
+      final MaterializedFactory materializedFactory,
+      final PlanInfo planInfo) {
     return build(
         groupedTable,
         aggregate,
         buildContext,
         materializedFactory,
-        new AggregateParamsFactory()
+        new AggregateParamsFactory(),
+        planInfo
     );
   }
 
@@ -56,7 +59,8 @@ public final class TableAggregateBuilder {
       final TableAggregate aggregate,
       final RuntimeBuildContext buildContext,
       final MaterializedFactory materializedFactory,
-      final AggregateParamsFactory aggregateParamsFactory
+      final AggregateParamsFactory aggregateParamsFactory,
+      final PlanInfo planInfo
   ) {
     final LogicalSchema sourceSchema = groupedTable.getSchema();
     final List<ColumnName> nonFuncColumns = aggregate.getNonAggregateColumns();
@@ -65,6 +69,7 @@ public final class TableAggregateBuilder {
         nonFuncColumns,
         buildContext.getFunctionRegistry(),
         aggregate.getAggregationFunctions(),
+        planInfo.isOldValuesRequiredInPlan(),
         buildContext.getKsqlConfig()
     );
     final LogicalSchema aggregateSchema = aggregateParams.getAggregateSchema();
@@ -19,18 +19,21 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Range;
 import com.google.common.collect.Streams;
 import io.confluent.ksql.GenericKey;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.transform.KsqlProcessingContext;
 import io.confluent.ksql.model.WindowType;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * {@link Materialization} implementation responsible for handling HAVING and SELECT clauses.
@@ -175,6 +178,22 @@ class KsqlMaterialization implements Materialization {
         .iterator();
     }
 
+    @Override
+    public Set<ColumnName> indexedColumns() {
+      // Indexes are on the columns of the store, which are only those of the table if the
+      // table's rows are not transformed:
+      return transforms.isEmpty() ? table.indexedColumns() : ImmutableSet.of();
+    }
+
+    @Override
+    public Optional<Iterator<Row>> get(
+        final int partition,
+        final ColumnName column,
+        final Object value
+    ) {
+      return transforms.isEmpty() ? table.get(partition, column, value) : Optional.empty();
+    }
+
   }
 
   final class KsqlMaterializedWindowedTable implements MaterializedWindowedTable {
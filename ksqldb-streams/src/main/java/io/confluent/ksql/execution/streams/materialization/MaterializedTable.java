@@ -15,9 +15,12 @@
 
 package io.confluent.ksql.execution.streams.materialization;
 
+import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.GenericKey;
+import io.confluent.ksql.name.ColumnName;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Materialization of a table with a non-windowed key
@@ -50,4 +53,25 @@ public interface MaterializedTable {
    * @return the rows.
    */
   Iterator<Row> get(int partition, GenericKey from, GenericKey to);
+
+  /**
+   * @return the value columns with a secondary index, which can be used to look up rows by
+   *         value.
+   */
+  default Set<ColumnName> indexedColumns() {
+    return ImmutableSet.of();
+  }
+
+  /**
+   * Look up the rows with the supplied {@code value} in an indexed value column.
+   *
+   * @param partition partition to limit the get to
+   * @param column the indexed value column
+   * @param value the value to look up
+   * @return the rows, or nothing if the column is not indexed for the partition, or its index is
+   *         still being built.
+   */
+  default Optional<Iterator<Row>> get(int partition, ColumnName column, Object value) {
+    return Optional.empty();
+  }
 }
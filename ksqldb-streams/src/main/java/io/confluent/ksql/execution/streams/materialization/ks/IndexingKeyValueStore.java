@@ -0,0 +1,542 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization.ks;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.StateStore;
+import org.apache.kafka.streams.processor.StateStoreContext;
+import org.apache.kafka.streams.processor.TaskId;
+import org.apache.kafka.streams.state.KeyValueBytesStoreSupplier;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.TimestampedBytesStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A key-value store that maintains a {@link SecondaryIndex} on value columns of the table it
+ * stores.
+ *
+ * <p>This is an experimental, opt-in alternative to scanning a table for pull queries that filter
+ * on a value column. Indexes are held on the heap and are not persisted, so they are rebuilt
+ * whenever the store is opened.
+ *
+ * <p>The index of a column is built the first time it is looked up, by a background thread that
+ * scans a snapshot of the store. Writes made during the scan are queued and applied once it
+ * completes, so neither writes nor lookups wait for the scan; lookups return nothing until the
+ * index is built, and pull queries then scan the partition instead. Pull queries only read
+ * active stores once they are running, so an index is never built before the store is restored.
+ *
+ * <p>Indexes hold the serialized keys of up to {@code maxEntries} rows. The index of a column is
+ * dropped, and not rebuilt while the store is open, if the partition has more rows than that.
+ * The store sits below the Kafka Streams record cache, so the index sees writes when the record
+ * cache is flushed or evicts them, i.e. by the next commit at the latest.
+ *
+ * <p>Indexes are not used for stores of queries on shared runtimes, where store names are not
+ * unique within the application.
+ */
+public final class IndexingKeyValueStore
+    implements KeyValueStore<Bytes, byte[]>, TimestampedBytesStore {
+
+  private static final Logger LOG = LoggerFactory.getLogger(IndexingKeyValueStore.class);
+
+  private static final Duration BUILDER_KEEP_ALIVE = Duration.ofMinutes(1);
+
+  private static final Executor BUILDER = createBuilder(
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+  private final KeyValueStore<Bytes, byte[]> inner;
+  private final Deserializer<?> keyDeserializer;
+  private final Deserializer<GenericRow> valueDeserializer;
+  private final ImmutableList<ColumnName> columns;
+  private final int maxEntries;
+  private final Executor builder;
+
+  // Indexes by the index of the value column, and the columns too large to index, guarded by this:
+  private final Map<Integer, ColumnIndex> indexes = new HashMap<>();
+  private final Set<Integer> dropped = new HashSet<>();
+
+  private String applicationId;
+  private String changelogTopic;
+  private int partition;
+  private boolean registered;
+
+  IndexingKeyValueStore(
+      final KeyValueStore<Bytes, byte[]> inner,
+      final Deserializer<?> keyDeserializer,
+      final Deserializer<GenericRow> valueDeserializer,
+      final List<ColumnName> columns,
+      final int maxEntries
+  ) {
+    this(inner, keyDeserializer, valueDeserializer, columns, maxEntries, BUILDER);
+  }
+
+  @VisibleForTesting
+  IndexingKeyValueStore(
+      final KeyValueStore<Bytes, byte[]> inner,
+      final Deserializer<?> keyDeserializer,
+      final Deserializer<GenericRow> valueDeserializer,
+      final List<ColumnName> columns,
+      final int maxEntries,
+      final Executor builder
+  ) {
+    this.inner = requireNonNull(inner, "inner");
+    this.keyDeserializer = requireNonNull(keyDeserializer, "keyDeserializer");
+    this.valueDeserializer = requireNonNull(valueDeserializer, "valueDeserializer");
+    this.columns = ImmutableList.copyOf(requireNonNull(columns, "columns"));
+    this.maxEntries = maxEntries;
+    this.builder = requireNonNull(builder, "builder");
+  }
+
+  /**
+   * Builds run on a small pool, rather than a single thread, so that building the index of one
+   * large partition doesn't hold up the builds of other partitions. Idle threads exit.
+   */
+  @VisibleForTesting
+  static ThreadPoolExecutor createBuilder(final int threads) {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        threads,
+        threads,
+        BUILDER_KEEP_ALIVE.toMillis(),
+        TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder()
+            .setNameFormat("ksql-table-index-builder-%d")
+            .setDaemon(true)
+            .build()
+    );
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Wraps the stores supplied by {@code supplier} in an {@link IndexingKeyValueStore}.
+   *
+   * @param supplier the supplier of the inner, timestamped, store.
+   * @param keyDeserializer the deserializer for the table's key.
+   * @param valueDeserializer the deserializer for the table's value.
+   * @param columns the value columns to index.
+   * @param maxEntries the maximum number of rows of a partition to index.
+   * @return the supplier.
+   */
+  public static KeyValueBytesStoreSupplier supplier(
+      final KeyValueBytesStoreSupplier supplier,
+      final Deserializer<?> keyDeserializer,
+      final Deserializer<GenericRow> valueDeserializer,
+      final List<ColumnName> columns,
+      final int maxEntries
+  ) {
+    requireNonNull(supplier, "supplier");
+    requireNonNull(keyDeserializer, "keyDeserializer");
+    requireNonNull(valueDeserializer, "valueDeserializer");
+    requireNonNull(columns, "columns");
+
+    return new KeyValueBytesStoreSupplier() {
+      @Override
+      public String name() {
+        return supplier.name();
+      }
+
+      @Override
+      public KeyValueStore<Bytes, byte[]> get() {
+        return new IndexingKeyValueStore(
+            supplier.get(), keyDeserializer, valueDeserializer, columns, maxEntries);
+      }
+
+      @Override
+      public String metricsScope() {
+        return supplier.metricsScope();
+      }
+    };
+  }
+
+  @Override
+  public String name() {
+    return inner.name();
+  }
+
+  @Override
+  public void init(final StateStoreContext context, final StateStore root) {
+    inner.init(context, root);
+    register(context.applicationId(), context.taskId());
+  }
+
+  @Deprecated
+  @Override
+  public void init(final ProcessorContext context, final StateStore root) {
+    inner.init(context, root);
+    register(context.applicationId(), context.taskId());
+  }
+
+  @Override
+  public synchronized void put(final Bytes key, final byte[] value) {
+    final byte[] previous = indexes.isEmpty() ? null : inner.get(key);
+    inner.put(key, value);
+    reindex(key, previous, value);
+  }
+
+  @Override
+  public synchronized byte[] putIfAbsent(final Bytes key, final byte[] value) {
+    final byte[] previous = inner.putIfAbsent(key, value);
+    if (previous == null) {
+      reindex(key, null, value);
+    }
+    return previous;
+  }
+
+  @Override
+  public synchronized void putAll(final List<KeyValue<Bytes, byte[]>> entries) {
+    if (indexes.isEmpty()) {
+      inner.putAll(entries);
+      return;
+    }
+
+    entries.forEach(entry -> put(entry.key, entry.value));
+  }
+
+  @Override
+  public synchronized byte[] delete(final Bytes key) {
+    final byte[] previous = inner.delete(key);
+    reindex(key, previous, null);
+    return previous;
+  }
+
+  @Override
+  public byte[] get(final Bytes key) {
+    return inner.get(key);
+  }
+
+  @Override
+  public KeyValueIterator<Bytes, byte[]> range(final Bytes from, final Bytes to) {
+    return inner.range(from, to);
+  }
+
+  @Override
+  public KeyValueIterator<Bytes, byte[]> reverseRange(final Bytes from, final Bytes to) {
+    return inner.reverseRange(from, to);
+  }
+
+  @Override
+  public KeyValueIterator<Bytes, byte[]> all() {
+    return inner.all();
+  }
+
+  @Override
+  public KeyValueIterator<Bytes, byte[]> reverseAll() {
+    return inner.reverseAll();
+  }
+
+  @Override
+  public <PS extends Serializer<P>, P> KeyValueIterator<Bytes, byte[]> prefixScan(
+      final P prefix,
+      final PS prefixKeySerializer
+  ) {
+    return inner.prefixScan(prefix, prefixKeySerializer);
+  }
+
+  @Override
+  public long approximateNumEntries() {
+    return inner.approximateNumEntries();
+  }
+
+  @Override
+  public void flush() {
+    inner.flush();
+  }
+
+  @Override
+  public void close() {
+    try {
+      inner.close();
+    } finally {
+      if (registered) {
+        SecondaryIndex.unregister(applicationId, name(), partition);
+        registered = false;
+      }
+      synchronized (this) {
+        indexes.clear();
+        dropped.clear();
+      }
+    }
+  }
+
+  @Override
+  public boolean persistent() {
+    return inner.persistent();
+  }
+
+  @Override
+  public boolean isOpen() {
+    return inner.isOpen();
+  }
+
+  Optional<Set<Object>> lookup(final int columnIndex, final Object value) {
+    final Set<Bytes> keys;
+    synchronized (this) {
+      if (dropped.contains(columnIndex)) {
+        return Optional.empty();
+      }
+
+      if (!indexes.containsKey(columnIndex)) {
+        startBuild(columnIndex);
+      }
+
+      final ColumnIndex index = indexes.get(columnIndex);
+      if (index == null || !index.isBuilt()) {
+        return Optional.empty();
+      }
+
+      keys = ImmutableSet.copyOf(index.keys(value));
+    }
+
+    return Optional.of(keys.stream()
+        .map(this::deserializeKey)
+        .collect(ImmutableSet.toImmutableSet()));
+  }
+
+  private void register(final String applicationId, final TaskId taskId) {
+    if (taskId.topologyName() != null) {
+      return;
+    }
+
+    this.applicationId = applicationId;
+    this.changelogTopic = applicationId + "-" + name() + "-changelog";
+    this.partition = taskId.partition();
+    SecondaryIndex.register(applicationId, name(), columns, partition, this::lookup);
+    this.registered = true;
+  }
+
+  private void startBuild(final int columnIndex) {
+    // The iterator reads a snapshot of the store as of now; later writes are queued:
+    final KeyValueIterator<Bytes, byte[]> snapshot = inner.all();
+    final ColumnIndex index = new ColumnIndex(columnIndex);
+    indexes.put(columnIndex, index);
+    try {
+      builder.execute(() -> build(index, snapshot));
+    } catch (final RejectedExecutionException e) {
+      snapshot.close();
+      indexes.remove(columnIndex);
+    }
+  }
+
+  private void build(final ColumnIndex index, final KeyValueIterator<Bytes, byte[]> snapshot) {
+    try (KeyValueIterator<Bytes, byte[]> it = snapshot) {
+      while (it.hasNext()) {
+        final KeyValue<Bytes, byte[]> next = it.next();
+        if (!index.add(valueAt(deserializeValue(next.value), index.columnIndex), next.key)) {
+          synchronized (this) {
+            drop(index);
+          }
+          return;
+        }
+      }
+    } catch (final Exception e) {
+      LOG.warn("Failed to build index of column {} of store {}, partition {}",
+          index.columnIndex, name(), partition, e);
+      synchronized (this) {
+        // Try again on next use:
+        indexes.remove(index.columnIndex, index);
+      }
+      return;
+    }
+
+    synchronized (this) {
+      if (indexes.get(index.columnIndex) == index && !index.built()) {
+        drop(index);
+      }
+    }
+  }
+
+  private void reindex(final Bytes key, final byte[] previous, final byte[] value) {
+    if (indexes.isEmpty()) {
+      return;
+    }
+
+    final Change change;
+    try {
+      change = new Change(key, deserializeValue(previous), deserializeValue(value));
+    } catch (final Exception e) {
+      // Rather than risk a stale index, rebuild it from the store on next use:
+      indexes.clear();
+      return;
+    }
+
+    for (final ColumnIndex index : new ArrayList<>(indexes.values())) {
+      if (!index.apply(change)) {
+        drop(index);
+      }
+    }
+  }
+
+  private void drop(final ColumnIndex index) {
+    // Ignore indexes that have since been closed or reset:
+    if (indexes.remove(index.columnIndex, index) && dropped.add(index.columnIndex)) {
+      LOG.warn("Dropped index of column {} of store {}, partition {}, as the partition has more "
+          + "than {} rows", index.columnIndex, name(), partition, maxEntries);
+    }
+  }
+
+  private Object deserializeKey(final Bytes key) {
+    return keyDeserializer.deserialize(changelogTopic, key.get());
+  }
+
+  private GenericRow deserializeValue(final byte[] value) {
+    if (value == null) {
+      return null;
+    }
+
+    // Values in timestamped stores are prefixed with their timestamp:
+    return valueDeserializer.deserialize(
+        changelogTopic, Arrays.copyOfRange(value, Long.BYTES, value.length));
+  }
+
+  private static Object valueAt(final GenericRow row, final int columnIndex) {
+    return row == null || columnIndex >= row.size() ? null : row.get(columnIndex);
+  }
+
+  /**
+   * A write to the store, whose values are deserialized once for all indexes.
+   */
+  private static final class Change {
+
+    private final Bytes key;
+    private final GenericRow before;
+    private final GenericRow after;
+
+    Change(final Bytes key, final GenericRow before, final GenericRow after) {
+      this.key = key;
+      this.before = before;
+      this.after = after;
+    }
+  }
+
+  /**
+   * The index of a single value column.
+   *
+   * <p>While the index is being built, only the builder thread touches {@code keys}, and writes
+   * are queued in {@code pending}, under the lock of the store. Once built, the index is only
+   * accessed under the lock of the store.
+   */
+  private final class ColumnIndex {
+
+    private final int columnIndex;
+    private final Map<Object, Set<Bytes>> keys = new HashMap<>();
+    private int size;
+    private List<Change> pending = new ArrayList<>();
+
+    ColumnIndex(final int columnIndex) {
+      this.columnIndex = columnIndex;
+    }
+
+    boolean isBuilt() {
+      return pending == null;
+    }
+
+    Set<Bytes> keys(final Object value) {
+      return keys.getOrDefault(value, ImmutableSet.of());
+    }
+
+    /**
+     * Applies the writes made while the index was being built.
+     *
+     * @return false if the index holds too many rows.
+     */
+    boolean built() {
+      final List<Change> changes = pending;
+      pending = null;
+      for (final Change change : changes) {
+        if (!update(change)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * @return false if the index holds, or queues, too many rows.
+     */
+    boolean apply(final Change change) {
+      if (pending == null) {
+        return update(change);
+      }
+
+      pending.add(change);
+      return pending.size() <= maxEntries;
+    }
+
+    private boolean update(final Change change) {
+      final Object oldValue = valueAt(change.before, columnIndex);
+      final Object newValue = valueAt(change.after, columnIndex);
+      if (Objects.equals(oldValue, newValue)) {
+        return true;
+      }
+
+      remove(oldValue, change.key);
+      return add(newValue, change.key);
+    }
+
+    /**
+     * @return false if the index holds too many rows.
+     */
+    boolean add(final Object value, final Bytes key) {
+      if (value != null && keys.computeIfAbsent(value, v -> new HashSet<>()).add(key)) {
+        size++;
+      }
+      return size <= maxEntries;
+    }
+
+    private void remove(final Object value, final Bytes key) {
+      if (value == null) {
+        return;
+      }
+
+      final Set<Bytes> existing = keys.get(value);
+      if (existing != null && existing.remove(key)) {
+        size--;
+        if (existing.isEmpty()) {
+          keys.remove(value);
+        }
+      }
+    }
+  }
+}
@@ -101,7 +101,8 @@ public final class KsMaterializationFactory {
         stateStoreName,
         kafkaStreams,
         schema,
-        ksqlConfig
+        ksqlConfig,
+        applicationId
     );
 
     final KsMaterialization materialization = materializationFactory.create(
@@ -144,7 +145,8 @@ public final class KsMaterializationFactory {
         String stateStoreName,
         KafkaStreams kafkaStreams,
         LogicalSchema schema,
-        KsqlConfig ksqlConfig
+        KsqlConfig ksqlConfig,
+        String applicationId
     );
   }
 
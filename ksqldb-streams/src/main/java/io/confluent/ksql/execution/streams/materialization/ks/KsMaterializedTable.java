@@ -15,16 +15,21 @@
 
 package io.confluent.ksql.execution.streams.materialization.ks;
 
-import com.google.common.collect.Streams;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
 import io.confluent.ksql.GenericKey;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.execution.streams.materialization.MaterializedTable;
 import io.confluent.ksql.execution.streams.materialization.Row;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.Column;
 import io.confluent.ksql.util.IteratorUtil;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.QueryableStoreTypes;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
@@ -50,8 +55,12 @@ class KsMaterializedTable implements MaterializedTable {
       final ReadOnlyKeyValueStore<GenericKey, ValueAndTimestamp<GenericRow>> store = stateStore
           .store(QueryableStoreTypes.timestampedKeyValueStore(), partition);
 
-      return Optional.ofNullable(store.get(key))
+      final Supplier<Optional<Row>> loader = () -> Optional.ofNullable(store.get(key))
           .map(v -> Row.of(stateStore.schema(), key, v.value(), v.timestamp()));
+
+      return stateStore.rowCache()
+          .map(cache -> cache.get(partition, key, loader))
+          .orElseGet(loader);
     } catch (final Exception e) {
       throw new MaterializationException("Failed to get value from materialized table", e);
     }
@@ -64,10 +73,10 @@ class KsMaterializedTable implements MaterializedTable {
           .store(QueryableStoreTypes.timestampedKeyValueStore(), partition);
 
       final KeyValueIterator<GenericKey, ValueAndTimestamp<GenericRow>> iterator = store.all();
-      return Streams.stream(IteratorUtil.onComplete(iterator, iterator::close))
-          .map(keyValue -> Row.of(stateStore.schema(), keyValue.key, keyValue.value.value(),
-              keyValue.value.timestamp()))
-          .iterator();
+      return Iterators.transform(
+          IteratorUtil.onComplete(iterator, iterator::close),
+          keyValue -> Row.of(stateStore.schema(), keyValue.key, keyValue.value.value(),
+              keyValue.value.timestamp()));
     } catch (final Exception e) {
       throw new MaterializationException("Failed to scan materialized table", e);
     }
@@ -81,13 +90,50 @@ class KsMaterializedTable implements MaterializedTable {
 
       final KeyValueIterator<GenericKey, ValueAndTimestamp<GenericRow>> iterator =
           store.range(from, to);
-      return Streams.stream(IteratorUtil.onComplete(iterator, iterator::close))
-        .map(keyValue -> Row.of(stateStore.schema(), keyValue.key, keyValue.value.value(),
-          keyValue.value.timestamp()))
-        .iterator();
+      return Iterators.transform(
+          IteratorUtil.onComplete(iterator, iterator::close),
+          keyValue -> Row.of(stateStore.schema(), keyValue.key, keyValue.value.value(),
+              keyValue.value.timestamp()));
     } catch (final Exception e) {
       throw new MaterializationException("Failed to range scan materialized table", e);
     }
   }
 
+  @Override
+  public Set<ColumnName> indexedColumns() {
+    return stateStore.secondaryIndex()
+        .map(SecondaryIndex::columns)
+        .orElse(ImmutableSet.of());
+  }
+
+  @Override
+  public Optional<Iterator<Row>> get(
+      final int partition,
+      final ColumnName column,
+      final Object value
+  ) {
+    try {
+      final ReadOnlyKeyValueStore<GenericKey, ValueAndTimestamp<GenericRow>> store = stateStore
+          .store(QueryableStoreTypes.timestampedKeyValueStore(), partition);
+
+      final Optional<Column> valueColumn = stateStore.schema().findValueColumn(column);
+      if (!valueColumn.isPresent()) {
+        return Optional.empty();
+      }
+
+      return stateStore.secondaryIndex()
+          .filter(index -> index.columns().contains(column))
+          .flatMap(index -> index.lookup(partition, valueColumn.get().index(), value))
+          .map(keys -> Iterators.filter(Iterators.transform(keys.iterator(), key -> {
+            final GenericKey genericKey = (GenericKey) key;
+            final ValueAndTimestamp<GenericRow> row = store.get(genericKey);
+            return row == null
+                ? null
+                : Row.of(stateStore.schema(), genericKey, row.value(), row.timestamp());
+          }), Objects::nonNull));
+    } catch (final Exception e) {
+      throw new MaterializationException("Failed to look up materialized table by index", e);
+    }
+  }
+
 }
@@ -22,6 +22,7 @@ import io.confluent.ksql.execution.streams.materialization.MaterializationExcept
 import io.confluent.ksql.execution.streams.materialization.NotRunningException;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Optional;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.KafkaStreams.State;
 import org.apache.kafka.streams.StoreQueryParameters;
@@ -36,24 +37,49 @@ class KsStateStore {
   private final KafkaStreams kafkaStreams;
   private final LogicalSchema schema;
   private final KsqlConfig ksqlConfig;
+  private final String applicationId;
 
   @VisibleForTesting
   KsStateStore(
       final String stateStoreName,
       final KafkaStreams kafkaStreams,
       final LogicalSchema schema,
-      final KsqlConfig ksqlConfig
+      final KsqlConfig ksqlConfig,
+      final String applicationId
   ) {
     this.kafkaStreams = requireNonNull(kafkaStreams, "kafkaStreams");
     this.stateStoreName = requireNonNull(stateStoreName, "stateStoreName");
     this.schema = requireNonNull(schema, "schema");
     this.ksqlConfig = requireNonNull(ksqlConfig, "ksqlConfig");
+    this.applicationId = requireNonNull(applicationId, "applicationId");
   }
 
   LogicalSchema schema() {
     return schema;
   }
 
+  /**
+   * @return the row cache of the store, if the query that owns it registered one.
+   */
+  Optional<PullQueryRowCache> rowCache() {
+    if (ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PULL_ENABLE_STANDBY_READS)) {
+      // Only the active store invalidates the cache:
+      return Optional.empty();
+    }
+    return PullQueryRowCache.find(applicationId, stateStoreName);
+  }
+
+  /**
+   * @return the secondary index of the store, if the query that owns it registered one.
+   */
+  Optional<SecondaryIndex> secondaryIndex() {
+    if (ksqlConfig.getBoolean(KsqlConfig.KSQL_QUERY_PULL_ENABLE_STANDBY_READS)) {
+      // Only the active store maintains the index:
+      return Optional.empty();
+    }
+    return SecondaryIndex.find(applicationId, stateStoreName);
+  }
+
   <T> T store(final QueryableStoreType<T> queryableStoreType, final int partition) {
     try {
       final StoreQueryParameters<T> parameters = StoreQueryParameters.fromNameAndType(
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization.ks;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.confluent.ksql.GenericKey;
+import io.confluent.ksql.execution.streams.materialization.Row;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of the rows of a table materialized by a persistent query, used to serve
+ * key lookups by pull queries.
+ *
+ * <p>The cache is kept coherent by the {@link RowCachingKeyValueStore} wrapping the table's
+ * state store, which invalidates a key whenever it is written. Caches are registered by
+ * application id and store name while any partition of the store is open.
+ */
+public final class PullQueryRowCache {
+
+  private static final ConcurrentMap<StoreId, PullQueryRowCache> CACHES =
+      new ConcurrentHashMap<>();
+
+  private static final LongAdder HITS = new LongAdder();
+  private static final LongAdder MISSES = new LongAdder();
+
+  private final Cache<RowKey, Optional<Row>> rows;
+  private final ConcurrentMap<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+  private int openPartitions;
+
+  @VisibleForTesting
+  PullQueryRowCache(final int maxEntries) {
+    this.rows = CacheBuilder.newBuilder()
+        .maximumSize(maxEntries)
+        .build();
+  }
+
+  /**
+   * @return the total number of lookups served from a cache.
+   */
+  public static long hits() {
+    return HITS.sum();
+  }
+
+  /**
+   * @return the total number of lookups that had to read the state store.
+   */
+  public static long misses() {
+    return MISSES.sum();
+  }
+
+  static Optional<PullQueryRowCache> find(final String applicationId, final String storeName) {
+    return Optional.ofNullable(CACHES.get(new StoreId(applicationId, storeName)));
+  }
+
+  static PullQueryRowCache acquire(
+      final String applicationId,
+      final String storeName,
+      final int maxEntries
+  ) {
+    return CACHES.compute(new StoreId(applicationId, storeName), (id, cache) -> {
+      final PullQueryRowCache acquired = cache == null ? new PullQueryRowCache(maxEntries) : cache;
+      acquired.openPartitions++;
+      return acquired;
+    });
+  }
+
+  static void release(final String applicationId, final String storeName) {
+    CACHES.computeIfPresent(new StoreId(applicationId, storeName), (id, cache) ->
+        --cache.openPartitions == 0 ? null : cache);
+  }
+
+  /**
+   * Get the row for the supplied key, loading it from the state store on a miss.
+   *
+   * <p>A loaded row is only retained if the partition was not written while it was loading, so
+   * a concurrent write can never be hidden by an older row.
+   *
+   * <p>Callers are free to modify the value of the returned row: the cache holds its own copy,
+   * and hands out a new copy on each hit.
+   */
+  Optional<Row> get(
+      final int partition,
+      final GenericKey key,
+      final Supplier<Optional<Row>> loader
+  ) {
+    final RowKey rowKey = new RowKey(partition, key);
+    final Optional<Row> cached = rows.getIfPresent(rowKey);
+    if (cached != null) {
+      HITS.increment();
+      return copy(cached);
+    }
+
+    MISSES.increment();
+
+    final AtomicLong version = version(partition);
+    final long before = version.get();
+    final Optional<Row> row = loader.get();
+    rows.put(rowKey, copy(row));
+    if (version.get() != before) {
+      rows.invalidate(rowKey);
+    }
+    return row;
+  }
+
+  boolean isEmpty() {
+    return rows.size() == 0;
+  }
+
+  void invalidate(final int partition, final Object key) {
+    version(partition).incrementAndGet();
+    rows.invalidate(new RowKey(partition, key));
+  }
+
+  void invalidate(final int partition) {
+    version(partition).incrementAndGet();
+    rows.asMap().keySet().removeIf(rowKey -> rowKey.partition == partition);
+  }
+
+  private static Optional<Row> copy(final Optional<Row> row) {
+    return row.map(r -> r.withValue(r.value().copy(), r.schema()));
+  }
+
+  private AtomicLong version(final int partition) {
+    return versions.computeIfAbsent(partition, p -> new AtomicLong());
+  }
+
+  private static final class RowKey {
+
+    private final int partition;
+    private final Object key;
+
+    RowKey(final int partition, final Object key) {
+      this.partition = partition;
+      this.key = Objects.requireNonNull(key, "key");
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final RowKey that = (RowKey) o;
+      return partition == that.partition
+          && key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(partition, key);
+    }
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization.ks;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.StateStore;
+import org.apache.kafka.streams.processor.StateStoreContext;
+import org.apache.kafka.streams.processor.TaskId;
+import org.apache.kafka.streams.state.KeyValueBytesStoreSupplier;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.TimestampedBytesStore;
+
+/**
+ * A key-value store that invalidates the {@link PullQueryRowCache} of the table as it is written.
+ *
+ * <p>The store sits below the Kafka Streams record cache, so it sees writes when the record
+ * cache is flushed or evicts them, i.e. by the next commit at the latest. Written keys are
+ * deserialized to find the cached row to invalidate. While the row cache is empty, or if a key
+ * can not be deserialized, the whole partition is invalidated instead.
+ *
+ * <p>The row cache is not used for stores of queries on shared runtimes, where store names are
+ * not unique within the application.
+ */
+public final class RowCachingKeyValueStore
+    implements KeyValueStore<Bytes, byte[]>, TimestampedBytesStore {
+
+  private final KeyValueStore<Bytes, byte[]> inner;
+  private final Deserializer<?> keyDeserializer;
+  private final int maxEntries;
+
+  private String applicationId;
+  private String changelogTopic;
+  private int partition;
+  private PullQueryRowCache cache;
+
+  RowCachingKeyValueStore(
+      final KeyValueStore<Bytes, byte[]> inner,
+      final Deserializer<?> keyDeserializer,
+      final int maxEntries
+  ) {
+    this.inner = requireNonNull(inner, "inner");
+    this.keyDeserializer = requireNonNull(keyDeserializer, "keyDeserializer");
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Wraps the stores supplied by {@code supplier} in a {@link RowCachingKeyValueStore}.
+   *
+   * @param supplier the supplier of the inner, timestamped, store.
+   * @param keyDeserializer the deserializer for the table's key.
+   * @param maxEntries the maximum number of rows to cache.
+   * @return the supplier.
+   */
+  public static KeyValueBytesStoreSupplier supplier(
+      final KeyValueBytesStoreSupplier supplier,
+      final Deserializer<?> keyDeserializer,
+      final int maxEntries
+  ) {
+    requireNonNull(supplier, "supplier");
+    requireNonNull(keyDeserializer, "keyDeserializer");
+
+    return new KeyValueBytesStoreSupplier() {
+      @Override
+      public String name() {
+        return supplier.name();
+      }
+
+      @Override
+      public KeyValueStore<Bytes, byte[]> get() {
+        return new RowCachingKeyValueStore(supplier.get(), keyDeserializer, maxEntries);
+      }
+
+      @Override
+      public String metricsScope() {
+        return supplier.metricsScope();
+      }
+    };
+  }
+
+  @Override
+  public String name() {
+    return inner.name();
+  }
+
+  @Override
+  public void init(final StateStoreContext context, final StateStore root) {
+    inner.init(context, root);
+    register(context.applicationId(), context.taskId());
+  }
+
+  @Deprecated
+  @Override
+  public void init(final ProcessorContext context, final StateStore root) {
+    inner.init(context, root);
+    register(context.applicationId(), context.taskId());
+  }
+
+  @Override
+  public void put(final Bytes key, final byte[] value) {
+    inner.put(key, value);
+    invalidate(key);
+  }
+
+  @Override
+  public byte[] putIfAbsent(final Bytes key, final byte[] value) {
+    final byte[] previous = inner.putIfAbsent(key, value);
+    if (previous == null) {
+      invalidate(key);
+    }
+    return previous;
+  }
+
+  @Override
+  public void putAll(final List<KeyValue<Bytes, byte[]>> entries) {
+    inner.putAll(entries);
+    entries.forEach(entry -> invalidate(entry.key));
+  }
+
+  @Override
+  public byte[] delete(final Bytes key) {
+    final byte[] previous = inner.delete(key);
+    invalidate(key);
+    return previous;
+  }
+
+  @Override
+  public byte[] get(final Bytes key) {
+    return inner.get(key);
+  }
+
+  @Override
+  public KeyValueIterator<Bytes, byte[]> range(final Bytes from, final Bytes to) {
+    return inner.range(from, to);
+  }
+
+  @Override
+  public KeyValueIterator<Bytes, byte[]> reverseRange(final Bytes from, final Bytes to) {
+    return inner.reverseRange(from, to);
+  }
+
+  @Override
+  public KeyValueIterator<Bytes, byte[]> all() {
+    return inner.all();
+  }
+
+  @Override
+  public KeyValueIterator<Bytes, byte[]> reverseAll() {
+    return inner.reverseAll();
+  }
+
+  @Override
+  public <PS extends Serializer<P>, P> KeyValueIterator<Bytes, byte[]> prefixScan(
+      final P prefix,
+      final PS prefixKeySerializer
+  ) {
+    return inner.prefixScan(prefix, prefixKeySerializer);
+  }
+
+  @Override
+  public long approximateNumEntries() {
+    return inner.approximateNumEntries();
+  }
+
+  @Override
+  public void flush() {
+    inner.flush();
+  }
+
+  @Override
+  public void close() {
+    try {
+      inner.close();
+    } finally {
+      if (cache != null) {
+        cache.invalidate(partition);
+        PullQueryRowCache.release(applicationId, name());
+        cache = null;
+      }
+    }
+  }
+
+  @Override
+  public boolean persistent() {
+    return inner.persistent();
+  }
+
+  @Override
+  public boolean isOpen() {
+    return inner.isOpen();
+  }
+
+  private void register(final String applicationId, final TaskId taskId) {
+    if (taskId.topologyName() != null) {
+      return;
+    }
+
+    this.applicationId = applicationId;
+    this.changelogTopic = applicationId + "-" + name() + "-changelog";
+    this.partition = taskId.partition();
+    this.cache = PullQueryRowCache.acquire(applicationId, name(), maxEntries);
+    cache.invalidate(partition);
+  }
+
+  private void invalidate(final Bytes key) {
+    if (cache == null) {
+      return;
+    }
+
+    if (cache.isEmpty()) {
+      cache.invalidate(partition);
+      return;
+    }
+
+    final Object deserialized;
+    try {
+      deserialized = keyDeserializer.deserialize(changelogTopic, key.get());
+    } catch (final Exception e) {
+      cache.invalidate(partition);
+      return;
+    }
+
+    if (deserialized == null) {
+      cache.invalidate(partition);
+    } else {
+      cache.invalidate(partition, deserialized);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization.ks;
+
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.name.ColumnName;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Secondary indexes on value columns of a table materialized by a persistent query, used to serve
+ * pull queries that look up rows by a non-key column.
+ *
+ * <p>The indexes are partition local: each partition of the table's state store is wrapped in an
+ * {@link IndexingKeyValueStore}, which registers its index while the partition is open and keeps
+ * it up to date as the store is written. Indexes are registered by application id and store name.
+ */
+public final class SecondaryIndex {
+
+  private static final ConcurrentMap<StoreId, SecondaryIndex> INDEXES =
+      new ConcurrentHashMap<>();
+
+  private final ImmutableSet<ColumnName> columns;
+  private final ConcurrentMap<Integer, PartitionIndex> partitions = new ConcurrentHashMap<>();
+
+  interface PartitionIndex {
+
+    /**
+     * @param columnIndex the index of the value column in the rows of the store.
+     * @param value the value to look up.
+     * @return the keys of the rows with the supplied {@code value}, or nothing if the index of
+     *         the column is not available.
+     */
+    Optional<Set<Object>> lookup(int columnIndex, Object value);
+  }
+
+  private SecondaryIndex(final Collection<ColumnName> columns) {
+    this.columns = ImmutableSet.copyOf(columns);
+  }
+
+  static Optional<SecondaryIndex> find(final String applicationId, final String storeName) {
+    return Optional.ofNullable(INDEXES.get(new StoreId(applicationId, storeName)));
+  }
+
+  static void register(
+      final String applicationId,
+      final String storeName,
+      final Collection<ColumnName> columns,
+      final int partition,
+      final PartitionIndex index
+  ) {
+    INDEXES.compute(new StoreId(applicationId, storeName), (id, existing) -> {
+      final SecondaryIndex registered = existing == null ? new SecondaryIndex(columns) : existing;
+      registered.partitions.put(partition, index);
+      return registered;
+    });
+  }
+
+  static void unregister(final String applicationId, final String storeName, final int partition) {
+    INDEXES.computeIfPresent(new StoreId(applicationId, storeName), (id, existing) -> {
+      existing.partitions.remove(partition);
+      return existing.partitions.isEmpty() ? null : existing;
+    });
+  }
+
+  /**
+   * @return the names of the indexed value columns.
+   */
+  Set<ColumnName> columns() {
+    return columns;
+  }
+
+  /**
+   * Look up the keys of the rows in the supplied {@code partition} with the supplied value.
+   *
+   * @param partition the partition.
+   * @param columnIndex the index of the value column in the rows of the store.
+   * @param value the value to look up.
+   * @return the keys, or nothing if the partition is not open on this node or its index is not
+   *         available, e.g. because it is still being built.
+   */
+  Optional<Set<Object>> lookup(final int partition, final int columnIndex, final Object value) {
+    return Optional.ofNullable(partitions.get(partition))
+        .flatMap(index -> index.lookup(columnIndex, value));
+  }
+}
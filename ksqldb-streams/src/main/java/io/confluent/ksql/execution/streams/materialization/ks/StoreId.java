@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization.ks;
+
+import java.util.Objects;
+
+/**
+ * Identifies a state store within the Kafka Streams application of a persistent query.
+ */
+final class StoreId {
+
+  private final String applicationId;
+  private final String storeName;
+
+  StoreId(final String applicationId, final String storeName) {
+    this.applicationId = Objects.requireNonNull(applicationId, "applicationId");
+    this.storeName = Objects.requireNonNull(storeName, "storeName");
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final StoreId that = (StoreId) o;
+    return applicationId.equals(that.applicationId)
+        && storeName.equals(that.storeName);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(applicationId, storeName);
+  }
+}
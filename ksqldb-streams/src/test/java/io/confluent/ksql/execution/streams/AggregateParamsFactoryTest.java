@@ -20,12 +20,14 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.execution.expression.tree.FunctionCall;
 import io.confluent.ksql.execution.expression.tree.UnqualifiedColumnReferenceExp;
 import io.confluent.ksql.execution.function.TableAggregationFunction;
@@ -121,8 +123,8 @@ public class AggregateParamsFactoryTest {
     when(tableAgg.returnType()).thenReturn(SqlTypes.INTEGER);
     when(tableAgg.getAggregateType()).thenReturn(SqlTypes.BIGINT);
 
-    when(udafFactory.create(anyInt(), any())).thenReturn(aggregator);
-    when(undoUdafFactory.create(anyInt(), any())).thenReturn(undoAggregator);
+    when(udafFactory.create(anyInt(), any(), anyBoolean())).thenReturn(aggregator);
+    when(undoUdafFactory.create(anyInt(), any(), anyBoolean())).thenReturn(undoAggregator);
 
     aggregateParams = new AggregateParamsFactory(udafFactory, undoUdafFactory).create(
         INPUT_SCHEMA,
@@ -130,6 +132,7 @@ public class AggregateParamsFactoryTest {
         functionRegistry,
         FUNCTIONS,
         false,
+        false,
         KsqlConfig.empty()
     );
   }
@@ -137,7 +140,53 @@ public class AggregateParamsFactoryTest {
   @SuppressWarnings("unchecked")
   @Test
   public void shouldCreateAggregatorWithCorrectParams() {
-    verify(udafFactory).create(2, ImmutableList.of(agg0, agg1));
+    verify(udafFactory).create(2, ImmutableList.of(agg0, agg1), false);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldCreateInPlaceAggregatorsIfEnabled() {
+    // Given:
+    final KsqlConfig config = new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_AGGREGATE_IN_PLACE_ENABLED, true
+    ));
+
+    // When:
+    new AggregateParamsFactory(udafFactory, undoUdafFactory).createUndoable(
+        INPUT_SCHEMA,
+        NON_AGG_COLUMNS,
+        functionRegistry,
+        ImmutableList.of(TABLE_AGG),
+        false,
+        config
+    );
+
+    // Then:
+    verify(udafFactory).create(2, ImmutableList.of(tableAgg), true);
+    verify(undoUdafFactory).create(2, ImmutableList.of(tableAgg), true);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldNotCreateInPlaceAggregatorsIfOldValuesRequired() {
+    // Given:
+    final KsqlConfig config = new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_AGGREGATE_IN_PLACE_ENABLED, true
+    ));
+
+    // When:
+    new AggregateParamsFactory(udafFactory, undoUdafFactory).createUndoable(
+        INPUT_SCHEMA,
+        NON_AGG_COLUMNS,
+        functionRegistry,
+        ImmutableList.of(TABLE_AGG),
+        true,
+        config
+    );
+
+    // Then:
+    verify(udafFactory).create(2, ImmutableList.of(tableAgg), false);
+    verify(undoUdafFactory).create(2, ImmutableList.of(tableAgg), false);
   }
 
   @SuppressWarnings("unchecked")
@@ -149,11 +198,12 @@ public class AggregateParamsFactoryTest {
         NON_AGG_COLUMNS,
         functionRegistry,
         ImmutableList.of(TABLE_AGG),
+        false,
         KsqlConfig.empty()
     );
 
     // Then:
-    verify(undoUdafFactory).create(2, ImmutableList.of(tableAgg));
+    verify(undoUdafFactory).create(2, ImmutableList.of(tableAgg), false);
   }
 
   @Test
@@ -194,6 +244,7 @@ public class AggregateParamsFactoryTest {
         NON_AGG_COLUMNS,
         functionRegistry,
         ImmutableList.of(TABLE_AGG),
+        false,
         KsqlConfig.empty()
     );
 
@@ -253,6 +304,7 @@ public class AggregateParamsFactoryTest {
         functionRegistry,
         FUNCTIONS,
         true,
+        false,
         KsqlConfig.empty()
     );
 
@@ -16,17 +16,25 @@
 package io.confluent.ksql.execution.streams;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableMap;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.streams.materialization.ks.IndexingKeyValueStore;
+import io.confluent.ksql.execution.streams.materialization.ks.RowCachingKeyValueStore;
+import io.confluent.ksql.util.KsqlConfig;
 import java.time.Duration;
 import java.util.Optional;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.internals.MaterializedInternal;
 import org.apache.kafka.streams.processor.StateStore;
+import org.apache.kafka.streams.state.StoreSupplier;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -81,4 +89,49 @@ public class MaterializedFactoryTest {
     // Then:
     verify(retention).get();
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldWrapKeyValueStoreAndKeepRecordCachingIfTableCacheEnabled() {
+    // Given:
+    final KsqlConfig ksqlConfig = new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_QUERY_PULL_TABLE_CACHE_MAX_ENTRIES, 100
+    ));
+    when(keySerde.deserializer()).thenReturn(mock(Deserializer.class));
+
+    // When:
+    final Materialized<String, GenericRow, StateStore> materialized =
+        MaterializedFactory.create(ksqlConfig).create(keySerde, rowSerde, OP_NAME);
+
+    // Then:
+    final MaterializedInternal<String, GenericRow, StateStore> internal =
+        new MaterializedInternal<>(materialized);
+    final StoreSupplier<?> supplier = internal.storeSupplier();
+    assertThat(supplier.name(), is(OP_NAME));
+    assertThat(supplier.get(), is(instanceOf(RowCachingKeyValueStore.class)));
+    assertThat(internal.cachingEnabled(), is(true));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldWrapKeyValueStoreAndKeepRecordCachingIfTableIndexEnabled() {
+    // Given:
+    final KsqlConfig ksqlConfig = new KsqlConfig(ImmutableMap.of(
+        KsqlConfig.KSQL_QUERY_PULL_TABLE_INDEX_COLUMNS, "STATUS"
+    ));
+    when(keySerde.deserializer()).thenReturn(mock(Deserializer.class));
+    when(rowSerde.deserializer()).thenReturn(mock(Deserializer.class));
+
+    // When:
+    final Materialized<String, GenericRow, StateStore> materialized =
+        MaterializedFactory.create(ksqlConfig).create(keySerde, rowSerde, OP_NAME);
+
+    // Then:
+    final MaterializedInternal<String, GenericRow, StateStore> internal =
+        new MaterializedInternal<>(materialized);
+    final StoreSupplier<?> supplier = internal.storeSupplier();
+    assertThat(supplier.name(), is(OP_NAME));
+    assertThat(supplier.get(), is(instanceOf(IndexingKeyValueStore.class)));
+    assertThat(internal.cachingEnabled(), is(true));
+  }
 }
@@ -31,9 +31,12 @@ import io.confluent.ksql.execution.plan.StreamSelectKey;
 import io.confluent.ksql.execution.plan.StreamSource;
 import io.confluent.ksql.execution.plan.StreamTableJoin;
 import io.confluent.ksql.execution.plan.TableSource;
+import io.confluent.ksql.execution.plan.TableSuppress;
 import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.parser.OutputRefinement;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.SystemColumns;
+import io.confluent.ksql.serde.RefinementInfo;
 import java.util.Optional;
 import java.util.OptionalInt;
 import org.junit.Before;
@@ -62,6 +65,7 @@ public class PlanInfoExtractorTest {
   private StreamTableJoin<GenericKey> streamAndTableJoined;
   private StreamTableJoin<GenericKey> streamRepartitionedAndTableJoined;
   private StreamSelectKey<GenericKey> streamAndTableJoinedRepartitioned;
+  private TableSuppress<GenericKey> tableSourceSuppressed;
 
   private PlanInfoExtractor planInfoExtractor;
 
@@ -111,6 +115,13 @@ public class PlanInfoExtractorTest {
         ImmutableList.of(repartitionKey)
     );
 
+    tableSourceSuppressed = new TableSuppress<>(
+        new ExecutionStepPropertiesV1(queryContext),
+        tableSource,
+        RefinementInfo.of(OutputRefinement.FINAL),
+        formats
+    );
+
     planInfoExtractor = new PlanInfoExtractor();
   }
 
@@ -161,4 +172,22 @@ public class PlanInfoExtractorTest {
     assertThat(planInfo.isRepartitionedInPlan(streamSource), is(false));
     assertThat(planInfo.isRepartitionedInPlan(tableSource), is(false));
   }
+
+  @Test
+  public void shouldNotRequireOldValuesWithoutSuppress() {
+    // When:
+    final PlanInfo planInfo = streamAndTableJoined.extractPlanInfo(planInfoExtractor);
+
+    // Then:
+    assertThat(planInfo.isOldValuesRequiredInPlan(), is(false));
+  }
+
+  @Test
+  public void shouldRequireOldValuesWithSuppress() {
+    // When:
+    final PlanInfo planInfo = tableSourceSuppressed.extractPlanInfo(planInfoExtractor);
+
+    // Then:
+    assertThat(planInfo.isOldValuesRequiredInPlan(), is(true));
+  }
 }
\ No newline at end of file
@@ -212,7 +212,7 @@ public class StreamAggregateBuilderTest {
     when(buildContext.buildValueSerde(any(), any(), any())).thenReturn(valueSerde);
     when(buildContext.getFunctionRegistry()).thenReturn(functionRegistry);
     when(buildContext.getKsqlConfig()).thenReturn(KsqlConfig.empty());
-    when(aggregateParamsFactory.create(any(), any(), any(), any(), anyBoolean(), any()))
+    when(aggregateParamsFactory.create(any(), any(), any(), any(), anyBoolean(), anyBoolean(), any()))
         .thenReturn(aggregateParams);
     when(aggregateParams.getAggregator()).thenReturn((KudafAggregator) aggregator);
     when(aggregateParams.getAggregateSchema()).thenReturn(AGGREGATE_SCHEMA);
@@ -433,6 +433,7 @@ public class StreamAggregateBuilderTest {
         functionRegistry,
         FUNCTIONS,
         false,
+        false,
         KsqlConfig.empty()
     );
   }
@@ -662,7 +663,7 @@ public class StreamAggregateBuilderTest {
           aggregated,
           aggregateParamsFactory
       );
-      when(aggregateParamsFactory.create(any(), any(), any(), any(), anyBoolean(), any()))
+      when(aggregateParamsFactory.create(any(), any(), any(), any(), anyBoolean(), anyBoolean(), any()))
           .thenReturn(aggregateParams);
       given.run();
 
@@ -671,7 +672,8 @@ public class StreamAggregateBuilderTest {
 
       // Then:
       verify(aggregateParamsFactory)
-          .create(INPUT_SCHEMA, NON_AGG_COLUMNS, functionRegistry, FUNCTIONS, true, KsqlConfig.empty());
+          .create(INPUT_SCHEMA, NON_AGG_COLUMNS, functionRegistry, FUNCTIONS, true, false,
+              KsqlConfig.empty());
     }
   }
 
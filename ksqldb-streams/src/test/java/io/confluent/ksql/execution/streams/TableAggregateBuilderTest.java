@@ -20,6 +20,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.mock;
@@ -161,7 +162,7 @@ public class TableAggregateBuilderTest {
     when(buildContext.buildValueSerde(any(), any(), any())).thenReturn(valueSerde);
     when(buildContext.getFunctionRegistry()).thenReturn(functionRegistry);
     when(buildContext.getKsqlConfig()).thenReturn(KsqlConfig.empty());
-    when(aggregateParamsFactory.createUndoable(any(), any(), any(), any(), any()))
+    when(aggregateParamsFactory.createUndoable(any(), any(), any(), any(), anyBoolean(), any()))
         .thenReturn(aggregateParams);
     when(aggregateParams.getAggregator()).thenReturn((KudafAggregator)aggregator);
     when(aggregateParams.getUndoAggregator()).thenReturn(Optional.of(undoAggregator));
@@ -270,6 +271,7 @@ public class TableAggregateBuilderTest {
         NON_AGG_COLUMNS,
         functionRegistry,
         FUNCTIONS,
+        false,
         KsqlConfig.empty()
     );
   }
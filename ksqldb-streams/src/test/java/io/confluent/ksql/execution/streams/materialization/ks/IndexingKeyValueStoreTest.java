@@ -0,0 +1,305 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization.ks;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericKey;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.processor.StateStore;
+import org.apache.kafka.streams.processor.StateStoreContext;
+import org.apache.kafka.streams.processor.TaskId;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IndexingKeyValueStoreTest {
+
+  private static final String APP_ID = "app";
+  private static final String STORE_NAME = "store";
+  private static final int PARTITION = 3;
+  private static final ColumnName STATUS = ColumnName.of("STATUS");
+
+  private static final GenericKey KEY1 = GenericKey.genericKey("a");
+  private static final GenericKey KEY2 = GenericKey.genericKey("b");
+  private static final Bytes KEY1_BYTES = Bytes.wrap(new byte[]{1});
+  private static final Bytes KEY2_BYTES = Bytes.wrap(new byte[]{2});
+  private static final byte[] OPEN_BYTES = {10};
+  private static final byte[] CLOSED_BYTES = {11};
+  private static final int MAX_ENTRIES = 10;
+
+  @Mock
+  private KeyValueStore<Bytes, byte[]> inner;
+  @Mock
+  private Deserializer<GenericKey> keyDeserializer;
+  @Mock
+  private Deserializer<GenericRow> valueDeserializer;
+  @Mock
+  private StateStoreContext context;
+  @Mock
+  private StateStore root;
+  @Mock
+  private KeyValueIterator<Bytes, byte[]> iterator;
+
+  private final List<Runnable> builds = new ArrayList<>();
+  private IndexingKeyValueStore store;
+
+  @Before
+  public void setUp() {
+    when(inner.name()).thenReturn(STORE_NAME);
+    when(context.applicationId()).thenReturn(APP_ID);
+    when(context.taskId()).thenReturn(new TaskId(0, PARTITION));
+
+    store = givenStore(MAX_ENTRIES);
+  }
+
+  @After
+  public void tearDown() {
+    store.close();
+  }
+
+  @Test
+  public void shouldRegisterIndexOnInit() {
+    // When:
+    store.init(context, root);
+
+    // Then:
+    verify(inner).init(context, root);
+    assertThat(SecondaryIndex.find(APP_ID, STORE_NAME).get().columns(), contains(STATUS));
+  }
+
+  @Test
+  public void shouldNotRegisterIndexForNamedTopology() {
+    // Given:
+    when(context.taskId()).thenReturn(new TaskId(0, PARTITION, "topology"));
+
+    // When:
+    store.init(context, root);
+
+    // Then:
+    assertThat(SecondaryIndex.find(APP_ID, STORE_NAME), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldBuildIndexFromStoreOnFirstLookup() {
+    // Given:
+    givenStoreContains();
+    givenKeys();
+    store.init(context, root);
+
+    // When:
+    final Set<Object> keys = lookup("open");
+
+    // Then:
+    assertThat(keys, contains(KEY1));
+    assertThat(lookup("closed"), contains(KEY2));
+  }
+
+  @Test
+  public void shouldUpdateIndexOnPut() {
+    // Given:
+    givenStoreContains();
+    givenKeys();
+    store.init(context, root);
+    lookup("open");
+    when(inner.get(KEY2_BYTES)).thenReturn(stored(CLOSED_BYTES));
+
+    // When:
+    store.put(KEY2_BYTES, stored(OPEN_BYTES));
+
+    // Then:
+    verify(inner).put(any(), any());
+    assertThat(lookup("open"), containsInAnyOrder(KEY1, KEY2));
+    assertThat(lookup("closed"), is(empty()));
+  }
+
+  @Test
+  public void shouldUpdateIndexOnDelete() {
+    // Given:
+    givenStoreContains();
+    givenKeys();
+    store.init(context, root);
+    lookup("open");
+    when(inner.delete(KEY1_BYTES)).thenReturn(stored(OPEN_BYTES));
+
+    // When:
+    store.delete(KEY1_BYTES);
+
+    // Then:
+    assertThat(lookup("open"), is(empty()));
+  }
+
+  @Test
+  public void shouldNotUseIndexUntilBuilt() {
+    // Given:
+    givenStoreContains();
+    givenKeys();
+    store = givenStore(MAX_ENTRIES, builds::add);
+    store.init(context, root);
+
+    // When:
+    final Optional<Set<Object>> keys = find("open");
+
+    // Then:
+    assertThat(keys, is(Optional.empty()));
+    builds.forEach(Runnable::run);
+    assertThat(lookup("open"), contains(KEY1));
+  }
+
+  @Test
+  public void shouldApplyWritesMadeWhileIndexIsBuilt() {
+    // Given:
+    givenStoreContains();
+    givenKeys();
+    store = givenStore(MAX_ENTRIES, builds::add);
+    store.init(context, root);
+    find("open");
+    when(inner.get(KEY2_BYTES)).thenReturn(stored(CLOSED_BYTES));
+    store.put(KEY2_BYTES, stored(OPEN_BYTES));
+
+    // When:
+    builds.forEach(Runnable::run);
+
+    // Then:
+    assertThat(lookup("open"), containsInAnyOrder(KEY1, KEY2));
+    assertThat(lookup("closed"), is(empty()));
+  }
+
+  @Test
+  public void shouldDropIndexIfPartitionHasTooManyRows() {
+    // Given:
+    givenStoreContains();
+    store = givenStore(1);
+    store.init(context, root);
+
+    // When:
+    final Optional<Set<Object>> keys = find("open");
+
+    // Then:
+    assertThat(keys, is(Optional.empty()));
+    assertThat(find("open"), is(Optional.empty()));
+    verify(inner, times(1)).all();
+  }
+
+  @Test
+  public void shouldNotHoldUpBuildsBehindALongRunningBuild() throws Exception {
+    // Given:
+    final ThreadPoolExecutor builder = IndexingKeyValueStore.createBuilder(2);
+    final CountDownLatch longBuild = new CountDownLatch(1);
+    final CountDownLatch otherBuild = new CountDownLatch(1);
+
+    try {
+      builder.execute(() -> {
+        try {
+          longBuild.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+
+      // When:
+      builder.execute(otherBuild::countDown);
+
+      // Then:
+      assertThat(otherBuild.await(10, TimeUnit.SECONDS), is(true));
+    } finally {
+      longBuild.countDown();
+      builder.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldUnregisterIndexOnClose() {
+    // Given:
+    store.init(context, root);
+
+    // When:
+    store.close();
+
+    // Then:
+    assertThat(SecondaryIndex.find(APP_ID, STORE_NAME), is(Optional.empty()));
+  }
+
+  private void givenStoreContains() {
+    when(inner.all()).thenReturn(iterator);
+    when(iterator.hasNext()).thenReturn(true, true, false);
+    when(iterator.next()).thenReturn(
+        KeyValue.pair(KEY1_BYTES, stored(OPEN_BYTES)),
+        KeyValue.pair(KEY2_BYTES, stored(CLOSED_BYTES))
+    );
+    when(valueDeserializer.deserialize(any(), aryEq(OPEN_BYTES)))
+        .thenReturn(GenericRow.genericRow("open"));
+    when(valueDeserializer.deserialize(any(), aryEq(CLOSED_BYTES)))
+        .thenReturn(GenericRow.genericRow("closed"));
+  }
+
+  private void givenKeys() {
+    // Keys are only deserialized as they are looked up:
+    when(keyDeserializer.deserialize(any(), any())).thenAnswer(inv ->
+        inv.<byte[]>getArgument(1)[0] == KEY1_BYTES.get()[0] ? KEY1 : KEY2);
+  }
+
+  private IndexingKeyValueStore givenStore(final int maxEntries) {
+    return givenStore(maxEntries, Runnable::run);
+  }
+
+  private IndexingKeyValueStore givenStore(final int maxEntries, final Executor builder) {
+    return new IndexingKeyValueStore(
+        inner, keyDeserializer, valueDeserializer, ImmutableList.of(STATUS), maxEntries, builder);
+  }
+
+  private static Optional<Set<Object>> find(final String status) {
+    return SecondaryIndex.find(APP_ID, STORE_NAME).get().lookup(PARTITION, 0, status);
+  }
+
+  private static Set<Object> lookup(final String status) {
+    return find(status).get();
+  }
+
+  private static byte[] stored(final byte[] value) {
+    // Timestamped stores prefix values with their timestamp:
+    return ByteBuffer.allocate(Long.BYTES + value.length).putLong(1L).put(value).array();
+  }
+}
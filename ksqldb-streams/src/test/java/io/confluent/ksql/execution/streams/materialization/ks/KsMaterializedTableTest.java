@@ -16,24 +16,36 @@
 package io.confluent.ksql.execution.streams.materialization.ks;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Streams;
 import com.google.common.testing.NullPointerTester;
 import com.google.common.testing.NullPointerTester.Visibility;
 import io.confluent.ksql.GenericKey;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.materialization.MaterializationInfo;
+import io.confluent.ksql.execution.streams.materialization.KsqlMaterializationFactory;
+import io.confluent.ksql.execution.streams.materialization.Locator;
+import io.confluent.ksql.execution.streams.materialization.Materialization;
 import io.confluent.ksql.execution.streams.materialization.MaterializationException;
 import io.confluent.ksql.execution.streams.materialization.MaterializationTimeOutException;
 import io.confluent.ksql.execution.streams.materialization.Row;
+import io.confluent.ksql.logging.processing.NoopProcessingLogContext;
 import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.util.Iterator;
@@ -193,6 +205,73 @@ public class KsMaterializedTableTest {
     assertThat(result, is(Optional.of(Row.of(SCHEMA, A_KEY, value, rowTime))));
   }
 
+  @Test
+  public void shouldServeRepeatedGetFromRowCache() {
+    // Given:
+    when(stateStore.rowCache()).thenReturn(Optional.of(new PullQueryRowCache(10)));
+    when(tableStore.get(any())).thenReturn(VALUE_AND_TIMESTAMP1);
+
+    // When:
+    table.get(A_KEY, PARTITION);
+    final Optional<Row> result = table.get(A_KEY, PARTITION);
+
+    // Then:
+    assertThat(result, is(Optional.of(Row.of(SCHEMA, A_KEY, ROW1, TIME1))));
+    verify(tableStore, times(1)).get(A_KEY);
+  }
+
+  @Test
+  public void shouldReturnSameRowFromRepeatedMaterializationLookups() {
+    // Given:
+    when(stateStore.rowCache()).thenReturn(Optional.of(new PullQueryRowCache(10)));
+    when(tableStore.get(any()))
+        .thenReturn(ValueAndTimestamp.make(GenericRow.genericRow("col0"), TIME1));
+    final Materialization materialization = givenMaterializationWithInPlaceMapper();
+
+    // When:
+    final Optional<Row> first = materialization.nonWindowed().get(A_KEY, PARTITION);
+    final Optional<Row> second = materialization.nonWindowed().get(A_KEY, PARTITION);
+    final Optional<Row> third = materialization.nonWindowed().get(A_KEY, PARTITION);
+
+    // Then:
+    assertThat(first.get().value(), is(GenericRow.genericRow("col0!", 3)));
+    assertThat(second, is(first));
+    assertThat(third, is(first));
+    verify(tableStore, times(1)).get(A_KEY);
+  }
+
+  @Test
+  public void shouldLookUpRowsBySecondaryIndex() {
+    // Given:
+    SecondaryIndex.register("app", "store", ImmutableList.of(ColumnName.of("v0")), PARTITION,
+        (columnIndex, value) -> Optional.of(columnIndex == 0 && value.equals("col0")
+            ? ImmutableSet.of(A_KEY)
+            : ImmutableSet.of()));
+    when(stateStore.secondaryIndex()).thenReturn(SecondaryIndex.find("app", "store"));
+    when(tableStore.get(A_KEY)).thenReturn(VALUE_AND_TIMESTAMP1);
+
+    try {
+      // When:
+      final Optional<Iterator<Row>> rows = table.get(PARTITION, ColumnName.of("v0"), "col0");
+
+      // Then:
+      assertThat(rows.isPresent(), is(true));
+      assertThat(ImmutableList.copyOf(rows.get()),
+          contains(Row.of(SCHEMA, A_KEY, ROW1, TIME1)));
+    } finally {
+      SecondaryIndex.unregister("app", "store", PARTITION);
+    }
+  }
+
+  @Test
+  public void shouldNotLookUpRowsByUnindexedColumn() {
+    // When:
+    final Optional<Iterator<Row>> rows = table.get(PARTITION, ColumnName.of("v0"), "col0");
+
+    // Then:
+    assertThat(rows, is(Optional.empty()));
+  }
+
   @Test
   public void shouldReturnValuesFullTableScan() {
     // Given:
@@ -227,4 +306,28 @@ public class KsMaterializedTableTest {
     // Then:
     verify(keyValueIterator).close();
   }
+
+  private Materialization givenMaterializationWithInPlaceMapper() {
+    final LogicalSchema resultSchema = LogicalSchema.builder()
+        .keyColumn(ColumnName.of("K0"), SqlTypes.STRING)
+        .valueColumn(ColumnName.of("v0"), SqlTypes.STRING)
+        .valueColumn(ColumnName.of("SIZE"), SqlTypes.INTEGER)
+        .build();
+
+    final QueryContext queryContext = new QueryContext.Stacker().getQueryContext();
+    final MaterializationInfo info = MaterializationInfo.builder("store", SCHEMA)
+        .map(logger -> (k, v, ctx) -> {
+          // Modifies the intermediate row, as aggregate result mappers may:
+          v.set(0, v.get(0) + "!");
+          return GenericRow.genericRow(v.get(0), v.size());
+        }, resultSchema, queryContext)
+        .build();
+
+    return new KsqlMaterializationFactory(NoopProcessingLogContext.INSTANCE).create(
+        new KsMaterialization(Optional.empty(), mock(Locator.class), stateStore),
+        info,
+        new QueryId("query"),
+        new QueryContext.Stacker()
+    );
+  }
 }
\ No newline at end of file
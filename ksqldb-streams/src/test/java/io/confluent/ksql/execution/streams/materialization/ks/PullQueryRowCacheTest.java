@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization.ks;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import io.confluent.ksql.GenericKey;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.streams.materialization.Row;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PullQueryRowCacheTest {
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .keyColumn(ColumnName.of("K0"), SqlTypes.STRING)
+      .valueColumn(ColumnName.of("v0"), SqlTypes.STRING)
+      .build();
+
+  private static final GenericKey A_KEY = GenericKey.genericKey("x");
+  private static final Optional<Row> ROW1 =
+      Optional.of(Row.of(SCHEMA, A_KEY, GenericRow.genericRow("a"), 1L));
+  private static final Optional<Row> ROW2 =
+      Optional.of(Row.of(SCHEMA, A_KEY, GenericRow.genericRow("b"), 2L));
+
+  private PullQueryRowCache cache;
+  private AtomicInteger loads;
+
+  @Before
+  public void setUp() {
+    cache = new PullQueryRowCache(10);
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  public void shouldLoadOnlyOnMiss() {
+    // When:
+    cache.get(0, A_KEY, () -> load(ROW1));
+    final Optional<Row> result = cache.get(0, A_KEY, () -> load(ROW2));
+
+    // Then:
+    assertThat(result, is(ROW1));
+    assertThat(loads.get(), is(1));
+  }
+
+  @Test
+  public void shouldCacheMissingRows() {
+    // When:
+    cache.get(0, A_KEY, () -> load(Optional.empty()));
+    final Optional<Row> result = cache.get(0, A_KEY, () -> load(ROW1));
+
+    // Then:
+    assertThat(result, is(Optional.empty()));
+    assertThat(loads.get(), is(1));
+  }
+
+  @Test
+  public void shouldNotShareRowValuesWithCallers() {
+    // Given:
+    final Optional<Row> loaded = cache.get(0, A_KEY, () -> load(
+        Optional.of(Row.of(SCHEMA, A_KEY, GenericRow.genericRow("a"), 1L))));
+    loaded.get().value().append("appended");
+
+    // When:
+    final Optional<Row> first = cache.get(0, A_KEY, () -> load(ROW2));
+    first.get().value().append("appended");
+    final Optional<Row> second = cache.get(0, A_KEY, () -> load(ROW2));
+
+    // Then:
+    assertThat(second, is(ROW1));
+    assertThat(second.get().value(), is(not(sameInstance(first.get().value()))));
+  }
+
+  @Test
+  public void shouldReloadAfterKeyInvalidated() {
+    // Given:
+    cache.get(0, A_KEY, () -> load(ROW1));
+
+    // When:
+    cache.invalidate(0, A_KEY);
+    final Optional<Row> result = cache.get(0, A_KEY, () -> load(ROW2));
+
+    // Then:
+    assertThat(result, is(ROW2));
+  }
+
+  @Test
+  public void shouldReloadAfterPartitionInvalidated() {
+    // Given:
+    cache.get(0, A_KEY, () -> load(ROW1));
+    cache.get(1, A_KEY, () -> load(ROW1));
+
+    // When:
+    cache.invalidate(0);
+
+    // Then:
+    assertThat(cache.get(0, A_KEY, () -> load(ROW2)), is(ROW2));
+    assertThat(cache.get(1, A_KEY, () -> load(ROW2)), is(ROW1));
+  }
+
+  @Test
+  public void shouldNotRetainRowIfPartitionWrittenWhileLoading() {
+    // Given:
+    cache.get(0, A_KEY, () -> {
+      cache.invalidate(0, A_KEY);
+      return load(ROW1);
+    });
+
+    // When:
+    final Optional<Row> result = cache.get(0, A_KEY, () -> load(ROW2));
+
+    // Then:
+    assertThat(result, is(ROW2));
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  public void shouldRegisterWhileAnyPartitionOpen() {
+    // Given:
+    final PullQueryRowCache acquired = PullQueryRowCache.acquire("app", "store", 10);
+    PullQueryRowCache.acquire("app", "store", 10);
+
+    // When:
+    PullQueryRowCache.release("app", "store");
+
+    // Then:
+    assertThat(PullQueryRowCache.find("app", "store"), is(Optional.of(acquired)));
+    PullQueryRowCache.release("app", "store");
+    assertThat(PullQueryRowCache.find("app", "store"), is(Optional.empty()));
+  }
+
+  private Optional<Row> load(final Optional<Row> row) {
+    loads.incrementAndGet();
+    return row;
+  }
+}
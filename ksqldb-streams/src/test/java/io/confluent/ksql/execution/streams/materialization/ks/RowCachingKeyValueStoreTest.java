@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams.materialization.ks;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.confluent.ksql.GenericKey;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.streams.materialization.Row;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import java.util.Optional;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.processor.StateStore;
+import org.apache.kafka.streams.processor.StateStoreContext;
+import org.apache.kafka.streams.processor.TaskId;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RowCachingKeyValueStoreTest {
+
+  private static final String APP_ID = "app";
+  private static final String STORE_NAME = "store";
+  private static final int PARTITION = 3;
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .keyColumn(ColumnName.of("K0"), SqlTypes.STRING)
+      .valueColumn(ColumnName.of("v0"), SqlTypes.STRING)
+      .build();
+
+  private static final GenericKey A_KEY = GenericKey.genericKey("x");
+  private static final Bytes A_KEY_BYTES = Bytes.wrap(new byte[]{1});
+  private static final Optional<Row> ROW1 =
+      Optional.of(Row.of(SCHEMA, A_KEY, GenericRow.genericRow("a"), 1L));
+  private static final Optional<Row> ROW2 =
+      Optional.of(Row.of(SCHEMA, A_KEY, GenericRow.genericRow("b"), 2L));
+
+  @Mock
+  private KeyValueStore<Bytes, byte[]> inner;
+  @Mock
+  private Deserializer<GenericKey> keyDeserializer;
+  @Mock
+  private StateStoreContext context;
+  @Mock
+  private StateStore root;
+
+  private RowCachingKeyValueStore store;
+
+  @Before
+  public void setUp() {
+    when(inner.name()).thenReturn(STORE_NAME);
+    when(context.applicationId()).thenReturn(APP_ID);
+    when(context.taskId()).thenReturn(new TaskId(0, PARTITION));
+
+    store = new RowCachingKeyValueStore(inner, keyDeserializer, 10);
+  }
+
+  @After
+  public void tearDown() {
+    store.close();
+  }
+
+  @Test
+  public void shouldRegisterCacheOnInit() {
+    // When:
+    store.init(context, root);
+
+    // Then:
+    verify(inner).init(context, root);
+    assertThat(PullQueryRowCache.find(APP_ID, STORE_NAME).isPresent(), is(true));
+  }
+
+  @Test
+  public void shouldNotRegisterCacheForNamedTopology() {
+    // Given:
+    when(context.taskId()).thenReturn(new TaskId(0, PARTITION, "topology"));
+
+    // When:
+    store.init(context, root);
+
+    // Then:
+    assertThat(PullQueryRowCache.find(APP_ID, STORE_NAME), is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldInvalidateWrittenKey() {
+    // Given:
+    store.init(context, root);
+    final PullQueryRowCache cache = PullQueryRowCache.find(APP_ID, STORE_NAME).get();
+    cache.get(PARTITION, A_KEY, () -> ROW1);
+    when(keyDeserializer.deserialize(any(), any())).thenReturn(A_KEY);
+
+    // When:
+    store.put(A_KEY_BYTES, new byte[]{2});
+
+    // Then:
+    verify(inner).put(any(), any());
+    assertThat(cache.get(PARTITION, A_KEY, () -> ROW2), is(ROW2));
+  }
+
+  @Test
+  public void shouldInvalidatePartitionIfKeyCanNotBeDeserialized() {
+    // Given:
+    store.init(context, root);
+    final PullQueryRowCache cache = PullQueryRowCache.find(APP_ID, STORE_NAME).get();
+    cache.get(PARTITION, A_KEY, () -> ROW1);
+    when(keyDeserializer.deserialize(any(), any())).thenThrow(new RuntimeException("boom"));
+
+    // When:
+    store.delete(A_KEY_BYTES);
+
+    // Then:
+    assertThat(cache.get(PARTITION, A_KEY, () -> ROW2), is(ROW2));
+  }
+
+  @Test
+  public void shouldReleaseCacheOnClose() {
+    // Given:
+    store.init(context, root);
+
+    // When:
+    store.close();
+
+    // Then:
+    assertThat(PullQueryRowCache.find(APP_ID, STORE_NAME), is(Optional.empty()));
+  }
+}
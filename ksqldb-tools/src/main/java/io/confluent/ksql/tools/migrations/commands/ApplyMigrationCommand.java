@@ -414,12 +414,14 @@ public class ApplyMigrationCommand extends BaseCommand {
     } else if (command instanceof SqlInsertValues) {
       final List<FieldInfo> fields =
           ksqlClient.describeSource(((SqlInsertValues) command).getSourceName()).get().fields();
-      ksqlClient.insertInto(
-          ((SqlInsertValues) command).getSourceName(),
-          getRow(
-              fields,
-              ((SqlInsertValues) command).getColumns(),
-              ((SqlInsertValues) command).getValues())).get();
+      for (final List<Expression> values : ((SqlInsertValues) command).getRows()) {
+        ksqlClient.insertInto(
+            ((SqlInsertValues) command).getSourceName(),
+            getRow(
+                fields,
+                ((SqlInsertValues) command).getColumns(),
+                values)).get();
+      }
     } else if (command instanceof SqlCreateConnectorStatement) {
       ksqlClient.createConnector(
           ((SqlCreateConnectorStatement) command).getName(),
@@ -257,7 +257,7 @@ public final class CommandParser {
     return new SqlInsertValues(
         sql,
         preserveCase(parsedStatement.getTarget().text()),
-        parsedStatement.getValues(),
+        parsedStatement.getRows(),
         parsedStatement.getColumns().stream()
             .map(ColumnName::text).collect(Collectors.toList()));
   }
@@ -442,17 +442,19 @@ public final class CommandParser {
   public static class SqlInsertValues extends SqlCommand {
     private final String sourceName;
     private final ImmutableList<String> columns;
-    private final ImmutableList<Expression> values;
+    private final ImmutableList<ImmutableList<Expression>> rows;
 
     SqlInsertValues(
         final String command,
         final String sourceName,
-        final List<Expression> values,
+        final List<? extends List<Expression>> rows,
         final List<String> columns
     ) {
       super(command);
       this.sourceName = sourceName;
-      this.values = ImmutableList.copyOf(values);
+      this.rows = rows.stream()
+          .map(ImmutableList::copyOf)
+          .collect(ImmutableList.toImmutableList());
       this.columns = ImmutableList.copyOf(columns);
     }
 
@@ -460,9 +462,12 @@ public final class CommandParser {
       return sourceName;
     }
 
-    @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "values is ImmutableList")
-    public List<Expression> getValues() {
-      return values;
+    /**
+     * @return the values of each row to insert, in statement order.
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "rows is ImmutableList")
+    public List<? extends List<Expression>> getRows() {
+      return rows;
     }
 
     @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "columns is ImmutableList")
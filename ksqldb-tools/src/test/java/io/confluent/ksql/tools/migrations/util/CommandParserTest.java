@@ -56,8 +56,8 @@ public class CommandParserTest {
 
     assertThat(insertValues.getSourceName(), is("`FOO`"));
     assertThat(insertValues.getColumns(), is(Collections.emptyList()));
-    assertThat(insertValues.getValues().size(), is(1));
-    assertThat(toFieldType(insertValues.getValues().get(0)), is(55));
+    assertThat(insertValues.getRows().get(0).size(), is(1));
+    assertThat(toFieldType(insertValues.getRows().get(0).get(0)), is(55));
   }
 
   @Test
@@ -72,8 +72,8 @@ public class CommandParserTest {
 
     assertThat(insertValues.getSourceName(), is("`FOO`"));
     assertThat(insertValues.getColumns(), is(Collections.emptyList()));
-    assertThat(insertValues.getValues().size(), is(1));
-    assertNull(toFieldType(insertValues.getValues().get(0)));
+    assertThat(insertValues.getRows().get(0).size(), is(1));
+    assertNull(toFieldType(insertValues.getRows().get(0).get(0)));
   }
 
   @Test
@@ -88,9 +88,27 @@ public class CommandParserTest {
 
     assertThat(insertValues.getSourceName(), is("`foo`"));
     assertThat(insertValues.getColumns(), is(ImmutableList.of("COL1", "COL2")));
-    assertThat(insertValues.getValues().size(), is(2));
-    assertThat(toFieldType(insertValues.getValues().get(0)), is(55));
-    assertThat(toFieldType(insertValues.getValues().get(1)), is("40"));
+    assertThat(insertValues.getRows().get(0).size(), is(2));
+    assertThat(toFieldType(insertValues.getRows().get(0).get(0)), is(55));
+    assertThat(toFieldType(insertValues.getRows().get(0).get(1)), is("40"));
+  }
+
+  @Test
+  public void shouldParseMultiRowInsertValuesStatement() {
+    // When:
+    List<SqlCommand> commands = parse("INSERT INTO `foo` (col1, col2) VALUES (55, '40'), (56, '41');");
+
+    // Then:
+    assertThat(commands.size(), is(1));
+    assertThat(commands.get(0), instanceOf(SqlInsertValues.class));
+    final SqlInsertValues insertValues = (SqlInsertValues) commands.get(0);
+
+    assertThat(insertValues.getColumns(), is(ImmutableList.of("COL1", "COL2")));
+    assertThat(insertValues.getRows().size(), is(2));
+    assertThat(toFieldType(insertValues.getRows().get(0).get(0)), is(55));
+    assertThat(toFieldType(insertValues.getRows().get(0).get(1)), is("40"));
+    assertThat(toFieldType(insertValues.getRows().get(1).get(0)), is(56));
+    assertThat(toFieldType(insertValues.getRows().get(1).get(1)), is("41"));
   }
 
   @Test
@@ -105,8 +123,8 @@ public class CommandParserTest {
 
     assertThat(insertValues.getSourceName(), is("`foo`"));
     assertThat(insertValues.getColumns(), is(ImmutableList.of("col1")));
-    assertThat(insertValues.getValues().size(), is(1));
-    assertThat(toFieldType(insertValues.getValues().get(0)), is(55));
+    assertThat(insertValues.getRows().get(0).size(), is(1));
+    assertThat(toFieldType(insertValues.getRows().get(0).get(0)), is(55));
   }
 
   @Test
@@ -127,8 +145,8 @@ public class CommandParserTest {
 
     assertThat(insertValues.getSourceName(), is("`FOO`"));
     assertThat(insertValues.getColumns().size(), is(0));
-    assertThat(insertValues.getValues().size(), is(1));
-    assertThat(toFieldType(insertValues.getValues().get(0)), is(55));
+    assertThat(insertValues.getRows().get(0).size(), is(1));
+    assertThat(toFieldType(insertValues.getRows().get(0).get(0)), is(55));
   }
 
   @Test
@@ -200,14 +218,14 @@ public class CommandParserTest {
     assertThat(commands.size(), is(2));
     assertThat(commands.get(0), instanceOf(SqlInsertValues.class));
     assertThat(((SqlInsertValues) commands.get(0)).getSourceName(), is("`FOO`"));
-    assertThat(((SqlInsertValues) commands.get(0)).getValues().size(), is(1));
-    assertThat(toFieldType(((SqlInsertValues) commands.get(0)).getValues().get(0)), is(32));
+    assertThat(((SqlInsertValues) commands.get(0)).getRows().get(0).size(), is(1));
+    assertThat(toFieldType(((SqlInsertValues) commands.get(0)).getRows().get(0).get(0)), is(32));
 
     assertThat(commands.get(1), instanceOf(SqlInsertValues.class));
     assertThat(((SqlInsertValues) commands.get(1)).getSourceName(), is("`FOO_2`"));
-    assertThat(toFieldType(((SqlInsertValues) commands.get(1)).getValues().get(0)), is("wow"));
-    assertThat(toFieldType(((SqlInsertValues) commands.get(1)).getValues().get(1)), is(3));
-    assertThat(toFieldType(((SqlInsertValues) commands.get(1)).getValues().get(2)), is("hello 'world'!"));
+    assertThat(toFieldType(((SqlInsertValues) commands.get(1)).getRows().get(0).get(0)), is("wow"));
+    assertThat(toFieldType(((SqlInsertValues) commands.get(1)).getRows().get(0).get(1)), is(3));
+    assertThat(toFieldType(((SqlInsertValues) commands.get(1)).getRows().get(0).get(2)), is("hello 'world'!"));
   }
 
   @Test
@@ -319,10 +337,10 @@ public class CommandParserTest {
     assertThat(((SqlInsertValues) commands.get(1)).getColumns().get(0), is("PROFILEID"));
     assertThat(((SqlInsertValues) commands.get(1)).getColumns().get(1), is("LATITUDE"));
     assertThat(((SqlInsertValues) commands.get(1)).getColumns().get(2), is("LONGITUDE"));
-    assertThat(((SqlInsertValues) commands.get(1)).getValues().size(), is(3));
-    assertThat(toFieldType(((SqlInsertValues) commands.get(1)).getValues().get(0)), is("c2309eec"));
-    assertThat(toFieldType(((SqlInsertValues) commands.get(1)).getValues().get(1)), is(BigDecimal.valueOf(37.7877)));
-    assertThat(toFieldType(((SqlInsertValues) commands.get(1)).getValues().get(2)), is(BigDecimal.valueOf(-122.4205)));
+    assertThat(((SqlInsertValues) commands.get(1)).getRows().get(0).size(), is(3));
+    assertThat(toFieldType(((SqlInsertValues) commands.get(1)).getRows().get(0).get(0)), is("c2309eec"));
+    assertThat(toFieldType(((SqlInsertValues) commands.get(1)).getRows().get(0).get(1)), is(BigDecimal.valueOf(37.7877)));
+    assertThat(toFieldType(((SqlInsertValues) commands.get(1)).getRows().get(0).get(2)), is(BigDecimal.valueOf(-122.4205)));
     assertThat(commands.get(2), instanceOf(SqlInsertValues.class));
     assertThat(((SqlInsertValues) commands.get(2)).getSourceName(), is("`riderLocations`"));
     assertThat(commands.get(3), instanceOf(SqlInsertValues.class));